@@ -0,0 +1,91 @@
+package ru.practicum.shareit;
+
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import ru.practicum.shareit.booking.dto.BookingView;
+import ru.practicum.shareit.booking.mapper.BookingMapperImpl;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.mapper.ItemMapperImpl;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.mapper.UserMapperImpl;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Тестовые данные и окружение для бенчмарков.
+ */
+public final class BenchmarkData {
+
+    public static final LocalDateTime NOW = LocalDateTime.of(2024, 10, 1, 12, 0);
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * Контекст только с реализациями мапперов: мапперы получают зависимости так же, как в приложении.
+     */
+    public static AnnotationConfigApplicationContext mapperContext() {
+        return new AnnotationConfigApplicationContext(
+                BookingMapperImpl.class, ItemMapperImpl.class, UserMapperImpl.class);
+    }
+
+    public static User user(long id) {
+        return User.builder()
+                .id(id)
+                .name("user" + id)
+                .email("user" + id + "@mail.com")
+                .build();
+    }
+
+    public static List<Item> items(int count) {
+        List<Item> items = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            ItemRequest request = i % 2 == 0
+                    ? ItemRequest.builder().id((long) i).description("request" + i).created(NOW).build()
+                    : null;
+            items.add(Item.builder()
+                    .id((long) i)
+                    .name("item" + i)
+                    .description("description of item " + i)
+                    .available(i % 3 != 0)
+                    .owner(user(i % 10 + 1))
+                    .request(request)
+                    .build());
+        }
+        return items;
+    }
+
+    public static List<Booking> bookings(int count) {
+        List<Item> items = items(count);
+        List<Booking> bookings = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            LocalDateTime start = NOW.plusHours(i);
+            bookings.add(Booking.builder()
+                    .id((long) i)
+                    .start(start)
+                    .end(start.plusDays(1))
+                    .item(items.get(i - 1))
+                    .booker(user(100 + i % 10))
+                    .status(BookingStatus.values()[i % BookingStatus.values().length])
+                    .build());
+        }
+        return bookings;
+    }
+
+    public static List<BookingView> bookingViews(int count) {
+        List<BookingView> views = new ArrayList<>(count);
+        for (Booking booking : bookings(count)) {
+            Item item = booking.getItem();
+            User booker = booking.getBooker();
+            views.add(new BookingView(booking.getId(), booking.getStart(), booking.getEnd(), booking.getStatus(),
+                    item.getId(), item.getName(), item.getDescription(), item.getAvailable(),
+                    item.getRequest() != null ? item.getRequest().getId() : null,
+                    booker.getId(), booker.getName(), booker.getEmail()));
+        }
+        return views;
+    }
+}
@@ -0,0 +1,44 @@
+package ru.practicum.shareit.booking.dto;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import ru.practicum.shareit.BenchmarkData;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Сериализация списка бронирований в JSON, как в ответах контроллера.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BookingResponseJsonBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int size;
+
+    private ObjectMapper objectMapper;
+    private List<BookingResponse> bookingResponses;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        try (AnnotationConfigApplicationContext context = BenchmarkData.mapperContext()) {
+            bookingResponses = context.getBean(BookingMapper.class)
+                    .mapToBookingResponseList(BenchmarkData.bookings(size));
+        }
+    }
+
+    @Benchmark
+    public byte[] writeBookingResponseList() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(bookingResponses);
+    }
+}
@@ -0,0 +1,54 @@
+package ru.practicum.shareit.booking.mapper;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import ru.practicum.shareit.BenchmarkData;
+import ru.practicum.shareit.booking.dto.BookingResponse;
+import ru.practicum.shareit.booking.dto.BookingView;
+import ru.practicum.shareit.booking.model.Booking;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Маппинг списков бронирований в ответы: из сущностей и из проекций списков.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BookingMapperBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int size;
+
+    private AnnotationConfigApplicationContext context;
+    private BookingMapper bookingMapper;
+    private List<Booking> bookings;
+    private List<BookingView> bookingViews;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkData.mapperContext();
+        bookingMapper = context.getBean(BookingMapper.class);
+        bookings = BenchmarkData.bookings(size);
+        bookingViews = BenchmarkData.bookingViews(size);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<BookingResponse> mapToBookingResponseList() {
+        return bookingMapper.mapToBookingResponseList(bookings);
+    }
+
+    @Benchmark
+    public List<BookingResponse> mapViewsToBookingResponseList() {
+        return bookingMapper.mapViewsToBookingResponseList(bookingViews);
+    }
+}
@@ -0,0 +1,41 @@
+package ru.practicum.shareit.booking.repository;
+
+import org.openjdk.jmh.annotations.*;
+import ru.practicum.shareit.BenchmarkData;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Построение отображения id вещи -> дата бронирования из строк запроса
+ * (getAllLastBookingsByItemIds, getAllNextBookingsByItemIds).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BookingDatesByItemBenchmark {
+
+    @Param({"10", "100", "1000", "10000"})
+    private int size;
+
+    private List<Object[]> rows;
+
+    @Setup
+    public void setUp() {
+        rows = new ArrayList<>(size);
+        for (int i = 1; i <= size; i++) {
+            rows.add(new Object[]{(long) i, BenchmarkData.NOW.minusHours(i)});
+        }
+    }
+
+    @Benchmark
+    public Map<Long, LocalDateTime> mapDatesByItemId() {
+        return BookingRepository.mapDatesByItemId(rows);
+    }
+}
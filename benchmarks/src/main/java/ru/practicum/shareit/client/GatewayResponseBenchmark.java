@@ -0,0 +1,107 @@
+package ru.practicum.shareit.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.ByteArrayDecoder;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.converter.ByteArrayHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import ru.practicum.shareit.BenchmarkData;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Обработка шлюзом ответа сервера со списком бронирований, как в GET /bookings/owner:
+ * разбор тела в дерево Map/List с повторной сериализацией против передачи байтов без разбора.
+ * Расход памяти на операцию показывает профилировщик: {@code java -jar benchmarks.jar Gateway -prof gc}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GatewayResponseBenchmark {
+
+    private static final ResolvableType OBJECT_TYPE = ResolvableType.forClass(Object.class);
+    private static final ResolvableType BYTES_TYPE = ResolvableType.forClass(byte[].class);
+    private static final Map<String, Object> NO_HINTS = Map.of();
+
+    @Param({"10", "100", "1000"})
+    private int size;
+
+    private byte[] serverBody;
+    private Jackson2JsonDecoder jsonDecoder;
+    private MappingJackson2HttpMessageConverter jsonConverter;
+    private ByteArrayDecoder bytesDecoder;
+    private ByteArrayHttpMessageConverter bytesConverter;
+    private ClientOutput clientOutput;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        try (AnnotationConfigApplicationContext context = BenchmarkData.mapperContext()) {
+            serverBody = objectMapper.writeValueAsBytes(context.getBean(BookingMapper.class)
+                    .mapToBookingResponseList(BenchmarkData.bookings(size)));
+        }
+        jsonDecoder = new Jackson2JsonDecoder(objectMapper);
+        jsonDecoder.setMaxInMemorySize(-1);
+        jsonConverter = new MappingJackson2HttpMessageConverter(objectMapper);
+        bytesDecoder = new ByteArrayDecoder();
+        bytesDecoder.setMaxInMemorySize(-1);
+        bytesConverter = new ByteArrayHttpMessageConverter();
+        clientOutput = new ClientOutput();
+    }
+
+    @Benchmark
+    public int parseAndSerialize() throws IOException {
+        Object body = jsonDecoder.decode(DefaultDataBufferFactory.sharedInstance.wrap(serverBody), OBJECT_TYPE,
+                MediaType.APPLICATION_JSON, NO_HINTS);
+        jsonConverter.write(body, MediaType.APPLICATION_JSON, clientOutput.reset());
+        return clientOutput.body.size();
+    }
+
+    @Benchmark
+    public int passThrough() throws IOException {
+        byte[] body = bytesDecoder.decode(DefaultDataBufferFactory.sharedInstance.wrap(serverBody), BYTES_TYPE,
+                MediaType.APPLICATION_JSON, NO_HINTS);
+        bytesConverter.write(body, MediaType.APPLICATION_JSON, clientOutput.reset());
+        return clientOutput.body.size();
+    }
+
+    /**
+     * Ответ клиенту шлюза; буфер переиспользуется, чтобы в замер не попадал его рост.
+     */
+    private static final class ClientOutput implements HttpOutputMessage {
+        private final ByteArrayOutputStream body = new ByteArrayOutputStream(1 << 20);
+        private HttpHeaders headers = new HttpHeaders();
+
+        ClientOutput reset() {
+            body.reset();
+            headers = new HttpHeaders();
+            return this;
+        }
+
+        @Override
+        public OutputStream getBody() {
+            return body;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+    }
+}
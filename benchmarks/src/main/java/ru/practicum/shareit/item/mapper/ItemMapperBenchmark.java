@@ -0,0 +1,46 @@
+package ru.practicum.shareit.item.mapper;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import ru.practicum.shareit.BenchmarkData;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Маппинг списка вещей владельца в ответы.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ItemMapperBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int size;
+
+    private AnnotationConfigApplicationContext context;
+    private ItemMapper itemMapper;
+    private List<Item> items;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkData.mapperContext();
+        itemMapper = context.getBean(ItemMapper.class);
+        items = BenchmarkData.items(size);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<ItemDto> mapToItemDtoList() {
+        return itemMapper.mapToItemDtoList(items);
+    }
+}
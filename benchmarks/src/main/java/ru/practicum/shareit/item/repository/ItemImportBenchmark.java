@@ -0,0 +1,114 @@
+package ru.practicum.shareit.item.repository;
+
+import org.h2.tools.Server;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Сохранение вещей при импорте каталога: INSERT на каждую строку с чтением IDENTITY-ключа,
+ * как делает Hibernate при save, против многострочной вставки ItemRepositoryImpl.insertAll.
+ * База - H2 в памяти (mem) и H2, доступная по TCP на localhost (tcp): во втором случае
+ * каждый отдельный INSERT платит сетевым обменом, как с PostgreSQL. Все вставки идут через одно
+ * соединение, как внутри транзакции сервиса.
+ * Результат - количество импортов списка из size вещей в секунду.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ItemImportBenchmark {
+
+    private static final String INSERT_ITEM = "INSERT INTO items (name, description, available, owner_id, request_id) "
+                                              + "VALUES (?, ?, ?, ?, ?)";
+
+    @Param({"mem", "tcp"})
+    private String connection;
+
+    @Param({"100", "1000"})
+    private int size;
+
+    private Server server;
+    private SingleConnectionDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private ItemRepositoryImpl repository;
+    private List<Item> items;
+
+    @Setup
+    public void setUp() throws SQLException {
+        String url = "jdbc:h2:mem:items;DB_CLOSE_DELAY=-1";
+        if (connection.equals("tcp")) {
+            server = Server.createTcpServer("-tcpPort", "0", "-ifNotExists").start();
+            url = "jdbc:h2:tcp://localhost:" + server.getPort() + "/mem:items;DB_CLOSE_DELAY=-1";
+        }
+        dataSource = new SingleConnectionDataSource(url, "sa", "", true);
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql")).execute(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        repository = new ItemRepositoryImpl(null, null, jdbcTemplate);
+
+        jdbcTemplate.update("INSERT INTO users (name, email) VALUES ('owner', 'owner@mail.com')");
+        User owner = User.builder()
+                .id(jdbcTemplate.queryForObject("SELECT id FROM users", Long.class))
+                .build();
+        items = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            items.add(Item.builder()
+                    .name("item" + i)
+                    .description("description of item " + i)
+                    .available(i % 2 == 0)
+                    .owner(owner)
+                    .build());
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void deleteItems() {
+        jdbcTemplate.update("DELETE FROM items");
+    }
+
+    @TearDown
+    public void tearDown() {
+        jdbcTemplate.execute("SHUTDOWN");
+        dataSource.destroy();
+        if (server != null) {
+            server.stop();
+        }
+    }
+
+    @Benchmark
+    public List<Item> insertRowByRow() {
+        for (Item item : items) {
+            KeyHolder keyHolder = new GeneratedKeyHolder();
+            jdbcTemplate.update(con -> {
+                PreparedStatement ps = con.prepareStatement(INSERT_ITEM, new String[]{"id"});
+                ps.setString(1, item.getName());
+                ps.setString(2, item.getDescription());
+                ps.setBoolean(3, item.getAvailable());
+                ps.setLong(4, item.getOwner().getId());
+                ps.setObject(5, null);
+                return ps;
+            }, keyHolder);
+            item.setId(keyHolder.getKey().longValue());
+        }
+        return items;
+    }
+
+    @Benchmark
+    public List<Item> insertBatch() {
+        return repository.insertAll(items);
+    }
+}
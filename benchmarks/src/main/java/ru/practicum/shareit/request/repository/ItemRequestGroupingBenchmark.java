@@ -0,0 +1,63 @@
+package ru.practicum.shareit.request.repository;
+
+import com.querydsl.core.Tuple;
+import com.querydsl.core.types.Projections;
+import com.querydsl.core.types.QTuple;
+import org.openjdk.jmh.annotations.*;
+import ru.practicum.shareit.BenchmarkData;
+import ru.practicum.shareit.item.model.QItem;
+import ru.practicum.shareit.request.dto.ItemRequestResponse;
+import ru.practicum.shareit.request.model.QItemRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Группировка строк запрос + вещь в ответы на запросы.
+ * Строки имеют ту же проекцию, что и запросы ItemRequestRepositoryImpl.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ItemRequestGroupingBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int requests;
+
+    @Param({"0", "1", "5"})
+    private int itemsPerRequest;
+
+    private ItemRequestRepositoryImpl repository;
+    private List<Tuple> tuples;
+
+    @Setup
+    public void setUp() {
+        QItemRequest request = QItemRequest.itemRequest;
+        QItem item = QItem.item;
+        QTuple projection = Projections.tuple(request.id, request.description, request.created,
+                item.id, item.name, item.owner.id);
+
+        repository = new ItemRequestRepositoryImpl(null);
+        tuples = new ArrayList<>();
+        long itemId = 1;
+        for (long requestId = 1; requestId <= requests; requestId++) {
+            String description = "request" + requestId;
+            if (itemsPerRequest == 0) {
+                tuples.add(projection.newInstance(requestId, description, BenchmarkData.NOW, null, null, null));
+            }
+            for (int i = 0; i < itemsPerRequest; i++, itemId++) {
+                tuples.add(projection.newInstance(requestId, description, BenchmarkData.NOW,
+                        itemId, "item" + itemId, itemId % 10 + 1));
+            }
+        }
+    }
+
+    @Benchmark
+    public List<ItemRequestResponse> groupTuplesByRequest() {
+        return repository.groupTuplesByRequest(tuples);
+    }
+}
@@ -2,15 +2,23 @@ package ru.practicum.shareit.booking.client;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.util.DefaultUriBuilderFactory;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.shareit.booking.dto.BookingExportFormat;
 import ru.practicum.shareit.booking.dto.BookingRequest;
 import ru.practicum.shareit.booking.dto.BookingState;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.RequestCoalescer;
+import ru.practicum.shareit.client.ValidatorCache;
 
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @Service
@@ -18,34 +26,78 @@ public class BookingClient extends BaseClient {
     private static final String API_PREFIX = "/bookings";
 
     @Autowired
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public BookingClient(@Value("${shareit-server.url}") String serverUrl, WebClient.Builder builder,
+                         ClientHttpConnector shareItServerConnector,
+                         RequestCoalescer coalescer, ValidatorCache validatorCache) {
         super(
                 builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
-                        .build()
+                        .uriBuilderFactory(new DefaultUriBuilderFactory(serverUrl))
+                        .clientConnector(shareItServerConnector)
+                        .build(),
+                API_PREFIX,
+                coalescer,
+                validatorCache
         );
     }
 
-    public ResponseEntity<Object> addBooking(long bookerId, BookingRequest bookingRequest) {
+    public Mono<ResponseEntity<Object>> addBooking(long bookerId, BookingRequest bookingRequest) {
         return post("", bookerId, bookingRequest);
     }
 
-    public ResponseEntity<Object> updateBookingStatus(long ownerId, long bookingId, Boolean approved) {
-        return patch("/" + bookingId + "?approved=" + approved, ownerId);
+    public Mono<ResponseEntity<Object>> updateBookingStatus(long ownerId, long bookingId, Boolean approved) {
+        return patch("/{bookingId}?approved={approved}", ownerId,
+                Map.of("bookingId", bookingId, "approved", approved), null);
     }
 
-    public ResponseEntity<Object> getBookingById(long userId, long bookingId) {
-        return get("/" + bookingId, userId);
+    public Mono<ResponseEntity<Object>> updateBookingStatuses(long ownerId, List<Long> bookingIds, Boolean approved) {
+        return patch("/batch?approved={approved}", ownerId, Map.of("approved", approved), bookingIds);
     }
 
-    public ResponseEntity<Object> getBookingsByBookerId(long bookerId, BookingState state) {
+    public Mono<ResponseEntity<Object>> getBookingById(long userId, long bookingId) {
+        return get("/{bookingId}", userId, Map.of("bookingId", bookingId));
+    }
+
+    public Mono<ResponseEntity<Object>> getBookingsByBookerId(long bookerId, BookingState state) {
         Map<String, Object> parameters = Map.of("state", state.name());
         return get("?state={state}", bookerId, parameters);
     }
 
-    public ResponseEntity<Object> getBookingsByOwnerItems(long ownerId, BookingState state) {
+    public Mono<ResponseEntity<Object>> getBookingsByOwnerItems(long ownerId, BookingState state) {
         Map<String, Object> parameters = Map.of("state", state.name());
         return get("/owner?state={state}", ownerId, parameters);
     }
+
+    public Mono<ResponseEntity<StreamingResponseBody>> exportBookingsByOwnerItems(long ownerId, BookingState state,
+                                                                                   BookingExportFormat format) {
+        Map<String, Object> parameters = Map.of(
+                "state", state.name(),
+                "format", format.name()
+        );
+        return stream("/owner/export?state={state}&format={format}", ownerId, parameters);
+    }
+
+    public Mono<ResponseEntity<Object>> getBookingPageByBookerId(long bookerId, BookingState state,
+                                                           @Nullable String cursor, int size) {
+        return get(pagePath("", cursor), bookerId, pageParameters(state, cursor, size));
+    }
+
+    public Mono<ResponseEntity<Object>> getBookingPageByOwnerItems(long ownerId, BookingState state,
+                                                             @Nullable String cursor, int size) {
+        return get(pagePath("/owner", cursor), ownerId, pageParameters(state, cursor, size));
+    }
+
+    private static String pagePath(String path, @Nullable String cursor) {
+        String pagePath = path + "?state={state}&size={size}";
+        return cursor == null ? pagePath : pagePath + "&cursor={cursor}";
+    }
+
+    private static Map<String, Object> pageParameters(BookingState state, @Nullable String cursor, int size) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("state", state.name());
+        parameters.put("size", size);
+        if (cursor != null) {
+            parameters.put("cursor", cursor);
+        }
+        return parameters;
+    }
 }
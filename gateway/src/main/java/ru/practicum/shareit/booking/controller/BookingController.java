@@ -1,18 +1,26 @@
 package ru.practicum.shareit.booking.controller;
 
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.booking.client.BookingClient;
+import ru.practicum.shareit.booking.dto.BookingExportFormat;
 import ru.practicum.shareit.booking.dto.BookingState;
 import ru.practicum.shareit.booking.dto.BookingRequest;
 import ru.practicum.shareit.validation.OnCreate;
 
+import java.util.List;
+
 @Controller
 @RequestMapping(path = "/bookings")
 @RequiredArgsConstructor
@@ -23,7 +31,7 @@ public class BookingController {
     private static final String USER_ID = "X-Sharer-User-Id";
 
     @PostMapping
-    public ResponseEntity<Object> addBooking(
+    public Mono<ResponseEntity<Object>> addBooking(
             @RequestHeader(USER_ID)
             @Positive(message = "Id пользователя должно быть положительным") long bookerId,
             @Validated(OnCreate.class) @RequestBody BookingRequest bookingRequest) {
@@ -33,7 +41,7 @@ public class BookingController {
     }
 
     @PatchMapping("/{bookingId}")
-    public ResponseEntity<Object> updateBookingStatus(
+    public Mono<ResponseEntity<Object>> updateBookingStatus(
             @RequestHeader(USER_ID)
             @Positive(message = "Id пользователя должно быть положительным") long ownerId,
             @PathVariable @Positive(message = "Id бронирования должно быть положительным.") long bookingId,
@@ -42,8 +50,22 @@ public class BookingController {
         return bookingClient.updateBookingStatus(ownerId, bookingId, approved);
     }
 
+    @PatchMapping("/batch")
+    public Mono<ResponseEntity<Object>> updateBookingStatuses(
+            @RequestHeader(USER_ID)
+            @Positive(message = "Id пользователя должно быть положительным") long ownerId,
+            @RequestParam @NotNull(message = "Параметр approved обязателен.") Boolean approved,
+            @RequestBody @NotEmpty(message = "Список бронирований не может быть пустым.")
+            @Size(max = 100, message = "За один запрос можно изменить не больше 100 бронирований.")
+            List<@NotNull(message = "Id бронирования не может быть пустым.")
+                 @Positive(message = "Id бронирования должно быть положительным.") Long> bookingIds) {
+        log.info("Поступил запрос от пользователя {} на изменение статуса {} бронирований.", ownerId,
+                bookingIds.size());
+        return bookingClient.updateBookingStatuses(ownerId, bookingIds, approved);
+    }
+
     @GetMapping("/{bookingId}")
-    public ResponseEntity<Object> getBookingById(
+    public Mono<ResponseEntity<Object>> getBookingById(
             @RequestHeader(USER_ID)
             @Positive(message = "Id пользователя должно быть положительным") long userId,
             @PathVariable @Positive(message = "Id бронирования должно быть положительным.") long bookingId) {
@@ -52,7 +74,7 @@ public class BookingController {
     }
 
     @GetMapping
-    public ResponseEntity<Object> getBookingsByBookerId(
+    public Mono<ResponseEntity<Object>> getBookingsByBookerId(
             @RequestHeader(USER_ID)
             @Positive(message = "Id пользователя должно быть положительным") long bookerId,
             @RequestParam(defaultValue = "ALL") BookingState state) {
@@ -61,11 +83,48 @@ public class BookingController {
     }
 
     @GetMapping("/owner")
-    public ResponseEntity<Object> getBookingsByOwnerItems(
+    public Mono<ResponseEntity<Object>> getBookingsByOwnerItems(
             @RequestHeader(USER_ID)
             @Positive(message = "Id пользователя должно быть положительным") long ownerId,
             @RequestParam(defaultValue = "ALL") BookingState state) {
         log.info("Получен запрос от пользователя {} на получение списка бронирований его вещей.", ownerId);
         return bookingClient.getBookingsByOwnerItems(ownerId, state);
     }
+
+    @GetMapping("/owner/export")
+    public Mono<ResponseEntity<StreamingResponseBody>> exportBookingsByOwnerItems(
+            @RequestHeader(USER_ID)
+            @Positive(message = "Id пользователя должно быть положительным") long ownerId,
+            @RequestParam(defaultValue = "ALL") BookingState state,
+            @RequestParam(defaultValue = "NDJSON") BookingExportFormat format) {
+        log.info("Получен запрос от пользователя {} на выгрузку бронирований его вещей в статусе {}, формат {}.",
+                ownerId, state, format);
+        return bookingClient.exportBookingsByOwnerItems(ownerId, state, format);
+    }
+
+    @GetMapping(params = "size")
+    public Mono<ResponseEntity<Object>> getBookingPageByBookerId(
+            @RequestHeader(USER_ID)
+            @Positive(message = "Id пользователя должно быть положительным") long bookerId,
+            @RequestParam(defaultValue = "ALL") BookingState state,
+            @RequestParam(required = false) String cursor,
+            @RequestParam @Positive(message = "Размер страницы должен быть положительным.")
+            @Max(value = 100, message = "Размер страницы не может быть больше 100.") int size) {
+        log.info("Поступил запрос от пользователя {} на получение страницы бронирований в статусе {}, курсор {}",
+                bookerId, state, cursor);
+        return bookingClient.getBookingPageByBookerId(bookerId, state, cursor, size);
+    }
+
+    @GetMapping(path = "/owner", params = "size")
+    public Mono<ResponseEntity<Object>> getBookingPageByOwnerItems(
+            @RequestHeader(USER_ID)
+            @Positive(message = "Id пользователя должно быть положительным") long ownerId,
+            @RequestParam(defaultValue = "ALL") BookingState state,
+            @RequestParam(required = false) String cursor,
+            @RequestParam @Positive(message = "Размер страницы должен быть положительным.")
+            @Max(value = 100, message = "Размер страницы не может быть больше 100.") int size) {
+        log.info("Получен запрос от пользователя {} на получение страницы бронирований его вещей, курсор {}.",
+                ownerId, cursor);
+        return bookingClient.getBookingPageByOwnerItems(ownerId, state, cursor, size);
+    }
 }
@@ -0,0 +1,11 @@
+package ru.practicum.shareit.booking.dto;
+
+/**
+ * Формат выгрузки бронирований:
+ * NDJSON - по одному JSON-объекту бронирования в строке
+ * CSV - плоская таблица с заголовком
+ */
+public enum BookingExportFormat {
+    NDJSON,
+    CSV
+}
@@ -1,98 +1,224 @@
 package ru.practicum.shareit.client;
 
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
 import org.springframework.http.*;
 import org.springframework.lang.Nullable;
-import org.springframework.web.client.HttpStatusCodeException;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
+import java.io.OutputStream;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 
+/**
+ * Пересылка запросов на сервер ShareIt.
+ * Методы не блокируют поток: ответ сервера приходит в Mono, который возвращает контроллер.
+ * Тело ответа шлюз не разбирает: байты сервера вместе с Content-Type передаются клиенту как есть.
+ */
 public class BaseClient {
-    protected final RestTemplate rest;
+    protected final WebClient webClient;
+    private final String apiPrefix;
+    private final RequestCoalescer coalescer;
+    private final ValidatorCache validatorCache;
 
-    public BaseClient(RestTemplate rest) {
-        this.rest = rest;
+    public BaseClient(WebClient webClient) {
+        this(webClient, "");
     }
 
-    protected ResponseEntity<Object> get(String path) {
+    public BaseClient(WebClient webClient, String apiPrefix) {
+        this(webClient, apiPrefix, RequestCoalescer.disabled());
+    }
+
+    public BaseClient(WebClient webClient, String apiPrefix, RequestCoalescer coalescer) {
+        this(webClient, apiPrefix, coalescer, ValidatorCache.disabled());
+    }
+
+    /**
+     * @param webClient      - клиент с адресом сервера
+     * @param apiPrefix      - префикс путей клиента; входит в шаблон URI, по которому метрики группируют запросы
+     * @param coalescer      - объединение одинаковых одновременных GET-запросов
+     * @param validatorCache - ETag ответов сервера для ответа 304 без обращения к серверу
+     */
+    public BaseClient(WebClient webClient, String apiPrefix, RequestCoalescer coalescer,
+                      ValidatorCache validatorCache) {
+        this.webClient = webClient;
+        this.apiPrefix = apiPrefix;
+        this.coalescer = coalescer;
+        this.validatorCache = validatorCache;
+    }
+
+    protected Mono<ResponseEntity<Object>> get(String path) {
         return get(path, null, null);
     }
 
-    protected ResponseEntity<Object> get(String path, long userId) {
+    protected Mono<ResponseEntity<Object>> get(String path, long userId) {
         return get(path, userId, null);
     }
 
-    protected ResponseEntity<Object> get(String path, Long userId, @Nullable Map<String, Object> parameters) {
-        return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null);
+    protected Mono<ResponseEntity<Object>> get(String path, Long userId, @Nullable Map<String, Object> parameters) {
+        return coalescer.coalesce(requestKey(HttpMethod.GET, path, userId, parameters),
+                makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null, null));
+    }
+
+    /**
+     * Условный GET: If-None-Match клиента сначала сверяется с ETag, сохраненным шлюзом,
+     * и при совпадении шлюз сам отвечает 304. Иначе заголовок передается серверу,
+     * а ETag из его ответа сохраняется для следующих запросов.
+     */
+    protected Mono<ResponseEntity<Object>> conditionalGet(String path, long userId,
+                                                          @Nullable Map<String, Object> parameters,
+                                                          @Nullable String ifNoneMatch) {
+        String key = requestKey(HttpMethod.GET, path, userId, parameters);
+        return Mono.defer(() -> {
+            String etag = validatorCache.match(key, ifNoneMatch);
+            if (etag != null) {
+                return Mono.just(ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build());
+            }
+            Mono<ResponseEntity<Object>> request = makeAndSendRequest(HttpMethod.GET, path, userId, parameters,
+                    null, ifNoneMatch)
+                    .doOnNext(response -> rememberETag(key, response));
+            return ifNoneMatch == null
+                    ? coalescer.coalesce(key, request)
+                    : coalescer.coalesce(key + " if-none-match=" + ifNoneMatch, request);
+        });
     }
 
-    protected <T> ResponseEntity<Object> post(String path, T body) {
+    protected <T> Mono<ResponseEntity<Object>> post(String path, T body) {
         return post(path, null, null, body);
     }
 
-    protected <T> ResponseEntity<Object> post(String path, long userId, T body) {
+    protected <T> Mono<ResponseEntity<Object>> post(String path, long userId, T body) {
         return post(path, userId, null, body);
     }
 
-    protected <T> ResponseEntity<Object> post(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
-        return makeAndSendRequest(HttpMethod.POST, path, userId, parameters, body);
+    protected <T> Mono<ResponseEntity<Object>> post(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
+        return makeAndSendRequest(HttpMethod.POST, path, userId, parameters, body, null);
     }
 
-    protected <T> ResponseEntity<Object> put(String path, long userId, T body) {
+    protected <T> Mono<ResponseEntity<Object>> put(String path, long userId, T body) {
         return put(path, userId, null, body);
     }
 
-    protected <T> ResponseEntity<Object> put(String path, long userId, @Nullable Map<String, Object> parameters, T body) {
-        return makeAndSendRequest(HttpMethod.PUT, path, userId, parameters, body);
+    protected <T> Mono<ResponseEntity<Object>> put(String path, long userId, @Nullable Map<String, Object> parameters, T body) {
+        return makeAndSendRequest(HttpMethod.PUT, path, userId, parameters, body, null);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, T body) {
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, T body) {
         return patch(path, null, null, body);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, long userId) {
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, long userId) {
         return patch(path, userId, null, null);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, long userId, T body) {
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, long userId, T body) {
         return patch(path, userId, null, body);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, long userId, @Nullable Map<String, Object> parameters) {
-        return put(path, userId, parameters, null);
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, long userId, @Nullable Map<String, Object> parameters) {
+        return patch(path, userId, parameters, null);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
-        return makeAndSendRequest(HttpMethod.PATCH, path, userId, parameters, body);
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
+        return makeAndSendRequest(HttpMethod.PATCH, path, userId, parameters, body, null);
     }
 
-    protected ResponseEntity<Object> delete(String path) {
+    protected Mono<ResponseEntity<Object>> delete(String path) {
         return delete(path, null, null);
     }
 
-    protected ResponseEntity<Object> delete(String path, long userId) {
+    protected Mono<ResponseEntity<Object>> delete(String path, long userId) {
         return delete(path, userId, null);
     }
 
-    protected ResponseEntity<Object> delete(String path, Long userId, @Nullable Map<String, Object> parameters) {
-        return makeAndSendRequest(HttpMethod.DELETE, path, userId, parameters, null);
+    protected Mono<ResponseEntity<Object>> delete(String path, Long userId, @Nullable Map<String, Object> parameters) {
+        return makeAndSendRequest(HttpMethod.DELETE, path, userId, parameters, null, null);
+    }
+
+    /**
+     * Пересылка ответа сервера без разбора тела: статус и заголовки приходят в Mono,
+     * а байты тела пишутся клиенту по мере получения от сервера, ответ целиком в памяти не собирается.
+     * Ответ с ошибкой пересылается так же, как успешный.
+     */
+    protected Mono<ResponseEntity<StreamingResponseBody>> stream(String path, long userId,
+                                                                 @Nullable Map<String, Object> parameters) {
+        return webClient.get()
+                .uri(apiPrefix + path, parameters != null ? parameters : Map.of())
+                .header("X-Sharer-User-Id", String.valueOf(userId))
+                .retrieve()
+                .onStatus(status -> true, response -> Mono.empty())
+                .toEntityFlux(DataBuffer.class)
+                .map(response -> new ResponseEntity<>(
+                        out -> writeBody(response.getBody(), out),
+                        forwardedHeaders(response.getHeaders()),
+                        response.getStatusCode()));
+    }
+
+    /**
+     * Выполняется в потоке асинхронной обработки запроса MVC, поэтому ожидание записи допустимо.
+     */
+    private static void writeBody(@Nullable Flux<DataBuffer> body, OutputStream out) {
+        if (body != null) {
+            DataBufferUtils.write(body, out)
+                    .doOnNext(DataBufferUtils::release)
+                    .then()
+                    .block();
+        }
     }
 
-    private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
-        HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
+    private <T> Mono<ResponseEntity<Object>> makeAndSendRequest(HttpMethod method, String path, Long userId,
+                                                                @Nullable Map<String, Object> parameters,
+                                                                @Nullable T body, @Nullable String ifNoneMatch) {
+        WebClient.RequestBodySpec request = webClient.method(method)
+                .uri(apiPrefix + path, parameters != null ? parameters : Map.of())
+                .headers(headers -> {
+                    headers.addAll(defaultHeaders(userId));
+                    if (ifNoneMatch != null) {
+                        headers.setIfNoneMatch(ifNoneMatch);
+                    }
+                });
+        WebClient.RequestHeadersSpec<?> requestWithBody = body != null ? request.bodyValue(body) : request;
 
-        ResponseEntity<Object> shareitServerResponse;
-        try {
-            if (parameters != null) {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class, parameters);
-            } else {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class);
+        Mono<ResponseEntity<Object>> response = requestWithBody
+                .exchangeToMono(serverResponse -> serverResponse.toEntity(byte[].class))
+                .map(BaseClient::prepareGatewayResponse);
+        if (method == HttpMethod.GET) {
+            return response;
+        }
+        return response.doOnNext(written -> {
+            if (written.getStatusCode().is2xxSuccessful()) {
+                validatorCache.clear();
             }
-        } catch (HttpStatusCodeException e) {
-            return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsByteArray());
+        });
+    }
+
+    private void rememberETag(String key, ResponseEntity<Object> response) {
+        String etag = response.getHeaders().getETag();
+        boolean validated = response.getStatusCode().is2xxSuccessful()
+                || response.getStatusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED);
+        if (etag != null && validated) {
+            validatorCache.put(key, etag);
+        } else {
+            validatorCache.remove(key);
+        }
+    }
+
+    /**
+     * Ключ объединения запросов. Параметры сортируются по имени, чтобы ключ не зависел от порядка в Map.
+     */
+    private String requestKey(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters) {
+        StringBuilder key = new StringBuilder()
+                .append(method.name()).append(' ')
+                .append(apiPrefix).append(path)
+                .append(" user=").append(userId);
+        if (parameters != null) {
+            new TreeMap<>(parameters).forEach((name, value) -> key.append(' ').append(name).append('=').append(value));
         }
-        return prepareGatewayResponse(shareitServerResponse);
+        return key.toString();
     }
 
     private HttpHeaders defaultHeaders(Long userId) {
@@ -105,17 +231,37 @@ public class BaseClient {
         return headers;
     }
 
-    private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<Object> response) {
-        if (response.getStatusCode().is2xxSuccessful()) {
-            return response;
+    /**
+     * Тело ответа передается байтами без повторной сериализации. Длину и кодирование передачи
+     * шлюз выставляет сам, поэтому эти заголовки сервера не пересылаются, а в ответ с ошибкой
+     * попадает только тип содержимого. Ответ 304 пересылается с заголовками: в них ETag.
+     */
+    private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<byte[]> response) {
+        if (response.getStatusCode().is2xxSuccessful()
+                || response.getStatusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED)) {
+            return new ResponseEntity<>(response.getBody(), forwardedHeaders(response.getHeaders()),
+                    response.getStatusCode());
         }
 
         ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode());
 
         if (response.hasBody()) {
+            MediaType contentType = response.getHeaders().getContentType();
+            if (contentType != null) {
+                responseBuilder.contentType(contentType);
+            }
             return responseBuilder.body(response.getBody());
         }
 
         return responseBuilder.build();
     }
+
+    private static HttpHeaders forwardedHeaders(HttpHeaders serverHeaders) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.addAll(serverHeaders);
+        headers.remove(HttpHeaders.CONTENT_LENGTH);
+        headers.remove(HttpHeaders.TRANSFER_ENCODING);
+        headers.remove(HttpHeaders.CONNECTION);
+        return headers;
+    }
 }
@@ -0,0 +1,83 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Объединение одинаковых чтений, одновременно идущих на сервер.
+ * Пока запрос с данным ключом выполняется, повторные запросы подписываются на его результат
+ * и к серверу не уходят; после ответа ключ освобождается, и следующий запрос снова идет на сервер.
+ * Ответы не кэшируются дольше времени одного обращения к серверу.
+ * Счетчик shareit.gateway.coalescing.requests с тегом result=upstream|collapsed
+ * показывает долю объединенных запросов.
+ */
+@Component
+public class RequestCoalescer {
+
+    static final String METRIC = "shareit.gateway.coalescing.requests";
+
+    private final boolean enabled;
+    private final Counter upstream;
+    private final Counter collapsed;
+    private final Map<String, Mono<?>> inFlight = new ConcurrentHashMap<>();
+
+    @Autowired
+    public RequestCoalescer(@Value("${shareit-server.coalescing.enabled:true}") boolean enabled,
+                            MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.upstream = Counter.builder(METRIC)
+                .description("Чтения, отправленные шлюзом на сервер и объединенные с уже выполняющимися")
+                .tag("result", "upstream")
+                .register(meterRegistry);
+        this.collapsed = Counter.builder(METRIC)
+                .tag("result", "collapsed")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Объединитель, который пропускает все запросы на сервер.
+     */
+    public static RequestCoalescer disabled() {
+        return new RequestCoalescer(false, new SimpleMeterRegistry());
+    }
+
+    /**
+     * @param key     - ключ запроса: метод, путь, параметры и пользователь
+     * @param request - обращение к серверу; выполняется, только если запроса с таким ключом сейчас нет
+     * @return ответ сервера, общий для всех подписчиков с этим ключом
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Mono<T> coalesce(String key, Mono<T> request) {
+        if (!enabled) {
+            return request;
+        }
+        return Mono.defer(() -> {
+            AtomicReference<Mono<T>> self = new AtomicReference<>();
+            Mono<T> shared = request
+                    .doFinally(signal -> inFlight.remove(key, self.get()))
+                    .cache();
+            self.set(shared);
+
+            Mono<T> running = (Mono<T>) inFlight.putIfAbsent(key, shared);
+            if (running != null) {
+                collapsed.increment();
+                return running;
+            }
+            upstream.increment();
+            return shared;
+        });
+    }
+
+    int inFlightCount() {
+        return inFlight.size();
+    }
+}
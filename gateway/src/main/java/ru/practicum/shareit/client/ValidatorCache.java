@@ -0,0 +1,107 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Последние ETag, полученные шлюзом от сервера, по ключу запроса (путь, параметры, пользователь).
+ * Если ETag из If-None-Match клиента совпадает с сохраненным, шлюз отвечает 304 без обращения к серверу.
+ * Запись живет не дольше ttl: ответ сервера может измениться и без записи через этот шлюз
+ * (наступило бронирование, данные изменены через другой экземпляр шлюза), поэтому ttl - это
+ * наибольшая задержка, с которой клиент увидит такие изменения. Любая успешная запись через шлюз
+ * очищает кэш целиком.
+ * Счетчик shareit.gateway.validator-cache.not-modified - ответы 304, выданные без обращения к серверу.
+ */
+@Component
+public class ValidatorCache {
+
+    static final String METRIC = "shareit.gateway.validator-cache.not-modified";
+
+    private final Duration ttl;
+    private final int maxEntries;
+    private final Counter notModified;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ValidatorCache(@Value("${shareit-server.validator-cache.ttl:5s}") Duration ttl,
+                          @Value("${shareit-server.validator-cache.max-entries:10000}") int maxEntries,
+                          MeterRegistry meterRegistry) {
+        this.ttl = ttl;
+        this.maxEntries = maxEntries;
+        this.notModified = Counter.builder(METRIC)
+                .description("Ответы 304, выданные шлюзом по сохраненному ETag без обращения к серверу")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Кэш, который ничего не хранит: все условные запросы уходят на сервер.
+     */
+    public static ValidatorCache disabled() {
+        return new ValidatorCache(Duration.ZERO, 0, new SimpleMeterRegistry());
+    }
+
+    /**
+     * @param key         - ключ запроса
+     * @param ifNoneMatch - заголовок If-None-Match клиента: один или несколько ETag через запятую или *
+     * @return сохраненный ETag, если он совпал с одним из ETag клиента, иначе null
+     */
+    @Nullable
+    public String match(String key, @Nullable String ifNoneMatch) {
+        if (ifNoneMatch == null) {
+            return null;
+        }
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAtNanos - System.nanoTime() <= 0) {
+            entries.remove(key, entry);
+            return null;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || opaque(tag).equals(opaque(entry.etag))) {
+                notModified.increment();
+                return entry.etag;
+            }
+        }
+        return null;
+    }
+
+    public void put(String key, String etag) {
+        if (ttl.isZero()) {
+            return;
+        }
+        if (entries.size() >= maxEntries && !entries.containsKey(key)) {
+            entries.clear();
+        }
+        entries.put(key, new Entry(etag, System.nanoTime() + ttl.toNanos()));
+    }
+
+    public void remove(String key) {
+        entries.remove(key);
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    /**
+     * Сравнение слабое, как требует If-None-Match: префикс W/ не учитывается.
+     */
+    private static String opaque(String etag) {
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
+    }
+
+    private record Entry(String etag, long expiresAtNanos) {
+    }
+}
@@ -2,15 +2,21 @@ package ru.practicum.shareit.item.client;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.RequestCoalescer;
+import ru.practicum.shareit.client.ValidatorCache;
 import ru.practicum.shareit.item.dto.CommentRequest;
 import ru.practicum.shareit.item.dto.ItemDto;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Map;
 
 @Service
@@ -18,37 +24,82 @@ public class ItemClient extends BaseClient {
     private static final String API_PREFIX = "/items";
 
     @Autowired
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public ItemClient(@Value("${shareit-server.url}") String serverUrl, WebClient.Builder builder,
+                      ClientHttpConnector shareItServerConnector,
+                      RequestCoalescer coalescer, ValidatorCache validatorCache) {
         super(
                 builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
-                        .build()
+                        .uriBuilderFactory(new DefaultUriBuilderFactory(serverUrl))
+                        .clientConnector(shareItServerConnector)
+                        .build(),
+                API_PREFIX,
+                coalescer,
+                validatorCache
         );
     }
 
-    public ResponseEntity<Object> addItem(long userId, ItemDto itemDto) {
+    public Mono<ResponseEntity<Object>> addItem(long userId, ItemDto itemDto) {
         return post("", userId, itemDto);
     }
 
-    public ResponseEntity<Object> updateItem(long userId, long itemId, ItemDto itemDto) {
-        return patch("/" + itemId, userId, itemDto);
+    public Mono<ResponseEntity<Object>> addItems(long userId, List<ItemDto> items) {
+        return post("/batch", userId, items);
     }
 
-    public ResponseEntity<Object> getItemById(long userId, long itemId) {
-        return get("/" + itemId, userId);
+    public Mono<ResponseEntity<Object>> updateItem(long userId, long itemId, ItemDto itemDto) {
+        return patch("/{itemId}", userId, Map.of("itemId", itemId), itemDto);
     }
 
-    public ResponseEntity<Object> getItemsByUserId(long userId) {
-        return get("", userId);
+    public Mono<ResponseEntity<Object>> getItemById(long userId, long itemId, @Nullable String ifNoneMatch) {
+        return conditionalGet("/{itemId}", userId, Map.of("itemId", itemId), ifNoneMatch);
     }
 
-    public ResponseEntity<Object> getItemsByText(long userId, String text) {
-        Map<String, Object> parameters = Map.of("text", text);
-        return get("/search?text={text}", userId, parameters);
+    public Mono<ResponseEntity<Object>> getItemsByUserId(long userId, @Nullable String ifNoneMatch) {
+        return conditionalGet("", userId, null, ifNoneMatch);
     }
 
-    public ResponseEntity<Object> addComment(long authorId, long itemId, CommentRequest comment) {
-        return post("/" + itemId + "/comment", authorId, comment);
+    public Mono<ResponseEntity<Object>> getItemsByText(long userId, String text, int from, int size) {
+        Map<String, Object> parameters = Map.of(
+                "text", text,
+                "from", from,
+                "size", size
+        );
+        return get("/search?text={text}&from={from}&size={size}", userId, parameters);
+    }
+
+    public Mono<ResponseEntity<Object>> getItemsByText(long userId, String text, LocalDateTime start,
+                                                       LocalDateTime end, int from, int size) {
+        Map<String, Object> parameters = Map.of(
+                "text", text,
+                "start", start,
+                "end", end,
+                "from", from,
+                "size", size
+        );
+        return get("/search?text={text}&start={start}&end={end}&from={from}&size={size}", userId, parameters);
+    }
+
+    public Mono<ResponseEntity<Object>> getAvailableItems(long userId, LocalDateTime start, LocalDateTime end,
+                                                          int from, int size) {
+        Map<String, Object> parameters = Map.of(
+                "start", start,
+                "end", end,
+                "from", from,
+                "size", size
+        );
+        return get("/available?start={start}&end={end}&from={from}&size={size}", userId, parameters);
+    }
+
+    public Mono<ResponseEntity<Object>> getCommentsByItemId(long userId, long itemId, int from, int size) {
+        Map<String, Object> parameters = Map.of(
+                "itemId", itemId,
+                "from", from,
+                "size", size
+        );
+        return get("/{itemId}/comments?from={from}&size={size}", userId, parameters);
+    }
+
+    public Mono<ResponseEntity<Object>> addComment(long authorId, long itemId, CommentRequest comment) {
+        return post("/{itemId}/comment", authorId, Map.of("itemId", itemId), comment);
     }
 }
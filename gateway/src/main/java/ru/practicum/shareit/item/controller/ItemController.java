@@ -1,18 +1,34 @@
 package ru.practicum.shareit.item.controller;
 
+import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
+import jakarta.validation.groups.Default;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.client.ItemClient;
 import ru.practicum.shareit.item.dto.CommentRequest;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.validation.OnCreate;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
 @Controller
 @RequestMapping("/items")
 @RequiredArgsConstructor
@@ -20,10 +36,11 @@ import ru.practicum.shareit.validation.OnCreate;
 @Slf4j
 public class ItemController {
     private final ItemClient itemClient;
+    private final Validator validator;
     private static final String USER_ID = "X-Sharer-User-Id";
 
     @PostMapping
-    public ResponseEntity<Object> addItem(
+    public Mono<ResponseEntity<Object>> addItem(
             @RequestHeader(USER_ID)
             @Positive(message = "Id пользователя должно быть положительным") long userId,
             @Validated(OnCreate.class) @RequestBody ItemDto itemDto) {
@@ -31,8 +48,25 @@ public class ItemController {
         return itemClient.addItem(userId, itemDto);
     }
 
+    /**
+     * Строки импорта проверяются ограничениями ItemDto, как при создании одной вещи (группа OnCreate)
+     * и при обновлении (длины полей). Если хотя бы одна строка некорректна, список отклоняется целиком
+     * с ошибками всех строк по индексам. Сервер проверяет только то, что зависит от данных
+     * (существование запросов), и возвращает результат по каждой строке.
+     */
+    @PostMapping("/batch")
+    public Mono<ResponseEntity<Object>> addItems(
+            @RequestHeader(USER_ID)
+            @Positive(message = "Id пользователя должно быть положительным") long userId,
+            @RequestBody @NotEmpty(message = "Список вещей не может быть пустым.")
+            @Size(max = 1000, message = "За один запрос можно добавить не больше 1000 вещей.") List<ItemDto> items) {
+        log.info("Поступил запрос от пользователя с id - {} на импорт {} вещей", userId, items.size());
+        checkImportedItems(items);
+        return itemClient.addItems(userId, items);
+    }
+
     @PatchMapping("/{itemId}")
-    public ResponseEntity<Object> updateItem(
+    public Mono<ResponseEntity<Object>> updateItem(
             @RequestHeader(USER_ID)
             @Positive(message = "Id пользователя должно быть положительным.") long userId,
             @PathVariable @Positive(message = "Id вещи должно быть положительным.") long itemId,
@@ -42,33 +76,82 @@ public class ItemController {
     }
 
     @GetMapping("/{itemId}")
-    public ResponseEntity<Object> getItemById(
+    public Mono<ResponseEntity<Object>> getItemById(
             @RequestHeader(USER_ID)
             @Positive(message = "Id пользователя должно быть положительным.") long userId,
-            @PathVariable @Positive(message = "Id вещи должно быть положительным.") long itemId) {
+            @PathVariable @Positive(message = "Id вещи должно быть положительным.") long itemId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         log.info("Поступил запрос на вывод информации о вещи.");
-        return itemClient.getItemById(userId, itemId);
+        return itemClient.getItemById(userId, itemId, ifNoneMatch);
     }
 
     @GetMapping
-    public ResponseEntity<Object> getItemsByUserId(
+    public Mono<ResponseEntity<Object>> getItemsByUserId(
             @RequestHeader(USER_ID)
-            @Positive(message = "Id пользователя должно быть положительным.") long userId) {
+            @Positive(message = "Id пользователя должно быть положительным.") long userId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         log.info("Поступил запрос на получение списка вещей пользователя с id - {}", userId);
-        return itemClient.getItemsByUserId(userId);
+        return itemClient.getItemsByUserId(userId, ifNoneMatch);
     }
 
     @GetMapping("/search")
-    public ResponseEntity<Object> getItemsByText(
+    public Mono<ResponseEntity<Object>> getItemsByText(
+            @RequestHeader(USER_ID)
+            @Positive(message = "Id пользователя должно быть положительным.") long userId,
+            @RequestParam String text,
+            @RequestParam(defaultValue = "0")
+            @PositiveOrZero(message = "Индекс первого элемента не может быть отрицательным.") int from,
+            @RequestParam(defaultValue = "20") @Positive(message = "Размер страницы должен быть положительным.")
+            @Max(value = 100, message = "Размер страницы не может быть больше 100.") int size) {
+        log.info("Поступил запрос на поиск вещей по описанию {}, from {}, size {}.", text, from, size);
+        return itemClient.getItemsByText(userId, text, from, size);
+    }
+
+    @GetMapping(path = "/search", params = {"start", "end"})
+    public Mono<ResponseEntity<Object>> getItemsByTextFreeBetween(
             @RequestHeader(USER_ID)
             @Positive(message = "Id пользователя должно быть положительным.") long userId,
-            @RequestParam String text) {
-        log.info("Поступил запрос на поиск вещей по описанию {}.", text);
-        return itemClient.getItemsByText(userId, text);
+            @RequestParam String text,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end,
+            @RequestParam(defaultValue = "0")
+            @PositiveOrZero(message = "Индекс первого элемента не может быть отрицательным.") int from,
+            @RequestParam(defaultValue = "20") @Positive(message = "Размер страницы должен быть положительным.")
+            @Max(value = 100, message = "Размер страницы не может быть больше 100.") int size) {
+        log.info("Поступил запрос на поиск вещей по описанию {}, свободных с {} по {}, from {}, size {}.",
+                text, start, end, from, size);
+        return itemClient.getItemsByText(userId, text, start, end, from, size);
+    }
+
+    @GetMapping("/available")
+    public Mono<ResponseEntity<Object>> getAvailableItems(
+            @RequestHeader(USER_ID)
+            @Positive(message = "Id пользователя должно быть положительным.") long userId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end,
+            @RequestParam(defaultValue = "0")
+            @PositiveOrZero(message = "Индекс первого элемента не может быть отрицательным.") int from,
+            @RequestParam(defaultValue = "20") @Positive(message = "Размер страницы должен быть положительным.")
+            @Max(value = 100, message = "Размер страницы не может быть больше 100.") int size) {
+        log.info("Поступил запрос на поиск вещей, свободных с {} по {}, from {}, size {}.", start, end, from, size);
+        return itemClient.getAvailableItems(userId, start, end, from, size);
+    }
+
+    @GetMapping("/{itemId}/comments")
+    public Mono<ResponseEntity<Object>> getCommentsByItemId(
+            @RequestHeader(USER_ID)
+            @Positive(message = "Id пользователя должно быть положительным.") long userId,
+            @PathVariable @Positive(message = "Id вещи должно быть положительным.") long itemId,
+            @RequestParam(defaultValue = "0")
+            @PositiveOrZero(message = "Индекс первого элемента не может быть отрицательным.") int from,
+            @RequestParam(defaultValue = "20") @Positive(message = "Размер страницы должен быть положительным.")
+            @Max(value = 100, message = "Размер страницы не может быть больше 100.") int size) {
+        log.info("Поступил запрос на получение комментариев к вещи {}, from {}, size {}.", itemId, from, size);
+        return itemClient.getCommentsByItemId(userId, itemId, from, size);
     }
 
     @PostMapping("/{itemId}/comment")
-    public ResponseEntity<Object> addComment(
+    public Mono<ResponseEntity<Object>> addComment(
             @RequestHeader(USER_ID)
             @Positive(message = "Id пользователя должно быть положительным.") long authorId,
             @PathVariable @Positive(message = "Id вещи должно быть положительным.") long itemId,
@@ -76,4 +159,23 @@ public class ItemController {
         log.info("Поступил запрос от пользователя {} на добавление комментария к вещи {}.", authorId, itemId);
         return itemClient.addComment(authorId, itemId, comment);
     }
+
+    private void checkImportedItems(List<ItemDto> items) {
+        List<String> errors = new ArrayList<>();
+        for (int i = 0; i < items.size(); i++) {
+            ItemDto item = items.get(i);
+            if (item == null) {
+                errors.add(String.format("Вещь %s: не заполнены данные вещи.", i));
+                continue;
+            }
+            int index = i;
+            validator.validate(item, OnCreate.class, Default.class).stream()
+                    .sorted(Comparator.comparing((ConstraintViolation<ItemDto> violation) ->
+                            violation.getPropertyPath().toString()).thenComparing(ConstraintViolation::getMessage))
+                    .forEach(violation -> errors.add(String.format("Вещь %s: %s", index, violation.getMessage())));
+        }
+        if (!errors.isEmpty()) {
+            throw new ValidationException(String.join(" ", errors));
+        }
+    }
 }
@@ -51,5 +51,14 @@ public class ItemDto {
 
     private LocalDateTime lastBooking;
     private LocalDateTime nextBooking;
+    /**
+     * Комментарии к вещи от новых к старым. В ответе GET /items/{itemId} - не больше 20 последних,
+     * остальные читаются постранично через GET /items/{itemId}/comments, в списке вещей владельца - все.
+     */
     private List<CommentResponse> comments;
+
+    /**
+     * Общее количество комментариев к вещи, в том числе не вошедших в comments.
+     */
+    private Long commentsCount;
 }
@@ -2,41 +2,52 @@ package ru.practicum.shareit.request.client;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.RequestCoalescer;
+import ru.practicum.shareit.client.ValidatorCache;
 import ru.practicum.shareit.request.dto.ItemRequestRequest;
 
+import java.util.Map;
+
 @Service
 public class ItemRequestClient extends BaseClient {
     private static final String API_PREFIX = "/requests";
 
     @Autowired
-    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, WebClient.Builder builder,
+                             ClientHttpConnector shareItServerConnector,
+                             RequestCoalescer coalescer, ValidatorCache validatorCache) {
         super(
                 builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
-                        .build()
+                        .uriBuilderFactory(new DefaultUriBuilderFactory(serverUrl))
+                        .clientConnector(shareItServerConnector)
+                        .build(),
+                API_PREFIX,
+                coalescer,
+                validatorCache
         );
     }
 
-    public ResponseEntity<Object> addRequest(long requestorId, ItemRequestRequest request) {
+    public Mono<ResponseEntity<Object>> addRequest(long requestorId, ItemRequestRequest request) {
         return post("", requestorId, request);
     }
 
-    public ResponseEntity<Object> getRequestsByRequestor(long requestorId) {
+    public Mono<ResponseEntity<Object>> getRequestsByRequestor(long requestorId) {
         return get("", requestorId);
     }
 
-    public ResponseEntity<Object> getRequestsByOtherRequestor(long requestorId) {
+    public Mono<ResponseEntity<Object>> getRequestsByOtherRequestor(long requestorId) {
         return get("/all", requestorId);
     }
 
-    public ResponseEntity<Object> getRequestById(long userId, long requestId) {
-        return get("/" + requestId, userId);
+    public Mono<ResponseEntity<Object>> getRequestById(long userId, long requestId, @Nullable String ifNoneMatch) {
+        return conditionalGet("/{requestId}", userId, Map.of("requestId", requestId), ifNoneMatch);
     }
 }
@@ -4,10 +4,12 @@ import jakarta.validation.Valid;
 import jakarta.validation.constraints.Positive;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.request.client.ItemRequestClient;
 import ru.practicum.shareit.request.dto.ItemRequestRequest;
 
@@ -21,7 +23,7 @@ public class ItemRequestController {
     private static final String USER_ID = "X-Sharer-User-Id";
 
     @PostMapping
-    ResponseEntity<Object> addRequest(
+    Mono<ResponseEntity<Object>> addRequest(
             @RequestHeader(USER_ID)
             @Positive(message = "Id пользователя должно быть положительным") long requestorId,
             @RequestBody @Valid ItemRequestRequest request) {
@@ -30,7 +32,7 @@ public class ItemRequestController {
     }
 
     @GetMapping
-    ResponseEntity<Object> getRequestsByRequestor(
+    Mono<ResponseEntity<Object>> getRequestsByRequestor(
             @RequestHeader(USER_ID)
             @Positive(message = "Id пользователя должно быть положительным.") long requestorId) {
         log.info("Поступил запрос от пользователя {} на получение списка своих запросов.", requestorId);
@@ -38,7 +40,7 @@ public class ItemRequestController {
     }
 
     @GetMapping("/all")
-    ResponseEntity<Object> getRequestsByOtherRequestor(
+    Mono<ResponseEntity<Object>> getRequestsByOtherRequestor(
             @RequestHeader(USER_ID)
             @Positive(message = "Id пользователя должно быть положительным.") long requestorId) {
         log.info("Поступил запрос от пользователя {} на получение списка всех запросов.", requestorId);
@@ -46,11 +48,12 @@ public class ItemRequestController {
     }
 
     @GetMapping("/{requestId}")
-    ResponseEntity<Object> getRequestById(
+    Mono<ResponseEntity<Object>> getRequestById(
             @RequestHeader(USER_ID)
             @Positive(message = "Id пользователя должно быть положительным") long userId,
-            @PathVariable @Positive(message = "Id запроса должно быть положительным.") long requestId) {
+            @PathVariable @Positive(message = "Id запроса должно быть положительным.") long requestId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         log.info("Поступил запрос от пользователя {} на просмотр данных запроса {}.", userId, requestId);
-        return requestClient.getRequestById(userId, requestId);
+        return requestClient.getRequestById(userId, requestId, ifNoneMatch);
     }
 }
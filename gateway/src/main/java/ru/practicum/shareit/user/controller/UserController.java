@@ -7,6 +7,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.user.client.UserClient;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.validation.OnCreate;
@@ -21,13 +22,13 @@ public class UserController {
     private final UserClient userClient;
 
     @PostMapping
-    public ResponseEntity<Object> createUser(@Validated(OnCreate.class) @RequestBody UserDto userDto) {
+    public Mono<ResponseEntity<Object>> createUser(@Validated(OnCreate.class) @RequestBody UserDto userDto) {
         log.info("Получен запрос на создание нового пользователя {}", userDto);
         return userClient.createUser(userDto);
     }
 
     @PatchMapping("/{userId}")
-    public ResponseEntity<Object> updateUser(
+    public Mono<ResponseEntity<Object>> updateUser(
             @PathVariable @Positive(message = "Id пользователя должен быть положительным.") Long userId,
             @Validated(OnUpdate.class) @RequestBody UserDto userDto) {
         log.info("Получен запрос на обновления данных пользователя с id - {} на {}", userId, userDto);
@@ -35,14 +36,14 @@ public class UserController {
     }
 
     @GetMapping("/{userId}")
-    public ResponseEntity<Object> getUserById(
+    public Mono<ResponseEntity<Object>> getUserById(
             @PathVariable @Positive(message = "Id пользователя должен быть положительным.") Long userId) {
         log.info("Получен запрос на поиск пользователя с id - {}.", userId);
         return userClient.getUserById(userId);
     }
 
     @DeleteMapping("/{userId}")
-    public ResponseEntity<Void> deleteUserById(
+    public Mono<ResponseEntity<Void>> deleteUserById(
             @PathVariable @Positive(message = "Id пользователя должен быть положительным.") Long userId) {
         log.info("Получен запрос на удаление пользователя с id - {}.", userId);
         return userClient.deleteUserById(userId);
@@ -9,18 +9,31 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.booking.client.BookingClient;
+import ru.practicum.shareit.booking.dto.BookingExportFormat;
 import ru.practicum.shareit.booking.dto.BookingRequest;
 import ru.practicum.shareit.booking.dto.BookingResponse;
 import ru.practicum.shareit.booking.dto.BookingState;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
@@ -54,9 +67,9 @@ class BookingControllerMvcTest {
                 .build();
 
         when(bookingClient.addBooking(eq(VALID_USER_ID), any(BookingRequest.class)))
-                .thenReturn(ResponseEntity.ok(bookingResponse));
+                .thenReturn(Mono.just(ResponseEntity.ok(bookingResponse)));
 
-        mockMvc.perform(post("/bookings")
+        performAsync(post("/bookings")
                         .header(USER_ID_HEADER, VALID_USER_ID)
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(mapper.writeValueAsString(bookingRequest)))
@@ -108,9 +121,9 @@ class BookingControllerMvcTest {
                 .build();
 
         when(bookingClient.updateBookingStatus(eq(VALID_USER_ID), eq(VALID_BOOKING_ID), eq(true)))
-                .thenReturn(ResponseEntity.ok(bookingResponse));
+                .thenReturn(Mono.just(ResponseEntity.ok(bookingResponse)));
 
-        mockMvc.perform(patch("/bookings/{bookingId}", VALID_BOOKING_ID)
+        performAsync(patch("/bookings/{bookingId}", VALID_BOOKING_ID)
                         .header(USER_ID_HEADER, VALID_USER_ID)
                         .param("approved", "true")
                         .contentType(MediaType.APPLICATION_JSON))
@@ -142,9 +155,9 @@ class BookingControllerMvcTest {
                 .build();
 
         when(bookingClient.getBookingById(eq(VALID_USER_ID), eq(VALID_BOOKING_ID)))
-                .thenReturn(ResponseEntity.ok(bookingResponse));
+                .thenReturn(Mono.just(ResponseEntity.ok(bookingResponse)));
 
-        mockMvc.perform(get("/bookings/{bookingId}", VALID_BOOKING_ID)
+        performAsync(get("/bookings/{bookingId}", VALID_BOOKING_ID)
                         .header(USER_ID_HEADER, VALID_USER_ID)
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
@@ -162,9 +175,9 @@ class BookingControllerMvcTest {
     @Test
     void getBookingsByBookerId_whenValidData() throws Exception {
         when(bookingClient.getBookingsByBookerId(eq(VALID_USER_ID), any(BookingState.class)))
-                .thenReturn(ResponseEntity.ok().build());
+                .thenReturn(Mono.just(ResponseEntity.ok().build()));
 
-        mockMvc.perform(get("/bookings")
+        performAsync(get("/bookings")
                         .header(USER_ID_HEADER, VALID_USER_ID)
                         .param("state", "ALL")
                         .contentType(MediaType.APPLICATION_JSON))
@@ -177,9 +190,9 @@ class BookingControllerMvcTest {
 
         for (BookingState state : states) {
             when(bookingClient.getBookingsByBookerId(eq(VALID_USER_ID), eq(state)))
-                    .thenReturn(ResponseEntity.ok().build());
+                    .thenReturn(Mono.just(ResponseEntity.ok().build()));
 
-            mockMvc.perform(get("/bookings")
+            performAsync(get("/bookings")
                             .header(USER_ID_HEADER, VALID_USER_ID)
                             .param("state", state.name())
                             .contentType(MediaType.APPLICATION_JSON))
@@ -199,9 +212,9 @@ class BookingControllerMvcTest {
     @Test
     void getBookingsByOwnerItems_whenValidData() throws Exception {
         when(bookingClient.getBookingsByOwnerItems(eq(VALID_USER_ID), any(BookingState.class)))
-                .thenReturn(ResponseEntity.ok().build());
+                .thenReturn(Mono.just(ResponseEntity.ok().build()));
 
-        mockMvc.perform(get("/bookings/owner")
+        performAsync(get("/bookings/owner")
                         .header(USER_ID_HEADER, VALID_USER_ID)
                         .param("state", "CURRENT")
                         .contentType(MediaType.APPLICATION_JSON))
@@ -214,9 +227,9 @@ class BookingControllerMvcTest {
 
         for (BookingState state : states) {
             when(bookingClient.getBookingsByOwnerItems(eq(VALID_USER_ID), eq(state)))
-                    .thenReturn(ResponseEntity.ok().build());
+                    .thenReturn(Mono.just(ResponseEntity.ok().build()));
 
-            mockMvc.perform(get("/bookings/owner")
+            performAsync(get("/bookings/owner")
                             .header(USER_ID_HEADER, VALID_USER_ID)
                             .param("state", state.name())
                             .contentType(MediaType.APPLICATION_JSON))
@@ -236,11 +249,129 @@ class BookingControllerMvcTest {
     @Test
     void getBookingsByOwnerItems_whenDefaultState() throws Exception {
         when(bookingClient.getBookingsByOwnerItems(eq(VALID_USER_ID), eq(BookingState.ALL)))
-                .thenReturn(ResponseEntity.ok().build());
+                .thenReturn(Mono.just(ResponseEntity.ok().build()));
 
-        mockMvc.perform(get("/bookings/owner")
+        performAsync(get("/bookings/owner")
+                        .header(USER_ID_HEADER, VALID_USER_ID)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void getBookingsByOwnerItems_whenRawServerBody_thenWrittenUnchanged() throws Exception {
+        String serverBody = "[{\"id\":1,\"status\":\"WAITING\"}]";
+        when(bookingClient.getBookingsByOwnerItems(VALID_USER_ID, BookingState.ALL))
+                .thenReturn(Mono.just(ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON)
+                        .body(serverBody.getBytes(StandardCharsets.UTF_8))));
+
+        performAsync(get("/bookings/owner")
+                        .header(USER_ID_HEADER, VALID_USER_ID))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(content().string(serverBody));
+    }
+
+    @Test
+    void getBookingPageByBookerId_whenValidData() throws Exception {
+        when(bookingClient.getBookingPageByBookerId(eq(VALID_USER_ID), eq(BookingState.ALL), eq("cursor"), eq(20)))
+                .thenReturn(Mono.just(ResponseEntity.ok().build()));
+
+        performAsync(get("/bookings")
                         .header(USER_ID_HEADER, VALID_USER_ID)
+                        .param("cursor", "cursor")
+                        .param("size", "20")
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk());
     }
+
+    @Test
+    void getBookingPageByOwnerItems_whenValidData() throws Exception {
+        when(bookingClient.getBookingPageByOwnerItems(eq(VALID_USER_ID), eq(BookingState.FUTURE), isNull(), eq(5)))
+                .thenReturn(Mono.just(ResponseEntity.ok().build()));
+
+        performAsync(get("/bookings/owner")
+                        .header(USER_ID_HEADER, VALID_USER_ID)
+                        .param("state", "FUTURE")
+                        .param("size", "5")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void getBookingPageByBookerId_whenBadSize() throws Exception {
+        mockMvc.perform(get("/bookings")
+                        .header(USER_ID_HEADER, VALID_USER_ID)
+                        .param("size", "0")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/bookings/owner")
+                        .header(USER_ID_HEADER, VALID_USER_ID)
+                        .param("size", "101")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void exportBookingsByOwnerItems_whenCsv_thenServerStreamRelayed() throws Exception {
+        StreamingResponseBody body = out -> out.write("id,start\n1,2026-01-10T12:00\n".getBytes(StandardCharsets.UTF_8));
+        when(bookingClient.exportBookingsByOwnerItems(VALID_USER_ID, BookingState.PAST, BookingExportFormat.CSV))
+                .thenReturn(Mono.just(ResponseEntity.ok().contentType(MediaType.parseMediaType("text/csv")).body(body)));
+
+        MvcResult relayed = performAsync(get("/bookings/owner/export")
+                        .header(USER_ID_HEADER, VALID_USER_ID)
+                        .param("state", "PAST")
+                        .param("format", "CSV"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(relayed))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                .andExpect(content().string("id,start\n1,2026-01-10T12:00\n"));
+    }
+
+    @Test
+    void exportBookingsByOwnerItems_whenBadFormat_thenBadRequest() throws Exception {
+        mockMvc.perform(get("/bookings/owner/export")
+                        .header(USER_ID_HEADER, VALID_USER_ID)
+                        .param("format", "XML"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(bookingClient);
+    }
+
+    @Test
+    void updateBookingStatuses_whenValidIds_thenPassedToClient() throws Exception {
+        when(bookingClient.updateBookingStatuses(VALID_USER_ID, List.of(1L, 2L), true))
+                .thenReturn(Mono.just(ResponseEntity.ok().body(List.of(Map.of("bookingId", 1, "status", "APPROVED")))));
+
+        performAsync(patch("/bookings/batch")
+                        .header(USER_ID_HEADER, VALID_USER_ID)
+                        .param("approved", "true")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[1, 2]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status").value("APPROVED"));
+    }
+
+    @Test
+    void updateBookingStatuses_whenInvalidIds_thenBadRequest() throws Exception {
+        for (String ids : List.of("[]", "[1, -2]", "[1, null]")) {
+            mockMvc.perform(patch("/bookings/batch")
+                            .header(USER_ID_HEADER, VALID_USER_ID)
+                            .param("approved", "true")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(ids))
+                    .andExpect(status().isBadRequest());
+        }
+
+        verifyNoInteractions(bookingClient);
+    }
+
+    private ResultActions performAsync(RequestBuilder requestBuilder) throws Exception {
+        MvcResult result = mockMvc.perform(requestBuilder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(result));
+    }
 }
@@ -0,0 +1,269 @@
+package ru.practicum.shareit.client;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Flux;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BaseClientTest {
+
+    private static final int DELAY_MILLIS = 200;
+    private static final int EXPORT_LINES = 5000;
+    private static final String VERSION = "W/\"v1\"";
+    private static final String FORMATTED_JSON = "[ {\n  \"id\" : 1,\n  \"name\" : \"Дрель\"\n} ]";
+
+    private HttpServer server;
+    private ConnectionProvider connectionProvider;
+    private TestClient client;
+    private final AtomicInteger slowCalls = new AtomicInteger();
+    private final AtomicInteger versionedCalls = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/echo", this::echo);
+        server.createContext("/export", exchange -> {
+            exchange.getResponseHeaders().add("Content-Type", "application/x-ndjson");
+            exchange.getResponseHeaders().add("Content-Disposition", "attachment; filename=\"bookings-7.ndjson\"");
+            exchange.sendResponseHeaders(200, 0);
+            try (OutputStream out = exchange.getResponseBody()) {
+                for (int i = 0; i < EXPORT_LINES; i++) {
+                    out.write(("{\"id\":" + i + "}\n").getBytes(StandardCharsets.UTF_8));
+                }
+            }
+        });
+        server.createContext("/formatted", exchange -> respond(exchange, 200, FORMATTED_JSON));
+        server.createContext("/versioned", exchange -> {
+            versionedCalls.incrementAndGet();
+            exchange.getResponseHeaders().add("ETag", VERSION);
+            if (VERSION.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                exchange.sendResponseHeaders(304, -1);
+                exchange.close();
+                return;
+            }
+            respond(exchange, 200, "{\"id\":1}");
+        });
+        server.createContext("/write", exchange -> respond(exchange, 200, "{}"));
+        server.createContext("/missing", exchange -> respond(exchange, 404, "{\"error\":\"not found\"}"));
+        server.createContext("/slow", exchange -> {
+            slowCalls.incrementAndGet();
+            try {
+                Thread.sleep(DELAY_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            respond(exchange, 200, "{}");
+        });
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.start();
+
+        ShareItServerClientConfig config = new ShareItServerClientConfig();
+        connectionProvider = config.shareItServerConnectionProvider(500, 10000, Duration.ofSeconds(5),
+                Duration.ofSeconds(30));
+        ClientHttpConnector connector = config.shareItServerConnector(connectionProvider, Duration.ofSeconds(2),
+                Duration.ofSeconds(10));
+        client = new TestClient(WebClient.builder()
+                .uriBuilderFactory(new DefaultUriBuilderFactory("http://localhost:" + server.getAddress().getPort()))
+                .clientConnector(connector)
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        connectionProvider.dispose();
+        server.stop(0);
+    }
+
+    @Test
+    void get_whenUserIdAndParameters_thenForwardedToServer() {
+        ResponseEntity<Object> response = client.get("/echo?state={state}", 7L, Map.of("state", "ALL")).block();
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(bodyOf(response)).isEqualTo("{\"userId\":\"7\",\"path\":\"/echo\",\"query\":\"state=ALL\"}");
+        assertThat(response.getHeaders().getFirst("X-Next-Cursor")).isEqualTo("next");
+        assertThat(response.getHeaders().containsKey("Content-Length")).isFalse();
+    }
+
+    @Test
+    void get_whenApiPrefix_thenPrefixedPathExpanded() {
+        TestClient prefixed = new TestClient(client.webClient, "/echo");
+
+        ResponseEntity<Object> response = prefixed.get("/{id}", 7L, Map.of("id", 5)).block();
+
+        assertThat(bodyOf(response)).isEqualTo("{\"userId\":\"7\",\"path\":\"/echo/5\",\"query\":\"null\"}");
+    }
+
+    @Test
+    void get_whenServerError_thenStatusAndBodyPassedThrough() {
+        ResponseEntity<Object> response = client.get("/missing").block();
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+        assertThat(bodyOf(response)).isEqualTo("{\"error\":\"not found\"}");
+    }
+
+    @Test
+    void get_whenFormattedJson_thenBytesPassedThroughUnchanged() {
+        ResponseEntity<Object> response = client.get("/formatted").block();
+
+        assertThat(response.getBody()).isInstanceOf(byte[].class);
+        assertThat(bodyOf(response)).isEqualTo(FORMATTED_JSON);
+    }
+
+    @Test
+    void stream_whenChunkedResponse_thenBodyAndHeadersPassedThrough() throws IOException {
+        ResponseEntity<StreamingResponseBody> response = client.stream("/export", 7L, null).block();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getContentType()).hasToString("application/x-ndjson");
+        assertThat(response.getHeaders().getFirst("Content-Disposition")).contains("bookings-7.ndjson");
+        assertThat(response.getHeaders().containsKey("Transfer-Encoding")).isFalse();
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+        assertThat(lines).hasSize(EXPORT_LINES);
+        assertThat(lines.getLast()).isEqualTo("{\"id\":" + (EXPORT_LINES - 1) + "}");
+    }
+
+    @Test
+    void stream_whenServerError_thenStatusAndBodyPassedThrough() throws IOException {
+        ResponseEntity<StreamingResponseBody> response = client.stream("/missing", 7L, null).block();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo("{\"error\":\"not found\"}");
+    }
+
+    @Test
+    void get_whenManyConcurrentRequests_thenWaitedInParallel() {
+        int requests = 100;
+
+        long startNanos = System.nanoTime();
+        List<ResponseEntity<Object>> responses = Flux.range(0, requests)
+                .flatMap(i -> client.get("/slow"), requests)
+                .collectList()
+                .block(Duration.ofSeconds(30));
+        long elapsedMillis = Duration.ofNanos(System.nanoTime() - startNanos).toMillis();
+
+        assertThat(responses).hasSize(requests)
+                .allMatch(response -> response.getStatusCode().is2xxSuccessful());
+        assertThat(elapsedMillis).isLessThan((long) DELAY_MILLIS * requests / 5);
+    }
+
+    @Test
+    void get_whenIdenticalConcurrentReads_thenOneServerCall() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        TestClient coalescing = new TestClient(client.webClient, "", new RequestCoalescer(true, meterRegistry));
+        int requests = 20;
+
+        List<ResponseEntity<Object>> responses = Flux.range(0, requests)
+                .flatMap(i -> coalescing.get("/slow", 7L), requests)
+                .collectList()
+                .block(Duration.ofSeconds(30));
+        coalescing.get("/slow", 8L).block();
+
+        assertThat(responses).hasSize(requests)
+                .allMatch(response -> response.getStatusCode().is2xxSuccessful());
+        assertThat(slowCalls).hasValue(2);
+        assertThat(meterRegistry.get(RequestCoalescer.METRIC).tag("result", "collapsed").counter().count())
+                .isEqualTo(requests - 1);
+    }
+
+    @Test
+    void conditionalGet_whenETagKnown_thenNotModifiedWithoutServerCall() {
+        TestClient caching = new TestClient(client.webClient, "", RequestCoalescer.disabled(),
+                new ValidatorCache(Duration.ofMinutes(1), 100, new SimpleMeterRegistry()));
+
+        ResponseEntity<Object> first = caching.conditionalGet("/versioned", 7L, null, null).block();
+        ResponseEntity<Object> second = caching.conditionalGet("/versioned", 7L, null, VERSION).block();
+        ResponseEntity<Object> otherUser = caching.conditionalGet("/versioned", 8L, null, VERSION).block();
+
+        assertThat(first.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(first.getHeaders().getETag()).isEqualTo(VERSION);
+        assertThat(second.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(second.getHeaders().getETag()).isEqualTo(VERSION);
+        assertThat(otherUser.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(otherUser.getHeaders().getETag()).isEqualTo(VERSION);
+        assertThat(versionedCalls).hasValue(2);
+    }
+
+    @Test
+    void conditionalGet_whenWriteThroughGateway_thenServerRevalidates() {
+        TestClient caching = new TestClient(client.webClient, "", RequestCoalescer.disabled(),
+                new ValidatorCache(Duration.ofMinutes(1), 100, new SimpleMeterRegistry()));
+        caching.conditionalGet("/versioned", 7L, null, null).block();
+
+        caching.post("/write", 7L, Map.of("name", "new")).block();
+        ResponseEntity<Object> revalidated = caching.conditionalGet("/versioned", 7L, null, VERSION).block();
+
+        assertThat(revalidated.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(revalidated.getHeaders().getETag()).isEqualTo(VERSION);
+        assertThat(versionedCalls).hasValue(2);
+    }
+
+    private static String bodyOf(ResponseEntity<Object> response) {
+        return new String((byte[]) response.getBody(), StandardCharsets.UTF_8);
+    }
+
+    private void echo(HttpExchange exchange) throws IOException {
+        exchange.getResponseHeaders().add("X-Next-Cursor", "next");
+        String body = "{\"userId\":\"" + exchange.getRequestHeaders().getFirst("X-Sharer-User-Id")
+                + "\",\"path\":\"" + exchange.getRequestURI().getPath()
+                + "\",\"query\":\"" + exchange.getRequestURI().getQuery() + "\"}";
+        respond(exchange, 200, body);
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static class TestClient extends BaseClient {
+
+        TestClient(WebClient webClient) {
+            super(webClient);
+        }
+
+        TestClient(WebClient webClient, String apiPrefix) {
+            super(webClient, apiPrefix);
+        }
+
+        TestClient(WebClient webClient, String apiPrefix, RequestCoalescer coalescer) {
+            super(webClient, apiPrefix, coalescer);
+        }
+
+        TestClient(WebClient webClient, String apiPrefix, RequestCoalescer coalescer,
+                   ValidatorCache validatorCache) {
+            super(webClient, apiPrefix, coalescer, validatorCache);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RequestCoalescerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RequestCoalescer coalescer = new RequestCoalescer(true, meterRegistry);
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+
+    @Test
+    void coalesce_whenSameKeyInFlight_thenOneUpstreamCall() {
+        Sinks.One<String> response = Sinks.one();
+        List<String> results = new ArrayList<>();
+
+        for (int i = 0; i < 5; i++) {
+            coalescer.coalesce("GET /items/1 user=1", upstream(response.asMono())).subscribe(results::add);
+        }
+        response.tryEmitValue("item");
+
+        assertThat(upstreamCalls).hasValue(1);
+        assertThat(results).containsExactly("item", "item", "item", "item", "item");
+        assertThat(count("upstream")).isEqualTo(1);
+        assertThat(count("collapsed")).isEqualTo(4);
+        assertThat(coalescer.inFlightCount()).isZero();
+    }
+
+    @Test
+    void coalesce_whenDifferentKeys_thenSeparateUpstreamCalls() {
+        Sinks.One<String> response = Sinks.one();
+
+        coalescer.coalesce("GET /items/1 user=1", upstream(response.asMono())).subscribe();
+        coalescer.coalesce("GET /items/1 user=2", upstream(response.asMono())).subscribe();
+        response.tryEmitValue("item");
+
+        assertThat(upstreamCalls).hasValue(2);
+        assertThat(count("collapsed")).isZero();
+    }
+
+    @Test
+    void coalesce_whenPreviousCompleted_thenNewUpstreamCall() {
+        coalescer.coalesce("GET /requests/all user=1", upstream(Mono.just("first"))).block();
+        String second = coalescer.coalesce("GET /requests/all user=1", upstream(Mono.just("second"))).block();
+
+        assertThat(second).isEqualTo("second");
+        assertThat(upstreamCalls).hasValue(2);
+    }
+
+    @Test
+    void coalesce_whenUpstreamFails_thenErrorSharedAndKeyReleased() {
+        Sinks.One<String> response = Sinks.one();
+        List<Throwable> errors = new ArrayList<>();
+
+        for (int i = 0; i < 3; i++) {
+            coalescer.coalesce("GET /items/1 user=1", upstream(response.asMono()))
+                    .subscribe(value -> { }, errors::add);
+        }
+        response.tryEmitError(new IllegalStateException("server unavailable"));
+
+        assertThat(errors).hasSize(3);
+        assertThat(upstreamCalls).hasValue(1);
+        assertThat(coalescer.inFlightCount()).isZero();
+    }
+
+    @Test
+    void coalesce_whenDisabled_thenEveryRequestUpstream() {
+        RequestCoalescer disabled = RequestCoalescer.disabled();
+        Sinks.One<String> response = Sinks.one();
+
+        disabled.coalesce("GET /items/1 user=1", upstream(response.asMono())).subscribe();
+        disabled.coalesce("GET /items/1 user=1", upstream(response.asMono())).subscribe();
+
+        assertThat(upstreamCalls).hasValue(2);
+    }
+
+    private Mono<String> upstream(Mono<String> response) {
+        return Mono.defer(() -> {
+            upstreamCalls.incrementAndGet();
+            return response;
+        });
+    }
+
+    private double count(String result) {
+        return meterRegistry.get(RequestCoalescer.METRIC).tag("result", result).counter().count();
+    }
+}
@@ -0,0 +1,70 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ValidatorCacheTest {
+
+    private static final String KEY = "GET /items/1 user=1";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ValidatorCache cache = new ValidatorCache(Duration.ofMinutes(1), 2, meterRegistry);
+
+    @Test
+    void match_whenSameETag_thenStoredETagReturned() {
+        cache.put(KEY, "W/\"v1\"");
+
+        assertThat(cache.match(KEY, "W/\"v1\"")).isEqualTo("W/\"v1\"");
+        assertThat(cache.match(KEY, "\"v0\", \"v1\"")).isEqualTo("W/\"v1\"");
+        assertThat(cache.match(KEY, "*")).isEqualTo("W/\"v1\"");
+        assertThat(meterRegistry.get(ValidatorCache.METRIC).counter().count()).isEqualTo(3);
+    }
+
+    @Test
+    void match_whenOtherETagOrNoHeader_thenNull() {
+        cache.put(KEY, "W/\"v1\"");
+
+        assertThat(cache.match(KEY, "W/\"v0\"")).isNull();
+        assertThat(cache.match(KEY, null)).isNull();
+        assertThat(cache.match("GET /items/1 user=2", "W/\"v1\"")).isNull();
+    }
+
+    @Test
+    void match_whenCleared_thenNull() {
+        cache.put(KEY, "W/\"v1\"");
+
+        cache.clear();
+
+        assertThat(cache.match(KEY, "W/\"v1\"")).isNull();
+    }
+
+    @Test
+    void match_whenExpired_thenNull() {
+        ValidatorCache shortLived = new ValidatorCache(Duration.ofNanos(1), 10, meterRegistry);
+        shortLived.put(KEY, "W/\"v1\"");
+
+        assertThat(shortLived.match(KEY, "W/\"v1\"")).isNull();
+    }
+
+    @Test
+    void put_whenFull_thenOldEntriesDropped() {
+        cache.put("a", "\"a\"");
+        cache.put("b", "\"b\"");
+        cache.put("c", "\"c\"");
+
+        assertThat(cache.match("a", "\"a\"")).isNull();
+        assertThat(cache.match("c", "\"c\"")).isEqualTo("\"c\"");
+    }
+
+    @Test
+    void put_whenDisabled_thenNothingStored() {
+        ValidatorCache disabled = ValidatorCache.disabled();
+        disabled.put(KEY, "W/\"v1\"");
+
+        assertThat(disabled.match(KEY, "W/\"v1\"")).isNull();
+    }
+}
@@ -0,0 +1,192 @@
+package ru.practicum.shareit.item.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.item.client.ItemClient;
+import ru.practicum.shareit.item.dto.CommentResponse;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ItemControllerMvcTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ItemClient itemClient;
+
+    private static final String USER_ID_HEADER = "X-Sharer-User-Id";
+    private static final long VALID_USER_ID = 1L;
+    private static final long VALID_ITEM_ID = 1L;
+
+    @Test
+    void getCommentsByItemId_whenValidPage_thenTotalCountPassedThrough() throws Exception {
+        CommentResponse comment = CommentResponse.builder().id(1L).text("comment").build();
+        when(itemClient.getCommentsByItemId(VALID_USER_ID, VALID_ITEM_ID, 20, 10))
+                .thenReturn(Mono.just(ResponseEntity.ok().header("X-Total-Count", "21").body(List.of(comment))));
+
+        performAsync(get("/items/{itemId}/comments", VALID_ITEM_ID)
+                        .header(USER_ID_HEADER, VALID_USER_ID)
+                        .param("from", "20")
+                        .param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Total-Count", "21"))
+                .andExpect(jsonPath("$[0].text").value("comment"));
+    }
+
+    @Test
+    void getCommentsByItemId_whenInvalidPage_thenBadRequest() throws Exception {
+        mockMvc.perform(get("/items/{itemId}/comments", VALID_ITEM_ID)
+                        .header(USER_ID_HEADER, VALID_USER_ID)
+                        .param("from", "-1"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/items/{itemId}/comments", VALID_ITEM_ID)
+                        .header(USER_ID_HEADER, VALID_USER_ID)
+                        .param("size", "101"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(itemClient);
+    }
+
+    @Test
+    void getItemById_whenIfNoneMatch_thenPassedToClient() throws Exception {
+        when(itemClient.getItemById(VALID_USER_ID, VALID_ITEM_ID, "W/\"v1\""))
+                .thenReturn(Mono.just(ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag("W/\"v1\"").build()));
+
+        performAsync(get("/items/{itemId}", VALID_ITEM_ID)
+                        .header(USER_ID_HEADER, VALID_USER_ID)
+                        .header(HttpHeaders.IF_NONE_MATCH, "W/\"v1\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "W/\"v1\""));
+    }
+
+    @Test
+    void getItemsByText_whenPeriodRequested_thenSearchedAmongFreeItems() throws Exception {
+        LocalDateTime start = LocalDateTime.of(2026, 10, 24, 10, 0);
+        LocalDateTime end = LocalDateTime.of(2026, 10, 26, 10, 0);
+        when(itemClient.getItemsByText(VALID_USER_ID, "drill", start, end, 0, 20))
+                .thenReturn(Mono.just(ResponseEntity.ok().body(List.of(Map.of("id", 4)))));
+
+        performAsync(get("/items/search")
+                        .header(USER_ID_HEADER, VALID_USER_ID)
+                        .param("text", "drill")
+                        .param("start", "2026-10-24T10:00:00")
+                        .param("end", "2026-10-26T10:00:00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(4));
+    }
+
+    @Test
+    void getAvailableItems_whenValidPeriod_thenPassedToClient() throws Exception {
+        LocalDateTime start = LocalDateTime.of(2026, 10, 24, 10, 0);
+        LocalDateTime end = LocalDateTime.of(2026, 10, 26, 10, 0);
+        when(itemClient.getAvailableItems(VALID_USER_ID, start, end, 0, 20))
+                .thenReturn(Mono.just(ResponseEntity.ok().body(List.of(Map.of("id", 3)))));
+
+        performAsync(get("/items/available")
+                        .header(USER_ID_HEADER, VALID_USER_ID)
+                        .param("start", "2026-10-24T10:00:00")
+                        .param("end", "2026-10-26T10:00:00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(3));
+    }
+
+    @Test
+    void getAvailableItems_whenPeriodMissingOrInvalidPage_thenBadRequest() throws Exception {
+        mockMvc.perform(get("/items/available")
+                        .header(USER_ID_HEADER, VALID_USER_ID)
+                        .param("start", "2026-10-24T10:00:00"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/items/available")
+                        .header(USER_ID_HEADER, VALID_USER_ID)
+                        .param("start", "2026-10-24T10:00:00")
+                        .param("end", "2026-10-26T10:00:00")
+                        .param("size", "101"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(itemClient);
+    }
+
+    @Test
+    void addItems_whenRowsValid_thenPassedToServer() throws Exception {
+        when(itemClient.addItems(eq(VALID_USER_ID), anyList()))
+                .thenReturn(Mono.just(ResponseEntity.ok().body(List.of(Map.of("index", 0, "status", "CREATED")))));
+
+        performAsync(post("/items/batch")
+                        .header(USER_ID_HEADER, VALID_USER_ID)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"name\": \"drill\", \"description\": \"description\", \"available\": true}]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status").value("CREATED"));
+    }
+
+    @Test
+    void addItems_whenRowsInvalid_thenBadRequestWithRowIndexes() throws Exception {
+        String name = "n".repeat(51);
+        mockMvc.perform(post("/items/batch")
+                        .header(USER_ID_HEADER, VALID_USER_ID)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"name\": \"drill\", \"description\": \"description\", \"available\": true}, "
+                                + "null, "
+                                + "{\"name\": \"" + name + "\", \"description\": \"description\"}]"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Вещь 1: не заполнены данные вещи. "
+                        + "Вещь 2: Статус вещи должен быть указан. "
+                        + "Вещь 2: Название вещи должно быть от 1 до 50 символов."));
+
+        verifyNoInteractions(itemClient);
+    }
+
+    @Test
+    void addItems_whenEmptyOrTooLarge_thenBadRequest() throws Exception {
+        mockMvc.perform(post("/items/batch")
+                        .header(USER_ID_HEADER, VALID_USER_ID)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isBadRequest());
+        String tooLarge = "[" + String.join(",", Collections.nCopies(1001, "{}")) + "]";
+        mockMvc.perform(post("/items/batch")
+                        .header(USER_ID_HEADER, VALID_USER_ID)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(tooLarge))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(itemClient);
+    }
+
+    private ResultActions performAsync(RequestBuilder requestBuilder) throws Exception {
+        MvcResult result = mockMvc.perform(requestBuilder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(result));
+    }
+}
@@ -0,0 +1,160 @@
+package ru.practicum.shareit.load;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Начальные данные прогона: пользователи, вещи и бронирования, созданные через шлюз.
+ * Каждая четвертая учетная запись владеет вещами, остальные их бронируют.
+ * Бронирования получают непересекающиеся часовые слоты, поэтому подтверждение не упирается в конфликты.
+ */
+public class DataSet {
+
+    static final List<String> WORDS = List.of("дрель", "отвертка", "лестница", "палатка", "велосипед",
+            "самокат", "перфоратор", "пила", "шуруповерт", "удочка", "мангал", "байдарка");
+
+    /**
+     * Вещь и ее владелец.
+     */
+    public record SeededItem(long id, long ownerId) {
+    }
+
+    /**
+     * Бронирование, ожидающее подтверждения владельцем.
+     */
+    public record PendingBooking(long id, long ownerId) {
+    }
+
+    private final List<Long> owners = Collections.synchronizedList(new ArrayList<>());
+    private final List<Long> bookers = Collections.synchronizedList(new ArrayList<>());
+    private final List<SeededItem> items = Collections.synchronizedList(new ArrayList<>());
+    private final Queue<PendingBooking> pendingBookings = new ConcurrentLinkedQueue<>();
+    private final AtomicLong slots = new AtomicLong();
+    private final LocalDateTime firstSlot = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.HOURS);
+
+    public static DataSet seed(ShareItApi api, LoadTestOptions options) throws InterruptedException {
+        DataSet dataSet = new DataSet();
+        Random random = new Random(options.seed());
+        String run = Long.toString(System.currentTimeMillis(), 36);
+
+        inParallel(options.threads(), options.users(), i -> {
+            long id = api.createUser("user" + i, "user" + i + "." + run + "@load.test");
+            (i % 4 == 0 ? dataSet.owners : dataSet.bookers).add(id);
+        });
+        if (dataSet.owners.isEmpty() || dataSet.bookers.isEmpty()) {
+            throw new IllegalStateException("Нужно не меньше двух пользователей");
+        }
+        dataSet.owners.sort(null);
+        dataSet.bookers.sort(null);
+
+        List<Long> itemOwners = new ArrayList<>();
+        for (int i = 0; i < options.items(); i++) {
+            itemOwners.add(dataSet.owners.get(random.nextInt(dataSet.owners.size())));
+        }
+        inParallel(options.threads(), options.items(), i -> {
+            String word = WORDS.get(i % WORDS.size());
+            long ownerId = itemOwners.get(i);
+            long id = api.createItem(ownerId, word + " " + i, "Описание: " + word + ", экземпляр " + i);
+            dataSet.items.add(new SeededItem(id, ownerId));
+        });
+        dataSet.items.sort((a, b) -> Long.compare(a.id(), b.id()));
+
+        inParallel(options.threads(), options.bookings(), i -> {
+            dataSet.createBooking(api, new Random(options.seed() + i), i % 2 == 0);
+        });
+        return dataSet;
+    }
+
+    /**
+     * Создание бронирования случайной вещи случайным пользователем в следующем свободном слоте.
+     * Неподтвержденные бронирования попадают в очередь на подтверждение.
+     *
+     * @param approve - сразу подтвердить бронирование от имени владельца
+     * @return ответ шлюза на создание бронирования
+     */
+    public ShareItApi.Response createBooking(ShareItApi api, Random random, boolean approve) {
+        SeededItem item = randomItem(random);
+        long bookerId = randomBooker(random);
+        LocalDateTime start = firstSlot.plusHours(2 * slots.getAndIncrement());
+        ShareItApi.Response response = api.createBooking(bookerId, item.id(), start, start.plusHours(1));
+        if (response.isSuccessful()) {
+            PendingBooking booking = new PendingBooking(api.id(response), item.ownerId());
+            if (approve) {
+                api.approveBooking(booking.ownerId(), booking.id());
+            } else {
+                pendingBookings.add(booking);
+            }
+        }
+        return response;
+    }
+
+    public SeededItem randomItem(Random random) {
+        return items.get(random.nextInt(items.size()));
+    }
+
+    public long randomOwner(Random random) {
+        return owners.get(random.nextInt(owners.size()));
+    }
+
+    public long randomBooker(Random random) {
+        return bookers.get(random.nextInt(bookers.size()));
+    }
+
+    public String randomSearchText(Random random) {
+        return WORDS.get(random.nextInt(WORDS.size()));
+    }
+
+    public PendingBooking pollPendingBooking() {
+        return pendingBookings.poll();
+    }
+
+    public int getUserCount() {
+        return owners.size() + bookers.size();
+    }
+
+    public int getItemCount() {
+        return items.size();
+    }
+
+    private static void inParallel(int parallelism, int count, IndexedTask task) throws InterruptedException {
+        Semaphore permits = new Semaphore(parallelism);
+        List<Future<?>> futures = new ArrayList<>(count);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < count; i++) {
+                int index = i;
+                permits.acquire();
+                futures.add(executor.submit(() -> {
+                    try {
+                        task.run(index);
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+        }
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Не удалось создать начальные данные", e.getCause());
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface IndexedTask {
+        void run(int index);
+    }
+}
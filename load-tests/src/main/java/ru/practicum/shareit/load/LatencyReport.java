@@ -0,0 +1,108 @@
+package ru.practicum.shareit.load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Задержки и статусы ответов по операциям. Задержки хранятся в HdrHistogram в микросекундах.
+ */
+public class LatencyReport {
+
+    private static final double MICROS_PER_MILLI = 1000.0;
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final Map<Operation, OperationStats> stats = new EnumMap<>(Operation.class);
+    private final Histogram total = new ConcurrentHistogram(SIGNIFICANT_DIGITS);
+
+    public LatencyReport() {
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new OperationStats());
+        }
+    }
+
+    /**
+     * Учет выполненного запроса.
+     *
+     * @param operation     - операция
+     * @param status        - HTTP-статус ответа, -1 если ответ не получен
+     * @param latencyNanos  - задержка от запланированного момента отправки до получения ответа
+     */
+    public void record(Operation operation, int status, long latencyNanos) {
+        long micros = Math.max(1, TimeUnit.NANOSECONDS.toMicros(latencyNanos));
+        OperationStats operationStats = stats.get(operation);
+        operationStats.histogram.recordValue(micros);
+        total.recordValue(micros);
+        operationStats.statuses.computeIfAbsent(status, s -> new LongAdder()).increment();
+        if (status < 200 || status >= 300) {
+            operationStats.errors.increment();
+        }
+    }
+
+    public void write(Path file, LoadTestOptions options, DataSet dataSet, Duration elapsed) throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        try (PrintStream out = new PrintStream(Files.newOutputStream(file), true, StandardCharsets.UTF_8)) {
+            out.printf("Данные: пользователей %d, вещей %d, бронирований %d%n",
+                    dataSet.getUserCount(), dataSet.getItemCount(), options.bookings());
+            out.printf("Клиентов: %d, целевая нагрузка: %s, прогрев: %s, замер: %s%n", options.threads(),
+                    options.rate() > 0 ? options.rate() + " запросов/с" : "без пауз", options.warmup(), elapsed);
+            out.println();
+            printSummary(out, elapsed);
+            for (Operation operation : Operation.values()) {
+                OperationStats operationStats = stats.get(operation);
+                if (operationStats.histogram.getTotalCount() == 0) {
+                    continue;
+                }
+                out.println();
+                out.printf("%s (%s), статусы: %s%n", operation.getName(), operation.getRequest(),
+                        new TreeMap<>(operationStats.statuses));
+                operationStats.histogram.outputPercentileDistribution(out, MICROS_PER_MILLI);
+            }
+        }
+    }
+
+    public void printSummary(PrintStream out, Duration elapsed) {
+        double seconds = elapsed.toNanos() / 1e9;
+        out.printf("%-16s %9s %8s %10s %9s %9s %9s %9s %9s%n",
+                "операция", "запросов", "ошибок", "запросов/с", "p50, мс", "p90, мс", "p99, мс", "p99.9, мс", "max, мс");
+        for (Operation operation : Operation.values()) {
+            OperationStats operationStats = stats.get(operation);
+            if (operationStats.histogram.getTotalCount() > 0) {
+                printLine(out, operation.getName(), operationStats.histogram, operationStats.errors.sum(), seconds);
+            }
+        }
+        long errors = stats.values().stream().mapToLong(s -> s.errors.sum()).sum();
+        printLine(out, "всего", total, errors, seconds);
+    }
+
+    private static void printLine(PrintStream out, String name, Histogram histogram, long errors, double seconds) {
+        out.printf("%-16s %9d %8d %10.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                name,
+                histogram.getTotalCount(),
+                errors,
+                histogram.getTotalCount() / seconds,
+                histogram.getValueAtPercentile(50) / MICROS_PER_MILLI,
+                histogram.getValueAtPercentile(90) / MICROS_PER_MILLI,
+                histogram.getValueAtPercentile(99) / MICROS_PER_MILLI,
+                histogram.getValueAtPercentile(99.9) / MICROS_PER_MILLI,
+                histogram.getMaxValue() / MICROS_PER_MILLI);
+    }
+
+    private static final class OperationStats {
+        private final Histogram histogram = new ConcurrentHistogram(SIGNIFICANT_DIGITS);
+        private final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+        private final LongAdder errors = new LongAdder();
+    }
+}
@@ -0,0 +1,110 @@
+package ru.practicum.shareit.load;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Параметры нагрузочного прогона. Задаются аргументами вида --name=value.
+ *
+ * @param serverJar    - исполняемый jar сервера
+ * @param gatewayJar   - исполняемый jar шлюза
+ * @param gatewayUrl   - адрес уже запущенного шлюза; если задан, сервер и шлюз не запускаются
+ * @param serverPort   - порт запускаемого сервера
+ * @param gatewayPort  - порт запускаемого шлюза
+ * @param javaOptions  - параметры JVM сервера и шлюза
+ * @param users        - число пользователей в начальных данных
+ * @param items        - число вещей в начальных данных
+ * @param bookings     - число бронирований в начальных данных
+ * @param threads      - число одновременных клиентов
+ * @param rate         - целевое число запросов в секунду; 0 - каждый клиент шлет запросы без пауз
+ * @param warmup       - длительность прогрева, результаты которого не учитываются
+ * @param duration     - длительность замера
+ * @param mix          - доли операций в нагрузке
+ * @param seed         - начальное значение генератора случайных чисел
+ * @param report       - файл отчета
+ */
+public record LoadTestOptions(Path serverJar,
+                              Path gatewayJar,
+                              String gatewayUrl,
+                              int serverPort,
+                              int gatewayPort,
+                              List<String> javaOptions,
+                              int users,
+                              int items,
+                              int bookings,
+                              int threads,
+                              int rate,
+                              Duration warmup,
+                              Duration duration,
+                              Map<Operation, Integer> mix,
+                              long seed,
+                              Path report) {
+
+    private static final String DEFAULT_MIX = "search:40,owner-items:20,owner-bookings:15,create-booking:15,"
+            + "approve-booking:10";
+
+    public static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Аргумент должен иметь вид --name=value: " + arg);
+            }
+            int separator = arg.indexOf('=');
+            values.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+
+        String javaOptions = values.getOrDefault("java-options", "-Xmx1g");
+        return new LoadTestOptions(
+                Path.of(values.getOrDefault("server-jar", "server/target/shareit-server-0.0.1-SNAPSHOT.jar")),
+                Path.of(values.getOrDefault("gateway-jar", "gateway/target/shareit-gateway-0.0.1-SNAPSHOT.jar")),
+                values.get("gateway-url"),
+                Integer.parseInt(values.getOrDefault("server-port", "19090")),
+                Integer.parseInt(values.getOrDefault("gateway-port", "18080")),
+                javaOptions.isBlank() ? List.of() : List.of(javaOptions.trim().split("\\s+")),
+                Integer.parseInt(values.getOrDefault("users", "200")),
+                Integer.parseInt(values.getOrDefault("items", "1000")),
+                Integer.parseInt(values.getOrDefault("bookings", "2000")),
+                Integer.parseInt(values.getOrDefault("threads", "64")),
+                Integer.parseInt(values.getOrDefault("rate", "0")),
+                parseDuration(values.getOrDefault("warmup", "10s")),
+                parseDuration(values.getOrDefault("duration", "60s")),
+                parseMix(values.getOrDefault("mix", DEFAULT_MIX)),
+                Long.parseLong(values.getOrDefault("seed", "42")),
+                Path.of(values.getOrDefault("report", "load-tests/target/load-report.txt")));
+    }
+
+    public boolean startStack() {
+        return gatewayUrl == null;
+    }
+
+    /**
+     * Длительность в формате 500ms, 30s, 2m.
+     */
+    static Duration parseDuration(String value) {
+        if (value.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+        }
+        long amount = Long.parseLong(value.substring(0, value.length() - 1));
+        return switch (value.charAt(value.length() - 1)) {
+            case 's' -> Duration.ofSeconds(amount);
+            case 'm' -> Duration.ofMinutes(amount);
+            default -> throw new IllegalArgumentException("Неизвестная единица длительности: " + value);
+        };
+    }
+
+    /**
+     * Доли операций в формате search:40,create-booking:15.
+     */
+    static Map<Operation, Integer> parseMix(String value) {
+        Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+        for (String part : value.split(",")) {
+            String[] weight = part.split(":");
+            mix.put(Operation.byName(weight[0].trim()), Integer.parseInt(weight[1].trim()));
+        }
+        return mix;
+    }
+}
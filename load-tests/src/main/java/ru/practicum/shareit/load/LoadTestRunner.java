@@ -0,0 +1,43 @@
+package ru.practicum.shareit.load;
+
+import java.time.Duration;
+
+/**
+ * Нагрузочный прогон пути шлюз -> сервер.
+ * Запускает сервер и шлюз, наполняет базу через API, прогревает приложения смешанной нагрузкой
+ * и записывает задержки по операциям в файл отчета.
+ *
+ * <pre>
+ * mvn -Pload-tests package -DskipTests
+ * java -jar load-tests/target/load-tests.jar --threads=64 --duration=60s --report=load-tests/target/load-report.txt
+ * </pre>
+ */
+public class LoadTestRunner {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+
+        try (ShareItStack stack = ShareItStack.start(options)) {
+            ShareItApi api = new ShareItApi(stack.getGatewayUrl());
+            System.out.println("Шлюз: " + stack.getGatewayUrl());
+
+            long seedStart = System.nanoTime();
+            DataSet dataSet = DataSet.seed(api, options);
+            System.out.printf("Начальные данные созданы за %s%n", Duration.ofNanos(System.nanoTime() - seedStart));
+
+            Workload workload = new Workload(api, dataSet, options);
+            if (!options.warmup().isZero()) {
+                System.out.println("Прогрев " + options.warmup());
+                workload.run(options.warmup(), new LatencyReport(), options.seed());
+            }
+
+            System.out.println("Замер " + options.duration());
+            LatencyReport report = new LatencyReport();
+            Duration elapsed = workload.run(options.duration(), report, options.seed() + options.threads());
+
+            report.write(options.report(), options, dataSet, elapsed);
+            report.printSummary(System.out, elapsed);
+            System.out.println("Отчет: " + options.report().toAbsolutePath());
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package ru.practicum.shareit.load;
+
+import java.util.Arrays;
+
+/**
+ * Операции нагрузки через шлюз.
+ */
+public enum Operation {
+    SEARCH("search", "GET /items/search"),
+    OWNER_ITEMS("owner-items", "GET /items"),
+    OWNER_BOOKINGS("owner-bookings", "GET /bookings/owner"),
+    CREATE_BOOKING("create-booking", "POST /bookings"),
+    APPROVE_BOOKING("approve-booking", "PATCH /bookings/{id}");
+
+    private final String name;
+    private final String request;
+
+    Operation(String name, String request) {
+        this.name = name;
+        this.request = request;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getRequest() {
+        return request;
+    }
+
+    public static Operation byName(String name) {
+        return Arrays.stream(values())
+                .filter(operation -> operation.name.equals(name))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Неизвестная операция: " + name));
+    }
+}
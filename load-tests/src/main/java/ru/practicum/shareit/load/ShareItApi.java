@@ -0,0 +1,130 @@
+package ru.practicum.shareit.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.Executors;
+
+/**
+ * HTTP-клиент шлюза ShareIt для наполнения данными и нагрузки.
+ */
+public class ShareItApi {
+
+    private static final String USER_ID_HEADER = "X-Sharer-User-Id";
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final String baseUrl;
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+
+    public ShareItApi(String baseUrl) {
+        this.baseUrl = baseUrl;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        this.objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    /**
+     * Ответ шлюза.
+     *
+     * @param status - HTTP-статус, -1 если ответ не получен
+     * @param body   - тело ответа
+     */
+    public record Response(int status, byte[] body) {
+
+        public boolean isSuccessful() {
+            return status >= 200 && status < 300;
+        }
+    }
+
+    public long createUser(String name, String email) {
+        return id(call("POST", "/users", null, Map.of("name", name, "email", email)));
+    }
+
+    public long createItem(long ownerId, String name, String description) {
+        return id(call("POST", "/items", ownerId, Map.of("name", name, "description", description,
+                "available", true)));
+    }
+
+    public Response createBooking(long bookerId, long itemId, LocalDateTime start, LocalDateTime end) {
+        return call("POST", "/bookings", bookerId, Map.of("itemId", itemId, "bookerId", bookerId,
+                "start", start, "end", end));
+    }
+
+    public Response approveBooking(long ownerId, long bookingId) {
+        return call("PATCH", "/bookings/" + bookingId + "?approved=true", ownerId, null);
+    }
+
+    public Response searchItems(long userId, String text) {
+        return call("GET", "/items/search?text=" + URLEncoder.encode(text, StandardCharsets.UTF_8), userId, null);
+    }
+
+    public Response getOwnerItems(long ownerId) {
+        return call("GET", "/items", ownerId, null);
+    }
+
+    public Response getOwnerBookings(long ownerId) {
+        return call("GET", "/bookings/owner", ownerId, null);
+    }
+
+    /**
+     * Шлюз отвечает на любой запрос, когда он и сервер запущены.
+     */
+    public boolean isAvailable() {
+        return call("GET", "/users/1", null, null).status() > 0;
+    }
+
+    public long id(Response response) {
+        if (!response.isSuccessful()) {
+            throw new IllegalStateException("Шлюз вернул статус " + response.status() + ": "
+                    + new String(response.body(), StandardCharsets.UTF_8));
+        }
+        try {
+            JsonNode node = objectMapper.readTree(response.body());
+            return node.get("id").asLong();
+        } catch (IOException e) {
+            throw new IllegalStateException("Не удалось прочитать ответ шлюза", e);
+        }
+    }
+
+    private Response call(String method, String path, Long userId, Object body) {
+        try {
+            HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                    .timeout(REQUEST_TIMEOUT)
+                    .header("Accept", "application/json");
+            if (userId != null) {
+                request.header(USER_ID_HEADER, String.valueOf(userId));
+            }
+            if (body != null) {
+                request.header("Content-Type", "application/json")
+                        .method(method, HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)));
+            } else {
+                request.method(method, HttpRequest.BodyPublishers.noBody());
+            }
+            HttpResponse<byte[]> response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+            return new Response(response.statusCode(), response.body());
+        } catch (IOException e) {
+            return new Response(-1, new byte[0]);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new Response(-1, new byte[0]);
+        }
+    }
+}
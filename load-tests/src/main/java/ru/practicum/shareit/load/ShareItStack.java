@@ -0,0 +1,124 @@
+package ru.practicum.shareit.load;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Сервер и шлюз ShareIt, запущенные отдельными процессами из исполняемых jar.
+ * Сервер работает со встроенной базой H2 в памяти, поэтому каждый прогон начинается с пустой базы.
+ * Логи процессов пишутся рядом с отчетом.
+ */
+public class ShareItStack implements AutoCloseable {
+
+    private static final Duration START_TIMEOUT = Duration.ofMinutes(2);
+
+    private final List<Process> processes = new ArrayList<>();
+    private final String gatewayUrl;
+
+    private ShareItStack(String gatewayUrl) {
+        this.gatewayUrl = gatewayUrl;
+    }
+
+    public static ShareItStack start(LoadTestOptions options) throws IOException, InterruptedException {
+        if (!options.startStack()) {
+            return new ShareItStack(options.gatewayUrl());
+        }
+
+        ShareItStack stack = new ShareItStack("http://localhost:" + options.gatewayPort());
+        try {
+            Path logDirectory = options.report().toAbsolutePath().getParent();
+            Files.createDirectories(logDirectory);
+
+            Process server = stack.launch(options, options.serverJar(), logDirectory.resolve("server.log"), List.of(
+                    "--server.port=" + options.serverPort(),
+                    "--spring.datasource.driverClassName=org.h2.Driver",
+                    "--spring.datasource.url=jdbc:h2:mem:shareit;DB_CLOSE_DELAY=-1",
+                    "--spring.datasource.username=sa",
+                    "--spring.datasource.password=",
+                    "--spring.sql.init.schema-locations=classpath:schema.sql",
+                    "--logging.level.org.springframework.transaction.interceptor=WARN",
+                    "--logging.level.org.springframework.orm.jpa.JpaTransactionManager=WARN"));
+            awaitAvailable(server, "http://localhost:" + options.serverPort() + "/actuator/health");
+
+            Process gateway = stack.launch(options, options.gatewayJar(), logDirectory.resolve("gateway.log"), List.of(
+                    "--server.port=" + options.gatewayPort(),
+                    "--shareit-server.url=http://localhost:" + options.serverPort(),
+                    "--logging.level.org.springframework.web.reactive.function.client.ExchangeFunctions=WARN"));
+            awaitAvailable(gateway, stack.gatewayUrl + "/users/1");
+        } catch (IOException | InterruptedException | RuntimeException e) {
+            stack.close();
+            throw e;
+        }
+        return stack;
+    }
+
+    public String getGatewayUrl() {
+        return gatewayUrl;
+    }
+
+    @Override
+    public void close() {
+        for (int i = processes.size() - 1; i >= 0; i--) {
+            Process process = processes.get(i);
+            process.destroy();
+            try {
+                if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                    process.destroyForcibly();
+                }
+            } catch (InterruptedException e) {
+                process.destroyForcibly();
+                Thread.currentThread().interrupt();
+            }
+        }
+        processes.clear();
+    }
+
+    private Process launch(LoadTestOptions options, Path jar, Path log, List<String> arguments) throws IOException {
+        if (!Files.isRegularFile(jar)) {
+            throw new IllegalStateException("Не найден jar " + jar.toAbsolutePath() + ", соберите проект: mvn package");
+        }
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(options.javaOptions());
+        command.add("-jar");
+        command.add(jar.toString());
+        command.addAll(arguments);
+
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+        processes.add(process);
+        return process;
+    }
+
+    /**
+     * Ожидание, пока приложение начнет отвечать на HTTP-запросы. Любой статус ответа означает, что оно запущено.
+     */
+    private static void awaitAvailable(Process process, String url) throws InterruptedException {
+        HttpClient client = HttpClient.newHttpClient();
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url)).timeout(Duration.ofSeconds(2)).build();
+        long deadline = System.nanoTime() + START_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("Процесс завершился до запуска, код " + process.exitValue());
+            }
+            try {
+                client.send(request, HttpResponse.BodyHandlers.discarding());
+                return;
+            } catch (IOException e) {
+                Thread.sleep(500);
+            }
+        }
+        throw new IllegalStateException("Приложение не ответило по адресу " + url + " за " + START_TIMEOUT);
+    }
+}
@@ -0,0 +1,99 @@
+package ru.practicum.shareit.load;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Смешанная нагрузка на шлюз: поиск, списки владельца, создание и подтверждение бронирований.
+ * Каждый клиент выбирает операцию случайно с весами из параметров прогона.
+ * При заданной целевой нагрузке клиенты отправляют запросы по расписанию, и задержка считается
+ * от запланированного момента отправки, чтобы очередь на медленном сервере не скрывала хвост задержек.
+ */
+public class Workload {
+
+    private final ShareItApi api;
+    private final DataSet dataSet;
+    private final LoadTestOptions options;
+    private final Operation[] weightedOperations;
+
+    public Workload(ShareItApi api, DataSet dataSet, LoadTestOptions options) {
+        this.api = api;
+        this.dataSet = dataSet;
+        this.options = options;
+        this.weightedOperations = weightedOperations(options.mix());
+    }
+
+    /**
+     * Выполнение нагрузки в течение заданного времени.
+     *
+     * @param duration - длительность
+     * @param report   - куда учитываются запросы
+     * @param seed     - начальное значение генераторов клиентов
+     * @return фактическая длительность
+     */
+    public Duration run(Duration duration, LatencyReport report, long seed) {
+        long startNanos = System.nanoTime();
+        long endNanos = startNanos + duration.toNanos();
+        long intervalNanos = options.rate() > 0 ? options.threads() * 1_000_000_000L / options.rate() : 0;
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int client = 0; client < options.threads(); client++) {
+                Random random = new Random(seed + client);
+                long firstSendNanos = startNanos + (intervalNanos > 0 ? random.nextLong(intervalNanos) : 0);
+                executor.submit(() -> runClient(random, firstSendNanos, intervalNanos, endNanos, report));
+            }
+        }
+        return Duration.ofNanos(System.nanoTime() - startNanos);
+    }
+
+    private void runClient(Random random, long firstSendNanos, long intervalNanos, long endNanos,
+                           LatencyReport report) {
+        long scheduledNanos = firstSendNanos;
+        while (scheduledNanos < endNanos && !Thread.currentThread().isInterrupted()) {
+            long waitNanos = scheduledNanos - System.nanoTime();
+            if (waitNanos > 0) {
+                LockSupport.parkNanos(waitNanos);
+            }
+            long sentNanos = intervalNanos > 0 ? scheduledNanos : System.nanoTime();
+            execute(weightedOperations[random.nextInt(weightedOperations.length)], random, sentNanos, report);
+            scheduledNanos = intervalNanos > 0 ? scheduledNanos + intervalNanos : System.nanoTime();
+        }
+    }
+
+    /**
+     * Подтверждение без ожидающих бронирований заменяется созданием бронирования.
+     */
+    private void execute(Operation operation, Random random, long sentNanos, LatencyReport report) {
+        DataSet.PendingBooking pending = operation == Operation.APPROVE_BOOKING ? dataSet.pollPendingBooking() : null;
+        Operation executed = operation == Operation.APPROVE_BOOKING && pending == null
+                ? Operation.CREATE_BOOKING
+                : operation;
+        ShareItApi.Response response = switch (executed) {
+            case SEARCH -> api.searchItems(dataSet.randomBooker(random), dataSet.randomSearchText(random));
+            case OWNER_ITEMS -> api.getOwnerItems(dataSet.randomOwner(random));
+            case OWNER_BOOKINGS -> api.getOwnerBookings(dataSet.randomOwner(random));
+            case CREATE_BOOKING -> dataSet.createBooking(api, random, false);
+            case APPROVE_BOOKING -> api.approveBooking(pending.ownerId(), pending.id());
+        };
+        report.record(executed, response.status(), System.nanoTime() - sentNanos);
+    }
+
+    private static Operation[] weightedOperations(Map<Operation, Integer> mix) {
+        List<Operation> operations = new ArrayList<>();
+        mix.forEach((operation, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                operations.add(operation);
+            }
+        });
+        if (operations.isEmpty()) {
+            throw new IllegalArgumentException("В нагрузке нет ни одной операции");
+        }
+        return operations.toArray(Operation[]::new);
+    }
+}
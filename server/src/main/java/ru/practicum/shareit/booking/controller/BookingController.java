@@ -2,13 +2,21 @@ package ru.practicum.shareit.booking.controller;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.shareit.booking.dto.BookingExportFormat;
+import ru.practicum.shareit.booking.service.BookingExportService;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.booking.dto.BookingPage;
 import ru.practicum.shareit.booking.dto.BookingState;
 import ru.practicum.shareit.booking.dto.BookingRequest;
 import ru.practicum.shareit.booking.dto.BookingResponse;
-import ru.practicum.shareit.validation.ValidationUtils;
+import ru.practicum.shareit.booking.dto.BookingStatusResult;
 
 import java.util.List;
 
@@ -19,13 +27,13 @@ import java.util.List;
 @Slf4j
 public class BookingController {
     private final BookingService bookingService;
-    private final ValidationUtils validation;
+    private final BookingExportService bookingExportService;
     private static final String USER_ID = "X-Sharer-User-Id";
+    private static final String NEXT_CURSOR = "X-Next-Cursor";
 
     @PostMapping
     public BookingResponse addBooking(@RequestHeader(USER_ID) long bookerId, @RequestBody BookingRequest bookingRequest) {
         log.info("Поступил запрос от пользователя с id - {} на создание нового бронирования {}", bookerId, bookingRequest);
-        validation.validationForCreateBooking(bookingRequest, bookerId);
         return bookingService.addBooking(bookingRequest, bookerId);
     }
 
@@ -33,22 +41,28 @@ public class BookingController {
     public BookingResponse updateBookingStatus(@RequestHeader(USER_ID) long ownerId, @PathVariable long bookingId,
                                                @RequestParam Boolean approved) {
         log.info("Поступил запрос от пользователя {} на изменение статуса бронирования.", ownerId);
-        validation.validationForUpdateBookingStatus(bookingId, ownerId);
-        return bookingService.updateBookingStatus(bookingId, approved);
+        return bookingService.updateBookingStatus(ownerId, bookingId, approved);
+    }
+
+    @PatchMapping("/batch")
+    public List<BookingStatusResult> updateBookingStatuses(@RequestHeader(USER_ID) long ownerId,
+                                                           @RequestParam Boolean approved,
+                                                           @RequestBody List<Long> bookingIds) {
+        log.info("Поступил запрос от пользователя {} на изменение статуса {} бронирований.", ownerId,
+                bookingIds.size());
+        return bookingService.updateBookingStatuses(ownerId, bookingIds, approved);
     }
 
     @GetMapping("/{bookingId}")
     public BookingResponse getBookingById(@RequestHeader(USER_ID) long userId, @PathVariable long bookingId) {
         log.info("Поступил запрос от пользователя {} на получение данных о бронировании {}.", userId, bookingId);
-        validation.validationForGetBookingById(bookingId, userId);
-        return bookingService.getBookingById(bookingId);
+        return bookingService.getBookingById(userId, bookingId);
     }
 
     @GetMapping
     public List<BookingResponse> getBookingsByBookerId(@RequestHeader(USER_ID) long bookerId,
                                                        @RequestParam(defaultValue = "ALL") BookingState state) {
         log.info("Поступил запрос от пользователя {} на получение списка бронирований в статусе {}", bookerId, state);
-        validation.checkUserId(bookerId);
         return bookingService.getBookingsByBookerId(bookerId, state);
     }
 
@@ -56,7 +70,57 @@ public class BookingController {
     public List<BookingResponse> getBookingsByOwnerItems(@RequestHeader(USER_ID) long ownerId,
                                                          @RequestParam(defaultValue = "ALL") BookingState state) {
         log.info("Получен запрос от пользователя {} на получение списка бронирований его вещей.", ownerId);
-        validation.validationOwnerHasItems(ownerId);
         return bookingService.getBookingsByOwnerItems(ownerId, state);
     }
+
+    @GetMapping(params = "size")
+    public ResponseEntity<List<BookingResponse>> getBookingPageByBookerId(
+            @RequestHeader(USER_ID) long bookerId,
+            @RequestParam(defaultValue = "ALL") BookingState state,
+            @RequestParam(required = false) String cursor,
+            @RequestParam int size) {
+        log.info("Поступил запрос от пользователя {} на получение страницы бронирований в статусе {}, курсор {}",
+                bookerId, state, cursor);
+        return toPageResponse(bookingService.getBookingsByBookerId(bookerId, state, cursor, size));
+    }
+
+    @GetMapping(path = "/owner", params = "size")
+    public ResponseEntity<List<BookingResponse>> getBookingPageByOwnerItems(
+            @RequestHeader(USER_ID) long ownerId,
+            @RequestParam(defaultValue = "ALL") BookingState state,
+            @RequestParam(required = false) String cursor,
+            @RequestParam int size) {
+        log.info("Получен запрос от пользователя {} на получение страницы бронирований его вещей, курсор {}.",
+                ownerId, cursor);
+        return toPageResponse(bookingService.getBookingsByOwnerItems(ownerId, state, cursor, size));
+    }
+
+    /**
+     * Выгрузка всех бронирований вещей владельца файлом. Ответ пишется в отдельном потоке по мере чтения
+     * строк из базы, поэтому владелец проверяется заранее: ошибка возвращается обычным ответом с кодом.
+     */
+    @GetMapping("/owner/export")
+    public ResponseEntity<StreamingResponseBody> exportBookingsByOwnerItems(
+            @RequestHeader(USER_ID) long ownerId,
+            @RequestParam(defaultValue = "ALL") BookingState state,
+            @RequestParam(defaultValue = "NDJSON") BookingExportFormat format) {
+        log.info("Получен запрос от пользователя {} на выгрузку бронирований его вещей в статусе {}, формат {}.",
+                ownerId, state, format);
+        bookingExportService.checkOwner(ownerId);
+        ContentDisposition attachment = ContentDisposition.attachment()
+                .filename("bookings-" + ownerId + "." + format.getExtension())
+                .build();
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getMediaType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, attachment.toString())
+                .body(out -> bookingExportService.exportBookingsByOwnerItems(ownerId, state, format, out));
+    }
+
+    private ResponseEntity<List<BookingResponse>> toPageResponse(BookingPage page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(NEXT_CURSOR, page.getNextCursor());
+        }
+        return response.body(page.getBookings());
+    }
 }
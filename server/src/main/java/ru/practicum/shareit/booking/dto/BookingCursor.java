@@ -0,0 +1,46 @@
+package ru.practicum.shareit.booking.dto;
+
+import ru.practicum.shareit.exception.ValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Курсор для постраничного (keyset) вывода бронирований.
+ * Хранит ключи последнего бронирования на странице: дату начала и id.
+ * Клиенту передаётся в виде непрозрачной строки (Base64).
+ */
+public record BookingCursor(LocalDateTime start, long id) {
+
+    private static final String SEPARATOR = "|";
+
+    public static BookingCursor of(BookingView booking) {
+        return new BookingCursor(booking.start(), booking.id());
+    }
+
+    public String encode() {
+        String raw = start + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Восстановление курсора из строки, полученной от клиента.
+     * @param token - строка курсора, может быть null (первая страница)
+     * @return курсор или null, если строка не передана
+     */
+    public static BookingCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int index = raw.lastIndexOf(SEPARATOR);
+            return new BookingCursor(LocalDateTime.parse(raw.substring(0, index)),
+                    Long.parseLong(raw.substring(index + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new ValidationException(String.format("Некорректный курсор страницы - %s.", token));
+        }
+    }
+}
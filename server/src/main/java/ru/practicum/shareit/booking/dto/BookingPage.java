@@ -0,0 +1,18 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class BookingPage {
+
+    private List<BookingResponse> bookings;
+
+    /**
+     * Курсор следующей страницы, null - если страница последняя.
+     */
+    private String nextCursor;
+}
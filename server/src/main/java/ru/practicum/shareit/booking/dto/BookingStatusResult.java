@@ -0,0 +1,26 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import ru.practicum.shareit.booking.model.BookingStatus;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingStatusResult {
+
+    private long bookingId;
+
+    /**
+     * Новый статус бронирования, если он изменен.
+     */
+    private BookingStatus status;
+
+    /**
+     * Причина, по которой статус не изменен.
+     */
+    private String error;
+}
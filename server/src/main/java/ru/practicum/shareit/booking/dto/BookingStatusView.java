@@ -0,0 +1,24 @@
+package ru.practicum.shareit.booking.dto;
+
+import ru.practicum.shareit.booking.model.BookingStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Поля бронирования, нужные для проверки владельца и пересечений при изменении статуса.
+ */
+public record BookingStatusView(long id,
+                                long itemId,
+                                long ownerId,
+                                long bookerId,
+                                LocalDateTime start,
+                                LocalDateTime end,
+                                BookingStatus status) {
+
+    /**
+     * Периоды считаются полуоткрытыми [start, end), как в BookingRepository.existsOverlapping.
+     */
+    public boolean overlaps(BookingStatusView other) {
+        return itemId == other.itemId && start.isBefore(other.end) && end.isAfter(other.start);
+    }
+}
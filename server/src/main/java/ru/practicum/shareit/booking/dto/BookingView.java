@@ -0,0 +1,24 @@
+package ru.practicum.shareit.booking.dto;
+
+import ru.practicum.shareit.booking.model.BookingStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Модель чтения бронирования для списков.
+ * Содержит только те поля бронирования, вещи и бронирующего, которые попадают в ответ,
+ * и заполняется одним запросом без загрузки сущностей.
+ */
+public record BookingView(long id,
+                          LocalDateTime start,
+                          LocalDateTime end,
+                          BookingStatus status,
+                          long itemId,
+                          String itemName,
+                          String itemDescription,
+                          Boolean itemAvailable,
+                          Long itemRequestId,
+                          long bookerId,
+                          String bookerName,
+                          String bookerEmail) {
+}
@@ -0,0 +1,19 @@
+package ru.practicum.shareit.booking.event;
+
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Событие о создании бронирования или изменении его статуса.
+ * Хранит снимок полей бронирования на момент изменения.
+ */
+public record BookingChangedEvent(long bookingId, long itemId, long bookerId, LocalDateTime start,
+                                  LocalDateTime end, BookingStatus status) {
+
+    public static BookingChangedEvent of(Booking booking) {
+        return new BookingChangedEvent(booking.getId(), booking.getItem().getId(), booking.getBooker().getId(),
+                booking.getStart(), booking.getEnd(), booking.getStatus());
+    }
+}
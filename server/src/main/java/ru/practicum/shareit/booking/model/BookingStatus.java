@@ -1,5 +1,9 @@
 package ru.practicum.shareit.booking.model;
 
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
 /**
  * Статус бронирования:
  * WAITING - новое бронирование, ожидает одобрения
@@ -11,5 +15,10 @@ public enum BookingStatus {
     WAITING,
     APPROVED,
     REJECTED,
-    CANCELED
+    CANCELED;
+
+    /**
+     * Статусы, в которых бронирование занимает вещь на свой период: вещь нельзя предложить другим.
+     */
+    public static final Set<BookingStatus> OCCUPYING = Collections.unmodifiableSet(EnumSet.of(WAITING, APPROVED));
 }
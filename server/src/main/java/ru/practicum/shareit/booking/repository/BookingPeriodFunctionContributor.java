@@ -0,0 +1,28 @@
+package ru.practicum.shareit.booking.repository;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * HQL-функция periods_overlap(start1, end1, start2, end2) - пересечение полуоткрытых периодов [start, end).
+ * В PostgreSQL записывается как tsrange(start1, end1) && tsrange(start2, end2), чтобы условие
+ * по бронированиям шло по GiST-индексу bookings_item_period_gist_idx (schema-postgresql.sql),
+ * в остальных базах - как start1 < end2 AND end1 > start2.
+ * Подключается через META-INF/services.
+ */
+public class BookingPeriodFunctionContributor implements FunctionContributor {
+
+    public static final String PERIODS_OVERLAP = "periods_overlap";
+
+    @Override
+    public void contributeFunctions(FunctionContributions functionContributions) {
+        String pattern = functionContributions.getDialect() instanceof PostgreSQLDialect
+                ? "(tsrange(?1, ?2) && tsrange(?3, ?4))"
+                : "(?1 < ?4 and ?2 > ?3)";
+        functionContributions.getFunctionRegistry().registerPattern(PERIODS_OVERLAP, pattern,
+                functionContributions.getTypeConfiguration().getBasicTypeRegistry()
+                        .resolve(StandardBasicTypes.BOOLEAN));
+    }
+}
@@ -1,59 +1,119 @@
 package ru.practicum.shareit.booking.repository;
 
-import org.springframework.data.domain.Sort;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
-import ru.practicum.shareit.booking.model.BookingStatus;
+import org.springframework.data.jpa.repository.QueryHints;
+import ru.practicum.shareit.booking.dto.BookingStatusView;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.timeline.BookingPeriod;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
-
-public interface BookingRepository extends JpaRepository<Booking, Long> {
-
-    List<Booking> findByBookerId(long bookerId, Sort sort);
-
-    @Query("SELECT b FROM Booking b " +
-           "WHERE b.booker.id = ?1 " +
-           "AND ?2 BETWEEN b.start AND b.end")
-    List<Booking> getAllCurrentByBookerId(long bookerId, LocalDateTime now, Sort sort);
-
-    List<Booking> findByBookerIdAndEndBefore(long bookerId, LocalDateTime now, Sort sort);
-
-    List<Booking> findByBookerIdAndStartAfter(long bookerId, LocalDateTime now, Sort sort);
-
-    List<Booking> findByBookerIdAndStatus(long bookerId, BookingStatus status, Sort sort);
-
-    @Query("SELECT b FROM Booking b " +
-           "WHERE b.item.owner.id = ?1")
-    List<Booking> getAllByOwnerId(long ownerId, Sort sort);
-
-    @Query("SELECT b FROM Booking b " +
-           "WHERE b.item.owner.id = ?1 " +
-           "AND ?2 BETWEEN b.start AND b.end")
-    List<Booking> getAllCurrentByOwnerId(long ownerId, LocalDateTime now, Sort sort);
-
-    @Query("SELECT b FROM Booking b " +
-           "WHERE b.item.owner.id = ?1 " +
-           "AND end < ?2")
-    List<Booking> getAllPastByOwnerId(long ownerId, LocalDateTime now, Sort sort);
-
-    @Query("SELECT b FROM Booking b " +
-           "WHERE b.item.owner.id = ?1 " +
-           "AND start > ?2")
-    List<Booking> getAllFutureByOwnerId(long ownerId, LocalDateTime now, Sort sort);
-
-    @Query("SELECT b FROM Booking b " +
-           "WHERE b.item.owner.id = ?1 " +
-           "AND status = ?2")
-    List<Booking> getAllByOwnerIdAndStatus(long ownerId, BookingStatus status, Sort sort);
-
+import java.util.stream.Stream;
+
+public interface BookingRepository extends JpaRepository<Booking, Long>, BookingRepositoryCustom {
+
+    /**
+     * Получение бронирования вместе с вещью и бронирующим одним запросом
+     *
+     * @param bookingId - id бронирования
+     * @return Optional найденного или нет бронирования
+     */
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Optional<Booking> findWithItemAndBookerById(long bookingId);
+
+    /**
+     * Проверка пересечения периода с другими бронированиями вещи в заданном статусе.
+     * Периоды считаются полуоткрытыми [start, end): бронирование может начаться в момент окончания другого.
+     *
+     * @param itemId    - id вещи
+     * @param bookingId - id бронирования, которое не учитывается (для нового бронирования - 0)
+     * @param status    - статус бронирований, с которыми ищется пересечение
+     * @param start     - начало периода
+     * @param end       - окончание периода
+     * @return true, если пересечение есть
+     */
+    @Query("SELECT COUNT(b) > 0 FROM Booking b " +
+           "WHERE b.item.id = ?1 " +
+           "AND b.id <> ?2 " +
+           "AND b.status = ?3 " +
+           "AND b.start < ?5 " +
+           "AND b.end > ?4")
+    boolean existsOverlapping(long itemId, long bookingId, BookingStatus status, LocalDateTime start, LocalDateTime end);
+
+    /**
+     * Получение бронирований с владельцами вещей одним запросом для пакетного изменения статуса.
+     *
+     * @param bookingIds - id бронирований
+     * @return найденные бронирования в произвольном порядке
+     */
+    @Query("SELECT new ru.practicum.shareit.booking.dto.BookingStatusView(" +
+           "b.id, b.item.id, b.item.owner.id, b.booker.id, b.start, b.end, b.status) " +
+           "FROM Booking b " +
+           "WHERE b.id IN ?1")
+    List<BookingStatusView> findStatusViewsByIds(Collection<Long> bookingIds);
+
+    /**
+     * Бронирования нескольких вещей в заданном статусе, пересекающиеся с периодом [start, end).
+     *
+     * @param itemIds - id вещей
+     * @param status  - статус бронирований
+     * @param start   - начало периода
+     * @param end     - окончание периода
+     * @return найденные бронирования в произвольном порядке
+     */
+    @Query("SELECT new ru.practicum.shareit.booking.dto.BookingStatusView(" +
+           "b.id, b.item.id, b.item.owner.id, b.booker.id, b.start, b.end, b.status) " +
+           "FROM Booking b " +
+           "WHERE b.item.id IN ?1 " +
+           "AND b.status = ?2 " +
+           "AND b.start < ?4 " +
+           "AND b.end > ?3")
+    List<BookingStatusView> findStatusViewsOverlapping(Collection<Long> itemIds, BookingStatus status,
+                                                       LocalDateTime start, LocalDateTime end);
+
+    /**
+     * Изменение статуса нескольких бронирований одним UPDATE. Меняются только бронирования
+     * в ожидаемом статусе: по количеству измененных строк видно, не изменил ли их кто-то параллельно.
+     * UPDATE идет мимо контекста персистентности, поэтому после него контекст очищается.
+     *
+     * @param bookingIds - id бронирований
+     * @param expected   - текущий статус бронирований
+     * @param status     - новый статус
+     * @return количество измененных бронирований
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Booking b SET b.status = ?3 WHERE b.id IN ?1 AND b.status = ?2")
+    int updateStatuses(Collection<Long> bookingIds, BookingStatus expected, BookingStatus status);
+
+    /**
+     * Потоковое чтение всех бронирований для построения хронологии вещей.
+     * Вызывать внутри транзакции, поток нужно закрыть.
+     *
+     * @return поток бронирований
+     */
+    @Query("SELECT new ru.practicum.shareit.booking.timeline.BookingPeriod(" +
+           "b.id, b.item.id, b.booker.id, b.start, b.end, b.status) " +
+           "FROM Booking b")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<BookingPeriod> streamPeriods();
+
+    @EntityGraph(attributePaths = "booker")
     Optional<Booking> findByBookerIdAndItemId(long bookerId, long itemId);
 
-    @Query("SELECT b.start FROM Booking b " +
+    /**
+     * Начало текущего бронирования вещи. Если текущих бронирований несколько, берется начавшееся позже всех.
+     */
+    @Query("SELECT MAX(b.start) FROM Booking b " +
            "WHERE b.item.id = ?1 " +
            "AND ?2 BETWEEN b.start AND b.end")
     LocalDateTime getLastBookingByItemId(long itemId, LocalDateTime now);
@@ -63,18 +123,14 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
            "AND b.start > ?2")
     LocalDateTime getNextBookingByItemId(long itemId, LocalDateTime now);
 
-    @Query("SELECT b.item.id, b.start FROM Booking b " +
+    @Query("SELECT b.item.id, MAX(b.start) FROM Booking b " +
            "WHERE b.item.id IN ?1 " +
-           "AND ?2 BETWEEN b.start AND b.end")
+           "AND ?2 BETWEEN b.start AND b.end " +
+           "GROUP BY b.item.id")
     List<Object[]> getAllLastBookings(List<Long> itemIds, LocalDateTime now);
 
     default Map<Long, LocalDateTime> getAllLastBookingsByItemIds(List<Long> itemIds, LocalDateTime now) {
-        List<Object[]> objects = getAllLastBookings(itemIds, now);
-        return objects.stream()
-                .collect(Collectors.toMap(
-                        object -> (Long) object[0],
-                        object -> (LocalDateTime) object[1]
-                ));
+        return mapDatesByItemId(getAllLastBookings(itemIds, now));
     }
 
     @Query("SELECT b.item.id, MIN(b.start) FROM Booking b " +
@@ -84,11 +140,20 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
     List<Object[]> getAllNextBookings(List<Long> itemIds, LocalDateTime now);
 
     default Map<Long, LocalDateTime> getAllNextBookingsByItemIds(List<Long> itemIds, LocalDateTime now) {
-        List<Object[]> objects = getAllNextBookings(itemIds, now);
-        return objects.stream()
+        return mapDatesByItemId(getAllNextBookings(itemIds, now));
+    }
+
+    /**
+     * Преобразование строк (id вещи, дата) в отображение id вещи -> дата
+     *
+     * @param rows - строки запроса
+     * @return даты бронирований по id вещей
+     */
+    static Map<Long, LocalDateTime> mapDatesByItemId(List<Object[]> rows) {
+        return rows.stream()
                 .collect(Collectors.toMap(
-                        object -> (Long) object[0],
-                        object -> (LocalDateTime) object[1]
+                        row -> (Long) row[0],
+                        row -> (LocalDateTime) row[1]
                 ));
     }
 }
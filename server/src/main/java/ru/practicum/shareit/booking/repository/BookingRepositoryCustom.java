@@ -0,0 +1,65 @@
+package ru.practicum.shareit.booking.repository;
+
+import ru.practicum.shareit.booking.dto.BookingCursor;
+import ru.practicum.shareit.booking.dto.BookingState;
+import ru.practicum.shareit.booking.dto.BookingView;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface BookingRepositoryCustom {
+
+    /**
+     * Получение бронирований пользователя, отсортированных по дате начала (по убыванию) и id
+     * @param bookerId - id бронирующего
+     * @param state    - состояние бронирований
+     * @param now      - текущий момент времени
+     * @return список бронирований
+     */
+    List<BookingView> findViewsByBookerId(long bookerId, BookingState state, LocalDateTime now);
+
+    /**
+     * Получение бронирований вещей владельца, отсортированных по дате начала (по убыванию) и id
+     * @param ownerId - id владельца вещей
+     * @param state   - состояние бронирований
+     * @param now     - текущий момент времени
+     * @return список бронирований
+     */
+    List<BookingView> findViewsByOwnerId(long ownerId, BookingState state, LocalDateTime now);
+
+    /**
+     * Получение страницы бронирований пользователя, отсортированных по дате начала (по убыванию) и id
+     * @param bookerId - id бронирующего
+     * @param state    - состояние бронирований
+     * @param now      - текущий момент времени
+     * @param cursor   - ключи последнего бронирования предыдущей страницы, null для первой страницы
+     * @param limit    - максимальное количество бронирований
+     * @return список бронирований
+     */
+    List<BookingView> findPageByBookerId(long bookerId, BookingState state, LocalDateTime now,
+                                         BookingCursor cursor, int limit);
+
+    /**
+     * Получение страницы бронирований вещей владельца, отсортированных по дате начала (по убыванию) и id
+     * @param ownerId - id владельца вещей
+     * @param state   - состояние бронирований
+     * @param now     - текущий момент времени
+     * @param cursor  - ключи последнего бронирования предыдущей страницы, null для первой страницы
+     * @param limit   - максимальное количество бронирований
+     * @return список бронирований
+     */
+    List<BookingView> findPageByOwnerId(long ownerId, BookingState state, LocalDateTime now,
+                                        BookingCursor cursor, int limit);
+
+    /**
+     * Потоковое чтение всех бронирований вещей владельца, отсортированных по дате начала (по убыванию) и id.
+     * Строки читаются из курсора базы порциями, весь результат в памяти не собирается.
+     * Вызывать внутри транзакции, поток нужно закрыть.
+     * @param ownerId - id владельца вещей
+     * @param state   - состояние бронирований
+     * @param now     - текущий момент времени
+     * @return поток бронирований
+     */
+    Stream<BookingView> streamViewsByOwnerId(long ownerId, BookingState state, LocalDateTime now);
+}
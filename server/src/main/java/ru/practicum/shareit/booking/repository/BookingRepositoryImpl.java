@@ -0,0 +1,119 @@
+package ru.practicum.shareit.booking.repository;
+
+import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.Projections;
+import com.querydsl.jpa.impl.JPAQuery;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.stereotype.Repository;
+import ru.practicum.shareit.booking.dto.BookingCursor;
+import ru.practicum.shareit.booking.dto.BookingState;
+import ru.practicum.shareit.booking.dto.BookingView;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.model.QBooking;
+import ru.practicum.shareit.item.model.QItem;
+import ru.practicum.shareit.user.model.QUser;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Списки бронирований читаются проекцией BookingView: один запрос с соединением
+ * bookings, items и users, без загрузки сущностей и их связей.
+ */
+@Repository
+@RequiredArgsConstructor
+public class BookingRepositoryImpl implements BookingRepositoryCustom {
+
+    private static final int STREAM_FETCH_SIZE = 500;
+
+    private final JPAQueryFactory queryFactory;
+    private final QBooking booking = QBooking.booking;
+    private final QItem item = QItem.item;
+    private final QUser booker = QUser.user;
+
+    @Override
+    public List<BookingView> findViewsByBookerId(long bookerId, BookingState state, LocalDateTime now) {
+        return selectViews(booking.booker.id.eq(bookerId), state, now).fetch();
+    }
+
+    @Override
+    public List<BookingView> findViewsByOwnerId(long ownerId, BookingState state, LocalDateTime now) {
+        return selectViews(item.owner.id.eq(ownerId), state, now).fetch();
+    }
+
+    @Override
+    public List<BookingView> findPageByBookerId(long bookerId, BookingState state, LocalDateTime now,
+                                                BookingCursor cursor, int limit) {
+        return selectViews(booking.booker.id.eq(bookerId), state, now)
+                .where(seekPredicate(cursor))
+                .limit(limit)
+                .fetch();
+    }
+
+    @Override
+    public List<BookingView> findPageByOwnerId(long ownerId, BookingState state, LocalDateTime now,
+                                               BookingCursor cursor, int limit) {
+        return selectViews(item.owner.id.eq(ownerId), state, now)
+                .where(seekPredicate(cursor))
+                .limit(limit)
+                .fetch();
+    }
+
+    @Override
+    public Stream<BookingView> streamViewsByOwnerId(long ownerId, BookingState state, LocalDateTime now) {
+        return selectViews(item.owner.id.eq(ownerId), state, now)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, STREAM_FETCH_SIZE)
+                .stream();
+    }
+
+    private JPAQuery<BookingView> selectViews(Predicate userPredicate, BookingState state, LocalDateTime now) {
+        return queryFactory
+                .select(Projections.constructor(BookingView.class,
+                        booking.id,
+                        booking.start,
+                        booking.end,
+                        booking.status,
+                        item.id,
+                        item.name,
+                        item.description,
+                        item.available,
+                        item.request.id,
+                        booker.id,
+                        booker.name,
+                        booker.email
+                ))
+                .from(booking)
+                .join(booking.item, item)
+                .join(booking.booker, booker)
+                .where(
+                        userPredicate,
+                        statePredicate(state, now)
+                )
+                .orderBy(booking.start.desc(), booking.id.desc());
+    }
+
+    private Predicate statePredicate(BookingState state, LocalDateTime now) {
+        return switch (state) {
+            case ALL -> null;
+            case CURRENT -> booking.start.loe(now).and(booking.end.goe(now));
+            case PAST -> booking.end.lt(now);
+            case FUTURE -> booking.start.gt(now);
+            case WAITING -> booking.status.eq(BookingStatus.WAITING);
+            case REJECTED -> booking.status.eq(BookingStatus.REJECTED);
+        };
+    }
+
+    /**
+     * Условие "после курсора" для порядка (start DESC, id DESC).
+     */
+    private Predicate seekPredicate(BookingCursor cursor) {
+        if (cursor == null) {
+            return null;
+        }
+        return booking.start.lt(cursor.start())
+                .or(booking.start.eq(cursor.start()).and(booking.id.lt(cursor.id())));
+    }
+}
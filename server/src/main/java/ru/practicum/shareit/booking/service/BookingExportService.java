@@ -0,0 +1,28 @@
+package ru.practicum.shareit.booking.service;
+
+import ru.practicum.shareit.booking.dto.BookingExportFormat;
+import ru.practicum.shareit.booking.dto.BookingState;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface BookingExportService {
+
+    /**
+     * Проверка, что выгрузку можно начать: пользователь существует и у него есть вещи.
+     * Вызывается до начала записи ответа, чтобы ошибка вернулась обычным статусом.
+     * @param ownerId - id владельца вещей
+     */
+    void checkOwner(long ownerId);
+
+    /**
+     * Выгрузка всех бронирований вещей владельца, от новых к старым.
+     * Строки читаются из базы потоком и сразу пишутся в out, память не зависит от количества бронирований.
+     * @param ownerId - id владельца вещей
+     * @param state   - состояние бронирований
+     * @param format  - формат выгрузки
+     * @param out     - поток ответа, не закрывается
+     */
+    void exportBookingsByOwnerItems(long ownerId, BookingState state, BookingExportFormat format,
+                                    OutputStream out) throws IOException;
+}
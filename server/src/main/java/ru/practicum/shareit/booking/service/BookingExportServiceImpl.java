@@ -0,0 +1,116 @@
+package ru.practicum.shareit.booking.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingExportFormat;
+import ru.practicum.shareit.booking.dto.BookingResponse;
+import ru.practicum.shareit.booking.dto.BookingState;
+import ru.practicum.shareit.booking.dto.BookingView;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.validation.ValidationUtils;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class BookingExportServiceImpl implements BookingExportService {
+
+    private final BookingRepository bookingRepository;
+    private final BookingMapper bookingMapper;
+    private final ObjectMapper objectMapper;
+    private final ValidationUtils validation;
+
+    static final String CSV_HEADER = "id,start,end,status,itemId,itemName,itemRequestId,bookerId,bookerName,bookerEmail";
+
+    @Override
+    public void checkOwner(long ownerId) {
+        validation.validationOwnerHasItems(ownerId);
+    }
+
+    @Override
+    public void exportBookingsByOwnerItems(long ownerId, BookingState state, BookingExportFormat format,
+                                           OutputStream out) throws IOException {
+        try (Stream<BookingView> bookings = bookingRepository.streamViewsByOwnerId(ownerId, state,
+                LocalDateTime.now())) {
+            switch (format) {
+                case NDJSON -> writeNdjson(bookings.iterator(), out);
+                case CSV -> writeCsv(bookings.iterator(), out);
+            }
+        }
+    }
+
+    /**
+     * Каждый объект завершается переводом строки (вместо разделителя корневых значений Jackson).
+     * Ответ сбрасывается клиенту по заполнении буфера, а не после каждой строки.
+     */
+    private void writeNdjson(Iterator<BookingView> bookings, OutputStream out) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(BookingResponse.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .withRootValueSeparator("");
+        try (JsonGenerator generator = writer.createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            while (bookings.hasNext()) {
+                writer.writeValue(generator, bookingMapper.mapViewToBookingResponse(bookings.next()));
+                generator.writeRaw('\n');
+            }
+        }
+    }
+
+    private void writeCsv(Iterator<BookingView> bookings, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+        while (bookings.hasNext()) {
+            BookingView booking = bookings.next();
+            writer.write(String.valueOf(booking.id()));
+            writer.write(',');
+            writer.write(String.valueOf(booking.start()));
+            writer.write(',');
+            writer.write(String.valueOf(booking.end()));
+            writer.write(',');
+            writer.write(booking.status().name());
+            writer.write(',');
+            writer.write(String.valueOf(booking.itemId()));
+            writer.write(',');
+            writer.write(csvField(booking.itemName()));
+            writer.write(',');
+            writer.write(booking.itemRequestId() == null ? "" : String.valueOf(booking.itemRequestId()));
+            writer.write(',');
+            writer.write(String.valueOf(booking.bookerId()));
+            writer.write(',');
+            writer.write(csvField(booking.bookerName()));
+            writer.write(',');
+            writer.write(csvField(booking.bookerEmail()));
+            writer.write('\n');
+        }
+        writer.flush();
+    }
+
+    /**
+     * Экранирование значения по RFC 4180: поле с запятой, кавычкой или переводом строки берется в кавычки.
+     */
+    static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
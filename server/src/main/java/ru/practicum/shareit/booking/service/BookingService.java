@@ -1,8 +1,10 @@
 package ru.practicum.shareit.booking.service;
 
+import ru.practicum.shareit.booking.dto.BookingPage;
 import ru.practicum.shareit.booking.dto.BookingState;
 import ru.practicum.shareit.booking.dto.BookingRequest;
 import ru.practicum.shareit.booking.dto.BookingResponse;
+import ru.practicum.shareit.booking.dto.BookingStatusResult;
 
 import java.util.List;
 
@@ -10,11 +12,27 @@ public interface BookingService {
 
     BookingResponse addBooking(BookingRequest bookingRequest, long bookerId);
 
-    BookingResponse updateBookingStatus(long bookingId, boolean approved);
+    BookingResponse updateBookingStatus(long ownerId, long bookingId, boolean approved);
 
-    BookingResponse getBookingById(long bookingId);
+    /**
+     * Подтверждение или отклонение нескольких ожидающих бронирований вещей владельца.
+     * Бронирования читаются одним запросом, статус меняется одним UPDATE; при подтверждении
+     * пересечения проверяются и с уже подтвержденными бронированиями, и внутри списка.
+     * Бронирования, которые нельзя изменить, не прерывают обработку остальных
+     * @param ownerId    - id владельца вещей
+     * @param bookingIds - id бронирований, не больше 100
+     * @param approved   - true - подтвердить, false - отклонить
+     * @return результат по каждому бронированию в порядке запроса, повторы id не учитываются
+     */
+    List<BookingStatusResult> updateBookingStatuses(long ownerId, List<Long> bookingIds, boolean approved);
+
+    BookingResponse getBookingById(long userId, long bookingId);
 
     List<BookingResponse> getBookingsByBookerId(long bookerId, BookingState state);
 
     List<BookingResponse> getBookingsByOwnerItems(long ownerId, BookingState state);
+
+    BookingPage getBookingsByBookerId(long bookerId, BookingState state, String cursor, int size);
+
+    BookingPage getBookingsByOwnerItems(long ownerId, BookingState state, String cursor, int size);
 }
@@ -1,25 +1,42 @@
 package ru.practicum.shareit.booking.service;
 
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Sort;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingCursor;
+import ru.practicum.shareit.booking.dto.BookingPage;
 import ru.practicum.shareit.booking.dto.BookingState;
+import ru.practicum.shareit.booking.dto.BookingStatusResult;
+import ru.practicum.shareit.booking.dto.BookingStatusView;
+import ru.practicum.shareit.booking.dto.BookingView;
+import ru.practicum.shareit.booking.event.BookingChangedEvent;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.dto.BookingRequest;
 import ru.practicum.shareit.booking.dto.BookingResponse;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.exception.BookingConflictException;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.validation.ValidationUtils;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -30,8 +47,11 @@ public class BookingServiceImpl implements BookingService {
     private final UserRepository userRepository;
     private final ItemRepository itemRepository;
     private final BookingMapper bookingMapper;
+    private final ValidationUtils validation;
+    private final ApplicationEventPublisher eventPublisher;
 
-    private static final Sort SORT_START = Sort.by(Sort.Direction.DESC, "start");
+    private static final int MAX_PAGE_SIZE = 100;
+    static final int MAX_STATUS_BATCH_SIZE = 100;
 
     @Override
     @Transactional
@@ -40,66 +60,209 @@ public class BookingServiceImpl implements BookingService {
                 .orElseThrow(() -> new NotFoundException(String.format("Пользователь с таким id - %s не найден.", bookerId)));
         Item item = itemRepository.findById(bookingRequest.getItemId())
                 .orElseThrow(() -> new NotFoundException(String.format("Вещь с таким id - %s не найдена.", bookingRequest.getItemId())));
+        validation.validationForCreateBooking(item, bookerId);
         Booking booking = bookingMapper.mapToBooking(bookingRequest, item, booker);
+        checkNoApprovedOverlap(booking, 0);
         booking.setStatus(BookingStatus.WAITING);
         booking = bookingRepository.save(booking);
+        eventPublisher.publishEvent(BookingChangedEvent.of(booking));
         return bookingMapper.mapToBookingResponse(booking);
     }
 
     @Override
     @Transactional
-    public BookingResponse updateBookingStatus(long bookingId, boolean approved) {
-        Booking booking = bookingRepository.findById(bookingId)
+    public BookingResponse updateBookingStatus(long ownerId, long bookingId, boolean approved) {
+        Booking booking = bookingRepository.findWithItemAndBookerById(bookingId)
                 .orElseThrow(() -> new NotFoundException(String.format("Бронирование с таким id - %s не найдено.", bookingId)));
+        validation.validationForUpdateBookingStatus(booking, ownerId);
 
         if (approved) {
+            itemRepository.lockById(booking.getItem().getId());
+            checkNoApprovedOverlap(booking, bookingId);
             booking.setStatus(BookingStatus.APPROVED);
         } else {
             booking.setStatus(BookingStatus.REJECTED);
         }
+        eventPublisher.publishEvent(BookingChangedEvent.of(booking));
         return bookingMapper.mapToBookingResponse(booking);
     }
 
     @Override
-    public BookingResponse getBookingById(long bookingId) {
-        Booking booking = bookingRepository.findById(bookingId)
+    @Transactional
+    public List<BookingStatusResult> updateBookingStatuses(long ownerId, List<Long> bookingIds, boolean approved) {
+        Set<Long> ids = bookingIds.stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        if (ids.size() > MAX_STATUS_BATCH_SIZE) {
+            throw new ValidationException(String.format("За один запрос можно изменить не больше %s бронирований, " +
+                    "передано %s.", MAX_STATUS_BATCH_SIZE, ids.size()));
+        }
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, BookingStatusView> bookings = bookingRepository.findStatusViewsByIds(ids).stream()
+                .collect(Collectors.toMap(BookingStatusView::id, Function.identity()));
+
+        Map<Long, BookingStatusResult> results = new LinkedHashMap<>();
+        List<BookingStatusView> candidates = new ArrayList<>();
+        for (long id : ids) {
+            BookingStatusView booking = bookings.get(id);
+            String error = checkStatusUpdate(id, booking, ownerId);
+            results.put(id, BookingStatusResult.builder().bookingId(id).error(error).build());
+            if (error == null) {
+                candidates.add(booking);
+            }
+        }
+
+        BookingStatus status = approved ? BookingStatus.APPROVED : BookingStatus.REJECTED;
+        List<Long> updated = approved ? approveWithoutOverlaps(candidates, results) : idsOf(candidates);
+        if (!updated.isEmpty()
+                && bookingRepository.updateStatuses(updated, BookingStatus.WAITING, status) != updated.size()) {
+            throw new BookingConflictException("Статус части бронирований изменился во время обработки, " +
+                    "повторите запрос.");
+        }
+        for (long id : updated) {
+            results.get(id).setStatus(status);
+            BookingStatusView booking = bookings.get(id);
+            eventPublisher.publishEvent(new BookingChangedEvent(id, booking.itemId(), booking.bookerId(),
+                    booking.start(), booking.end(), status));
+        }
+        return new ArrayList<>(results.values());
+    }
+
+    @Override
+    public BookingResponse getBookingById(long userId, long bookingId) {
+        Booking booking = bookingRepository.findWithItemAndBookerById(bookingId)
                 .orElseThrow(() -> new NotFoundException(String.format("Бронирование с таким id - %s не найдено.", bookingId)));
+        validation.validationForGetBookingById(booking, userId);
         return bookingMapper.mapToBookingResponse(booking);
     }
 
     @Override
     public List<BookingResponse> getBookingsByBookerId(long bookerId, BookingState state) {
-        List<Booking> bookings = new ArrayList<>();
-        switch (state) {
-            case ALL -> bookings = bookingRepository.findByBookerId(bookerId, SORT_START);
-            case CURRENT ->
-                    bookings = bookingRepository.getAllCurrentByBookerId(bookerId, LocalDateTime.now(), SORT_START);
-            case PAST ->
-                    bookings = bookingRepository.findByBookerIdAndEndBefore(bookerId, LocalDateTime.now(), SORT_START);
-            case FUTURE ->
-                    bookings = bookingRepository.findByBookerIdAndStartAfter(bookerId, LocalDateTime.now(), SORT_START);
-            case WAITING ->
-                    bookings = bookingRepository.findByBookerIdAndStatus(bookerId, BookingStatus.WAITING, SORT_START);
-            case REJECTED ->
-                    bookings = bookingRepository.findByBookerIdAndStatus(bookerId, BookingStatus.REJECTED, SORT_START);
-        }
-        return bookingMapper.mapToBookingResponseList(bookings);
+        List<BookingView> bookings = bookingRepository.findViewsByBookerId(bookerId, state, LocalDateTime.now());
+        if (bookings.isEmpty()) {
+            validation.checkUserId(bookerId);
+        }
+        return bookingMapper.mapViewsToBookingResponseList(bookings);
     }
 
     @Override
     public List<BookingResponse> getBookingsByOwnerItems(long ownerId, BookingState state) {
-        List<Booking> bookings = new ArrayList<>();
-        switch (state) {
-            case ALL -> bookings = bookingRepository.getAllByOwnerId(ownerId, SORT_START);
-            case CURRENT ->
-                    bookings = bookingRepository.getAllCurrentByOwnerId(ownerId, LocalDateTime.now(), SORT_START);
-            case PAST -> bookings = bookingRepository.getAllPastByOwnerId(ownerId, LocalDateTime.now(), SORT_START);
-            case FUTURE -> bookings = bookingRepository.getAllFutureByOwnerId(ownerId, LocalDateTime.now(), SORT_START);
-            case WAITING ->
-                    bookings = bookingRepository.getAllByOwnerIdAndStatus(ownerId, BookingStatus.WAITING, SORT_START);
-            case REJECTED ->
-                    bookings = bookingRepository.getAllByOwnerIdAndStatus(ownerId, BookingStatus.REJECTED, SORT_START);
-        }
-        return bookingMapper.mapToBookingResponseList(bookings);
+        List<BookingView> bookings = bookingRepository.findViewsByOwnerId(ownerId, state, LocalDateTime.now());
+        if (bookings.isEmpty()) {
+            validation.validationOwnerHasItems(ownerId);
+        }
+        return bookingMapper.mapViewsToBookingResponseList(bookings);
+    }
+
+    @Override
+    public BookingPage getBookingsByBookerId(long bookerId, BookingState state, String cursor, int size) {
+        int limit = pageLimit(size);
+        List<BookingView> bookings = bookingRepository.findPageByBookerId(bookerId, state, LocalDateTime.now(),
+                BookingCursor.decode(cursor), limit + 1);
+        if (bookings.isEmpty()) {
+            validation.checkUserId(bookerId);
+        }
+        return mapToBookingPage(bookings, limit);
+    }
+
+    @Override
+    public BookingPage getBookingsByOwnerItems(long ownerId, BookingState state, String cursor, int size) {
+        int limit = pageLimit(size);
+        List<BookingView> bookings = bookingRepository.findPageByOwnerId(ownerId, state, LocalDateTime.now(),
+                BookingCursor.decode(cursor), limit + 1);
+        if (bookings.isEmpty()) {
+            validation.validationOwnerHasItems(ownerId);
+        }
+        return mapToBookingPage(bookings, limit);
+    }
+
+    /**
+     * При подтверждении вызывается после блокировки вещи: параллельное подтверждение
+     * пересекающегося бронирования той же вещи ждет коммита и видит его результат.
+     */
+    private void checkNoApprovedOverlap(Booking booking, long bookingId) {
+        if (bookingRepository.existsOverlapping(booking.getItem().getId(), bookingId, BookingStatus.APPROVED,
+                booking.getStart(), booking.getEnd())) {
+            throw new BookingConflictException(String.format(
+                    "Вещь с id - %s уже забронирована на период с %s по %s.",
+                    booking.getItem().getId(), booking.getStart(), booking.getEnd()));
+        }
+    }
+
+    private String checkStatusUpdate(long bookingId, BookingStatusView booking, long ownerId) {
+        if (booking == null) {
+            return String.format("Бронирование с таким id - %s не найдено.", bookingId);
+        }
+        if (booking.ownerId() != ownerId) {
+            return String.format("Пользователь с id - %s не является хозяином вещи.", ownerId);
+        }
+        if (booking.status() != BookingStatus.WAITING) {
+            return String.format("Бронирование с id - %s уже рассмотрено, статус %s.", bookingId, booking.status());
+        }
+        return null;
+    }
+
+    /**
+     * Вещи блокируются так же, как при подтверждении одного бронирования, затем одним запросом
+     * читаются подтвержденные бронирования этих вещей за общий период списка. Бронирования списка
+     * подтверждаются по порядку запроса, каждое проверяется и с уже подтвержденными ранее в этом списке.
+     *
+     * @return id бронирований, которые можно подтвердить
+     */
+    private List<Long> approveWithoutOverlaps(List<BookingStatusView> candidates,
+                                              Map<Long, BookingStatusResult> results) {
+        if (candidates.isEmpty()) {
+            return List.of();
+        }
+        Set<Long> itemIds = candidates.stream().map(BookingStatusView::itemId).collect(Collectors.toSet());
+        itemRepository.lockAllById(itemIds);
+        LocalDateTime start = candidates.stream().map(BookingStatusView::start).min(Comparator.naturalOrder())
+                .orElseThrow();
+        LocalDateTime end = candidates.stream().map(BookingStatusView::end).max(Comparator.naturalOrder())
+                .orElseThrow();
+        List<BookingStatusView> approved = new ArrayList<>(
+                bookingRepository.findStatusViewsOverlapping(itemIds, BookingStatus.APPROVED, start, end));
+
+        List<Long> accepted = new ArrayList<>();
+        for (BookingStatusView booking : candidates) {
+            if (approved.stream().anyMatch(booking::overlaps)) {
+                results.get(booking.id()).setError(String.format(
+                        "Вещь с id - %s уже забронирована на период с %s по %s.",
+                        booking.itemId(), booking.start(), booking.end()));
+            } else {
+                approved.add(booking);
+                accepted.add(booking.id());
+            }
+        }
+        return accepted;
+    }
+
+    private static List<Long> idsOf(List<BookingStatusView> bookings) {
+        return bookings.stream().map(BookingStatusView::id).toList();
+    }
+
+    private int pageLimit(int size) {
+        if (size < 1) {
+            throw new ValidationException(String.format("Размер страницы должен быть положительным - %s.", size));
+        }
+        return Math.min(size, MAX_PAGE_SIZE);
+    }
+
+    /**
+     * Из репозитория запрашивается на одно бронирование больше размера страницы:
+     * если оно пришло, значит есть следующая страница.
+     */
+    private BookingPage mapToBookingPage(List<BookingView> bookings, int limit) {
+        String nextCursor = null;
+        if (bookings.size() > limit) {
+            bookings = bookings.subList(0, limit);
+            nextCursor = BookingCursor.of(bookings.getLast()).encode();
+        }
+        return BookingPage.builder()
+                .bookings(bookingMapper.mapViewsToBookingResponseList(bookings))
+                .nextCursor(nextCursor)
+                .build();
     }
 }
@@ -0,0 +1,16 @@
+package ru.practicum.shareit.booking.timeline;
+
+import ru.practicum.shareit.booking.model.BookingStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Данные бронирования, которые хранятся в хронологии вещи.
+ */
+public record BookingPeriod(long id, long itemId, long bookerId, LocalDateTime start, LocalDateTime end,
+                            BookingStatus status) {
+
+    boolean occupying() {
+        return BookingStatus.OCCUPYING.contains(status);
+    }
+}
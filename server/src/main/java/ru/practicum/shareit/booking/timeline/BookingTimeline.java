@@ -0,0 +1,134 @@
+package ru.practicum.shareit.booking.timeline;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Хронология бронирований вещей в памяти приложения: для каждой вещи - неизменяемый снимок
+ * ее бронирований, отсортированных по началу (см. {@link ItemTimeline}). Отвечает без обращения к базе,
+ * когда начались текущее и следующее бронирования вещи и свободна ли вещь в заданном периоде.
+ * Чтение идет без блокировок, изменения заменяют снимок вещи целиком.
+ */
+@Component
+@Slf4j
+public class BookingTimeline {
+
+    private final boolean enabled;
+    private final Map<Long, ItemTimeline> timelines = new ConcurrentHashMap<>();
+    private final Set<Long> changedDuringRebuild = new HashSet<>();
+    private boolean rebuilding;
+    private volatile boolean ready;
+
+    public BookingTimeline(@Value("${shareit.booking-timeline.enabled:true}") boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Пока хронология не построена, даты бронирований и свобода вещей считаются в базе.
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    public LocalDateTime lastBookingStart(long itemId, LocalDateTime now) {
+        return timeline(itemId).lastStart(now);
+    }
+
+    public LocalDateTime nextBookingStart(long itemId, LocalDateTime now) {
+        return timeline(itemId).nextStart(now);
+    }
+
+    /**
+     * @return true, если у вещи нет ожидающих и подтвержденных бронирований, пересекающихся с [start, end)
+     */
+    public boolean isFree(long itemId, LocalDateTime start, LocalDateTime end) {
+        return timeline(itemId).isFree(start, end);
+    }
+
+    /**
+     * Добавление бронирования или изменение его статуса.
+     */
+    public synchronized void put(BookingPeriod period) {
+        markChanged(period.id());
+        timelines.compute(period.itemId(), (itemId, timeline) -> (timeline == null ? ItemTimeline.EMPTY : timeline)
+                .with(period));
+    }
+
+    /**
+     * Удаление бронирований пользователя (вместе с пользователем они удаляются каскадно).
+     */
+    public synchronized void removeByBooker(long bookerId) {
+        for (Map.Entry<Long, ItemTimeline> entry : timelines.entrySet()) {
+            ItemTimeline timeline = entry.getValue();
+            timeline.periods().stream()
+                    .filter(period -> period.bookerId() == bookerId)
+                    .forEach(period -> markChanged(period.id()));
+            ItemTimeline updated = timeline.without(period -> period.bookerId() == bookerId);
+            if (updated.isEmpty()) {
+                timelines.remove(entry.getKey());
+            } else if (updated != timeline) {
+                entry.setValue(updated);
+            }
+        }
+    }
+
+    /**
+     * Построение хронологии заново из потока бронирований.
+     * Бронирования, измененные во время построения, уже попали в хронологию через put,
+     * поэтому их (возможно устаревшие) версии из потока пропускаются.
+     */
+    public void rebuild(Stream<BookingPeriod> periods) {
+        synchronized (this) {
+            ready = false;
+            rebuilding = true;
+            timelines.clear();
+            changedDuringRebuild.clear();
+        }
+
+        Map<Long, List<BookingPeriod>> byItem = new HashMap<>();
+        periods.forEach(period -> byItem.computeIfAbsent(period.itemId(), itemId -> new ArrayList<>()).add(period));
+
+        synchronized (this) {
+            byItem.forEach((itemId, itemPeriods) -> {
+                List<BookingPeriod> merged = new ArrayList<>(itemPeriods.size());
+                itemPeriods.stream()
+                        .filter(period -> !changedDuringRebuild.contains(period.id()))
+                        .forEach(merged::add);
+                ItemTimeline changed = timelines.get(itemId);
+                if (changed != null) {
+                    merged.addAll(changed.periods());
+                }
+                timelines.put(itemId, ItemTimeline.of(merged));
+            });
+            rebuilding = false;
+            changedDuringRebuild.clear();
+            ready = true;
+            log.info("Хронология бронирований построена, вещей с бронированиями - {}.", timelines.size());
+        }
+    }
+
+    private ItemTimeline timeline(long itemId) {
+        return timelines.getOrDefault(itemId, ItemTimeline.EMPTY);
+    }
+
+    private void markChanged(long bookingId) {
+        if (rebuilding) {
+            changedDuringRebuild.add(bookingId);
+        }
+    }
+}
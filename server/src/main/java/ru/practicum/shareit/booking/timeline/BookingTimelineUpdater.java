@@ -0,0 +1,57 @@
+package ru.practicum.shareit.booking.timeline;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit.booking.event.BookingChangedEvent;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.user.event.UserDeletedEvent;
+
+import java.util.stream.Stream;
+
+/**
+ * Поддержка хронологии бронирований в актуальном состоянии:
+ * построение при старте приложения и обновление после фиксации транзакций с изменениями бронирований
+ * и удалением пользователей. Обновление синхронное, поэтому ответ на запрос, изменивший бронирование,
+ * и следующие запросы уже видят изменение. Хронология хранится в памяти одного экземпляра приложения
+ * и видит только его изменения: приложение рассчитано на один экземпляр, как и поисковый индекс вещей.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BookingTimelineUpdater {
+
+    private final BookingTimeline timeline;
+    private final BookingRepository bookingRepository;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuildTimeline() {
+        if (!timeline.isEnabled()) {
+            log.info("Хронология бронирований отключена, даты бронирований считаются в базе.");
+            return;
+        }
+        try (Stream<BookingPeriod> periods = bookingRepository.streamPeriods()) {
+            timeline.rebuild(periods);
+        }
+    }
+
+    @TransactionalEventListener
+    public void onBookingChanged(BookingChangedEvent event) {
+        if (timeline.isEnabled()) {
+            timeline.put(new BookingPeriod(event.bookingId(), event.itemId(), event.bookerId(), event.start(),
+                    event.end(), event.status()));
+        }
+    }
+
+    @TransactionalEventListener
+    public void onUserDeleted(UserDeletedEvent event) {
+        if (timeline.isEnabled()) {
+            timeline.removeByBooker(event.userId());
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package ru.practicum.shareit.booking.timeline;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Бронирования одной вещи, отсортированные по началу. Снимок неизменяемый: изменение строит новый снимок
+ * за O(n), запросы отвечают за O(log n) двоичным поиском по началам, деревом отрезков максимумов окончаний
+ * (для текущего бронирования) и префиксными максимумами окончаний занимающих вещь бронирований (для свободы периода).
+ */
+final class ItemTimeline {
+
+    static final ItemTimeline EMPTY = new ItemTimeline(new BookingPeriod[0]);
+
+    private static final Comparator<BookingPeriod> ORDER = Comparator.comparing(BookingPeriod::start)
+            .thenComparingLong(BookingPeriod::id);
+
+    private final BookingPeriod[] periods;
+    private final int leaves;
+    private final LocalDateTime[] maxEnd;
+    private final LocalDateTime[] occupyingMaxEnd;
+
+    private ItemTimeline(BookingPeriod[] periods) {
+        this.periods = periods;
+        this.leaves = Integer.highestOneBit(Math.max(1, periods.length - 1)) << 1;
+        this.maxEnd = new LocalDateTime[2 * leaves];
+        this.occupyingMaxEnd = new LocalDateTime[periods.length];
+
+        LocalDateTime prefix = null;
+        for (int i = 0; i < periods.length; i++) {
+            maxEnd[leaves + i] = periods[i].end();
+            if (periods[i].occupying()) {
+                prefix = max(prefix, periods[i].end());
+            }
+            occupyingMaxEnd[i] = prefix;
+        }
+        for (int node = leaves - 1; node > 0; node--) {
+            maxEnd[node] = max(maxEnd[2 * node], maxEnd[2 * node + 1]);
+        }
+    }
+
+    static ItemTimeline of(List<BookingPeriod> periods) {
+        BookingPeriod[] sorted = periods.toArray(BookingPeriod[]::new);
+        Arrays.sort(sorted, ORDER);
+        return new ItemTimeline(sorted);
+    }
+
+    /**
+     * Снимок с добавленным или замененным бронированием.
+     */
+    ItemTimeline with(BookingPeriod period) {
+        List<BookingPeriod> result = new ArrayList<>(periods.length + 1);
+        for (BookingPeriod existing : periods) {
+            if (existing.id() != period.id()) {
+                result.add(existing);
+            }
+        }
+        result.add(period);
+        return of(result);
+    }
+
+    ItemTimeline without(Predicate<BookingPeriod> removed) {
+        List<BookingPeriod> result = Arrays.stream(periods).filter(removed.negate()).toList();
+        return result.size() == periods.length ? this : of(result);
+    }
+
+    boolean isEmpty() {
+        return periods.length == 0;
+    }
+
+    List<BookingPeriod> periods() {
+        return List.of(periods);
+    }
+
+    /**
+     * Начало текущего бронирования (start <= now <= end) в любом статусе;
+     * если текущих несколько - начавшегося позже всех.
+     */
+    LocalDateTime lastStart(LocalDateTime now) {
+        int last = upperBound(now) - 1;
+        int index = rightmostEndingNotBefore(1, 0, leaves, last, now);
+        return index < 0 ? null : periods[index].start();
+    }
+
+    /**
+     * Начало ближайшего бронирования, начинающегося после now, в любом статусе.
+     */
+    LocalDateTime nextStart(LocalDateTime now) {
+        int next = upperBound(now);
+        return next < periods.length ? periods[next].start() : null;
+    }
+
+    /**
+     * Свободна ли вещь в полуоткрытом периоде [start, end): ни одно занимающее вещь бронирование
+     * не начинается раньше end и не заканчивается позже start.
+     */
+    boolean isFree(LocalDateTime start, LocalDateTime end) {
+        int last = lowerBound(end) - 1;
+        return last < 0 || occupyingMaxEnd[last] == null || !occupyingMaxEnd[last].isAfter(start);
+    }
+
+    /**
+     * Самый правый индекс не больше last, у которого окончание не раньше now,
+     * спуском по дереву отрезков [lo, hi); -1, если такого нет.
+     */
+    private int rightmostEndingNotBefore(int node, int lo, int hi, int last, LocalDateTime now) {
+        if (lo > last || maxEnd[node] == null || maxEnd[node].isBefore(now)) {
+            return -1;
+        }
+        if (hi - lo == 1) {
+            return lo;
+        }
+        int mid = (lo + hi) >>> 1;
+        int right = rightmostEndingNotBefore(2 * node + 1, mid, hi, last, now);
+        return right >= 0 ? right : rightmostEndingNotBefore(2 * node, lo, mid, last, now);
+    }
+
+    /**
+     * Количество бронирований, начинающихся не позже time.
+     */
+    private int upperBound(LocalDateTime time) {
+        int lo = 0;
+        int hi = periods.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (periods[mid].start().isAfter(time)) {
+                hi = mid;
+            } else {
+                lo = mid + 1;
+            }
+        }
+        return lo;
+    }
+
+    /**
+     * Количество бронирований, начинающихся раньше time.
+     */
+    private int lowerBound(LocalDateTime time) {
+        int lo = 0;
+        int hi = periods.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (periods[mid].start().isBefore(time)) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    private static LocalDateTime max(LocalDateTime a, LocalDateTime b) {
+        if (a == null) {
+            return b;
+        }
+        return b == null || a.isAfter(b) ? a : b;
+    }
+}
@@ -0,0 +1,52 @@
+package ru.practicum.shareit.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Кэш пользователей и вещей в памяти приложения.
+ * Кэши ограничены по размеру и времени жизни записи, статистика попаданий
+ * публикуется в actuator как метрики cache.gets, cache.puts, cache.evictions.
+ * Запись и удаление из кэша внутри транзакции выполняются после ее коммита.
+ */
+@Configuration
+@EnableCaching
+@ConditionalOnProperty(name = "shareit.cache.enabled", havingValue = "true", matchIfMissing = true)
+public class CacheConfig {
+
+    /**
+     * Пользователи по id (UserDto).
+     */
+    public static final String USERS = "users";
+
+    /**
+     * Факт существования пользователя по id. Хранятся только положительные ответы.
+     */
+    public static final String USER_EXISTS = "userExists";
+
+    /**
+     * Вещи по id без бронирований и комментариев (ItemView).
+     */
+    public static final String ITEMS = "items";
+
+    @Bean
+    public CacheManager cacheManager(@Value("${shareit.cache.maximum-size:10000}") long maximumSize,
+                                     @Value("${shareit.cache.expire-after-write:10m}") Duration expireAfterWrite) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager(USERS, USER_EXISTS, ITEMS);
+        cacheManager.setCaffeine(Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats());
+        cacheManager.setAllowNullValues(false);
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+}
@@ -0,0 +1,25 @@
+package ru.practicum.shareit.cache;
+
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Построение ETag ответов по версиям данных, из которых ответ собирается.
+ * ETag слабый: одинаковые версии означают равнозначный ответ, а не побайтно одинаковый.
+ */
+public final class ETags {
+
+    private ETags() {
+    }
+
+    /**
+     * @param validators - записи с версиями данных ответа; порядок записей входит в ETag
+     * @return слабый ETag вида W/"md5"
+     */
+    public static String of(List<?> validators) {
+        String hash = DigestUtils.md5DigestAsHex(validators.toString().getBytes(StandardCharsets.UTF_8));
+        return "W/\"" + hash + "\"";
+    }
+}
@@ -1,6 +1,7 @@
 package ru.practicum.shareit.exception;
 
 import org.springframework.http.HttpStatus;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
@@ -20,6 +21,21 @@ public class ErrorHandler {
         return new ErrorResponse("Дублирование данных.", e.getMessage());
     }
 
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ErrorResponse handleBookingConflict(BookingConflictException e) {
+        return new ErrorResponse("Пересечение бронирований.", e.getMessage());
+    }
+
+    /**
+     * Вещь, запрос или пользователь изменены параллельным запросом после чтения: версия строки не совпала.
+     */
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ErrorResponse handleOptimisticLocking(ObjectOptimisticLockingFailureException e) {
+        return new ErrorResponse("Конфликт изменений.", "Объект изменен другим запросом, повторите запрос.");
+    }
+
     @ExceptionHandler
     @ResponseStatus(HttpStatus.NOT_FOUND)
     public ErrorResponse handleNotFound(NotFoundException e) {
@@ -2,14 +2,19 @@ package ru.practicum.shareit.item.controller;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.item.dto.CommentPage;
 import ru.practicum.shareit.item.dto.CommentResponse;
 import ru.practicum.shareit.item.dto.CommentRequest;
 import ru.practicum.shareit.item.dto.ItemDto;
-import ru.practicum.shareit.validation.ValidationUtils;
+import ru.practicum.shareit.item.dto.ItemImportResult;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -19,54 +24,94 @@ import java.util.List;
 @Slf4j
 public class ItemController {
     private final ItemService itemService;
-    private final ValidationUtils validation;
     private static final String USER_ID = "X-Sharer-User-Id";
+    private static final String TOTAL_COUNT = "X-Total-Count";
 
     @PostMapping
     public ItemDto addItem(@RequestHeader(USER_ID) long userId, @RequestBody ItemDto itemDto) {
         log.info("Поступил запрос от пользователя с id - {} на сохранение новой вещи {}", userId, itemDto);
-        validation.checkUserId(userId);
         return itemService.addItem(itemDto, userId);
     }
 
+    @PostMapping("/batch")
+    public List<ItemImportResult> addItems(@RequestHeader(USER_ID) long userId, @RequestBody List<ItemDto> items) {
+        log.info("Поступил запрос от пользователя с id - {} на импорт {} вещей", userId, items.size());
+        return itemService.addItems(userId, items);
+    }
+
     @PatchMapping("/{itemId}")
     public ItemDto updateItem(@RequestHeader(USER_ID) long userId, @PathVariable long itemId,
                               @RequestBody ItemDto itemDto) {
         log.info("Поступил запрос от пользователя с id - {} на обновление данных о вещи c itemId - {}", userId, itemId);
-        validation.validationForUpdateItem(userId, itemId);
-        return itemService.updateItem(itemId, itemDto);
+        return itemService.updateItem(userId, itemId, itemDto);
     }
 
     @GetMapping("/{itemId}")
-    public ItemDto getItemById(@RequestHeader(USER_ID) long userId, @PathVariable long itemId) {
+    public ItemDto getItemById(@RequestHeader(USER_ID) long userId, @PathVariable long itemId, WebRequest request) {
         log.info("Поступил запрос на вывод информации о вещи.");
-        validation.checkUserId(userId);
-        validation.checkItemId(itemId);
-        return itemService.getItemById(itemId);
+        if (request.checkNotModified(itemService.getItemETag(userId, itemId))) {
+            return null;
+        }
+        return itemService.getItemById(userId, itemId);
     }
 
     @GetMapping
-    public List<ItemDto> getItemsByUserId(@RequestHeader(USER_ID) long userId) {
+    public List<ItemDto> getItemsByUserId(@RequestHeader(USER_ID) long userId, WebRequest request) {
         log.info("Поступил запрос на получение списка вещей пользователя с id - {}", userId);
-        validation.checkUserId(userId);
+        if (request.checkNotModified(itemService.getItemsETag(userId))) {
+            return null;
+        }
         return itemService.getItemsByUserId(userId);
     }
 
     @GetMapping("/search")
-    public List<ItemDto> getItemsByText(@RequestHeader(USER_ID) long userId, @RequestParam String text) {
+    public List<ItemDto> getItemsByText(@RequestHeader(USER_ID) long userId, @RequestParam String text,
+                                        @RequestParam(defaultValue = "0") int from,
+                                        @RequestParam(defaultValue = "20") int size) {
         log.info("Поступил запрос на поиск вещей по описанию {}.", text);
-        validation.checkUserId(userId);
-        if (text.isBlank()) {
-            return List.of();
-        }
-        return itemService.getItemsByText(text);
+        return itemService.getItemsByText(userId, text, from, size);
+    }
+
+    @GetMapping(path = "/search", params = {"start", "end"})
+    public List<ItemDto> getItemsByTextFreeBetween(@RequestHeader(USER_ID) long userId, @RequestParam String text,
+                                                   @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                   LocalDateTime start,
+                                                   @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                   LocalDateTime end,
+                                                   @RequestParam(defaultValue = "0") int from,
+                                                   @RequestParam(defaultValue = "20") int size) {
+        log.info("Поступил запрос на поиск вещей по описанию {}, свободных с {} по {}.", text, start, end);
+        return itemService.getItemsByTextFreeBetween(userId, text, start, end, from, size);
+    }
+
+    @GetMapping("/available")
+    public List<ItemDto> getAvailableItems(@RequestHeader(USER_ID) long userId,
+                                           @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                           LocalDateTime start,
+                                           @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                           LocalDateTime end,
+                                           @RequestParam(defaultValue = "0") int from,
+                                           @RequestParam(defaultValue = "20") int size) {
+        log.info("Поступил запрос на поиск вещей, свободных с {} по {}.", start, end);
+        return itemService.getAvailableItems(userId, start, end, from, size);
+    }
+
+    @GetMapping("/{itemId}/comments")
+    public ResponseEntity<List<CommentResponse>> getCommentsByItemId(@RequestHeader(USER_ID) long userId,
+                                                                     @PathVariable long itemId,
+                                                                     @RequestParam(defaultValue = "0") int from,
+                                                                     @RequestParam(defaultValue = "20") int size) {
+        log.info("Поступил запрос на получение комментариев к вещи {}, from {}, size {}.", itemId, from, size);
+        CommentPage page = itemService.getCommentsByItemId(userId, itemId, from, size);
+        return ResponseEntity.ok()
+                .header(TOTAL_COUNT, String.valueOf(page.getTotal()))
+                .body(page.getComments());
     }
 
     @PostMapping("/{itemId}/comment")
     public CommentResponse addComment(@RequestHeader(USER_ID) long authorId, @PathVariable long itemId,
                                       @RequestBody CommentRequest comment) {
         log.info("Поступил запрос от пользователя {} на добавление комментария к вещи {}.", authorId, itemId);
-        validation.validationForCreateComment(authorId, itemId);
         return itemService.addComment(authorId, itemId, comment);
     }
 }
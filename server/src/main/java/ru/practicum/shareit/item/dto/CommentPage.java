@@ -0,0 +1,18 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class CommentPage {
+
+    private List<CommentResponse> comments;
+
+    /**
+     * Общее количество комментариев к вещи.
+     */
+    private long total;
+}
@@ -0,0 +1,9 @@
+package ru.practicum.shareit.item.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Модель чтения комментария: id вещи и имя автора вместо связанных сущностей.
+ */
+public record CommentView(long id, long itemId, String text, String authorName, LocalDateTime created) {
+}
@@ -0,0 +1,29 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ItemImportResult {
+    /**
+     * Номер строки в запросе, начиная с 0.
+     */
+    private int index;
+
+    private ItemImportStatus status;
+
+    /**
+     * id сохраненной вещи, для отклоненной строки не заполняется.
+     */
+    private Long id;
+
+    /**
+     * Причина отказа, для сохраненной вещи не заполняется.
+     */
+    private String error;
+}
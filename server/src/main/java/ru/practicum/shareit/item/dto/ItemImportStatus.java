@@ -0,0 +1,11 @@
+package ru.practicum.shareit.item.dto;
+
+/**
+ * Результат импорта одной вещи:
+ * CREATED - вещь сохранена
+ * REJECTED - строка не прошла проверку, вещь не сохранена
+ */
+public enum ItemImportStatus {
+    CREATED,
+    REJECTED
+}
@@ -0,0 +1,19 @@
+package ru.practicum.shareit.item.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Данные, от которых зависит ответ с вещью: версия вещи, даты последнего и следующего бронирований,
+ * количество комментариев, id последнего из них и сумма версий авторов комментариев - она растет,
+ * когда автор меняет имя. По ним строится ETag без чтения текстов и сборки ItemDto.
+ */
+public record ItemValidator(long id, long version, LocalDateTime lastBooking, LocalDateTime nextBooking,
+                            long comments, Long lastCommentId, Long authorVersions) {
+
+    /**
+     * Версия с датами бронирований из другого источника, из которого их берет и ответ с вещью.
+     */
+    public ItemValidator withBookings(LocalDateTime lastBooking, LocalDateTime nextBooking) {
+        return new ItemValidator(id, version, lastBooking, nextBooking, comments, lastCommentId, authorVersions);
+    }
+}
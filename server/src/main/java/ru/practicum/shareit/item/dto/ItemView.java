@@ -0,0 +1,8 @@
+package ru.practicum.shareit.item.dto;
+
+/**
+ * Модель чтения вещи для списка вещей владельца.
+ * Запрос возвращает только поля ответа, без владельца и запроса.
+ */
+public record ItemView(long id, String name, String description, Boolean available, Long requestId) {
+}
@@ -0,0 +1,17 @@
+package ru.practicum.shareit.item.event;
+
+import ru.practicum.shareit.item.model.Item;
+
+/**
+ * Событие о создании или изменении вещи.
+ * Хранит снимок полей вещи на момент изменения.
+ */
+public record ItemChangedEvent(long itemId, long ownerId, String name, String description,
+                               boolean available, Long requestId) {
+
+    public static ItemChangedEvent of(Item item) {
+        Long requestId = item.getRequest() == null ? null : item.getRequest().getId();
+        return new ItemChangedEvent(item.getId(), item.getOwner().getId(), item.getName(), item.getDescription(),
+                Boolean.TRUE.equals(item.getAvailable()), requestId);
+    }
+}
@@ -5,6 +5,7 @@ import org.mapstruct.Mapping;
 import org.mapstruct.NullValuePropertyMappingStrategy;
 import ru.practicum.shareit.item.dto.CommentRequest;
 import ru.practicum.shareit.item.dto.CommentResponse;
+import ru.practicum.shareit.item.dto.CommentView;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.model.User;
@@ -29,4 +30,6 @@ public interface CommentMapper {
     CommentResponse mapToCommentResponse(Comment comment);
 
     List<CommentResponse> mapToCommentResponseList(List<Comment> comments);
+
+    List<CommentResponse> mapViewsToCommentResponseList(List<CommentView> commentViews);
 }
@@ -5,8 +5,10 @@ import org.mapstruct.Mapping;
 import org.mapstruct.MappingTarget;
 import org.mapstruct.NullValuePropertyMappingStrategy;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemView;
 import ru.practicum.shareit.item.dto.RequestItemDto;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemSearchDocument;
 import ru.practicum.shareit.user.model.User;
 
 import java.util.List;
@@ -17,6 +19,7 @@ public interface ItemMapper {
 
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "request", ignore = true)
+    @Mapping(target = "version", ignore = true)
     @Mapping(source = "itemDto.name", target = "name")
     Item mapToItem(ItemDto itemDto, User owner);
 
@@ -25,15 +28,32 @@ public interface ItemMapper {
     @Mapping(target = "lastBooking", ignore = true)
     @Mapping(target = "nextBooking", ignore = true)
     @Mapping(target = "comments", ignore = true)
+    @Mapping(target = "commentsCount", ignore = true)
     ItemDto mapToItemDto(Item item);
 
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "owner", ignore = true)
     @Mapping(target = "request", ignore = true)
+    @Mapping(target = "version", ignore = true)
     void updateItemFromDto(ItemDto itemDto, @MappingTarget Item item);
 
     List<ItemDto> mapToItemDtoList(List<Item> items);
 
+    @Mapping(target = "lastBooking", ignore = true)
+    @Mapping(target = "nextBooking", ignore = true)
+    @Mapping(target = "comments", ignore = true)
+    @Mapping(target = "commentsCount", ignore = true)
+    ItemDto mapViewToItemDto(ItemView itemView);
+
     @Mapping(target = "ownerId", source = "owner.id")
     RequestItemDto mapToRequestItemDto(Item item);
+
+    @Mapping(target = "available", constant = "true")
+    @Mapping(target = "lastBooking", ignore = true)
+    @Mapping(target = "nextBooking", ignore = true)
+    @Mapping(target = "comments", ignore = true)
+    @Mapping(target = "commentsCount", ignore = true)
+    ItemDto mapSearchDocumentToItemDto(ItemSearchDocument document);
+
+    List<ItemDto> mapSearchDocumentsToItemDtoList(List<ItemSearchDocument> documents);
 }
@@ -1,20 +1,31 @@
 package ru.practicum.shareit.item.repository;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import ru.practicum.shareit.item.dto.CommentView;
 import ru.practicum.shareit.item.model.Comment;
 
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
-public interface CommentRepository extends JpaRepository<Comment, Long> {
+public interface CommentRepository extends JpaRepository<Comment, Long>, CommentRepositoryCustom {
 
+    @EntityGraph(attributePaths = "author")
     List<Comment> findByItemId(long itemId);
 
-    List<Comment> findByItemIdInOrderByCreatedDesc(List<Long> itemIds);
+    long countByItemId(long itemId);
 
-    default Map<Long, List<Comment>> getAllCommentsByItemId(List<Long> itemIds) {
-        return findByItemIdInOrderByCreatedDesc(itemIds).stream()
-                .collect(Collectors.groupingBy(comment -> comment.getItem().getId()));
+    @Query("SELECT new ru.practicum.shareit.item.dto.CommentView(" +
+           "c.id, c.item.id, c.text, c.author.name, c.created) " +
+           "FROM Comment c " +
+           "WHERE c.item.id IN ?1 " +
+           "ORDER BY c.created DESC")
+    List<CommentView> findViewsByItemIds(List<Long> itemIds);
+
+    default Map<Long, List<CommentView>> getAllCommentsByItemId(List<Long> itemIds) {
+        return findViewsByItemIds(itemIds).stream()
+                .collect(Collectors.groupingBy(CommentView::itemId));
     }
 }
@@ -0,0 +1,19 @@
+package ru.practicum.shareit.item.repository;
+
+import ru.practicum.shareit.item.dto.CommentView;
+
+import java.util.List;
+
+public interface CommentRepositoryCustom {
+
+    /**
+     * Получение страницы комментариев к вещи, от новых к старым.
+     * Читаются только поля ответа и имя автора, вещь и автор как сущности не загружаются.
+     *
+     * @param itemId - id вещи
+     * @param from   - индекс первого элемента
+     * @param size   - количество элементов
+     * @return список комментариев
+     */
+    List<CommentView> findPageByItemId(long itemId, long from, int size);
+}
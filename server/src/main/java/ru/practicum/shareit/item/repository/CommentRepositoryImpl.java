@@ -0,0 +1,43 @@
+package ru.practicum.shareit.item.repository;
+
+import com.querydsl.core.types.Projections;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+import ru.practicum.shareit.item.dto.CommentView;
+import ru.practicum.shareit.item.model.QComment;
+import ru.practicum.shareit.user.model.QUser;
+
+import java.util.List;
+
+/**
+ * Комментарии вещи читаются по индексу comments_item_created_idx (item_id, created DESC) в порядке индекса,
+ * id добавлен в сортировку только для устойчивого порядка комментариев с одинаковой датой.
+ */
+@Repository
+@RequiredArgsConstructor
+public class CommentRepositoryImpl implements CommentRepositoryCustom {
+
+    private final JPAQueryFactory queryFactory;
+    private final QComment comment = QComment.comment;
+    private final QUser author = QUser.user;
+
+    @Override
+    public List<CommentView> findPageByItemId(long itemId, long from, int size) {
+        return queryFactory
+                .select(Projections.constructor(CommentView.class,
+                        comment.id,
+                        comment.item.id,
+                        comment.text,
+                        author.name,
+                        comment.created
+                ))
+                .from(comment)
+                .join(comment.author, author)
+                .where(comment.item.id.eq(itemId))
+                .orderBy(comment.created.desc(), comment.id.desc())
+                .offset(from)
+                .limit(size)
+                .fetch();
+    }
+}
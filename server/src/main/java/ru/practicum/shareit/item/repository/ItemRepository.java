@@ -1,31 +1,87 @@
 package ru.practicum.shareit.item.repository;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import ru.practicum.shareit.cache.CacheConfig;
+import ru.practicum.shareit.item.dto.ItemView;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemSearchDocument;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface ItemRepository extends JpaRepository<Item, Long> {
+public interface ItemRepository extends JpaRepository<Item, Long>, ItemRepositoryCustom {
     /**
-     * Получение списка вещей, принадлежащих пользователю
+     * Получение вещи по id без владельца, бронирований и комментариев.
+     * Результат кэшируется, при изменении вещи запись удаляется из кэша.
      *
-     * @param ownerId - id пользователя
-     * @return список вещей
+     * @param itemId - id вещи
+     * @return Optional найденной или нет вещи
      */
-    List<Item> findByOwnerId(long ownerId);
+    @Cacheable(cacheNames = CacheConfig.ITEMS)
+    @Query("SELECT new ru.practicum.shareit.item.dto.ItemView(" +
+           "i.id, i.name, i.description, i.available, i.request.id) " +
+           "FROM Item i " +
+           "WHERE i.id = ?1")
+    Optional<ItemView> findViewById(long itemId);
+
+    boolean existsByOwnerId(long ownerId);
+
+    List<Item> findByIdInOrderById(Collection<Long> ids);
 
     /**
-     * Получение списка вещей по текстовому запросу
+     * Блокировка строки вещи до конца транзакции (SELECT ... FOR UPDATE).
+     * Подтверждения бронирований одной вещи выполняются по очереди,
+     * бронирования разных вещей друг друга не ждут.
      *
-     * @param text - текстовый запрос
-     * @return список вещей
+     * @param itemId - id вещи
+     * @return Optional заблокированной вещи
      */
-    @Query("SELECT i FROM Item i " +
-           "WHERE (LOWER(i.name) LIKE LOWER(CONCAT('%', ?1, '%')) " +
-           "   OR LOWER(i.description) LIKE LOWER(CONCAT('%', ?1, '%')))" +
-           "   AND i.available = true")
-    List<Item> findByText(String text);
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM Item i WHERE i.id = ?1")
+    Optional<Item> lockById(long itemId);
 
-    boolean existsByOwnerId(long ownerId);
+    /**
+     * Блокировка строк нескольких вещей до конца транзакции, в порядке id:
+     * пакетные подтверждения с общими вещами не блокируют друг друга взаимно.
+     *
+     * @param itemIds - id вещей
+     * @return заблокированные вещи
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM Item i WHERE i.id IN ?1 ORDER BY i.id")
+    List<Item> lockAllById(Collection<Long> itemIds);
+
+    /**
+     * Потоковое чтение доступных вещей для построения поискового индекса.
+     * Вызывать внутри транзакции, поток нужно закрыть.
+     *
+     * @return поток документов поискового индекса
+     */
+    @Query("SELECT new ru.practicum.shareit.item.search.ItemSearchDocument(" +
+           "i.id, i.owner.id, i.name, i.description, i.request.id) " +
+           "FROM Item i " +
+           "WHERE i.available = true")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<ItemSearchDocument> streamAvailableForSearch();
+
+    /**
+     * Порция id доступных вещей для поиска свободных вещей по хронологии бронирований.
+     * Порции читаются по ключу (id > afterId), поэтому каждая - короткий просмотр первичного ключа.
+     *
+     * @param afterId - последний id предыдущей порции, 0 для первой
+     * @param limit   - размер порции
+     * @return id, отсортированные по возрастанию
+     */
+    @Query("SELECT i.id FROM Item i WHERE i.available = true AND i.id > ?1 ORDER BY i.id")
+    List<Long> findAvailableIdsAfter(long afterId, Limit limit);
 }
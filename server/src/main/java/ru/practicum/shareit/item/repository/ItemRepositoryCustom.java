@@ -0,0 +1,92 @@
+package ru.practicum.shareit.item.repository;
+
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemValidator;
+import ru.practicum.shareit.item.model.Item;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface ItemRepositoryCustom {
+
+    /**
+     * Поиск доступных вещей по подстроке в названии или описании с ранжированием:
+     * сначала точное совпадение названия, затем название, начинающееся с текста,
+     * затем вхождение в название и в конце - вхождение только в описание
+     *
+     * @param text - текстовый запрос
+     * @param from - индекс первого элемента
+     * @param size - количество элементов
+     * @return список вещей
+     */
+    List<Item> searchAvailableByText(String text, long from, int size);
+
+    /**
+     * Поиск доступных вещей по тексту, как {@link #searchAvailableByText(String, long, int)},
+     * среди вещей, свободных в периоде [start, end) (см. {@link #findAvailableFreeBetween}).
+     *
+     * @param text  - текстовый запрос
+     * @param start - начало периода
+     * @param end   - окончание периода
+     * @param from  - индекс первого элемента
+     * @param size  - количество элементов
+     * @return список вещей в порядке релевантности
+     */
+    List<Item> searchAvailableByTextFreeBetween(String text, LocalDateTime start, LocalDateTime end, long from,
+                                                int size);
+
+    /**
+     * Получение доступных вещей, у которых нет ожидающих и подтвержденных бронирований,
+     * пересекающихся с периодом [start, end): NOT EXISTS по GiST-индексу периодов бронирований.
+     *
+     * @param start - начало периода
+     * @param end   - окончание периода
+     * @param from  - индекс первого элемента
+     * @param size  - количество элементов
+     * @return список вещей, отсортированный по id
+     */
+    List<Item> findAvailableFreeBetween(LocalDateTime start, LocalDateTime end, long from, int size);
+
+    /**
+     * Получение вещей владельца вместе с датами последнего и следующего бронирований и комментариями
+     * одним запросом. Даты бронирований считаются одной группировкой бронирований вещей владельца
+     * по item_id, комментарии присоединяются LEFT JOIN, строки результата читаются потоком
+     * и собираются в ItemDto по порядку id вещи.
+     *
+     * @param ownerId - id владельца
+     * @param now     - текущий момент, относительно которого определяются бронирования
+     * @return список вещей, отсортированный по id, комментарии - от новых к старым
+     */
+    List<ItemDto> findItemsWithBookingsAndCommentsByOwnerId(long ownerId, LocalDateTime now);
+
+    /**
+     * Версия ответа с вещью для проверки условного запроса: те же даты бронирований, что в ответе,
+     * количество и последний id комментариев - подзапросами, без чтения комментариев.
+     *
+     * @param itemId - id вещи
+     * @param now    - текущий момент, относительно которого определяются бронирования
+     * @return версия ответа или пустой Optional, если вещи нет
+     */
+    Optional<ItemValidator> findValidatorById(long itemId, LocalDateTime now);
+
+    /**
+     * Версии ответов со всеми вещами владельца, см. {@link #findValidatorById(long, LocalDateTime)}.
+     *
+     * @param ownerId - id владельца
+     * @param now     - текущий момент, относительно которого определяются бронирования
+     * @return версии вещей, отсортированные по id вещи
+     */
+    List<ItemValidator> findValidatorsByOwnerId(long ownerId, LocalDateTime now);
+
+    /**
+     * Сохранение новых вещей многострочными INSERT ... VALUES (...), (...) по 500 строк:
+     * один обмен с базой на пачку вместо отдельного INSERT на каждую вещь, как при IDENTITY-ключе в Hibernate.
+     * Сгенерированные id и начальная версия записываются в переданные объекты.
+     * Событий и кэшей метод не касается.
+     *
+     * @param items - новые вещи с заполненными владельцем и, при наличии, запросом
+     * @return те же вещи с id
+     */
+    List<Item> insertAll(List<Item> items);
+}
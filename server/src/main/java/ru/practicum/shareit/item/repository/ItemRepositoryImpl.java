@@ -0,0 +1,308 @@
+package ru.practicum.shareit.item.repository;
+
+import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.core.types.dsl.CaseBuilder;
+import com.querydsl.core.types.dsl.Expressions;
+import com.querydsl.core.types.Projections;
+import com.querydsl.core.types.dsl.NumberExpression;
+import com.querydsl.core.types.dsl.StringExpression;
+import com.querydsl.jpa.JPAExpressions;
+import com.querydsl.jpa.JPQLQuery;
+import com.querydsl.jpa.impl.JPAQuery;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.model.QBooking;
+import ru.practicum.shareit.booking.repository.BookingPeriodFunctionContributor;
+import ru.practicum.shareit.item.dto.CommentResponse;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemValidator;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.QComment;
+import ru.practicum.shareit.item.model.QItem;
+import ru.practicum.shareit.user.model.QUser;
+
+import java.sql.PreparedStatement;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Условия поиска построены на LOWER(name)/LOWER(description) LIKE '%text%',
+ * для них в PostgreSQL созданы триграммные GIN-индексы (schema-postgresql.sql),
+ * условие свободы вещи в периоде - на GiST-индексе по периодам бронирований.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ItemRepositoryImpl implements ItemRepositoryCustom {
+
+    private static final String INSERT_ITEM = "INSERT INTO items (name, description, available, owner_id, request_id) "
+                                              + "VALUES ";
+    private static final String INSERT_ITEM_VALUES = "(?, ?, ?, ?, ?)";
+    /**
+     * Строк в одном INSERT: 2500 параметров, в пределах ограничения PostgreSQL в 32767.
+     */
+    private static final int INSERT_BATCH_SIZE = 500;
+
+    /**
+     * Вещи владельца с датами бронирований и комментариями. Даты считаются один раз на вещь:
+     * бронирования вещей владельца группируются по item_id в производной таблице, и только потом
+     * к вещам присоединяются комментарии, по строке на комментарий.
+     */
+    private static final String OWNER_ITEMS_WITH_BOOKINGS_AND_COMMENTS =
+            "SELECT i.id, i.name, i.description, i.available, i.request.id, d.lastStart, d.nextStart, " +
+            "c.id, c.text, a.name, c.created " +
+            "FROM Item i " +
+            "LEFT JOIN (SELECT b.item.id AS itemId, " +
+            "MAX(CASE WHEN b.start <= :now AND b.end >= :now THEN b.start END) AS lastStart, " +
+            "MIN(CASE WHEN b.start > :now THEN b.start END) AS nextStart " +
+            "FROM Booking b " +
+            "WHERE b.item.owner.id = :ownerId " +
+            "GROUP BY b.item.id) d ON d.itemId = i.id " +
+            "LEFT JOIN Comment c ON c.item.id = i.id " +
+            "LEFT JOIN c.author a " +
+            "WHERE i.owner.id = :ownerId " +
+            "ORDER BY i.id, c.created DESC, c.id DESC";
+
+    private final JPAQueryFactory queryFactory;
+    private final EntityManager entityManager;
+    private final JdbcTemplate jdbcTemplate;
+    private final QItem item = QItem.item;
+    private final QComment comment = QComment.comment;
+    private final QBooking booking = QBooking.booking;
+
+    @Override
+    public List<Item> searchAvailableByText(String text, long from, int size) {
+        String searchText = text.toLowerCase();
+        return queryFactory
+                .selectFrom(item)
+                .where(
+                        item.available.isTrue(),
+                        containsText(searchText)
+                )
+                .orderBy(textRank(searchText).asc(), item.id.asc())
+                .offset(from)
+                .limit(size)
+                .fetch();
+    }
+
+    @Override
+    public List<Item> searchAvailableByTextFreeBetween(String text, LocalDateTime start, LocalDateTime end,
+                                                       long from, int size) {
+        String searchText = text.toLowerCase();
+        return queryFactory
+                .selectFrom(item)
+                .where(
+                        item.available.isTrue(),
+                        containsText(searchText),
+                        freeBetween(start, end)
+                )
+                .orderBy(textRank(searchText).asc(), item.id.asc())
+                .offset(from)
+                .limit(size)
+                .fetch();
+    }
+
+    @Override
+    public List<Item> findAvailableFreeBetween(LocalDateTime start, LocalDateTime end, long from, int size) {
+        return queryFactory
+                .selectFrom(item)
+                .where(
+                        item.available.isTrue(),
+                        freeBetween(start, end)
+                )
+                .orderBy(item.id.asc())
+                .offset(from)
+                .limit(size)
+                .fetch();
+    }
+
+    @Override
+    public List<ItemDto> findItemsWithBookingsAndCommentsByOwnerId(long ownerId, LocalDateTime now) {
+        try (Stream<Object[]> rows = entityManager.createQuery(OWNER_ITEMS_WITH_BOOKINGS_AND_COMMENTS, Object[].class)
+                .setParameter("ownerId", ownerId)
+                .setParameter("now", now)
+                .getResultStream()) {
+            return groupRowsByItem(rows);
+        }
+    }
+
+    @Override
+    public Optional<ItemValidator> findValidatorById(long itemId, LocalDateTime now) {
+        return Optional.ofNullable(selectValidators(now)
+                .where(item.id.eq(itemId))
+                .fetchOne());
+    }
+
+    @Override
+    public List<ItemValidator> findValidatorsByOwnerId(long ownerId, LocalDateTime now) {
+        return selectValidators(now)
+                .where(item.owner.id.eq(ownerId))
+                .orderBy(item.id.asc())
+                .fetch();
+    }
+
+    @Override
+    public List<Item> insertAll(List<Item> items) {
+        for (int from = 0; from < items.size(); from += INSERT_BATCH_SIZE) {
+            insertBatch(items.subList(from, Math.min(from + INSERT_BATCH_SIZE, items.size())));
+        }
+        return items;
+    }
+
+    private void insertBatch(List<Item> batch) {
+        String sql = INSERT_ITEM + String.join(", ", Collections.nCopies(batch.size(), INSERT_ITEM_VALUES));
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.update(con -> {
+            PreparedStatement ps = con.prepareStatement(sql, new String[]{"id"});
+            int column = 1;
+            for (Item newItem : batch) {
+                ps.setString(column++, newItem.getName());
+                ps.setString(column++, newItem.getDescription());
+                ps.setBoolean(column++, newItem.getAvailable());
+                ps.setLong(column++, newItem.getOwner().getId());
+                if (newItem.getRequest() == null) {
+                    ps.setNull(column++, Types.BIGINT);
+                } else {
+                    ps.setLong(column++, newItem.getRequest().getId());
+                }
+            }
+            return ps;
+        }, keyHolder);
+
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        for (int i = 0; i < batch.size(); i++) {
+            Item newItem = batch.get(i);
+            newItem.setId(((Number) keys.get(i).values().iterator().next()).longValue());
+            newItem.setVersion(0L);
+        }
+    }
+
+    private JPAQuery<ItemValidator> selectValidators(LocalDateTime now) {
+        QComment itemComment = new QComment("itemComment");
+        QUser commentAuthor = new QUser("commentAuthor");
+        return queryFactory
+                .select(Projections.constructor(ItemValidator.class,
+                        item.id,
+                        item.version,
+                        lastBookingStart(now),
+                        nextBookingStart(now),
+                        JPAExpressions.select(itemComment.count())
+                                .from(itemComment)
+                                .where(itemComment.item.id.eq(item.id)),
+                        JPAExpressions.select(itemComment.id.max())
+                                .from(itemComment)
+                                .where(itemComment.item.id.eq(item.id)),
+                        JPAExpressions.select(commentAuthor.version.sum())
+                                .from(itemComment)
+                                .join(itemComment.author, commentAuthor)
+                                .where(itemComment.item.id.eq(item.id))
+                ))
+                .from(item);
+    }
+
+    private BooleanExpression containsText(String searchText) {
+        return item.name.lower().contains(searchText).or(item.description.lower().contains(searchText));
+    }
+
+    /**
+     * Ранг совпадения: точное совпадение названия, начало названия, вхождение в название, только описание.
+     */
+    private NumberExpression<Integer> textRank(String searchText) {
+        StringExpression name = item.name.lower();
+        return new CaseBuilder()
+                .when(name.eq(searchText)).then(0)
+                .when(name.startsWith(searchText)).then(1)
+                .when(name.contains(searchText)).then(2)
+                .otherwise(3);
+    }
+
+    /**
+     * У вещи нет ожидающих и подтвержденных бронирований, пересекающихся с [start, end) - NOT EXISTS,
+     * в PostgreSQL по GiST-индексу (item_id, tsrange(start_date, end_date)).
+     */
+    private BooleanExpression freeBetween(LocalDateTime start, LocalDateTime end) {
+        return JPAExpressions.selectOne()
+                .from(booking)
+                .where(
+                        booking.item.id.eq(item.id),
+                        booking.status.in(BookingStatus.OCCUPYING),
+                        Expressions.booleanTemplate(BookingPeriodFunctionContributor.PERIODS_OVERLAP
+                                + "({0}, {1}, {2}, {3})", booking.start, booking.end, start, end)
+                )
+                .notExists();
+    }
+
+    /**
+     * Дата начала текущего бронирования вещи - коррелированный подзапрос по индексу (item_id, start_date).
+     */
+    private JPQLQuery<LocalDateTime> lastBookingStart(LocalDateTime now) {
+        return JPAExpressions
+                .select(booking.start.max())
+                .from(booking)
+                .where(
+                        booking.item.id.eq(item.id),
+                        booking.start.loe(now),
+                        booking.end.goe(now)
+                );
+    }
+
+    /**
+     * Дата начала ближайшего будущего бронирования вещи.
+     */
+    private JPQLQuery<LocalDateTime> nextBookingStart(LocalDateTime now) {
+        return JPAExpressions
+                .select(booking.start.min())
+                .from(booking)
+                .where(
+                        booking.item.id.eq(item.id),
+                        booking.start.gt(now)
+                );
+    }
+
+    /**
+     * Сборка ItemDto из строк, отсортированных по id вещи: строки одной вещи идут подряд,
+     * по строке на комментарий или одна строка без комментария.
+     */
+    List<ItemDto> groupRowsByItem(Stream<Object[]> rows) {
+        List<ItemDto> items = new ArrayList<>();
+        rows.forEachOrdered(row -> {
+            ItemDto current = items.isEmpty() ? null : items.getLast();
+            Long itemId = (Long) row[0];
+            if (current == null || !current.getId().equals(itemId)) {
+                current = ItemDto.builder()
+                        .id(itemId)
+                        .name((String) row[1])
+                        .description((String) row[2])
+                        .available((Boolean) row[3])
+                        .requestId((Long) row[4])
+                        .lastBooking((LocalDateTime) row[5])
+                        .nextBooking((LocalDateTime) row[6])
+                        .comments(new ArrayList<>())
+                        .build();
+                items.add(current);
+            }
+
+            Long commentId = (Long) row[7];
+            if (commentId != null) {
+                current.getComments().add(CommentResponse.builder()
+                        .id(commentId)
+                        .text((String) row[8])
+                        .authorName((String) row[9])
+                        .created((LocalDateTime) row[10])
+                        .build());
+            }
+        });
+        return items;
+    }
+}
@@ -0,0 +1,8 @@
+package ru.practicum.shareit.item.search;
+
+/**
+ * Данные доступной вещи, которые хранятся в поисковом индексе.
+ * Их достаточно, чтобы вернуть результат поиска без обращения к базе.
+ */
+public record ItemSearchDocument(long id, long ownerId, String name, String description, Long requestId) {
+}
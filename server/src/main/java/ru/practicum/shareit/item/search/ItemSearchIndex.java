@@ -0,0 +1,272 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Поисковый индекс доступных вещей в памяти приложения.
+ * Названия и описания разбиваются на триграммы, для каждой триграммы хранится
+ * отсортированный список id вещей. Поиск пересекает списки триграмм запроса
+ * и проверяет вхождение подстроки, поэтому результат совпадает с поиском в базе
+ * (LOWER(name) LIKE '%text%' OR LOWER(description) LIKE '%text%') и ранжируется так же.
+ */
+@Component
+@Slf4j
+public class ItemSearchIndex {
+
+    private static final int GRAM_LENGTH = 3;
+    private static final int RANK_COUNT = 4;
+
+    private final boolean enabled;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, LongPostingList> postings = new HashMap<>();
+    private final Map<Long, IndexedItem> items = new HashMap<>();
+    private final Set<Long> changedDuringRebuild = new HashSet<>();
+    private boolean rebuilding;
+    private volatile boolean ready;
+
+    public ItemSearchIndex(@Value("${shareit.item-search.index.enabled:true}") boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Индекс может ответить на запрос, если он построен и в запросе есть хотя бы одна триграмма.
+     * Иначе поиск выполняется в базе.
+     */
+    public boolean canSearch(String text) {
+        return ready && text.length() >= GRAM_LENGTH;
+    }
+
+    public List<ItemSearchDocument> search(String text, long from, int size) {
+        String query = normalize(text);
+        lock.readLock().lock();
+        try {
+            List<List<ItemSearchDocument>> ranked = new ArrayList<>(RANK_COUNT);
+            for (int i = 0; i < RANK_COUNT; i++) {
+                ranked.add(new ArrayList<>());
+            }
+            for (long id : findCandidates(query)) {
+                IndexedItem item = items.get(id);
+                int rank = item.rank(query);
+                if (rank >= 0) {
+                    ranked.get(rank).add(item.document());
+                }
+            }
+            return ranked.stream()
+                    .flatMap(List::stream)
+                    .skip(from)
+                    .limit(size)
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Добавление или обновление вещи в индексе.
+     */
+    public void put(ItemSearchDocument document) {
+        lock.writeLock().lock();
+        try {
+            markChanged(document.id());
+            unindex(document.id());
+            index(document);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long itemId) {
+        lock.writeLock().lock();
+        try {
+            markChanged(itemId);
+            unindex(itemId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removeByOwner(long ownerId) {
+        lock.writeLock().lock();
+        try {
+            List<Long> ownerItemIds = items.values().stream()
+                    .map(IndexedItem::document)
+                    .filter(document -> document.ownerId() == ownerId)
+                    .map(ItemSearchDocument::id)
+                    .toList();
+            ownerItemIds.forEach(itemId -> {
+                markChanged(itemId);
+                unindex(itemId);
+            });
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Построение индекса заново из потока документов.
+     * Пока индекс строится, поиск выполняется в базе. Вещи, изменённые во время построения,
+     * уже попали в индекс через put/remove, поэтому их (возможно устаревшие) версии из потока пропускаются.
+     */
+    public void rebuild(Stream<ItemSearchDocument> documents) {
+        lock.writeLock().lock();
+        try {
+            ready = false;
+            rebuilding = true;
+            postings.clear();
+            items.clear();
+            changedDuringRebuild.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        documents.forEach(document -> {
+            lock.writeLock().lock();
+            try {
+                if (!changedDuringRebuild.contains(document.id())) {
+                    index(document);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+
+        lock.writeLock().lock();
+        try {
+            rebuilding = false;
+            changedDuringRebuild.clear();
+            ready = true;
+            log.info("Поисковый индекс вещей построен, проиндексировано вещей - {}.", items.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return items.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private long[] findCandidates(String query) {
+        List<LongPostingList> lists = new ArrayList<>();
+        for (long gram : grams(query)) {
+            LongPostingList list = postings.get(gram);
+            if (list == null) {
+                return new long[0];
+            }
+            lists.add(list);
+        }
+        lists.sort(Comparator.comparingInt(LongPostingList::size));
+
+        LongPostingList smallest = lists.getFirst();
+        long[] candidates = new long[smallest.size()];
+        int count = 0;
+        for (int i = 0; i < smallest.size(); i++) {
+            long id = smallest.get(i);
+            if (containedInAll(lists, id)) {
+                candidates[count++] = id;
+            }
+        }
+        return Arrays.copyOf(candidates, count);
+    }
+
+    private static boolean containedInAll(List<LongPostingList> lists, long id) {
+        for (int i = 1; i < lists.size(); i++) {
+            if (!lists.get(i).contains(id)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void index(ItemSearchDocument document) {
+        IndexedItem item = new IndexedItem(document, normalize(document.name()), normalize(document.description()));
+        items.put(document.id(), item);
+        for (long gram : item.grams()) {
+            postings.computeIfAbsent(gram, key -> new LongPostingList()).add(document.id());
+        }
+    }
+
+    private void unindex(long itemId) {
+        IndexedItem item = items.remove(itemId);
+        if (item == null) {
+            return;
+        }
+        for (long gram : item.grams()) {
+            LongPostingList list = postings.get(gram);
+            list.remove(itemId);
+            if (list.isEmpty()) {
+                postings.remove(gram);
+            }
+        }
+    }
+
+    private void markChanged(long itemId) {
+        if (rebuilding) {
+            changedDuringRebuild.add(itemId);
+        }
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Триграмма кодируется в long: по 16 бит на символ.
+     */
+    private static Set<Long> grams(String text) {
+        Set<Long> grams = new HashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+            grams.add(((long) text.charAt(i) << 32) | ((long) text.charAt(i + 1) << 16) | text.charAt(i + 2));
+        }
+        return grams;
+    }
+
+    private record IndexedItem(ItemSearchDocument document, String name, String description) {
+
+        Set<Long> grams() {
+            Set<Long> grams = ItemSearchIndex.grams(name);
+            grams.addAll(ItemSearchIndex.grams(description));
+            return grams;
+        }
+
+        /**
+         * Ранг совпадения: 0 - название совпадает, 1 - название начинается с запроса,
+         * 2 - название содержит запрос, 3 - запрос есть только в описании, -1 - совпадения нет.
+         */
+        int rank(String query) {
+            if (name.equals(query)) {
+                return 0;
+            }
+            if (name.startsWith(query)) {
+                return 1;
+            }
+            if (name.contains(query)) {
+                return 2;
+            }
+            return description.contains(query) ? 3 : -1;
+        }
+    }
+}
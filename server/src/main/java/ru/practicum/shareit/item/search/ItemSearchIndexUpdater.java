@@ -0,0 +1,59 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit.item.event.ItemChangedEvent;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.event.UserDeletedEvent;
+
+import java.util.stream.Stream;
+
+/**
+ * Поддержка поискового индекса в актуальном состоянии:
+ * построение при старте приложения и обновление после фиксации транзакций с изменениями вещей.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ItemSearchIndexUpdater {
+
+    private final ItemSearchIndex searchIndex;
+    private final ItemRepository itemRepository;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuildIndex() {
+        if (!searchIndex.isEnabled()) {
+            log.info("Поисковый индекс вещей отключён, поиск выполняется в базе.");
+            return;
+        }
+        try (Stream<ItemSearchDocument> documents = itemRepository.streamAvailableForSearch()) {
+            searchIndex.rebuild(documents);
+        }
+    }
+
+    @TransactionalEventListener
+    public void onItemChanged(ItemChangedEvent event) {
+        if (!searchIndex.isEnabled()) {
+            return;
+        }
+        if (event.available()) {
+            searchIndex.put(new ItemSearchDocument(event.itemId(), event.ownerId(), event.name(),
+                    event.description(), event.requestId()));
+        } else {
+            searchIndex.remove(event.itemId());
+        }
+    }
+
+    @TransactionalEventListener
+    public void onUserDeleted(UserDeletedEvent event) {
+        if (searchIndex.isEnabled()) {
+            searchIndex.removeByOwner(event.userId());
+        }
+    }
+}
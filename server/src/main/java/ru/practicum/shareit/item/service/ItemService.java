@@ -1,9 +1,12 @@
 package ru.practicum.shareit.item.service;
 
+import ru.practicum.shareit.item.dto.CommentPage;
 import ru.practicum.shareit.item.dto.CommentResponse;
 import ru.practicum.shareit.item.dto.CommentRequest;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemImportResult;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ItemService {
@@ -15,20 +18,43 @@ public interface ItemService {
      */
     ItemDto addItem(ItemDto itemDto, long userId);
 
+    /**
+     * Импорт списка вещей одного хозяина. Пользователь и запросы проверяются один раз на весь список,
+     * вещи сохраняются пакетной вставкой, строки с несуществующим запросом отклоняются без прерывания импорта.
+     * Поля вещей, как и при создании одной вещи, проверяет gateway
+     * @param userId - id пользователя, который добавляет вещи (хозяин вещей)
+     * @param items  - dto-объекты новых вещей, не больше 1000
+     * @return результат по каждой строке в порядке запроса
+     */
+    List<ItemImportResult> addItems(long userId, List<ItemDto> items);
+
     /**
      * Обновление данных о вещи
+     * @param userId  - id пользователя, который обновляет вещь (должен быть её хозяином)
      * @param itemId  - id вещи, которая будет обновляться
      * @param itemDto - dto-объект с обновляемыми данными
      * @return обновленный dto-объект
      */
-    ItemDto updateItem(long itemId, ItemDto itemDto);
+    ItemDto updateItem(long userId, long itemId, ItemDto itemDto);
 
     /**
-     * Получение вещи по её id
+     * Получение вещи по её id. Комментариев в ответе не больше 20 последних,
+     * их общее количество - в commentsCount, остальные читаются через getCommentsByItemId.
+     * @param userId - id пользователя, который запрашивает вещь
      * @param itemId - id вещи
      * @return dto-объект
      */
-    ItemDto getItemById(long itemId);
+    ItemDto getItemById(long userId, long itemId);
+
+    /**
+     * ETag ответа getItemById: меняется при изменении вещи, новом комментарии
+     * и смене текущего или следующего бронирования. Считается без сборки ответа,
+     * даты бронирований берутся из того же источника, что и в getItemById
+     * @param userId - id пользователя, который запрашивает вещь
+     * @param itemId - id вещи
+     * @return слабый ETag
+     */
+    String getItemETag(long userId, long itemId);
 
     /**
      * Получение списка вещей, принадлежащих пользователю
@@ -38,11 +64,57 @@ public interface ItemService {
     List<ItemDto> getItemsByUserId(long userId);
 
     /**
-     * Получение списка вещей по текстовому запросу
+     * ETag ответа getItemsByUserId, см. {@link #getItemETag(long, long)}
+     * @param userId - id пользователя
+     * @return слабый ETag
+     */
+    String getItemsETag(long userId);
+
+    /**
+     * Получение страницы вещей по текстовому запросу, отсортированных по релевантности
+     * @param userId - id пользователя, который выполняет поиск
+     * @param text - текстовый запрос
+     * @param from - индекс первого элемента
+     * @param size - количество элементов
+     * @return список dto-вещей
+     */
+    List<ItemDto> getItemsByText(long userId, String text, int from, int size);
+
+    /**
+     * Поиск по тексту среди вещей, свободных в периоде [start, end): порядок и условия текста те же,
+     * что у getItemsByText, вещи с пересекающимися ожидающими или подтвержденными бронированиями исключаются
+     * @param userId - id пользователя, который выполняет поиск
      * @param text - текстовый запрос
+     * @param start - начало периода
+     * @param end - окончание периода
+     * @param from - индекс первого элемента
+     * @param size - количество элементов
+     * @return список dto-вещей
+     */
+    List<ItemDto> getItemsByTextFreeBetween(long userId, String text, LocalDateTime start, LocalDateTime end,
+                                            int from, int size);
+
+    /**
+     * Получение страницы доступных вещей, свободных в периоде [start, end): без ожидающих
+     * и подтвержденных бронирований, пересекающихся с периодом. Сортировка по id
+     * @param userId - id пользователя, который выполняет поиск
+     * @param start - начало периода
+     * @param end - окончание периода
+     * @param from - индекс первого элемента
+     * @param size - количество элементов
      * @return список dto-вещей
      */
-    List<ItemDto> getItemsByText(String text);
+    List<ItemDto> getAvailableItems(long userId, LocalDateTime start, LocalDateTime end, int from, int size);
+
+    /**
+     * Получение страницы комментариев к вещи, от новых к старым
+     * @param userId - id пользователя, который запрашивает комментарии
+     * @param itemId - id вещи
+     * @param from - индекс первого элемента
+     * @param size - количество элементов
+     * @return страница комментариев и общее количество комментариев к вещи
+     */
+    CommentPage getCommentsByItemId(long userId, long itemId, int from, int size);
 
     CommentResponse addComment(long authorId, long itemId, CommentRequest comment);
 }
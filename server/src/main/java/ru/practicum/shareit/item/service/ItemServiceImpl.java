@@ -1,28 +1,46 @@
 package ru.practicum.shareit.item.service;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.timeline.BookingTimeline;
+import ru.practicum.shareit.cache.CacheConfig;
+import ru.practicum.shareit.cache.ETags;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.dto.CommentPage;
 import ru.practicum.shareit.item.dto.CommentResponse;
 import ru.practicum.shareit.item.dto.CommentRequest;
+import ru.practicum.shareit.item.dto.CommentView;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemImportResult;
+import ru.practicum.shareit.item.dto.ItemImportStatus;
+import ru.practicum.shareit.item.dto.ItemValidator;
+import ru.practicum.shareit.item.dto.ItemView;
+import ru.practicum.shareit.item.event.ItemChangedEvent;
 import ru.practicum.shareit.item.mapper.CommentMapper;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.validation.ValidationUtils;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
@@ -36,90 +54,305 @@ public class ItemServiceImpl implements ItemService {
     private final CommentRepository commentRepository;
     private final ItemMapper itemMapper;
     private final CommentMapper commentMapper;
+    private final ItemSearchIndex searchIndex;
+    private final BookingTimeline bookingTimeline;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ValidationUtils validation;
+
+    /**
+     * Количество последних комментариев в ответе с одной вещью, остальные читаются постранично
+     * через getCommentsByItemId. В списке вещей владельца комментарии не ограничиваются.
+     */
+    static final int ITEM_COMMENTS_LIMIT = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+    /**
+     * Наибольшее количество вещей в одном запросе импорта, большие каталоги загружаются частями.
+     */
+    static final int MAX_IMPORT_SIZE = 1000;
+    /**
+     * Наибольшая порция id доступных вещей, которые проверяются по хронологии бронирований за один запрос к базе.
+     */
+    static final int AVAILABLE_IDS_BATCH_SIZE = 1000;
 
     @Override
     @Transactional
     public ItemDto addItem(ItemDto itemDto, long userId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new NotFoundException(String.format("Пользователь с таким id - %s не найден.", userId)));
+        validation.checkUserId(userId);
+        User user = userRepository.getReferenceById(userId);
         Item item = itemMapper.mapToItem(itemDto, user);
 
         if (itemDto.getRequestId() != null) {
             addRequestToItem(itemDto.getRequestId(), item);
         }
         item = itemRepository.save(item);
+        eventPublisher.publishEvent(ItemChangedEvent.of(item));
         return itemMapper.mapToItemDto(item);
     }
 
     @Override
     @Transactional
-    public ItemDto updateItem(long itemId, ItemDto itemDto) {
+    public List<ItemImportResult> addItems(long userId, List<ItemDto> items) {
+        if (items.size() > MAX_IMPORT_SIZE) {
+            throw new ValidationException(String.format("За один запрос можно добавить не больше %s вещей, передано %s.",
+                    MAX_IMPORT_SIZE, items.size()));
+        }
+        validation.checkUserId(userId);
+        User user = userRepository.getReferenceById(userId);
+        Set<Long> requestIds = findExistingRequestIds(items);
+
+        List<ItemImportResult> results = new ArrayList<>(items.size());
+        List<Item> newItems = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            ItemDto itemDto = items.get(i);
+            String error = checkImportedItem(itemDto, requestIds);
+            if (error != null) {
+                results.add(ItemImportResult.builder().index(i).status(ItemImportStatus.REJECTED).error(error).build());
+                continue;
+            }
+            Item item = itemMapper.mapToItem(itemDto, user);
+            if (itemDto.getRequestId() != null) {
+                item.setRequest(requestRepository.getReferenceById(itemDto.getRequestId()));
+            }
+            newItems.add(item);
+            results.add(ItemImportResult.builder().index(i).status(ItemImportStatus.CREATED).build());
+        }
+
+        itemRepository.insertAll(newItems);
+        int created = 0;
+        for (ItemImportResult result : results) {
+            if (result.getStatus() == ItemImportStatus.CREATED) {
+                Item item = newItems.get(created++);
+                result.setId(item.getId());
+                eventPublisher.publishEvent(ItemChangedEvent.of(item));
+            }
+        }
+        return results;
+    }
+
+    @Override
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.ITEMS, key = "#itemId")
+    public ItemDto updateItem(long userId, long itemId, ItemDto itemDto) {
         Item updateItem = itemRepository.findById(itemId)
                 .orElseThrow(() -> new NotFoundException(String.format("Вещь с таким id - %s не найдена.", itemId)));
+        validation.validationForUpdateItem(updateItem, userId);
         itemMapper.updateItemFromDto(itemDto, updateItem);
 
         if (itemDto.getRequestId() != null) {
             addRequestToItem(itemDto.getRequestId(), updateItem);
         }
+        eventPublisher.publishEvent(ItemChangedEvent.of(updateItem));
         return itemMapper.mapToItemDto(updateItem);
     }
 
     @Override
-    public ItemDto getItemById(long itemId) {
-        Item item = itemRepository.findById(itemId)
+    public ItemDto getItemById(long userId, long itemId) {
+        validation.checkUserId(userId);
+        ItemView item = itemRepository.findViewById(itemId)
                 .orElseThrow(() -> new NotFoundException(String.format("Вещь с таким id - %s не найдена.", itemId)));
-        ItemDto itemDto = itemMapper.mapToItemDto(item);
-        itemDto.setLastBooking(bookingRepository.getLastBookingByItemId(itemId, LocalDateTime.now()));
-        itemDto.setNextBooking(bookingRepository.getNextBookingByItemId(itemId, LocalDateTime.now()));
-        addCommentsToItemDto(itemDto);
+        ItemDto itemDto = itemMapper.mapViewToItemDto(item);
+        LocalDateTime now = LocalDateTime.now();
+        if (bookingTimeline.isReady()) {
+            itemDto.setLastBooking(bookingTimeline.lastBookingStart(itemId, now));
+            itemDto.setNextBooking(bookingTimeline.nextBookingStart(itemId, now));
+        } else {
+            itemDto.setLastBooking(bookingRepository.getLastBookingByItemId(itemId, now));
+            itemDto.setNextBooking(bookingRepository.getNextBookingByItemId(itemId, now));
+        }
+        List<CommentView> comments = commentRepository.findPageByItemId(itemId, 0, ITEM_COMMENTS_LIMIT);
+        itemDto.setComments(commentMapper.mapViewsToCommentResponseList(comments));
+        itemDto.setCommentsCount(countComments(itemId, 0, ITEM_COMMENTS_LIMIT, comments.size()));
         return itemDto;
     }
 
+    @Override
+    public String getItemETag(long userId, long itemId) {
+        validation.checkUserId(userId);
+        LocalDateTime now = LocalDateTime.now();
+        ItemValidator validator = itemRepository.findValidatorById(itemId, now)
+                .orElseThrow(() -> new NotFoundException(String.format("Вещь с таким id - %s не найдена.", itemId)));
+        if (bookingTimeline.isReady()) {
+            // Даты в ответе берутся из хронологии, поэтому и ETag строится по ним, а не по подзапросам
+            validator = validator.withBookings(bookingTimeline.lastBookingStart(itemId, now),
+                    bookingTimeline.nextBookingStart(itemId, now));
+        }
+        return ETags.of(List.of(validator));
+    }
+
     @Override
     public List<ItemDto> getItemsByUserId(long userId) {
-        List<Item> userItems = itemRepository.findByOwnerId(userId);
-        List<Long> itemIds = userItems.stream().map(Item::getId).toList();
-        Map<Long, LocalDateTime> lastBookings = bookingRepository.getAllLastBookingsByItemIds(itemIds, LocalDateTime.now());
-        Map<Long, LocalDateTime> nextBookings = bookingRepository.getAllNextBookingsByItemIds(itemIds, LocalDateTime.now());
-        Map<Long, List<Comment>> comments = commentRepository.getAllCommentsByItemId(itemIds);
-
-        return userItems.stream()
-                .map(item -> {
-                    ItemDto dto = itemMapper.mapToItemDto(item);
-                    dto.setLastBooking(lastBookings.getOrDefault(dto.getId(), null));
-                    dto.setNextBooking(nextBookings.getOrDefault(dto.getId(), null));
-                    List<Comment> itemComments = comments.getOrDefault(item.getId(), new ArrayList<>());
-                    dto.setComments(commentMapper.mapToCommentResponseList(itemComments));
-                    return dto;
-                }).toList();
+        List<ItemDto> userItems = itemRepository.findItemsWithBookingsAndCommentsByOwnerId(userId, LocalDateTime.now());
+        if (userItems.isEmpty()) {
+            validation.checkUserId(userId);
+        }
+        userItems.forEach(itemDto -> itemDto.setCommentsCount((long) itemDto.getComments().size()));
+        return userItems;
+    }
+
+    @Override
+    public String getItemsETag(long userId) {
+        List<ItemValidator> validators = itemRepository.findValidatorsByOwnerId(userId, LocalDateTime.now());
+        if (validators.isEmpty()) {
+            validation.checkUserId(userId);
+        }
+        return ETags.of(validators);
+    }
+
+    @Override
+    public List<ItemDto> getItemsByText(long userId, String text, int from, int size) {
+        validation.checkUserId(userId);
+        int limit = checkPage(from, size);
+        if (text.isBlank()) {
+            return List.of();
+        }
+        if (searchIndex.canSearch(text)) {
+            return itemMapper.mapSearchDocumentsToItemDtoList(searchIndex.search(text, from, limit));
+        }
+        List<Item> searchItems = itemRepository.searchAvailableByText(text, from, limit);
+        return itemMapper.mapToItemDtoList(searchItems);
     }
 
     @Override
-    public List<ItemDto> getItemsByText(String text) {
-        List<Item> searchItems = itemRepository.findByText(text);
+    public List<ItemDto> getItemsByTextFreeBetween(long userId, String text, LocalDateTime start, LocalDateTime end,
+                                                   int from, int size) {
+        validation.checkUserId(userId);
+        checkPeriod(start, end);
+        int limit = checkPage(from, size);
+        if (text.isBlank()) {
+            return List.of();
+        }
+        List<Item> searchItems = itemRepository.searchAvailableByTextFreeBetween(text, start, end, from, limit);
         return itemMapper.mapToItemDtoList(searchItems);
     }
 
+    @Override
+    public List<ItemDto> getAvailableItems(long userId, LocalDateTime start, LocalDateTime end, int from, int size) {
+        validation.checkUserId(userId);
+        checkPeriod(start, end);
+        int limit = checkPage(from, size);
+        if (!bookingTimeline.isReady()) {
+            return itemMapper.mapToItemDtoList(itemRepository.findAvailableFreeBetween(start, end, from, limit));
+        }
+        List<Long> ids = findFreeAvailableIds(start, end, from, limit);
+        return ids.isEmpty() ? List.of() : itemMapper.mapToItemDtoList(itemRepository.findByIdInOrderById(ids));
+    }
+
+    @Override
+    public CommentPage getCommentsByItemId(long userId, long itemId, int from, int size) {
+        validation.checkUserId(userId);
+        int limit = checkPage(from, size);
+        List<CommentView> comments = commentRepository.findPageByItemId(itemId, from, limit);
+        if (comments.isEmpty() && !itemRepository.existsById(itemId)) {
+            throw new NotFoundException(String.format("Вещь с таким id - %s не найдена.", itemId));
+        }
+        return CommentPage.builder()
+                .comments(commentMapper.mapViewsToCommentResponseList(comments))
+                .total(countComments(itemId, from, limit, comments.size()))
+                .build();
+    }
+
     @Override
     @Transactional
     public CommentResponse addComment(long authorId, long itemId, CommentRequest text) {
-        User author = userRepository.findById(authorId)
-                .orElseThrow(() -> new NotFoundException(String.format("Пользователь с таким id - %s не найден.", authorId)));
         Item item = itemRepository.findById(itemId)
                 .orElseThrow(() -> new NotFoundException(String.format("Вещь с таким id - %s не найдена.", itemId)));
-        Comment comment = commentMapper.mapToCommentForCreate(text, item, author);
+        Booking booking = bookingRepository.findByBookerIdAndItemId(authorId, itemId).orElse(null);
+        validation.validationForCreateComment(authorId, item, booking);
+        Comment comment = commentMapper.mapToCommentForCreate(text, item, booking.getBooker());
         comment = commentRepository.save(comment);
         return commentMapper.mapToCommentResponse(comment);
     }
 
+    private void checkPeriod(LocalDateTime start, LocalDateTime end) {
+        if (!start.isBefore(end)) {
+            throw new ValidationException(String.format("Начало периода %s должно быть раньше его окончания %s.",
+                    start, end));
+        }
+    }
+
+    /**
+     * @return размер страницы, ограниченный MAX_PAGE_SIZE
+     */
+    private int checkPage(int from, int size) {
+        if (from < 0) {
+            throw new ValidationException(String.format("Индекс первого элемента не может быть отрицательным - %s.", from));
+        }
+        if (size < 1) {
+            throw new ValidationException(String.format("Размер страницы должен быть положительным - %s.", size));
+        }
+        return Math.min(size, MAX_PAGE_SIZE);
+    }
+
     private void addRequestToItem(Long requestId, Item item) {
         ItemRequest request = requestRepository.findById(requestId)
                 .orElseThrow(() -> new NotFoundException(String.format("Запрос с таким id - %s не найден.", requestId)));
         item.setRequest(request);
     }
 
-    private void addCommentsToItemDto(ItemDto itemDto) {
-        List<Comment> comments = commentRepository.findByItemId(itemDto.getId());
-        itemDto.setComments(commentMapper.mapToCommentResponseList(comments));
+    private Set<Long> findExistingRequestIds(List<ItemDto> items) {
+        List<Long> ids = items.stream()
+                .filter(Objects::nonNull)
+                .map(ItemDto::getRequestId)
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+        return ids.isEmpty() ? Set.of() : requestRepository.findExistingIds(ids);
+    }
+
+    /**
+     * Проверка строки импорта по тем же правилам, что и вещь, добавляемая по одной.
+     *
+     * @return причина отказа или null, если вещь можно сохранить
+     */
+    private String checkImportedItem(ItemDto itemDto, Set<Long> requestIds) {
+        if (itemDto == null) {
+            return "Не заполнены данные вещи.";
+        }
+        if (itemDto.getRequestId() != null && !requestIds.contains(itemDto.getRequestId())) {
+            return String.format("Запрос с таким id - %s не найден.", itemDto.getRequestId());
+        }
+        return null;
+    }
+
+    /**
+     * Неполная непустая страница (или пустая первая) - последняя, общее количество известно без запроса COUNT.
+     */
+    /**
+     * Страница id свободных в [start, end) доступных вещей по хронологии бронирований.
+     * Id читаются порциями по from + limit и проверяются, пока страница не заполнится,
+     * поэтому при свободных вещах просматривается не больше from + limit id, а не весь каталог.
+     */
+    private List<Long> findFreeAvailableIds(LocalDateTime start, LocalDateTime end, int from, int limit) {
+        int batchSize = (int) Math.min((long) from + limit, AVAILABLE_IDS_BATCH_SIZE);
+        List<Long> ids = new ArrayList<>(limit);
+        int skip = from;
+        long afterId = 0;
+        while (true) {
+            List<Long> availableIds = itemRepository.findAvailableIdsAfter(afterId, Limit.of(batchSize));
+            for (long itemId : availableIds) {
+                if (!bookingTimeline.isFree(itemId, start, end)) {
+                    continue;
+                }
+                if (skip > 0) {
+                    skip--;
+                } else {
+                    ids.add(itemId);
+                    if (ids.size() == limit) {
+                        return ids;
+                    }
+                }
+            }
+            if (availableIds.size() < batchSize) {
+                return ids;
+            }
+            afterId = availableIds.getLast();
+        }
+    }
+
+    private long countComments(long itemId, int from, int limit, int pageSize) {
+        if (pageSize < limit && (pageSize > 0 || from == 0)) {
+            return (long) from + pageSize;
+        }
+        return commentRepository.countByItemId(itemId);
     }
 }
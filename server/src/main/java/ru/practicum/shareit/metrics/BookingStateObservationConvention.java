@@ -0,0 +1,47 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.common.KeyValues;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.server.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import ru.practicum.shareit.booking.dto.BookingState;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Метрика http.server.requests с тегом state: по нему видно, какая выборка бронирований медленная.
+ * Значение тега ограничено названиями BookingState, чтобы число временных рядов не росло от параметров запроса.
+ */
+public class BookingStateObservationConvention extends DefaultServerRequestObservationConvention {
+
+    public static final String STATE = "state";
+
+    private static final Set<String> STATES = Arrays.stream(BookingState.values())
+            .map(Enum::name)
+            .collect(Collectors.toUnmodifiableSet());
+    private static final Set<String> BOOKING_LISTS = Set.of("/bookings", "/bookings/owner");
+
+    @Override
+    public KeyValues getLowCardinalityKeyValues(ServerRequestObservationContext context) {
+        return super.getLowCardinalityKeyValues(context)
+                .and(KeyValue.of(STATE, stateOf(context.getCarrier(), context.getPathPattern())));
+    }
+
+    /**
+     * Значение тега state для запроса.
+     *
+     * @param request     - запрос
+     * @param pathPattern - шаблон пути обработчика, null если обработчик не найден
+     * @return состояние из параметра, ALL для списков бронирований без параметра, none для остальных запросов
+     */
+    public static String stateOf(HttpServletRequest request, String pathPattern) {
+        String state = request.getParameter(STATE);
+        if (state == null) {
+            return pathPattern != null && BOOKING_LISTS.contains(pathPattern) ? BookingState.ALL.name() : "none";
+        }
+        return STATES.contains(state) ? state : "invalid";
+    }
+}
@@ -0,0 +1,35 @@
+package ru.practicum.shareit.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Счетчик SQL-запросов, выполненных Hibernate в текущем потоке за время обработки HTTP-запроса.
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    private final ThreadLocal<int[]> counter = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        int[] count = counter.get();
+        if (count != null) {
+            count[0]++;
+        }
+        return sql;
+    }
+
+    public void start() {
+        counter.set(new int[1]);
+    }
+
+    /**
+     * Завершение подсчета.
+     *
+     * @return число запросов с момента start, -1 если подсчет не начинался
+     */
+    public int stop() {
+        int[] count = counter.get();
+        counter.remove();
+        return count != null ? count[0] : -1;
+    }
+}
@@ -0,0 +1,8 @@
+package ru.practicum.shareit.request.dto;
+
+/**
+ * Строка с данными, от которых зависит ответ с запросом: версия запроса и версии вещей, созданных по нему.
+ * Для запроса без вещей itemId и itemVersion равны null.
+ */
+public record ItemRequestValidator(long id, long version, Long itemId, Long itemVersion) {
+}
@@ -2,6 +2,8 @@ package ru.practicum.shareit.request.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import ru.practicum.shareit.user.model.User;
 
@@ -13,6 +15,8 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Table(name = "requests", schema = "public")
 public class ItemRequest {
 
@@ -26,11 +30,19 @@ public class ItemRequest {
     /**
      * Пользователь, создавший запрос.
      */
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "requestor_id")
     private User requestor;
 
     @Column(name = "created", nullable = false, updatable = false)
     @CreationTimestamp
     private LocalDateTime created;
+
+    /**
+     * Версия запроса, вместе с версией вещи по нему входит в ETag ответа с запросом ({@link
+     * ru.practicum.shareit.request.dto.ItemRequestValidator}).
+     */
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
 }
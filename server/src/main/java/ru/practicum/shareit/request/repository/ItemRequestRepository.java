@@ -1,7 +1,19 @@
 package ru.practicum.shareit.request.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import ru.practicum.shareit.request.model.ItemRequest;
 
+import java.util.Collection;
+import java.util.Set;
+
 public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long>, ItemRequestRepositoryCustom {
+    /**
+     * Проверка существования нескольких запросов одним запросом к базе.
+     *
+     * @param ids - id запросов
+     * @return id найденных запросов
+     */
+    @Query("SELECT r.id FROM ItemRequest r WHERE r.id IN ?1")
+    Set<Long> findExistingIds(Collection<Long> ids);
 }
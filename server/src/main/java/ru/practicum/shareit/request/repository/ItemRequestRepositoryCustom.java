@@ -1,8 +1,10 @@
 package ru.practicum.shareit.request.repository;
 
 import ru.practicum.shareit.request.dto.ItemRequestResponse;
+import ru.practicum.shareit.request.dto.ItemRequestValidator;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface ItemRequestRepositoryCustom {
 
@@ -10,5 +12,13 @@ public interface ItemRequestRepositoryCustom {
 
     List<ItemRequestResponse> findRequestsByOtherRequestors(long requestorId);
 
-    ItemRequestResponse findByRequestId(long requestId);
+    Optional<ItemRequestResponse> findByRequestId(long requestId);
+
+    /**
+     * Версии запроса и вещей, созданных по нему, - для проверки условного запроса без сборки ответа.
+     *
+     * @param requestId - id запроса
+     * @return строка на каждую вещь запроса (одна строка без вещи), пустой список, если запроса нет
+     */
+    List<ItemRequestValidator> findValidatorsByRequestId(long requestId);
 }
@@ -1,18 +1,21 @@
 package ru.practicum.shareit.request.repository;
 
 import com.querydsl.core.Tuple;
+import com.querydsl.core.types.Projections;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Repository;
 import ru.practicum.shareit.item.dto.RequestItemDto;
 import ru.practicum.shareit.item.model.QItem;
 import ru.practicum.shareit.request.dto.ItemRequestResponse;
+import ru.practicum.shareit.request.dto.ItemRequestValidator;
 import ru.practicum.shareit.request.model.QItemRequest;
 
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 @Repository
 @RequiredArgsConstructor
@@ -68,7 +71,7 @@ public class ItemRequestRepositoryImpl implements ItemRequestRepositoryCustom {
     }
 
     @Override
-    public ItemRequestResponse findByRequestId(long requestId) {
+    public Optional<ItemRequestResponse> findByRequestId(long requestId) {
         List<Tuple> results = queryFactory
                 .select(
                         request.id,
@@ -84,10 +87,26 @@ public class ItemRequestRepositoryImpl implements ItemRequestRepositoryCustom {
                 .orderBy(item.id.asc())
                 .fetch();
 
-        return groupTuplesByRequest(results).getFirst();
+        return groupTuplesByRequest(results).stream().findFirst();
     }
 
-    private List<ItemRequestResponse> groupTuplesByRequest(List<Tuple> results) {
+    @Override
+    public List<ItemRequestValidator> findValidatorsByRequestId(long requestId) {
+        return queryFactory
+                .select(Projections.constructor(ItemRequestValidator.class,
+                        request.id,
+                        request.version,
+                        item.id,
+                        item.version
+                ))
+                .from(request)
+                .leftJoin(item).on(item.request.id.eq(request.id))
+                .where(request.id.eq(requestId))
+                .orderBy(item.id.asc())
+                .fetch();
+    }
+
+    List<ItemRequestResponse> groupTuplesByRequest(List<Tuple> results) {
         Map<Long, ItemRequestResponse> resultMap = new LinkedHashMap<>();
 
         for (Tuple tuple : results) {
@@ -13,5 +13,11 @@ public interface ItemRequestService {
 
     List<ItemRequestResponse> getRequestsByOtherRequestor(long requestorId);
 
-    ItemRequestResponse getRequestById(long requestId);
+    ItemRequestResponse getRequestById(long userId, long requestId);
+
+    /**
+     * ETag ответа getRequestById: меняется при изменении запроса и вещей, созданных по нему.
+     * Считается без сборки ответа.
+     */
+    String getRequestETag(long userId, long requestId);
 }
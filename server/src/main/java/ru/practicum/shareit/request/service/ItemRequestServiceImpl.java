@@ -3,14 +3,17 @@ package ru.practicum.shareit.request.service;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.cache.ETags;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.request.dto.ItemRequestRequest;
 import ru.practicum.shareit.request.dto.ItemRequestResponse;
+import ru.practicum.shareit.request.dto.ItemRequestValidator;
 import ru.practicum.shareit.request.mapper.ItemRequestMapper;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.validation.ValidationUtils;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -23,12 +26,13 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     private final ItemRequestRepository requestRepository;
     private final UserRepository userRepository;
     private final ItemRequestMapper requestMapper;
+    private final ValidationUtils validation;
 
     @Override
     @Transactional
     public ItemRequestResponse addRequest(ItemRequestRequest request, long requestorId) {
-        User requestor = userRepository.findById(requestorId)
-                .orElseThrow(() -> new NotFoundException(String.format("Пользователь с таким id - %s не найден.", requestorId)));
+        validation.checkUserId(requestorId);
+        User requestor = userRepository.getReferenceById(requestorId);
         ItemRequest itemRequest = requestMapper.mapToItemRequestForCreate(request, requestor);
         itemRequest = requestRepository.save(itemRequest);
         return requestMapper.mapToItemRequestResponse(itemRequest, new ArrayList<>());
@@ -36,16 +40,33 @@ public class ItemRequestServiceImpl implements ItemRequestService {
 
     @Override
     public List<ItemRequestResponse> getRequestsByRequestor(long requestorId) {
-        return requestRepository.findRequestsByRequestorId(requestorId);
+        List<ItemRequestResponse> requests = requestRepository.findRequestsByRequestorId(requestorId);
+        if (requests.isEmpty()) {
+            validation.checkUserId(requestorId);
+        }
+        return requests;
     }
 
     @Override
     public List<ItemRequestResponse> getRequestsByOtherRequestor(long requestorId) {
+        validation.checkUserId(requestorId);
         return requestRepository.findRequestsByOtherRequestors(requestorId);
     }
 
     @Override
-    public ItemRequestResponse getRequestById(long requestId) {
-        return requestRepository.findByRequestId(requestId);
+    public ItemRequestResponse getRequestById(long userId, long requestId) {
+        validation.checkUserId(userId);
+        return requestRepository.findByRequestId(requestId)
+                .orElseThrow(() -> new NotFoundException(String.format("Запроса с таким id - %s не существует.", requestId)));
+    }
+
+    @Override
+    public String getRequestETag(long userId, long requestId) {
+        validation.checkUserId(userId);
+        List<ItemRequestValidator> validators = requestRepository.findValidatorsByRequestId(requestId);
+        if (validators.isEmpty()) {
+            throw new NotFoundException(String.format("Запроса с таким id - %s не существует.", requestId));
+        }
+        return ETags.of(validators);
     }
 }
@@ -7,7 +7,6 @@ import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.user.service.UserService;
 import ru.practicum.shareit.user.dto.UserDto;
-import ru.practicum.shareit.validation.ValidationUtils;
 
 @RestController
 @RequestMapping(path = "/users")
@@ -16,33 +15,28 @@ import ru.practicum.shareit.validation.ValidationUtils;
 @Slf4j
 public class UserController {
     private final UserService userService;
-    private final ValidationUtils validation;
 
     @PostMapping
     public UserDto createUser(@RequestBody UserDto userDto) {
         log.info("Получен запрос на создание нового пользователя {}", userDto);
-        validation.validationForCreateUser(userDto);
         return userService.createUser(userDto);
     }
 
     @PatchMapping("/{userId}")
     public UserDto updateUser(@PathVariable Long userId, @RequestBody UserDto userDto) {
         log.info("Получен запрос на обновления данных пользователя с id - {} на {}", userId, userDto);
-        validation.validationForUpdateUser(userId, userDto);
         return userService.updateUser(userId, userDto);
     }
 
     @GetMapping("/{userId}")
     public UserDto getUserById(@PathVariable Long userId) {
         log.info("Получен запрос на поиск пользователя с id - {}.", userId);
-        validation.checkUserId(userId);
         return userService.getUserById(userId);
     }
 
     @DeleteMapping("/{userId}")
     public ResponseEntity<Void> deleteUserById(@PathVariable Long userId) {
         log.info("Получен запрос на удаление пользователя с id - {}.", userId);
-        validation.checkUserId(userId);
         userService.deleteUserById(userId);
         return ResponseEntity.ok().build();
     }
@@ -0,0 +1,7 @@
+package ru.practicum.shareit.user.event;
+
+/**
+ * Событие об удалении пользователя (вместе с ним каскадно удаляются его вещи).
+ */
+public record UserDeletedEvent(long userId) {
+}
@@ -14,8 +14,10 @@ public interface UserMapper {
     UserDto mapToUserDto(User user);
 
     @Mapping(target = "id", ignore = true)
+    @Mapping(target = "version", ignore = true)
     User mapToUser(UserDto userDto);
 
     @Mapping(target = "id", ignore = true)
+    @Mapping(target = "version", ignore = true)
     void updateUserFromDto(UserDto userDto, @MappingTarget User user);
 }
@@ -2,6 +2,8 @@ package ru.practicum.shareit.user.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Getter
 @Setter
@@ -9,6 +11,8 @@ import lombok.*;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Table(name = "users", schema = "public")
 public class User {
 
@@ -21,4 +25,12 @@ public class User {
 
     @Column(name = "email", nullable = false, length = 50, unique = true)
     private String email;
+
+    /**
+     * Версия пользователя. Имя автора входит в ответы с комментариями,
+     * поэтому ETag этих ответов учитывает и версии авторов.
+     */
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
 }
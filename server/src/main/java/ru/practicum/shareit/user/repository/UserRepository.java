@@ -1,6 +1,8 @@
 package ru.practicum.shareit.user.repository;
 
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import ru.practicum.shareit.cache.CacheConfig;
 import ru.practicum.shareit.user.model.User;
 
 import java.util.Optional;
@@ -14,4 +16,15 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * @return Optional найденного или нет пользователя
      */
     Optional<User> findByEmail(String email);
+
+    /**
+     * Проверка существования пользователя. Положительный ответ кэшируется,
+     * отрицательный - нет: пользователь с таким id может появиться позже.
+     *
+     * @param id - id пользователя
+     * @return true, если пользователь существует
+     */
+    @Override
+    @Cacheable(cacheNames = CacheConfig.USER_EXISTS, unless = "!#result")
+    boolean existsById(Long id);
 }
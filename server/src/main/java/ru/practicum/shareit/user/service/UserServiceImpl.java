@@ -1,13 +1,20 @@
 package ru.practicum.shareit.user.service;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.cache.CacheConfig;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.event.UserDeletedEvent;
 import ru.practicum.shareit.user.mapper.UserMapper;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.validation.ValidationUtils;
 
 @Service
 @RequiredArgsConstructor
@@ -16,10 +23,13 @@ public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
     private final UserMapper userMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ValidationUtils validation;
 
     @Override
     @Transactional
     public UserDto createUser(UserDto userDto) {
+        validation.validationForCreateUser(userDto);
         User user = userMapper.mapToUser(userDto);
         user = userRepository.save(user);
         return userMapper.mapToUserDto(user);
@@ -27,23 +37,37 @@ public class UserServiceImpl implements UserService {
 
     @Override
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.USERS, key = "#id")
     public UserDto updateUser(long id, UserDto userDto) {
         User updateUser = userRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException(String.format("Пользователь с таким id - %s не найден.", id)));
+        validation.validationForUpdateUser(userDto);
         userMapper.updateUserFromDto(userDto, updateUser);
         return userMapper.mapToUserDto(updateUser);
     }
 
     @Override
+    @Cacheable(cacheNames = CacheConfig.USERS, key = "#id")
     public UserDto getUserById(long id) {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException(String.format("Пользователь с таким id - %s не найден.", id)));
         return userMapper.mapToUserDto(user);
     }
 
+    /**
+     * Вещи пользователя удаляются из базы каскадно, поэтому кэш вещей очищается целиком.
+     */
     @Override
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.USERS, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.USER_EXISTS, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.ITEMS, allEntries = true)
+    })
     public void deleteUserById(long id) {
-        userRepository.deleteById(id);
+        User user = userRepository.findById(id)
+                .orElseThrow(() -> new NotFoundException(String.format("Пользователь с таким id - %s не найден.", id)));
+        userRepository.delete(user);
+        eventPublisher.publishEvent(new UserDeletedEvent(id));
     }
 }
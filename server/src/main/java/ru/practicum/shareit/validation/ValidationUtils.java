@@ -3,30 +3,27 @@ package ru.practicum.shareit.validation;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 import ru.practicum.shareit.booking.model.Booking;
-import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.booking.model.BookingStatus;
-import ru.practicum.shareit.booking.dto.BookingRequest;
 import ru.practicum.shareit.exception.DuplicateDataException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
-import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.item.model.Item;
-import ru.practicum.shareit.request.repository.ItemRequestRepository;
-import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
 
 /**
- * Класс для проверки корректности входящих параметров в контроллерах
+ * Проверки бизнес-правил, которые вызываются из сервисов внутри их транзакций.
+ * Правила проверяются на сущностях, уже загруженных сервисом. В базу методы обращаются
+ * только когда без этого не обойтись (уникальность email) или чтобы уточнить причину ошибки.
  */
 @Component
 @RequiredArgsConstructor
 public class ValidationUtils {
     private final UserRepository userRepository;
     private final ItemRepository itemRepository;
-    private final BookingRepository bookingRepository;
-    private final ItemRequestRepository requestRepository;
 
     public void validationForCreateUser(UserDto userDto) {
         String email = userDto.getEmail();
@@ -35,8 +32,7 @@ public class ValidationUtils {
         }
     }
 
-    public void validationForUpdateUser(long id, UserDto userDto) {
-        checkUserId(id);
+    public void validationForUpdateUser(UserDto userDto) {
         if (userDto.hasEmail()) {
             if (userRepository.findByEmail(userDto.getEmail()).isPresent()) {
                 throw new DuplicateDataException(String.format("Такой email - %s уже существует.", userDto.getEmail()));
@@ -50,30 +46,19 @@ public class ValidationUtils {
         }
     }
 
-    public void checkItemId(long id) {
-        if (!itemRepository.existsById(id)) {
-            throw new NotFoundException(String.format("Вещи с таким id -%s не существует.", id));
-        }
-    }
-
-    public void validationForUpdateItem(long userId, long itemId) {
-        checkUserId(userId);
-        Item item = itemRepository.findById(itemId)
-                .orElseThrow(() -> new NotFoundException(String.format("Вещи с таким id -%s не существует.", itemId)));
-        long itemUserId = item.getOwner().getId();
-        if (userId != itemUserId) {
+    /**
+     * Если пользователь не хозяин вещи, дополнительно проверяется,
+     * существует ли он: для несуществующего пользователя ответ - "не найден".
+     */
+    public void validationForUpdateItem(Item item, long userId) {
+        if (userId != item.getOwner().getId()) {
+            checkUserId(userId);
             throw new ValidationException(String.format("Пользователь с id -%s не хозяин вещи.", userId));
         }
     }
 
-    public void validationForCreateBooking(BookingRequest bookingRequest, long bookerId) {
-        checkUserId(bookerId);
-        Item item = itemRepository.findById(bookingRequest.getItemId())
-                .orElseThrow(() -> new NotFoundException(String.format("Вещь с таким id - %s не найдена.", bookingRequest.getItemId())));
-
-        Long ownerId = item.getOwner().getId();
-
-        if (bookerId == ownerId) {
+    public void validationForCreateBooking(Item item, long bookerId) {
+        if (bookerId == item.getOwner().getId()) {
             throw new ValidationException("Хозяин вещи не может бронировать свою собственную вещь.");
         }
 
@@ -82,27 +67,19 @@ public class ValidationUtils {
         }
     }
 
-    public void validationForUpdateBookingStatus(long bookingId, long ownerId) {
-        if (!userRepository.existsById(ownerId)) {
-            throw new ValidationException(String.format("Пользователя с таким id - %s не существует.", ownerId));
-        }
-        Booking booking = bookingRepository.findById(bookingId)
-                .orElseThrow(() -> new NotFoundException(String.format("Бронирование с таким id - %s не найдено.", bookingId)));
-        Item item = booking.getItem();
-        if (ownerId != item.getOwner().getId()) {
+    public void validationForUpdateBookingStatus(Booking booking, long ownerId) {
+        if (ownerId != booking.getItem().getOwner().getId()) {
             throw new ValidationException(String.format("Пользователь с id - %s не является хозяином вещи.", ownerId));
         }
     }
 
-    public void validationForGetBookingById(long bookingId, long userId) {
-        checkUserId(userId);
-        Booking booking = bookingRepository.findById(bookingId)
-                .orElseThrow(() -> new NotFoundException(String.format("Бронирование с таким id - %s не найдено.", bookingId)));
+    public void validationForGetBookingById(Booking booking, long userId) {
         long ownerId = booking.getItem().getOwner().getId();
         long bookerId = booking.getBooker().getId();
 
         if (bookerId != userId) {
             if (ownerId != userId) {
+                checkUserId(userId);
                 throw new ValidationException(String.format("Пользователь с id - %s не является хозяином вещи или бронирующим.", userId));
             }
         }
@@ -115,18 +92,19 @@ public class ValidationUtils {
         }
     }
 
-    public void validationForCreateComment(long authorId, long itemId) {
-        checkUserId(authorId);
-        Item item = itemRepository.findById(itemId)
-                .orElseThrow(() -> new NotFoundException(String.format("Вещи с таким id -%s не существует.", itemId)));
-
+    /**
+     * @param booking - бронирование вещи автором комментария, null если его нет
+     */
+    public void validationForCreateComment(long authorId, Item item, Booking booking) {
         if (authorId == item.getOwner().getId()) {
             throw new ValidationException("Хозяин вещи не может оставлять комментарии о ней.");
         }
 
-        Booking booking = bookingRepository.findByBookerIdAndItemId(authorId, itemId)
-                .orElseThrow(() -> new ValidationException(String.format("Данный пользователь %s не брал вещь %s в аренду",
-                        authorId, itemId)));
+        if (booking == null) {
+            checkUserId(authorId);
+            throw new ValidationException(String.format("Данный пользователь %s не брал вещь %s в аренду",
+                    authorId, item.getId()));
+        }
 
         if (!booking.getStatus().equals(BookingStatus.APPROVED)) {
             throw new ValidationException("Комментарии можно оставлять только на подтвержденные бронирования");
@@ -137,10 +115,4 @@ public class ValidationUtils {
             throw new ValidationException("Комментарии можно оставлять только за прошедшие бронирования.");
         }
     }
-
-    public void checkRequestId(long id) {
-        if (!requestRepository.existsById(id)) {
-            throw new NotFoundException(String.format("Запроса с таким id - %s не существует.", id));
-        }
-    }
 }
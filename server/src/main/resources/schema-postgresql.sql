@@ -0,0 +1,15 @@
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS items_name_trgm_idx
+    ON items USING GIN (LOWER(name) gin_trgm_ops) WHERE available;
+
+CREATE INDEX IF NOT EXISTS items_description_trgm_idx
+    ON items USING GIN (LOWER(description) gin_trgm_ops) WHERE available;
+
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+ALTER TABLE bookings ADD CONSTRAINT bookings_approved_no_overlap
+    EXCLUDE USING GIST (item_id WITH =, tsrange(start_date, end_date) WITH &&) WHERE (status = 'APPROVED');
+
+CREATE INDEX IF NOT EXISTS bookings_item_period_gist_idx
+    ON bookings USING GIST (item_id, tsrange(start_date, end_date));
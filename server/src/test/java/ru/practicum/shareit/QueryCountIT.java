@@ -0,0 +1,209 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Количество SQL-запросов, которое уходит в базу на один HTTP-запрос к эндпоинту.
+ * Тест не транзакционный: так в счет попадают и запросы, которые Hibernate выполняет при коммите.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.MOCK,
+        properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "ru.practicum.shareit.SqlStatementRecorder")
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase
+@ActiveProfiles("test")
+class QueryCountIT {
+
+    private static final String USER_ID = "X-Sharer-User-Id";
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private ItemRequestRepository requestRepository;
+
+    private User owner;
+    private User booker;
+    private Item item;
+    private ItemRequest request;
+    private Booking waitingBooking;
+    private LocalDateTime now;
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+        now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        owner = userRepository.save(User.builder().name("owner").email("owner@mail.com").build());
+        booker = userRepository.save(User.builder().name("booker").email("booker@mail.com").build());
+        request = requestRepository.save(ItemRequest.builder().description("request").requestor(booker)
+                .created(now).build());
+        item = itemRepository.save(Item.builder().name("item").description("description").available(true)
+                .owner(owner).request(request).build());
+        bookingRepository.save(Booking.builder().item(item).booker(booker).start(now.minusDays(2))
+                .end(now.minusDays(1)).status(BookingStatus.APPROVED).build());
+        waitingBooking = bookingRepository.save(Booking.builder().item(item).booker(booker).start(now.plusDays(1))
+                .end(now.plusDays(2)).status(BookingStatus.WAITING).build());
+    }
+
+    @AfterEach
+    void cleanUp() {
+        commentRepository.deleteAll();
+        bookingRepository.deleteAll();
+        itemRepository.deleteAll();
+        requestRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void addBooking_userItemOverlapCheckAndInsert() throws Exception {
+        String json = String.format("{\"itemId\": %s, \"start\": \"%s\", \"end\": \"%s\"}", item.getId(),
+                format(now.plusDays(3)), format(now.plusDays(4)));
+
+        assertStatementCount(4, post("/bookings").header(USER_ID, booker.getId())
+                .contentType(MediaType.APPLICATION_JSON).content(json));
+    }
+
+    @Test
+    void updateBookingStatus_bookingItemLockOverlapCheckAndUpdate() throws Exception {
+        assertStatementCount(4, patch("/bookings/{bookingId}", waitingBooking.getId())
+                .header(USER_ID, owner.getId()).param("approved", "true"));
+    }
+
+    @Test
+    void updateBookingStatuses_bookingsLockOverlapCheckAndSingleUpdate() throws Exception {
+        Booking secondWaiting = bookingRepository.save(Booking.builder().item(item).booker(booker)
+                .start(now.plusDays(3)).end(now.plusDays(4)).status(BookingStatus.WAITING).build());
+
+        assertStatementCount(4, patch("/bookings/batch").header(USER_ID, owner.getId()).param("approved", "true")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[" + waitingBooking.getId() + ", " + secondWaiting.getId() + "]"));
+    }
+
+    @Test
+    void updateBookingStatuses_whenRejected_bookingsAndSingleUpdate() throws Exception {
+        assertStatementCount(2, patch("/bookings/batch").header(USER_ID, owner.getId()).param("approved", "false")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[" + waitingBooking.getId() + "]"));
+    }
+
+    @Test
+    void getBookingById_singleSelect() throws Exception {
+        assertStatementCount(1, get("/bookings/{bookingId}", waitingBooking.getId())
+                .header(USER_ID, booker.getId()));
+    }
+
+    @Test
+    void getBookingLists_singleSelect() throws Exception {
+        assertStatementCount(1, get("/bookings").header(USER_ID, booker.getId()));
+        assertStatementCount(1, get("/bookings/owner").header(USER_ID, owner.getId()));
+    }
+
+    @Test
+    void getItemsByOwner_validatorAndSelect() throws Exception {
+        assertStatementCount(2, get("/items").header(USER_ID, owner.getId()));
+    }
+
+    @Test
+    void getItemsByOwner_whenNotModified_validatorOnly() throws Exception {
+        String etag = mvc.perform(get("/items").header(USER_ID, owner.getId()))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        assertStatementCount(1, HttpStatus.NOT_MODIFIED, get("/items").header(USER_ID, owner.getId())
+                .header(HttpHeaders.IF_NONE_MATCH, etag));
+    }
+
+    @Test
+    void getCommentsByItemId_userCheckAndPageWithoutCount() throws Exception {
+        commentRepository.save(Comment.builder().text("text").item(item).author(booker).created(now).build());
+
+        assertStatementCount(2, get("/items/{itemId}/comments", item.getId()).header(USER_ID, booker.getId()));
+    }
+
+    @Test
+    void addComment_itemBookingAndInsert() throws Exception {
+        bookingRepository.delete(waitingBooking);
+
+        assertStatementCount(3, post("/items/{itemId}/comment", item.getId()).header(USER_ID, booker.getId())
+                .contentType(MediaType.APPLICATION_JSON).content("{\"text\": \"text\"}"));
+    }
+
+    @Test
+    void updateUser_userEmailCheckAndUpdate() throws Exception {
+        assertStatementCount(3, patch("/users/{userId}", booker.getId())
+                .contentType(MediaType.APPLICATION_JSON).content("{\"email\": \"new@mail.com\"}"));
+    }
+
+    @Test
+    void getRequestById_userCheckValidatorAndSelect() throws Exception {
+        assertStatementCount(4, get("/requests/{requestId}", request.getId()).header(USER_ID, booker.getId()));
+    }
+
+    @Test
+    void getRequestById_whenNotModified_userCheckAndValidator() throws Exception {
+        String etag = mvc.perform(get("/requests/{requestId}", request.getId()).header(USER_ID, booker.getId()))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        assertStatementCount(2, HttpStatus.NOT_MODIFIED, get("/requests/{requestId}", request.getId())
+                .header(USER_ID, booker.getId()).header(HttpHeaders.IF_NONE_MATCH, etag));
+    }
+
+    private void assertStatementCount(int expected, RequestBuilder requestBuilder) throws Exception {
+        assertStatementCount(expected, HttpStatus.OK, requestBuilder);
+    }
+
+    private void assertStatementCount(int expected, HttpStatus expectedStatus, RequestBuilder requestBuilder)
+            throws Exception {
+        SqlStatementRecorder.clear();
+        mvc.perform(requestBuilder).andExpect(status().is(expectedStatus.value()));
+        List<String> statements = SqlStatementRecorder.statements();
+        assertThat(statements).as(String.join("\n", statements)).hasSize(expected);
+    }
+
+    private String format(LocalDateTime time) {
+        return time.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+    }
+}
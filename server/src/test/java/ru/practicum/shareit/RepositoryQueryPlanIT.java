@@ -0,0 +1,192 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import ru.practicum.shareit.booking.dto.BookingCursor;
+import ru.practicum.shareit.booking.dto.BookingState;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Проверка планов запросов репозиториев на PostgreSQL: каждый запрос на горячих путях
+ * должен читать таблицы через свой индекс из schema.sql и schema-postgresql.sql.
+ * H2 сам создаёт индексы под внешние ключи и выбирает их, поэтому {@link RepositoryQueryPlanTest}
+ * не замечает удаления составных индексов, а здесь в плане ищется имя конкретного индекса.
+ * Таблицы в тесте маленькие, поэтому последовательное чтение выключается (enable_seqscan = off),
+ * а план строится обобщённым, без подстановки значений параметров. Без Docker тест пропускается.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=ru.practicum.shareit.SqlStatementRecorder",
+        "spring.sql.init.schema-locations=classpath:schema.sql,classpath:schema-postgresql.sql"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+class RepositoryQueryPlanIT {
+
+    @Container
+    @ServiceConnection
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private static final Pattern PARAMETER = Pattern.compile("\\?");
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private ItemRequestRepository requestRepository;
+
+    private User owner;
+    private User booker;
+    private Item item;
+    private ItemRequest request;
+    private LocalDateTime now;
+
+    @BeforeEach
+    void setUp() {
+        now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        owner = em.persist(User.builder().name("owner").email("owner@mail.com").build());
+        booker = em.persist(User.builder().name("booker").email("booker@mail.com").build());
+        request = em.persist(ItemRequest.builder().description("request").requestor(booker).created(now).build());
+        item = em.persist(Item.builder().name("item").description("description").available(true)
+                .owner(owner).request(request).build());
+        em.persist(Booking.builder().item(item).booker(booker).start(now.minusDays(1)).end(now.plusDays(1))
+                .status(BookingStatus.APPROVED).build());
+        em.persist(Comment.builder().text("text").item(item).author(booker).created(now).build());
+        em.flush();
+        em.clear();
+        jdbcTemplate.execute("SET enable_seqscan = off");
+        jdbcTemplate.execute("SET plan_cache_mode = force_generic_plan");
+    }
+
+    @Test
+    void bookerBookingQueries_useIndexes() {
+        long bookerId = booker.getId();
+
+        assertUsesIndex("bookings_booker_status_start_idx",
+                () -> bookingRepository.findViewsByBookerId(bookerId, BookingState.WAITING, now));
+        assertUsesIndex("bookings_booker_status_start_idx",
+                () -> bookingRepository.findViewsByBookerId(bookerId, BookingState.REJECTED, now));
+        assertUsesIndex("bookings_item_booker_idx",
+                () -> bookingRepository.findByBookerIdAndItemId(bookerId, item.getId()));
+        assertUsesIndex("bookings_booker_start_idx", () -> bookingRepository.findPageByBookerId(bookerId,
+                BookingState.ALL, now, new BookingCursor(now, Long.MAX_VALUE), 10));
+    }
+
+    @Test
+    void ownerBookingQueries_useIndexes() {
+        long ownerId = owner.getId();
+
+        for (BookingState state : BookingState.values()) {
+            assertUsesIndex("items_owner_idx", () -> bookingRepository.findViewsByOwnerId(ownerId, state, now));
+        }
+    }
+
+    @Test
+    void itemBookingQueries_useIndexes() {
+        List<Long> itemIds = List.of(item.getId());
+
+        assertUsesIndex("bookings_item_start_idx", () -> bookingRepository.getLastBookingByItemId(item.getId(), now));
+        assertUsesIndex("bookings_item_start_idx", () -> bookingRepository.getNextBookingByItemId(item.getId(), now));
+        assertUsesIndex("bookings_item_start_idx", () -> bookingRepository.getAllLastBookings(itemIds, now));
+        assertUsesIndex("bookings_item_start_idx", () -> bookingRepository.getAllNextBookings(itemIds, now));
+    }
+
+    @Test
+    void itemAndCommentQueries_useIndexes() {
+        assertUsesIndex("items_owner_idx", () -> itemRepository.existsByOwnerId(owner.getId()));
+        assertUsesIndex("comments_item_created_idx",
+                () -> itemRepository.findItemsWithBookingsAndCommentsByOwnerId(owner.getId(), now));
+        assertUsesIndex("items_owner_idx",
+                () -> itemRepository.findItemsWithBookingsAndCommentsByOwnerId(owner.getId(), now));
+        assertUsesIndex("comments_item_created_idx", () -> commentRepository.findByItemId(item.getId()));
+        assertUsesIndex("comments_item_created_idx", () -> commentRepository.findPageByItemId(item.getId(), 0, 20));
+        assertUsesIndex("comments_item_created_idx", () -> commentRepository.countByItemId(item.getId()));
+        assertUsesIndex("comments_item_created_idx",
+                () -> commentRepository.getAllCommentsByItemId(List.of(item.getId())));
+    }
+
+    @Test
+    void requestQueries_useIndexes() {
+        assertUsesIndex("requests_requestor_created_idx",
+                () -> requestRepository.findRequestsByRequestorId(booker.getId()));
+        assertUsesIndex("items_request_idx", () -> requestRepository.findByRequestId(request.getId()));
+    }
+
+    @Test
+    void userCascadeDelete_usesCommentAuthorIndex() {
+        assertThat(explain("delete from comments where author_id = $1", 1)).contains(" comments_author_idx ");
+    }
+
+    private void assertUsesIndex(String index, Runnable query) {
+        em.clear();
+        SqlStatementRecorder.clear();
+        query.run();
+
+        List<String> plans = SqlStatementRecorder.statements().stream()
+                .filter(sql -> sql.stripLeading().toLowerCase().startsWith("select"))
+                .map(this::explain)
+                .toList();
+        assertThat(plans).isNotEmpty();
+        assertThat(plans).as("Планы запросов:%n%s", String.join("\n\n", plans))
+                .anyMatch(plan -> plan.contains(" " + index + " "))
+                .noneMatch(plan -> plan.contains("Seq Scan"));
+    }
+
+    /**
+     * План подготовленного запроса без значений параметров, как у обобщённого плана PostgreSQL.
+     */
+    private String explain(String sql) {
+        int[] parameters = {0};
+        String statement = PARAMETER.matcher(sql).replaceAll(match -> "\\$" + ++parameters[0]);
+        return explain(statement, parameters[0]);
+    }
+
+    private String explain(String statement, int parameters) {
+        jdbcTemplate.execute("PREPARE plan_query AS " + statement);
+        try {
+            String arguments = parameters == 0 ? ""
+                    : "(" + String.join(", ", Collections.nCopies(parameters, "NULL")) + ")";
+            return String.join("\n", jdbcTemplate.queryForList("EXPLAIN EXECUTE plan_query" + arguments,
+                    String.class));
+        } finally {
+            jdbcTemplate.execute("DEALLOCATE plan_query");
+        }
+    }
+}
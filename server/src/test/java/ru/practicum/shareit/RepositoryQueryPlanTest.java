@@ -0,0 +1,149 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.booking.dto.BookingCursor;
+import ru.practicum.shareit.booking.dto.BookingState;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Проверка планов запросов репозиториев: ни один запрос на горячих путях
+ * не должен читать таблицу целиком (в плане H2 - tableScan).
+ * Запросы, которым полный просмотр нужен по смыслу (поиск по подстроке, findAll,
+ * запросы других пользователей через requestor_id <> ?), здесь не проверяются.
+ * Какой именно индекс выбран, здесь не проверяется: H2 создаёт свои индексы под внешние ключи
+ * и обычно берёт их, это делает {@link RepositoryQueryPlanIT} на PostgreSQL.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "ru.practicum.shareit.SqlStatementRecorder")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class RepositoryQueryPlanTest {
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private ItemRequestRepository requestRepository;
+
+    private User owner;
+    private User booker;
+    private Item item;
+    private ItemRequest request;
+    private LocalDateTime now;
+
+    @BeforeEach
+    void setUp() {
+        now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        owner = em.persist(User.builder().name("owner").email("owner@mail.com").build());
+        booker = em.persist(User.builder().name("booker").email("booker@mail.com").build());
+        request = em.persist(ItemRequest.builder().description("request").requestor(booker).created(now).build());
+        item = em.persist(Item.builder().name("item").description("description").available(true)
+                .owner(owner).request(request).build());
+        em.persist(Booking.builder().item(item).booker(booker).start(now.minusDays(1)).end(now.plusDays(1))
+                .status(BookingStatus.APPROVED).build());
+        em.persist(Comment.builder().text("text").item(item).author(booker).created(now).build());
+        em.flush();
+        em.clear();
+    }
+
+    @Test
+    void bookerBookingQueries_useIndexes() {
+        long bookerId = booker.getId();
+
+        for (BookingState state : BookingState.values()) {
+            assertNoTableScan(() -> bookingRepository.findViewsByBookerId(bookerId, state, now));
+        }
+        assertNoTableScan(() -> bookingRepository.findByBookerIdAndItemId(bookerId, item.getId()));
+        assertNoTableScan(() -> bookingRepository.findPageByBookerId(bookerId, BookingState.ALL, now,
+                new BookingCursor(now, Long.MAX_VALUE), 10));
+    }
+
+    @Test
+    void ownerBookingQueries_useIndexes() {
+        long ownerId = owner.getId();
+
+        for (BookingState state : BookingState.values()) {
+            assertNoTableScan(() -> bookingRepository.findViewsByOwnerId(ownerId, state, now));
+        }
+        assertNoTableScan(() -> bookingRepository.findPageByOwnerId(ownerId, BookingState.WAITING, now,
+                null, 10));
+        assertNoTableScan(() -> {
+            try (var bookings = bookingRepository.streamViewsByOwnerId(ownerId, BookingState.ALL, now)) {
+                bookings.forEach(booking -> { });
+            }
+        });
+    }
+
+    @Test
+    void itemBookingQueries_useIndexes() {
+        List<Long> itemIds = List.of(item.getId());
+
+        assertNoTableScan(() -> bookingRepository.getLastBookingByItemId(item.getId(), now));
+        assertNoTableScan(() -> bookingRepository.getNextBookingByItemId(item.getId(), now));
+        assertNoTableScan(() -> bookingRepository.getAllLastBookings(itemIds, now));
+        assertNoTableScan(() -> bookingRepository.getAllNextBookings(itemIds, now));
+    }
+
+    @Test
+    void itemAndCommentQueries_useIndexes() {
+        assertNoTableScan(() -> itemRepository.findItemsWithBookingsAndCommentsByOwnerId(owner.getId(), now));
+        assertNoTableScan(() -> itemRepository.existsByOwnerId(owner.getId()));
+        assertNoTableScan(() -> commentRepository.findByItemId(item.getId()));
+        assertNoTableScan(() -> commentRepository.findPageByItemId(item.getId(), 0, 20));
+        assertNoTableScan(() -> commentRepository.countByItemId(item.getId()));
+        assertNoTableScan(() -> commentRepository.getAllCommentsByItemId(List.of(item.getId())));
+    }
+
+    @Test
+    void requestQueries_useIndexes() {
+        assertNoTableScan(() -> requestRepository.findRequestsByRequestorId(booker.getId()));
+        assertNoTableScan(() -> requestRepository.findByRequestId(request.getId()));
+    }
+
+    private void assertNoTableScan(Runnable query) {
+        em.clear();
+        SqlStatementRecorder.clear();
+        query.run();
+
+        List<String> statements = SqlStatementRecorder.statements().stream()
+                .filter(sql -> sql.stripLeading().toLowerCase().startsWith("select"))
+                .toList();
+        assertThat(statements).isNotEmpty();
+        for (String sql : statements) {
+            String plan = jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class);
+            assertThat(plan).as("План запроса:%n%s", plan).doesNotContain(".tableScan");
+        }
+    }
+}
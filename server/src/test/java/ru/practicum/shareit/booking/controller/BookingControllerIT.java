@@ -23,6 +23,7 @@ import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
@@ -154,6 +155,34 @@ class BookingControllerIT {
                 .andExpect(jsonPath("$.status").value("REJECTED"));
     }
 
+    @Test
+    void updateBookingStatuses_whenOverlappingInBatch_thenFirstApproved() throws Exception {
+        Booking overlapping = bookingRepository.save(Booking.builder()
+                .start(booking.getStart().plusHours(1))
+                .end(booking.getEnd().plusHours(1))
+                .item(item)
+                .booker(booker)
+                .status(BookingStatus.WAITING)
+                .build());
+
+        mvc.perform(patch("/bookings/batch")
+                        .header(USER_ID, owner.getId())
+                        .param("approved", "true")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(List.of(booking.getId(), overlapping.getId(), 999L))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$[0].status").value("APPROVED"))
+                .andExpect(jsonPath("$[1].status").doesNotExist())
+                .andExpect(jsonPath("$[1].error").exists())
+                .andExpect(jsonPath("$[2].error").value("Бронирование с таким id - 999 не найдено."));
+
+        mvc.perform(get("/bookings/{bookingId}", booking.getId()).header(USER_ID, owner.getId()))
+                .andExpect(jsonPath("$.status").value("APPROVED"));
+        mvc.perform(get("/bookings/{bookingId}", overlapping.getId()).header(USER_ID, owner.getId()))
+                .andExpect(jsonPath("$.status").value("WAITING"));
+    }
+
     @Test
     void updateBookingStatus_whenNotOwner() throws Exception {
         mvc.perform(patch("/bookings/{bookingId}", booking.getId())
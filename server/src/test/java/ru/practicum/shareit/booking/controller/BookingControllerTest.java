@@ -10,25 +10,37 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import ru.practicum.shareit.booking.dto.BookingExportFormat;
+import ru.practicum.shareit.booking.dto.BookingPage;
 import ru.practicum.shareit.booking.dto.BookingRequest;
 import ru.practicum.shareit.booking.dto.BookingResponse;
+import ru.practicum.shareit.booking.dto.BookingStatusResult;
 import ru.practicum.shareit.booking.dto.BookingState;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.service.BookingExportService;
 import ru.practicum.shareit.booking.service.BookingService;
 import ru.practicum.shareit.exception.ErrorHandler;
-import ru.practicum.shareit.validation.ValidationUtils;
+import ru.practicum.shareit.exception.NotFoundException;
 
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
-import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @ExtendWith(MockitoExtension.class)
@@ -43,7 +55,7 @@ class BookingControllerTest {
     private BookingService bookingService;
 
     @Mock
-    private ValidationUtils validation;
+    private BookingExportService bookingExportService;
 
     private ObjectMapper mapper = new ObjectMapper().registerModule(new JavaTimeModule());
     private static final String USER_ID_HEADER = "X-Sharer-User-Id";
@@ -68,7 +80,6 @@ class BookingControllerTest {
 
         BookingResponse bookingResponse = BookingResponse.builder().id(VALID_BOOKING_ID).build();
 
-        doNothing().when(validation).validationForCreateBooking(any(BookingRequest.class), eq(VALID_USER_ID));
         when(bookingService.addBooking(any(BookingRequest.class), eq(VALID_USER_ID))).thenReturn(bookingResponse);
 
         mockMvc.perform(post("/bookings")
@@ -86,8 +97,7 @@ class BookingControllerTest {
                 .status(BookingStatus.APPROVED)
                 .build();
 
-        doNothing().when(validation).validationForUpdateBookingStatus(VALID_BOOKING_ID, VALID_USER_ID);
-        when(bookingService.updateBookingStatus(VALID_BOOKING_ID, true)).thenReturn(bookingResponse);
+        when(bookingService.updateBookingStatus(VALID_USER_ID, VALID_BOOKING_ID, true)).thenReturn(bookingResponse);
 
         mockMvc.perform(patch("/bookings/{bookingId}", VALID_BOOKING_ID)
                         .header(USER_ID_HEADER, VALID_USER_ID)
@@ -98,12 +108,30 @@ class BookingControllerTest {
                 .andExpect(jsonPath("$.status").value("APPROVED"));
     }
 
+    @Test
+    void updateBookingStatuses_whenValidData() throws Exception {
+        List<BookingStatusResult> results = List.of(
+                BookingStatusResult.builder().bookingId(1L).status(BookingStatus.APPROVED).build(),
+                BookingStatusResult.builder().bookingId(2L).error("conflict").build());
+
+        when(bookingService.updateBookingStatuses(VALID_USER_ID, List.of(1L, 2L), true)).thenReturn(results);
+
+        mockMvc.perform(patch("/bookings/batch")
+                        .header(USER_ID_HEADER, VALID_USER_ID)
+                        .param("approved", "true")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[1, 2]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].bookingId").value(1))
+                .andExpect(jsonPath("$[0].status").value("APPROVED"))
+                .andExpect(jsonPath("$[1].error").value("conflict"));
+    }
+
     @Test
     void getBookingById_whenValidData() throws Exception {
         BookingResponse bookingResponse = BookingResponse.builder().id(VALID_BOOKING_ID).build();
 
-        doNothing().when(validation).validationForGetBookingById(VALID_BOOKING_ID, VALID_USER_ID);
-        when(bookingService.getBookingById(VALID_BOOKING_ID)).thenReturn(bookingResponse);
+        when(bookingService.getBookingById(VALID_USER_ID, VALID_BOOKING_ID)).thenReturn(bookingResponse);
 
         mockMvc.perform(get("/bookings/{bookingId}", VALID_BOOKING_ID)
                         .header(USER_ID_HEADER, VALID_USER_ID)
@@ -119,7 +147,6 @@ class BookingControllerTest {
                 BookingResponse.builder().id(2L).build()
         );
 
-        doNothing().when(validation).checkUserId(VALID_USER_ID);
         when(bookingService.getBookingsByBookerId(VALID_USER_ID, BookingState.ALL)).thenReturn(bookings);
 
         mockMvc.perform(get("/bookings")
@@ -138,7 +165,6 @@ class BookingControllerTest {
                 BookingResponse.builder().id(2L).build()
         );
 
-        doNothing().when(validation).validationOwnerHasItems(VALID_USER_ID);
         when(bookingService.getBookingsByOwnerItems(VALID_USER_ID, BookingState.ALL)).thenReturn(bookings);
 
         mockMvc.perform(get("/bookings/owner")
@@ -154,7 +180,6 @@ class BookingControllerTest {
     void getBookingsByBookerId_whenDefaultState() throws Exception {
         List<BookingResponse> bookings = List.of(BookingResponse.builder().id(1L).build());
 
-        doNothing().when(validation).checkUserId(VALID_USER_ID);
         when(bookingService.getBookingsByBookerId(VALID_USER_ID, BookingState.ALL)).thenReturn(bookings);
 
         mockMvc.perform(get("/bookings")
@@ -168,7 +193,6 @@ class BookingControllerTest {
     void getBookingsByOwnerItems_whenDefaultState() throws Exception {
         List<BookingResponse> bookings = List.of(BookingResponse.builder().id(1L).build());
 
-        doNothing().when(validation).validationOwnerHasItems(VALID_USER_ID);
         when(bookingService.getBookingsByOwnerItems(VALID_USER_ID, BookingState.ALL)).thenReturn(bookings);
 
         mockMvc.perform(get("/bookings/owner")
@@ -177,4 +201,75 @@ class BookingControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$[0].id").value(1L));
     }
-}
\ No newline at end of file
+
+    @Test
+    void getBookingPageByBookerId_whenHasNextPage() throws Exception {
+        BookingPage page = BookingPage.builder()
+                .bookings(List.of(BookingResponse.builder().id(2L).build()))
+                .nextCursor("next")
+                .build();
+
+        when(bookingService.getBookingsByBookerId(VALID_USER_ID, BookingState.ALL, "cursor", 1)).thenReturn(page);
+
+        mockMvc.perform(get("/bookings")
+                        .header(USER_ID_HEADER, VALID_USER_ID)
+                        .param("cursor", "cursor")
+                        .param("size", "1")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", "next"))
+                .andExpect(jsonPath("$[0].id").value(2L));
+    }
+
+    @Test
+    void getBookingPageByOwnerItems_whenLastPage() throws Exception {
+        BookingPage page = BookingPage.builder()
+                .bookings(List.of(BookingResponse.builder().id(1L).build()))
+                .build();
+
+        when(bookingService.getBookingsByOwnerItems(VALID_USER_ID, BookingState.PAST, null, 10)).thenReturn(page);
+
+        mockMvc.perform(get("/bookings/owner")
+                        .header(USER_ID_HEADER, VALID_USER_ID)
+                        .param("state", "PAST")
+                        .param("size", "10")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("X-Next-Cursor"))
+                .andExpect(jsonPath("$[0].id").value(1L));
+    }
+
+    @Test
+    void exportBookingsByOwnerItems_whenCsv_thenStreamedAttachment() throws Exception {
+        doAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(3);
+            out.write("id\n1\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(bookingExportService).exportBookingsByOwnerItems(eq(VALID_USER_ID), eq(BookingState.PAST),
+                eq(BookingExportFormat.CSV), any(OutputStream.class));
+
+        MvcResult result = mockMvc.perform(get("/bookings/owner/export")
+                        .header(USER_ID_HEADER, VALID_USER_ID)
+                        .param("state", "PAST")
+                        .param("format", "CSV"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "text/csv"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"bookings-1.csv\""))
+                .andExpect(content().string("id\n1\n"));
+    }
+
+    @Test
+    void exportBookingsByOwnerItems_whenOwnerHasNoItems_thenNotFoundBeforeStreaming() throws Exception {
+        doThrow(NotFoundException.class).when(bookingExportService).checkOwner(VALID_USER_ID);
+
+        mockMvc.perform(get("/bookings/owner/export")
+                        .header(USER_ID_HEADER, VALID_USER_ID))
+                .andExpect(status().isNotFound());
+
+        verifyNoMoreInteractions(bookingExportService);
+    }
+}
@@ -0,0 +1,137 @@
+package ru.practicum.shareit.booking.controller;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.time.format.DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Выгрузка бронирований владельца. Ответ пишется в отдельном потоке со своей транзакцией,
+ * поэтому данные теста сохраняются с коммитом и удаляются после теста.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.MOCK)
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase
+@ActiveProfiles("test")
+class BookingExportIT {
+
+    private static final String USER_ID = "X-Sharer-User-Id";
+    private static final int BOOKINGS = 3000;
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User owner;
+    private LocalDateTime now;
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+        now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        owner = userRepository.save(User.builder().name("owner").email("owner@mail.com").build());
+        User booker = userRepository.save(User.builder().name("booker").email("booker@mail.com").build());
+        Item item = itemRepository.save(Item.builder().name("drill, cordless").description("description")
+                .available(true).owner(owner).build());
+
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < BOOKINGS; i++) {
+            LocalDateTime start = now.minusDays(BOOKINGS).plusDays(i);
+            rows.add(new Object[]{Timestamp.valueOf(start), Timestamp.valueOf(start.plusHours(1)), item.getId(),
+                    booker.getId(), BookingStatus.APPROVED.name()});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO bookings (start_date, end_date, item_id, booker_id, status) "
+                + "VALUES (?, ?, ?, ?, ?)", rows);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        bookingRepository.deleteAll();
+        itemRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void exportNdjson_whenManyBookings_thenAllRowsNewestFirst() throws Exception {
+        List<String> lines = export("NDJSON");
+
+        assertThat(lines).hasSize(BOOKINGS);
+        assertThat(lines.getFirst()).contains("\"start\":\"" + ISO_LOCAL_DATE_TIME.format(now.minusDays(1)) + "\"");
+        assertThat(lines.getLast()).contains("\"start\":\"" + ISO_LOCAL_DATE_TIME.format(now.minusDays(BOOKINGS))
+                + "\"");
+        assertThat(lines).allMatch(line -> line.startsWith("{") && line.endsWith("}"));
+    }
+
+    @Test
+    void exportCsv_whenManyBookings_thenHeaderAndRows() throws Exception {
+        List<String> lines = export("CSV");
+
+        assertThat(lines).hasSize(BOOKINGS + 1);
+        assertThat(lines.getFirst()).startsWith("id,start,end,status");
+        assertThat(lines.get(1)).contains(",APPROVED,").contains(",\"drill, cordless\",");
+    }
+
+    @Test
+    void export_whenOwnerHasNoItems_thenNotFound() throws Exception {
+        long bookerId = userRepository.findAll().stream()
+                .filter(user -> !user.getId().equals(owner.getId()))
+                .findFirst()
+                .orElseThrow()
+                .getId();
+
+        mvc.perform(get("/bookings/owner/export").header(USER_ID, bookerId))
+                .andExpect(status().isNotFound());
+    }
+
+    private List<String> export(String format) throws Exception {
+        MvcResult result = mvc.perform(get("/bookings/owner/export")
+                        .header(USER_ID, owner.getId())
+                        .param("format", format))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String body = mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString(StandardCharsets.UTF_8);
+        return body.lines().toList();
+    }
+}
@@ -5,9 +5,12 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import ru.practicum.shareit.booking.dto.BookingRequest;
 import ru.practicum.shareit.booking.dto.BookingResponse;
+import ru.practicum.shareit.booking.dto.BookingView;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.model.User;
 
 import java.time.LocalDateTime;
@@ -133,4 +136,31 @@ class BookingMapperTest {
 
         assertThat(responses.size()).isEqualTo(0);
     }
+
+    @Test
+    void mapViewToBookingResponseTest() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        LocalDateTime end = LocalDateTime.now().plusDays(2);
+        BookingView view = new BookingView(5L, start, end, BookingStatus.APPROVED, 1L, "item", "description",
+                true, 7L, 2L, "booker", "booker@mail.com");
+
+        BookingResponse response = bookingMapper.mapViewToBookingResponse(view);
+
+        assertThat(response.getId()).isEqualTo(5L);
+        assertThat(response.getStart()).isEqualTo(start);
+        assertThat(response.getEnd()).isEqualTo(end);
+        assertThat(response.getStatus()).isEqualTo(BookingStatus.APPROVED);
+        assertThat(response.getItem()).isEqualTo(ItemDto.builder()
+                .id(1L)
+                .name("item")
+                .description("description")
+                .available(true)
+                .requestId(7L)
+                .build());
+        assertThat(response.getBooker()).isEqualTo(UserDto.builder()
+                .id(2L)
+                .name("booker")
+                .email("booker@mail.com")
+                .build());
+    }
 }
@@ -6,7 +6,10 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
-import org.springframework.data.domain.Sort;
+import ru.practicum.shareit.booking.dto.BookingCursor;
+import ru.practicum.shareit.booking.dto.BookingState;
+import ru.practicum.shareit.booking.dto.BookingStatusView;
+import ru.practicum.shareit.booking.dto.BookingView;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.item.model.Item;
@@ -17,6 +20,7 @@ import java.time.temporal.ChronoUnit;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.AssertionsForInterfaceTypes.assertThat;
 
@@ -166,13 +170,11 @@ class BookingRepositoryTest {
     }
 
     @Test
-    void findByBookerId_returnedAllBookingsForBooker() {
-        Sort sort = Sort.by(Sort.Direction.DESC, "start");
-
-        List<Booking> result = bookingRepository.findByBookerId(booker.getId(), sort);
+    void findViewsByBookerId_returnedAllBookingsForBooker() {
+        List<BookingView> result = bookingRepository.findViewsByBookerId(booker.getId(), BookingState.ALL, now);
 
         assertThat(result).hasSize(6);
-        assertThat(result).extracting(Booking::getId)
+        assertThat(result).extracting(BookingView::id)
                 .containsExactly(
                         rejectedBooking.getId(),
                         approvedBooking.getId(),
@@ -184,68 +186,48 @@ class BookingRepositoryTest {
     }
 
     @Test
-    void getAllCurrentByBookerId_returnedCurrentBookings() {
-        Sort sort = Sort.by(Sort.Direction.DESC, "start");
-
-        List<Booking> result = bookingRepository.getAllCurrentByBookerId(booker.getId(), now, sort);
+    void findViewsByBookerId_returnedCurrentBookingsForBooker() {
+        List<BookingView> result = bookingRepository.findViewsByBookerId(booker.getId(), BookingState.CURRENT, now);
 
-        assertThat(result).hasSize(1);
-        assertThat(result.get(0).getId()).isEqualTo(currentBooking.getId());
+        assertThat(result).extracting(BookingView::id).containsExactly(currentBooking.getId());
     }
 
     @Test
-    void findByBookerIdAndEndBefore_returnedPastBookings() {
-        Sort sort = Sort.by(Sort.Direction.DESC, "start");
+    void findViewsByBookerId_returnedPastBookingsForBooker() {
+        List<BookingView> result = bookingRepository.findViewsByBookerId(booker.getId(), BookingState.PAST, now);
 
-        List<Booking> result = bookingRepository.findByBookerIdAndEndBefore(booker.getId(), now, sort);
-
-        assertThat(result).hasSize(1);
-        assertThat(result.get(0).getId()).isEqualTo(pastBooking.getId());
+        assertThat(result).extracting(BookingView::id).containsExactly(pastBooking.getId());
     }
 
     @Test
-    void findByBookerIdAndStartAfter_returnedFutureBookings() {
-        Sort sort = Sort.by(Sort.Direction.ASC, "start");
-
-        List<Booking> result = bookingRepository.findByBookerIdAndStartAfter(booker.getId(), now, sort);
+    void findViewsByBookerId_returnedFutureBookingsForBooker() {
+        List<BookingView> result = bookingRepository.findViewsByBookerId(booker.getId(), BookingState.FUTURE, now);
 
         assertThat(result).hasSize(4);
-        assertThat(result).extracting(Booking::getId)
+        assertThat(result).extracting(BookingView::id)
                 .containsExactly(
-                        futureBooking.getId(),
-                        waitingBooking.getId(),
+                        rejectedBooking.getId(),
                         approvedBooking.getId(),
-                        rejectedBooking.getId()
+                        waitingBooking.getId(),
+                        futureBooking.getId()
                 );
     }
 
     @Test
-    void findByBookerIdAndStatus_returnedBookingsByStatus() {
-        Sort sort = Sort.by(Sort.Direction.ASC, "start");
+    void findViewsByBookerId_returnedBookingsByStatusForBooker() {
+        List<BookingView> waitingResult = bookingRepository.findViewsByBookerId(booker.getId(), BookingState.WAITING, now);
+        List<BookingView> rejectedResult = bookingRepository.findViewsByBookerId(booker.getId(), BookingState.REJECTED, now);
 
-        List<Booking> waitingResult = bookingRepository.findByBookerIdAndStatus(booker.getId(), BookingStatus.WAITING, sort);
-        List<Booking> approvedResult = bookingRepository.findByBookerIdAndStatus(booker.getId(), BookingStatus.APPROVED, sort);
-        List<Booking> rejectedResult = bookingRepository.findByBookerIdAndStatus(booker.getId(), BookingStatus.REJECTED, sort);
-
-        assertThat(waitingResult).hasSize(1);
-        assertThat(waitingResult.get(0).getId()).isEqualTo(waitingBooking.getId());
-
-        assertThat(approvedResult).hasSize(4);
-        assertThat(approvedResult).extracting(Booking::getId)
-                .containsExactly(pastBooking.getId(), currentBooking.getId(), futureBooking.getId(), approvedBooking.getId());
-
-        assertThat(rejectedResult).hasSize(1);
-        assertThat(rejectedResult.get(0).getId()).isEqualTo(rejectedBooking.getId());
+        assertThat(waitingResult).extracting(BookingView::id).containsExactly(waitingBooking.getId());
+        assertThat(rejectedResult).extracting(BookingView::id).containsExactly(rejectedBooking.getId());
     }
 
     @Test
-    void getAllByOwnerId_returnedAllBookingsForOwner() {
-        Sort sort = Sort.by(Sort.Direction.DESC, "start");
-
-        List<Booking> result = bookingRepository.getAllByOwnerId(owner.getId(), sort);
+    void findViewsByOwnerId_returnedAllBookingsForOwner() {
+        List<BookingView> result = bookingRepository.findViewsByOwnerId(owner.getId(), BookingState.ALL, now);
 
         assertThat(result).hasSize(6);
-        assertThat(result).extracting(Booking::getId)
+        assertThat(result).extracting(BookingView::id)
                 .containsExactly(
                         rejectedBooking.getId(),
                         approvedBooking.getId(),
@@ -257,58 +239,84 @@ class BookingRepositoryTest {
     }
 
     @Test
-    void getAllCurrentByOwnerId_returnedCurrentBookingsForOwner() {
-        Sort sort = Sort.by(Sort.Direction.DESC, "start");
-
-        List<Booking> result = bookingRepository.getAllCurrentByOwnerId(owner.getId(), now, sort);
+    void findViewsByOwnerId_returnedCurrentBookingsForOwner() {
+        List<BookingView> result = bookingRepository.findViewsByOwnerId(owner.getId(), BookingState.CURRENT, now);
 
-        assertThat(result).hasSize(1);
-        assertThat(result.get(0).getId()).isEqualTo(currentBooking.getId());
+        assertThat(result).extracting(BookingView::id).containsExactly(currentBooking.getId());
     }
 
     @Test
-    void getAllPastByOwnerId_returnedPastBookingsForOwner() {
-        Sort sort = Sort.by(Sort.Direction.DESC, "start");
-
-        List<Booking> result = bookingRepository.getAllPastByOwnerId(owner.getId(), now, sort);
+    void findViewsByOwnerId_returnedPastBookingsForOwner() {
+        List<BookingView> result = bookingRepository.findViewsByOwnerId(owner.getId(), BookingState.PAST, now);
 
-        assertThat(result).hasSize(1);
-        assertThat(result.get(0).getId()).isEqualTo(pastBooking.getId());
+        assertThat(result).extracting(BookingView::id).containsExactly(pastBooking.getId());
     }
 
     @Test
-    void getAllFutureByOwnerId_returnedFutureBookingsForOwner() {
-        Sort sort = Sort.by(Sort.Direction.ASC, "start");
-
-        List<Booking> result = bookingRepository.getAllFutureByOwnerId(owner.getId(), now, sort);
+    void findViewsByOwnerId_returnedFutureBookingsForOwner() {
+        List<BookingView> result = bookingRepository.findViewsByOwnerId(owner.getId(), BookingState.FUTURE, now);
 
         assertThat(result).hasSize(4);
-        assertThat(result).extracting(Booking::getId)
+        assertThat(result).extracting(BookingView::id)
                 .containsExactly(
-                        futureBooking.getId(),
-                        waitingBooking.getId(),
+                        rejectedBooking.getId(),
                         approvedBooking.getId(),
-                        rejectedBooking.getId()
+                        waitingBooking.getId(),
+                        futureBooking.getId()
                 );
     }
 
     @Test
-    void getAllByOwnerIdAndStatus_returnedBookingsByStatusForOwner() {
-        Sort sort = Sort.by(Sort.Direction.ASC, "start");
+    void findViewsByOwnerId_returnedBookingsByStatusForOwner() {
+        List<BookingView> waitingResult = bookingRepository.findViewsByOwnerId(owner.getId(), BookingState.WAITING, now);
+        List<BookingView> rejectedResult = bookingRepository.findViewsByOwnerId(owner.getId(), BookingState.REJECTED, now);
+
+        assertThat(waitingResult).extracting(BookingView::id).containsExactly(waitingBooking.getId());
+        assertThat(rejectedResult).extracting(BookingView::id).containsExactly(rejectedBooking.getId());
+    }
 
-        List<Booking> waitingResult = bookingRepository.getAllByOwnerIdAndStatus(owner.getId(), BookingStatus.WAITING, sort);
-        List<Booking> approvedResult = bookingRepository.getAllByOwnerIdAndStatus(owner.getId(), BookingStatus.APPROVED, sort);
-        List<Booking> rejectedResult = bookingRepository.getAllByOwnerIdAndStatus(owner.getId(), BookingStatus.REJECTED, sort);
+    @Test
+    void findViewsByBookerId_returnedItemAndBookerFields() {
+        List<BookingView> result = bookingRepository.findViewsByBookerId(booker.getId(), BookingState.CURRENT, now);
+
+        assertThat(result).containsExactly(new BookingView(
+                currentBooking.getId(),
+                currentBooking.getStart(),
+                currentBooking.getEnd(),
+                BookingStatus.APPROVED,
+                item1.getId(),
+                "item-1",
+                "description",
+                true,
+                null,
+                booker.getId(),
+                "Booker",
+                "booker@example.com"
+        ));
+    }
 
-        assertThat(waitingResult).hasSize(1);
-        assertThat(waitingResult.get(0).getId()).isEqualTo(waitingBooking.getId());
+    @Test
+    void existsOverlapping_whenPeriodsIntersect() {
+        long itemId = item3.getId();
 
-        assertThat(approvedResult).hasSize(4);
-        assertThat(approvedResult).extracting(Booking::getId)
-                .containsExactly(pastBooking.getId(), currentBooking.getId(), futureBooking.getId(), approvedBooking.getId());
+        assertThat(bookingRepository.existsOverlapping(itemId, 0, BookingStatus.APPROVED,
+                now.plusDays(4), now.plusDays(6))).isTrue();
+        assertThat(bookingRepository.existsOverlapping(itemId, 0, BookingStatus.APPROVED,
+                now.plusDays(3), now.plusDays(4))).isTrue();
+    }
 
-        assertThat(rejectedResult).hasSize(1);
-        assertThat(rejectedResult.get(0).getId()).isEqualTo(rejectedBooking.getId());
+    @Test
+    void existsOverlapping_whenPeriodsTouchOrBookingExcluded() {
+        long itemId = item3.getId();
+
+        assertThat(bookingRepository.existsOverlapping(itemId, 0, BookingStatus.APPROVED,
+                now.plusDays(5), now.plusDays(6))).isFalse();
+        assertThat(bookingRepository.existsOverlapping(itemId, 0, BookingStatus.APPROVED,
+                now, now.plusDays(2))).isFalse();
+        assertThat(bookingRepository.existsOverlapping(itemId, futureBooking.getId(), BookingStatus.APPROVED,
+                now.plusDays(3), now.plusDays(4))).isFalse();
+        assertThat(bookingRepository.existsOverlapping(item4.getId(), 0, BookingStatus.APPROVED,
+                now.plusDays(11), now.plusDays(12))).isFalse();
     }
 
     @Test
@@ -350,6 +358,37 @@ class BookingRepositoryTest {
         assertThat(result.size()).isEqualTo(1);
     }
 
+    @Test
+    void streamViewsByOwnerId_returnedSameOrderAsList() {
+        List<BookingView> expected = bookingRepository.findViewsByOwnerId(owner.getId(), BookingState.ALL, now);
+
+        try (Stream<BookingView> result = bookingRepository.streamViewsByOwnerId(owner.getId(), BookingState.ALL, now)) {
+            assertThat(result.toList()).isEqualTo(expected).isNotEmpty();
+        }
+        try (Stream<BookingView> result = bookingRepository.streamViewsByOwnerId(999L, BookingState.ALL, now)) {
+            assertThat(result.toList()).isEmpty();
+        }
+    }
+
+    @Test
+    void getAllLastBookingsByItemIds_whenTwoCurrentBookings_returnedLatestStart() {
+        Booking secondCurrent = em.persistAndFlush(Booking.builder()
+                .booker(booker)
+                .item(item1)
+                .start(now.minusHours(1))
+                .end(now.plusHours(1))
+                .status(BookingStatus.WAITING)
+                .build());
+        List<Long> itemIds = List.of(item1.getId());
+
+        Map<Long, LocalDateTime> result = bookingRepository.getAllLastBookingsByItemIds(itemIds, now);
+
+        assertThat(result).hasSize(1);
+        assertThat(result.get(item1.getId())).isEqualToIgnoringNanos(secondCurrent.getStart());
+        assertThat(bookingRepository.getLastBookingByItemId(item1.getId(), now))
+                .isEqualToIgnoringNanos(secondCurrent.getStart());
+    }
+
     @Test
     void getAllNextBookingsByItemIds_returnedMapOfNextBookings() {
         List<Long> itemIds = List.of(item3.getId());
@@ -388,20 +427,110 @@ class BookingRepositoryTest {
     }
 
     @Test
-    void findByBookerId_returnedEmptyListForNonExistingBooker() {
-        Sort sort = Sort.by(Sort.Direction.DESC, "start");
+    void findViewsByBookerId_returnedEmptyListForNonExistingBooker() {
+        List<BookingView> result = bookingRepository.findViewsByBookerId(999L, BookingState.ALL, now);
 
-        List<Booking> result = bookingRepository.findByBookerId(999L, sort);
+        assertThat(result).isEmpty();
+    }
+
+    @Test
+    void findViewsByOwnerId_returnedEmptyListForNonExistingOwner() {
+        List<BookingView> result = bookingRepository.findViewsByOwnerId(999L, BookingState.ALL, now);
 
         assertThat(result).isEmpty();
     }
 
     @Test
-    void getAllByOwnerId_returnedEmptyListForNonExistingOwner() {
-        Sort sort = Sort.by(Sort.Direction.DESC, "start");
+    void findPageByBookerId_returnedPagesWithoutGapsAndDuplicates() {
+        List<BookingView> firstPage = bookingRepository.findPageByBookerId(booker.getId(), BookingState.ALL, now,
+                null, 4);
+        List<BookingView> secondPage = bookingRepository.findPageByBookerId(booker.getId(), BookingState.ALL, now,
+                BookingCursor.of(firstPage.getLast()), 4);
+
+        assertThat(firstPage).extracting(BookingView::id)
+                .containsExactly(
+                        rejectedBooking.getId(),
+                        approvedBooking.getId(),
+                        waitingBooking.getId(),
+                        futureBooking.getId()
+                );
+        assertThat(secondPage).extracting(BookingView::id)
+                .containsExactly(currentBooking.getId(), pastBooking.getId());
+    }
+
+    @Test
+    void findPageByBookerId_whenSameStartOrderedById() {
+        Booking sameStartBooking = em.persistAndFlush(Booking.builder()
+                .booker(booker)
+                .item(item1)
+                .start(futureBooking.getStart())
+                .end(futureBooking.getEnd())
+                .status(BookingStatus.WAITING)
+                .build());
+
+        List<BookingView> result = bookingRepository.findPageByBookerId(booker.getId(), BookingState.FUTURE, now,
+                new BookingCursor(sameStartBooking.getStart(), sameStartBooking.getId()), 10);
+
+        assertThat(result).extracting(BookingView::id)
+                .containsExactly(futureBooking.getId());
+    }
+
+    @Test
+    void findPageByOwnerId_returnedBookingsByState() {
+        List<BookingView> current = bookingRepository.findPageByOwnerId(owner.getId(), BookingState.CURRENT, now,
+                null, 10);
+        List<BookingView> past = bookingRepository.findPageByOwnerId(owner.getId(), BookingState.PAST, now,
+                null, 10);
+        List<BookingView> waiting = bookingRepository.findPageByOwnerId(owner.getId(), BookingState.WAITING, now,
+                null, 10);
+        List<BookingView> rejected = bookingRepository.findPageByOwnerId(owner.getId(), BookingState.REJECTED, now,
+                null, 10);
+
+        assertThat(current).extracting(BookingView::id).containsExactly(currentBooking.getId());
+        assertThat(past).extracting(BookingView::id).containsExactly(pastBooking.getId());
+        assertThat(waiting).extracting(BookingView::id).containsExactly(waitingBooking.getId());
+        assertThat(rejected).extracting(BookingView::id).containsExactly(rejectedBooking.getId());
+    }
 
-        List<Booking> result = bookingRepository.getAllByOwnerId(999L, sort);
+    @Test
+    void findPageByOwnerId_returnedEmptyListForNonExistingOwner() {
+        List<BookingView> result = bookingRepository.findPageByOwnerId(999L, BookingState.ALL, now, null, 10);
 
         assertThat(result).isEmpty();
     }
+
+    @Test
+    void findStatusViewsByIds_returnedOwnerAndPeriod() {
+        List<BookingStatusView> result = bookingRepository.findStatusViewsByIds(
+                List.of(waitingBooking.getId(), approvedBooking.getId(), 999L));
+
+        assertThat(result).containsExactlyInAnyOrder(
+                new BookingStatusView(waitingBooking.getId(), item4.getId(), owner.getId(), booker.getId(),
+                        now.plusDays(10), now.plusDays(15), BookingStatus.WAITING),
+                new BookingStatusView(approvedBooking.getId(), item5.getId(), owner.getId(), booker.getId(),
+                        now.plusDays(20), now.plusDays(25), BookingStatus.APPROVED));
+    }
+
+    @Test
+    void findStatusViewsOverlapping_returnedApprovedBookingsOfItemsInPeriod() {
+        List<BookingStatusView> result = bookingRepository.findStatusViewsOverlapping(
+                List.of(item1.getId(), item3.getId(), item5.getId()), BookingStatus.APPROVED,
+                now, now.plusDays(20));
+
+        assertThat(result).extracting(BookingStatusView::id)
+                .containsExactlyInAnyOrder(currentBooking.getId(), futureBooking.getId());
+    }
+
+    @Test
+    void updateStatuses_updatedOnlyBookingsInExpectedStatus() {
+        int updated = bookingRepository.updateStatuses(List.of(waitingBooking.getId(), rejectedBooking.getId()),
+                BookingStatus.WAITING, BookingStatus.APPROVED);
+        em.clear();
+
+        assertThat(updated).isEqualTo(1);
+        assertThat(bookingRepository.findById(waitingBooking.getId()).orElseThrow().getStatus())
+                .isEqualTo(BookingStatus.APPROVED);
+        assertThat(bookingRepository.findById(rejectedBooking.getId()).orElseThrow().getStatus())
+                .isEqualTo(BookingStatus.REJECTED);
+    }
 }
@@ -0,0 +1,169 @@
+package ru.practicum.shareit.booking.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.RepeatedTest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.exception.BookingConflictException;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Параллельное подтверждение пересекающихся бронирований одной вещи:
+ * подтверждено должно быть ровно одно, остальные получают конфликт.
+ * Тест не транзакционный, каждый поток работает в своей транзакции.
+ */
+@SpringBootTest
+@AutoConfigureTestDatabase
+@ActiveProfiles("test")
+class BookingApprovalConcurrencyIT {
+
+    private static final int THREADS = 16;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User owner;
+    private Item hotItem;
+    private Item otherItem;
+    private List<Booking> hotBookings;
+    private Booking otherBooking;
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+        LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.HOURS);
+        owner = userRepository.save(User.builder().name("owner").email("owner@mail.com").build());
+        User booker = userRepository.save(User.builder().name("booker").email("booker@mail.com").build());
+        hotItem = itemRepository.save(Item.builder().name("hot").description("hot item").available(true)
+                .owner(owner).build());
+        otherItem = itemRepository.save(Item.builder().name("other").description("other item").available(true)
+                .owner(owner).build());
+
+        hotBookings = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            hotBookings.add(bookingRepository.save(Booking.builder().item(hotItem).booker(booker)
+                    .start(start.plusHours(i)).end(start.plusDays(1).plusHours(i))
+                    .status(BookingStatus.WAITING).build()));
+        }
+        otherBooking = bookingRepository.save(Booking.builder().item(otherItem).booker(booker)
+                .start(start).end(start.plusDays(1)).status(BookingStatus.WAITING).build());
+    }
+
+    @AfterEach
+    void cleanUp() {
+        bookingRepository.deleteAll();
+        itemRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @RepeatedTest(3)
+    void approveOverlappingBookings_onlyOneApproved() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS + 1);
+        CountDownLatch startSignal = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+        try {
+            for (Booking booking : hotBookings) {
+                results.add(executor.submit(() -> approve(startSignal, booking)));
+            }
+            Future<Boolean> otherResult = executor.submit(() -> approve(startSignal, otherBooking));
+            startSignal.countDown();
+
+            int approved = 0;
+            for (Future<Boolean> result : results) {
+                if (result.get(30, TimeUnit.SECONDS)) {
+                    approved++;
+                }
+            }
+
+            assertThat(approved).isEqualTo(1);
+            assertThat(otherResult.get(30, TimeUnit.SECONDS)).isTrue();
+        } finally {
+            executor.shutdownNow();
+        }
+
+        List<Booking> approvedHot = bookingRepository.findAll().stream()
+                .filter(booking -> booking.getStatus() == BookingStatus.APPROVED)
+                .filter(booking -> !booking.getId().equals(otherBooking.getId()))
+                .toList();
+        assertThat(approvedHot).hasSize(1);
+    }
+
+    @RepeatedTest(3)
+    void approveOverlappingBookingsInBatches_onlyOneApproved() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch startSignal = new CountDownLatch(1);
+        List<Future<?>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < THREADS; i++) {
+                List<Long> batch = List.of(hotBookings.get(i).getId(), hotBookings.get((i + 1) % THREADS).getId(),
+                        otherBooking.getId());
+                results.add(executor.submit(() -> approveBatch(startSignal, batch)));
+            }
+            startSignal.countDown();
+            for (Future<?> result : results) {
+                result.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        List<Booking> approved = bookingRepository.findAll().stream()
+                .filter(booking -> booking.getStatus() == BookingStatus.APPROVED)
+                .toList();
+        assertThat(approved).hasSize(2);
+        assertThat(approved).extracting(Booking::getId).contains(otherBooking.getId());
+    }
+
+    /**
+     * @return false, если статус бронирований пакета изменился параллельно и пакет откатился целиком
+     */
+    private boolean approveBatch(CountDownLatch startSignal, List<Long> bookingIds) throws InterruptedException {
+        startSignal.await();
+        try {
+            bookingService.updateBookingStatuses(owner.getId(), bookingIds, true);
+            return true;
+        } catch (BookingConflictException e) {
+            return false;
+        }
+    }
+
+    private boolean approve(CountDownLatch startSignal, Booking booking) throws InterruptedException {
+        startSignal.await();
+        try {
+            bookingService.updateBookingStatus(owner.getId(), booking.getId(), true);
+            return true;
+        } catch (BookingConflictException e) {
+            return false;
+        }
+    }
+}
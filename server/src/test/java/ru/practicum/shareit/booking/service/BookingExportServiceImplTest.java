@@ -0,0 +1,111 @@
+package ru.practicum.shareit.booking.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.booking.dto.BookingExportFormat;
+import ru.practicum.shareit.booking.dto.BookingResponse;
+import ru.practicum.shareit.booking.dto.BookingState;
+import ru.practicum.shareit.booking.dto.BookingView;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.validation.ValidationUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BookingExportServiceImplTest {
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private BookingMapper bookingMapper;
+
+    @Mock
+    private ValidationUtils validation;
+
+    private BookingExportServiceImpl service;
+
+    private final LocalDateTime start = LocalDateTime.of(2026, 1, 10, 12, 0);
+    private final LocalDateTime end = LocalDateTime.of(2026, 1, 11, 12, 0);
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        service = new BookingExportServiceImpl(bookingRepository, bookingMapper, objectMapper, validation);
+    }
+
+    @Test
+    void exportBookingsByOwnerItems_whenNdjson_thenOneObjectPerLine() throws Exception {
+        BookingView first = view(2L, "drill", "booker");
+        BookingView second = view(1L, "saw", "booker");
+        when(bookingRepository.streamViewsByOwnerId(eq(1L), eq(BookingState.ALL), any(LocalDateTime.class)))
+                .thenReturn(Stream.of(first, second).onClose(() -> closed.set(true)));
+        when(bookingMapper.mapViewToBookingResponse(first)).thenReturn(BookingResponse.builder().id(2L)
+                .start(start).status(BookingStatus.APPROVED).build());
+        when(bookingMapper.mapViewToBookingResponse(second)).thenReturn(BookingResponse.builder().id(1L).build());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        service.exportBookingsByOwnerItems(1L, BookingState.ALL, BookingExportFormat.NDJSON, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n", -1);
+        assertThat(lines).hasSize(3);
+        assertThat(lines[0]).startsWith("{\"id\":2,\"start\":\"2026-01-10T12:00:00\"").contains("\"status\":\"APPROVED\"");
+        assertThat(lines[1]).startsWith("{\"id\":1,");
+        assertThat(lines[2]).isEmpty();
+        assertThat(closed).isTrue();
+    }
+
+    @Test
+    void exportBookingsByOwnerItems_whenCsv_thenEscapedRows() throws Exception {
+        when(bookingRepository.streamViewsByOwnerId(eq(1L), eq(BookingState.PAST), any(LocalDateTime.class)))
+                .thenReturn(Stream.of(view(3L, "drill, cordless", "Ivan \"Booker\"")).onClose(() -> closed.set(true)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        service.exportBookingsByOwnerItems(1L, BookingState.PAST, BookingExportFormat.CSV, out);
+
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo(BookingExportServiceImpl.CSV_HEADER + "\n"
+                + "3,2026-01-10T12:00,2026-01-11T12:00,APPROVED,10,\"drill, cordless\",,20,"
+                + "\"Ivan \"\"Booker\"\"\",booker@mail.com\n");
+        assertThat(closed).isTrue();
+    }
+
+    @Test
+    void checkOwner_delegatesToValidation() {
+        service.checkOwner(1L);
+
+        verify(validation).validationOwnerHasItems(1L);
+    }
+
+    @Test
+    void csvField_whenSpecialCharacters_thenQuoted() {
+        assertThat(BookingExportServiceImpl.csvField(null)).isEmpty();
+        assertThat(BookingExportServiceImpl.csvField("plain")).isEqualTo("plain");
+        assertThat(BookingExportServiceImpl.csvField("two\nlines")).isEqualTo("\"two\nlines\"");
+        assertThat(BookingExportServiceImpl.csvField("a\"b")).isEqualTo("\"a\"\"b\"");
+    }
+
+    private BookingView view(long id, String itemName, String bookerName) {
+        return new BookingView(id, start, end, BookingStatus.APPROVED, 10L, itemName, "description", true, null,
+                20L, bookerName, "booker@mail.com");
+    }
+}
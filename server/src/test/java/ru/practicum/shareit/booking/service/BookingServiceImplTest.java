@@ -2,31 +2,44 @@ package ru.practicum.shareit.booking.service;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.Sort;
+import org.springframework.context.ApplicationEventPublisher;
+import ru.practicum.shareit.booking.dto.BookingCursor;
+import ru.practicum.shareit.booking.dto.BookingPage;
 import ru.practicum.shareit.booking.dto.BookingRequest;
 import ru.practicum.shareit.booking.dto.BookingResponse;
 import ru.practicum.shareit.booking.dto.BookingState;
+import ru.practicum.shareit.booking.dto.BookingStatusResult;
+import ru.practicum.shareit.booking.dto.BookingStatusView;
+import ru.practicum.shareit.booking.dto.BookingView;
+import ru.practicum.shareit.booking.event.BookingChangedEvent;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.exception.BookingConflictException;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.validation.ValidationUtils;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.LongStream;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -45,11 +58,15 @@ class BookingServiceImplTest {
     @Mock
     private BookingMapper bookingMapper;
 
+    @Mock
+    private ValidationUtils validation;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private BookingServiceImpl bookingService;
 
-    private static final Sort SORT_START = Sort.by(Sort.Direction.DESC, "start");
-
     @Test
     void addBooking_whenValidData() {
         long bookerId = 1L;
@@ -57,8 +74,9 @@ class BookingServiceImplTest {
         BookingRequest bookingRequest = BookingRequest.builder().itemId(itemId).build();
         User booker = User.builder().id(bookerId).build();
         Item item = Item.builder().id(itemId).build();
-        Booking booking = Booking.builder().build();
-        Booking savedBooking = Booking.builder().build();
+        Booking booking = Booking.builder().item(item).build();
+        Booking savedBooking = Booking.builder().id(5L).item(item).booker(booker).status(BookingStatus.WAITING)
+                .build();
         BookingResponse response = BookingResponse.builder().build();
 
         when(userRepository.findById(bookerId)).thenReturn(Optional.of(booker));
@@ -70,7 +88,31 @@ class BookingServiceImplTest {
         BookingResponse result = bookingService.addBooking(bookingRequest, bookerId);
 
         assertThat(result).isEqualTo(response);
+        verify(bookingRepository).existsOverlapping(itemId, 0, BookingStatus.APPROVED, null, null);
         verify(bookingRepository).save(booking);
+        verify(eventPublisher).publishEvent(new BookingChangedEvent(5L, itemId, bookerId, null, null,
+                BookingStatus.WAITING));
+    }
+
+    @Test
+    void addBooking_whenOverlapsApprovedBooking() {
+        long bookerId = 1L;
+        long itemId = 2L;
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        LocalDateTime end = start.plusDays(1);
+        BookingRequest bookingRequest = BookingRequest.builder().itemId(itemId).start(start).end(end).build();
+        User booker = User.builder().id(bookerId).build();
+        Item item = Item.builder().id(itemId).build();
+        Booking booking = Booking.builder().item(item).start(start).end(end).build();
+
+        when(userRepository.findById(bookerId)).thenReturn(Optional.of(booker));
+        when(itemRepository.findById(itemId)).thenReturn(Optional.of(item));
+        when(bookingMapper.mapToBooking(bookingRequest, item, booker)).thenReturn(booking);
+        when(bookingRepository.existsOverlapping(itemId, 0, BookingStatus.APPROVED, start, end)).thenReturn(true);
+
+        assertThrows(BookingConflictException.class, () -> bookingService.addBooking(bookingRequest, bookerId));
+
+        verify(bookingRepository, never()).save(any());
     }
 
     @Test
@@ -103,263 +145,449 @@ class BookingServiceImplTest {
 
     @Test
     void updateBookingStatusTest() {
+        long ownerId = 2L;
         long bookingId = 1L;
-        Booking booking = Booking.builder().id(bookingId).status(BookingStatus.WAITING).build();
+        Item item = Item.builder().id(3L).build();
+        Booking booking = Booking.builder().id(bookingId).item(item).booker(User.builder().id(4L).build())
+                .status(BookingStatus.WAITING).build();
         BookingResponse response = BookingResponse.builder().id(bookingId).status(BookingStatus.APPROVED).build();
 
-        when(bookingRepository.findById(bookingId)).thenReturn(Optional.of(booking));
+        when(bookingRepository.findWithItemAndBookerById(bookingId)).thenReturn(Optional.of(booking));
         when(bookingMapper.mapToBookingResponse(booking)).thenReturn(response);
 
-        BookingResponse result = bookingService.updateBookingStatus(bookingId, true);
+        BookingResponse result = bookingService.updateBookingStatus(ownerId, bookingId, true);
 
         assertThat(result.getStatus()).isEqualTo(BookingStatus.APPROVED);
         assertThat(booking.getStatus()).isEqualTo(BookingStatus.APPROVED);
-        verify(bookingRepository).findById(bookingId);
+        verify(bookingRepository).findWithItemAndBookerById(bookingId);
+        verify(validation).validationForUpdateBookingStatus(booking, ownerId);
+        InOrder inOrder = inOrder(itemRepository, bookingRepository);
+        inOrder.verify(itemRepository).lockById(3L);
+        inOrder.verify(bookingRepository).existsOverlapping(3L, bookingId, BookingStatus.APPROVED, null, null);
+        verify(eventPublisher).publishEvent(new BookingChangedEvent(bookingId, 3L, 4L, null, null,
+                BookingStatus.APPROVED));
+    }
+
+    @Test
+    void updateBookingStatus_whenOverlapsApprovedBooking() {
+        long ownerId = 2L;
+        long bookingId = 1L;
+        Item item = Item.builder().id(3L).build();
+        Booking booking = Booking.builder().id(bookingId).item(item).status(BookingStatus.WAITING).build();
+
+        when(bookingRepository.findWithItemAndBookerById(bookingId)).thenReturn(Optional.of(booking));
+        when(bookingRepository.existsOverlapping(3L, bookingId, BookingStatus.APPROVED, null, null)).thenReturn(true);
+
+        assertThrows(BookingConflictException.class, () -> bookingService.updateBookingStatus(ownerId, bookingId, true));
+
+        assertThat(booking.getStatus()).isEqualTo(BookingStatus.WAITING);
     }
 
     @Test
     void updateBookingStatus_whenApprovedFalse() {
+        long ownerId = 2L;
         long bookingId = 1L;
-        Booking booking = Booking.builder().id(bookingId).status(BookingStatus.WAITING).build();
+        Booking booking = Booking.builder().id(bookingId).item(Item.builder().id(3L).build())
+                .booker(User.builder().id(4L).build()).status(BookingStatus.WAITING).build();
         BookingResponse response = BookingResponse.builder().id(bookingId).status(BookingStatus.REJECTED).build();
 
-        when(bookingRepository.findById(bookingId)).thenReturn(Optional.of(booking));
+        when(bookingRepository.findWithItemAndBookerById(bookingId)).thenReturn(Optional.of(booking));
         when(bookingMapper.mapToBookingResponse(booking)).thenReturn(response);
 
-        BookingResponse result = bookingService.updateBookingStatus(bookingId, false);
+        BookingResponse result = bookingService.updateBookingStatus(ownerId, bookingId, false);
 
         assertThat(result.getStatus()).isEqualTo(BookingStatus.REJECTED);
         assertThat(booking.getStatus()).isEqualTo(BookingStatus.REJECTED);
+        verifyNoInteractions(itemRepository);
+    }
+
+    @Test
+    void updateBookingStatuses_whenApproved_thenOverlapsRejectedAndOthersUpdatedInOneStatement() {
+        long ownerId = 2L;
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 12, 0);
+        BookingStatusView first = statusView(1L, 10L, ownerId, start, BookingStatus.WAITING);
+        BookingStatusView overlapsFirst = statusView(2L, 10L, ownerId, start.plusHours(12), BookingStatus.WAITING);
+        BookingStatusView overlapsApproved = statusView(3L, 11L, ownerId, start, BookingStatus.WAITING);
+        BookingStatusView foreign = statusView(4L, 12L, 7L, start, BookingStatus.WAITING);
+        BookingStatusView rejected = statusView(5L, 10L, ownerId, start, BookingStatus.REJECTED);
+        BookingStatusView existing = statusView(20L, 11L, ownerId, start.minusHours(1), BookingStatus.APPROVED);
+
+        when(bookingRepository.findStatusViewsByIds(Set.of(1L, 2L, 3L, 4L, 5L, 6L)))
+                .thenReturn(List.of(first, overlapsFirst, overlapsApproved, foreign, rejected));
+        when(bookingRepository.findStatusViewsOverlapping(Set.of(10L, 11L), BookingStatus.APPROVED, start,
+                start.plusHours(36))).thenReturn(List.of(existing));
+        when(bookingRepository.updateStatuses(List.of(1L), BookingStatus.WAITING, BookingStatus.APPROVED))
+                .thenReturn(1);
+
+        List<BookingStatusResult> results = bookingService.updateBookingStatuses(ownerId,
+                List.of(1L, 2L, 3L, 4L, 5L, 6L, 1L), true);
+
+        assertEquals(6, results.size());
+        assertEquals(BookingStatusResult.builder().bookingId(1L).status(BookingStatus.APPROVED).build(),
+                results.get(0));
+        assertThat(results.get(1).getError()).startsWith("Вещь с id - 10 уже забронирована");
+        assertThat(results.get(2).getError()).startsWith("Вещь с id - 11 уже забронирована");
+        assertEquals("Пользователь с id - 2 не является хозяином вещи.", results.get(3).getError());
+        assertEquals("Бронирование с id - 5 уже рассмотрено, статус REJECTED.", results.get(4).getError());
+        assertEquals("Бронирование с таким id - 6 не найдено.", results.get(5).getError());
+        assertThat(results.get(1).getStatus()).isNull();
+        InOrder inOrder = inOrder(itemRepository, bookingRepository);
+        inOrder.verify(itemRepository).lockAllById(Set.of(10L, 11L));
+        inOrder.verify(bookingRepository).findStatusViewsOverlapping(Set.of(10L, 11L), BookingStatus.APPROVED, start,
+                start.plusHours(36));
+        inOrder.verify(bookingRepository).updateStatuses(List.of(1L), BookingStatus.WAITING, BookingStatus.APPROVED);
+        verify(eventPublisher).publishEvent(new BookingChangedEvent(1L, 10L, 30L, start, start.plusDays(1),
+                BookingStatus.APPROVED));
+        verifyNoMoreInteractions(eventPublisher);
+    }
+
+    @Test
+    void updateBookingStatuses_whenRejected_thenNoLocksOrOverlapCheck() {
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 12, 0);
+        when(bookingRepository.findStatusViewsByIds(Set.of(1L, 2L))).thenReturn(List.of(
+                statusView(1L, 10L, 2L, start, BookingStatus.WAITING),
+                statusView(2L, 10L, 2L, start, BookingStatus.WAITING)));
+        when(bookingRepository.updateStatuses(List.of(1L, 2L), BookingStatus.WAITING, BookingStatus.REJECTED))
+                .thenReturn(2);
+
+        List<BookingStatusResult> results = bookingService.updateBookingStatuses(2L, List.of(1L, 2L), false);
+
+        assertThat(results.get(0).getStatus()).isEqualTo(BookingStatus.REJECTED);
+        assertThat(results.get(1).getStatus()).isEqualTo(BookingStatus.REJECTED);
+        verifyNoInteractions(itemRepository);
+        verify(bookingRepository, never()).findStatusViewsOverlapping(any(), any(), any(), any());
+    }
+
+    @Test
+    void updateBookingStatuses_whenChangedConcurrently_thenConflict() {
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 12, 0);
+        when(bookingRepository.findStatusViewsByIds(Set.of(1L)))
+                .thenReturn(List.of(statusView(1L, 10L, 2L, start, BookingStatus.WAITING)));
+        when(bookingRepository.updateStatuses(List.of(1L), BookingStatus.WAITING, BookingStatus.REJECTED))
+                .thenReturn(0);
+
+        assertThrows(BookingConflictException.class,
+                () -> bookingService.updateBookingStatuses(2L, List.of(1L), false));
+    }
+
+    @Test
+    void updateBookingStatuses_whenTooManyIds_thenValidationException() {
+        List<Long> ids = LongStream.rangeClosed(1, BookingServiceImpl.MAX_STATUS_BATCH_SIZE + 1).boxed().toList();
+
+        assertThrows(ValidationException.class, () -> bookingService.updateBookingStatuses(2L, ids, true));
+
+        verifyNoInteractions(bookingRepository);
     }
 
     @Test
     void updateBookingStatus_whenBookingNotFound() {
+        long ownerId = 2L;
         long bookingId = 999L;
 
-        when(bookingRepository.findById(bookingId)).thenReturn(Optional.empty());
+        when(bookingRepository.findWithItemAndBookerById(bookingId)).thenReturn(Optional.empty());
 
-        assertThrows(NotFoundException.class, () -> bookingService.updateBookingStatus(bookingId, true));
+        assertThrows(NotFoundException.class, () -> bookingService.updateBookingStatus(ownerId, bookingId, true));
     }
 
     @Test
     void getBookingByIdTest() {
+        long userId = 2L;
         long bookingId = 1L;
         Booking booking = Booking.builder().id(bookingId).build();
         BookingResponse response = BookingResponse.builder().id(bookingId).build();
 
-        when(bookingRepository.findById(bookingId)).thenReturn(Optional.of(booking));
+        when(bookingRepository.findWithItemAndBookerById(bookingId)).thenReturn(Optional.of(booking));
         when(bookingMapper.mapToBookingResponse(booking)).thenReturn(response);
 
-        BookingResponse result = bookingService.getBookingById(bookingId);
+        BookingResponse result = bookingService.getBookingById(userId, bookingId);
 
         assertThat(result).isEqualTo(response);
-        verify(bookingRepository).findById(bookingId);
+        verify(bookingRepository).findWithItemAndBookerById(bookingId);
+        verify(validation).validationForGetBookingById(booking, userId);
     }
 
     @Test
     void getBookingById_whenBookingNotFound() {
+        long userId = 2L;
         long bookingId = 9L;
 
-        when(bookingRepository.findById(bookingId)).thenReturn(Optional.empty());
+        when(bookingRepository.findWithItemAndBookerById(bookingId)).thenReturn(Optional.empty());
 
-        assertThrows(NotFoundException.class, () -> bookingService.getBookingById(bookingId));
+        assertThrows(NotFoundException.class, () -> bookingService.getBookingById(userId, bookingId));
     }
 
     @Test
     void getBookingsByBookerIdTest() {
         long bookerId = 1L;
-        Booking booking1 = Booking.builder().id(1L).build();
-        Booking booking2 = Booking.builder().id(2L).build();
-        List<Booking> bookings = List.of(booking1, booking2);
+        List<BookingView> bookings = List.of(view(1L, null), view(2L, null));
         BookingResponse response1 = BookingResponse.builder().id(1L).build();
         BookingResponse response2 = BookingResponse.builder().id(2L).build();
         List<BookingResponse> expected = List.of(response1, response2);
 
-        when(bookingRepository.findByBookerId(bookerId, SORT_START)).thenReturn(bookings);
-        when(bookingMapper.mapToBookingResponseList(bookings)).thenReturn(expected);
+        when(bookingRepository.findViewsByBookerId(eq(bookerId), eq(BookingState.ALL), any(LocalDateTime.class)))
+                .thenReturn(bookings);
+        when(bookingMapper.mapViewsToBookingResponseList(bookings)).thenReturn(expected);
 
         List<BookingResponse> result = bookingService.getBookingsByBookerId(bookerId, BookingState.ALL);
 
         assertThat(result.size()).isEqualTo(2);
         assertThat(result).isEqualTo(expected);
-        verify(bookingRepository).findByBookerId(bookerId, SORT_START);
+        verify(bookingRepository).findViewsByBookerId(eq(bookerId), eq(BookingState.ALL), any(LocalDateTime.class));
     }
 
     @Test
     void getBookingsByBookerId_returnedCurrentBookings() {
         long bookerId = 1L;
-        List<Booking> bookings = List.of(Booking.builder().id(1L).build());
-        List<BookingResponse> expected = List.of(BookingResponse.builder().id(1L).build());
+        List<BookingView> bookings = List.of(view(1L, null));
 
-        when(bookingRepository.getAllCurrentByBookerId(eq(bookerId), any(LocalDateTime.class), eq(SORT_START)))
+        when(bookingRepository.findViewsByBookerId(eq(bookerId), eq(BookingState.CURRENT), any(LocalDateTime.class)))
                 .thenReturn(bookings);
-        when(bookingMapper.mapToBookingResponseList(bookings)).thenReturn(expected);
+        when(bookingMapper.mapViewsToBookingResponseList(bookings))
+                .thenReturn(List.of(BookingResponse.builder().id(1L).build()));
 
         List<BookingResponse> result = bookingService.getBookingsByBookerId(bookerId, BookingState.CURRENT);
 
         assertThat(result.size()).isEqualTo(1);
-        verify(bookingRepository).getAllCurrentByBookerId(eq(bookerId), any(LocalDateTime.class), eq(SORT_START));
+        verify(bookingRepository).findViewsByBookerId(eq(bookerId), eq(BookingState.CURRENT), any(LocalDateTime.class));
     }
 
     @Test
     void getBookingsByBookerId_returnedPastBookings() {
         long bookerId = 1L;
-        List<Booking> bookings = List.of(Booking.builder().id(1L).build());
+        List<BookingView> bookings = List.of(view(1L, null));
 
-        when(bookingRepository.findByBookerIdAndEndBefore(eq(bookerId), any(LocalDateTime.class), eq(SORT_START)))
+        when(bookingRepository.findViewsByBookerId(eq(bookerId), eq(BookingState.PAST), any(LocalDateTime.class)))
                 .thenReturn(bookings);
-        when(bookingMapper.mapToBookingResponseList(bookings)).thenReturn(List.of());
+        when(bookingMapper.mapViewsToBookingResponseList(bookings))
+                .thenReturn(List.of(BookingResponse.builder().id(1L).build()));
 
         List<BookingResponse> result = bookingService.getBookingsByBookerId(bookerId, BookingState.PAST);
 
-        assertThat(result.size()).isEqualTo(0);
-        verify(bookingRepository).findByBookerIdAndEndBefore(eq(bookerId), any(LocalDateTime.class), eq(SORT_START));
+        assertThat(result.size()).isEqualTo(1);
+        verify(bookingRepository).findViewsByBookerId(eq(bookerId), eq(BookingState.PAST), any(LocalDateTime.class));
     }
 
     @Test
     void getBookingsByBookerId_returnedFutureBookings() {
         long bookerId = 1L;
-        List<Booking> bookings = List.of(Booking.builder().id(1L).build());
+        List<BookingView> bookings = List.of(view(1L, null));
 
-        when(bookingRepository.findByBookerIdAndStartAfter(eq(bookerId), any(LocalDateTime.class), eq(SORT_START)))
+        when(bookingRepository.findViewsByBookerId(eq(bookerId), eq(BookingState.FUTURE), any(LocalDateTime.class)))
                 .thenReturn(bookings);
-        when(bookingMapper.mapToBookingResponseList(bookings)).thenReturn(List.of());
+        when(bookingMapper.mapViewsToBookingResponseList(bookings))
+                .thenReturn(List.of(BookingResponse.builder().id(1L).build()));
 
         List<BookingResponse> result = bookingService.getBookingsByBookerId(bookerId, BookingState.FUTURE);
 
-        assertThat(result.size()).isEqualTo(0);
-        verify(bookingRepository).findByBookerIdAndStartAfter(eq(bookerId), any(LocalDateTime.class), eq(SORT_START));
+        assertThat(result.size()).isEqualTo(1);
+        verify(bookingRepository).findViewsByBookerId(eq(bookerId), eq(BookingState.FUTURE), any(LocalDateTime.class));
     }
 
     @Test
     void getBookingsByBookerId_returnedWaitingBookings() {
         long bookerId = 1L;
-        List<Booking> bookings = List.of(Booking.builder().id(1L).build());
+        List<BookingView> bookings = List.of(view(1L, null));
 
-        when(bookingRepository.findByBookerIdAndStatus(bookerId, BookingStatus.WAITING, SORT_START))
+        when(bookingRepository.findViewsByBookerId(eq(bookerId), eq(BookingState.WAITING), any(LocalDateTime.class)))
                 .thenReturn(bookings);
-        when(bookingMapper.mapToBookingResponseList(bookings)).thenReturn(List.of());
+        when(bookingMapper.mapViewsToBookingResponseList(bookings))
+                .thenReturn(List.of(BookingResponse.builder().id(1L).build()));
 
         List<BookingResponse> result = bookingService.getBookingsByBookerId(bookerId, BookingState.WAITING);
 
-        assertThat(result.size()).isEqualTo(0);
-        verify(bookingRepository).findByBookerIdAndStatus(bookerId, BookingStatus.WAITING, SORT_START);
+        assertThat(result.size()).isEqualTo(1);
+        verify(bookingRepository).findViewsByBookerId(eq(bookerId), eq(BookingState.WAITING), any(LocalDateTime.class));
     }
 
     @Test
     void getBookingsByBookerId_returnedRejectedBookings() {
         long bookerId = 1L;
-        List<Booking> bookings = List.of(Booking.builder().id(1L).build());
+        List<BookingView> bookings = List.of(view(1L, null));
 
-        when(bookingRepository.findByBookerIdAndStatus(bookerId, BookingStatus.REJECTED, SORT_START))
+        when(bookingRepository.findViewsByBookerId(eq(bookerId), eq(BookingState.REJECTED), any(LocalDateTime.class)))
                 .thenReturn(bookings);
-        when(bookingMapper.mapToBookingResponseList(bookings)).thenReturn(List.of());
+        when(bookingMapper.mapViewsToBookingResponseList(bookings))
+                .thenReturn(List.of(BookingResponse.builder().id(1L).build()));
 
         List<BookingResponse> result = bookingService.getBookingsByBookerId(bookerId, BookingState.REJECTED);
 
-        assertThat(result.size()).isEqualTo(0);
-        verify(bookingRepository).findByBookerIdAndStatus(bookerId, BookingStatus.REJECTED, SORT_START);
+        assertThat(result.size()).isEqualTo(1);
+        verify(bookingRepository).findViewsByBookerId(eq(bookerId), eq(BookingState.REJECTED), any(LocalDateTime.class));
     }
 
     @Test
     void getBookingsByOwnerItems_returnedAllBookings() {
         long ownerId = 1L;
-        List<Booking> bookings = List.of(Booking.builder().id(1L).build());
-        List<BookingResponse> expected = List.of(BookingResponse.builder().id(1L).build());
+        List<BookingView> bookings = List.of(view(1L, null));
 
-        when(bookingRepository.getAllByOwnerId(ownerId, SORT_START)).thenReturn(bookings);
-        when(bookingMapper.mapToBookingResponseList(bookings)).thenReturn(expected);
+        when(bookingRepository.findViewsByOwnerId(eq(ownerId), eq(BookingState.ALL), any(LocalDateTime.class)))
+                .thenReturn(bookings);
+        when(bookingMapper.mapViewsToBookingResponseList(bookings))
+                .thenReturn(List.of(BookingResponse.builder().id(1L).build()));
 
         List<BookingResponse> result = bookingService.getBookingsByOwnerItems(ownerId, BookingState.ALL);
 
         assertThat(result.size()).isEqualTo(1);
-        verify(bookingRepository).getAllByOwnerId(ownerId, SORT_START);
+        verify(bookingRepository).findViewsByOwnerId(eq(ownerId), eq(BookingState.ALL), any(LocalDateTime.class));
     }
 
     @Test
     void getBookingsByOwnerItems_returnedCurrentBookings() {
         long ownerId = 1L;
-        List<Booking> bookings = List.of(Booking.builder().id(1L).build());
+        List<BookingView> bookings = List.of(view(1L, null));
 
-        when(bookingRepository.getAllCurrentByOwnerId(eq(ownerId), any(LocalDateTime.class), eq(SORT_START)))
+        when(bookingRepository.findViewsByOwnerId(eq(ownerId), eq(BookingState.CURRENT), any(LocalDateTime.class)))
                 .thenReturn(bookings);
-        when(bookingMapper.mapToBookingResponseList(bookings)).thenReturn(List.of());
+        when(bookingMapper.mapViewsToBookingResponseList(bookings))
+                .thenReturn(List.of(BookingResponse.builder().id(1L).build()));
 
         List<BookingResponse> result = bookingService.getBookingsByOwnerItems(ownerId, BookingState.CURRENT);
 
-        assertThat(result.size()).isEqualTo(0);
-        verify(bookingRepository).getAllCurrentByOwnerId(eq(ownerId), any(LocalDateTime.class), eq(SORT_START));
+        assertThat(result.size()).isEqualTo(1);
+        verify(bookingRepository).findViewsByOwnerId(eq(ownerId), eq(BookingState.CURRENT), any(LocalDateTime.class));
     }
 
     @Test
     void getBookingsByOwnerItems_returnedPastBookings() {
         long ownerId = 1L;
-        List<Booking> bookings = List.of(Booking.builder().id(1L).build());
+        List<BookingView> bookings = List.of(view(1L, null));
 
-        when(bookingRepository.getAllPastByOwnerId(eq(ownerId), any(LocalDateTime.class), eq(SORT_START)))
+        when(bookingRepository.findViewsByOwnerId(eq(ownerId), eq(BookingState.PAST), any(LocalDateTime.class)))
                 .thenReturn(bookings);
-        when(bookingMapper.mapToBookingResponseList(bookings)).thenReturn(List.of());
+        when(bookingMapper.mapViewsToBookingResponseList(bookings))
+                .thenReturn(List.of(BookingResponse.builder().id(1L).build()));
 
         List<BookingResponse> result = bookingService.getBookingsByOwnerItems(ownerId, BookingState.PAST);
 
-        assertThat(result.size()).isEqualTo(0);
-        verify(bookingRepository).getAllPastByOwnerId(eq(ownerId), any(LocalDateTime.class), eq(SORT_START));
+        assertThat(result.size()).isEqualTo(1);
+        verify(bookingRepository).findViewsByOwnerId(eq(ownerId), eq(BookingState.PAST), any(LocalDateTime.class));
     }
 
     @Test
     void getBookingsByOwnerItems_returnedFutureBookings() {
         long ownerId = 1L;
-        List<Booking> bookings = List.of(Booking.builder().id(1L).build());
+        List<BookingView> bookings = List.of(view(1L, null));
 
-        when(bookingRepository.getAllFutureByOwnerId(eq(ownerId), any(LocalDateTime.class), eq(SORT_START)))
+        when(bookingRepository.findViewsByOwnerId(eq(ownerId), eq(BookingState.FUTURE), any(LocalDateTime.class)))
                 .thenReturn(bookings);
-        when(bookingMapper.mapToBookingResponseList(bookings)).thenReturn(List.of());
+        when(bookingMapper.mapViewsToBookingResponseList(bookings))
+                .thenReturn(List.of(BookingResponse.builder().id(1L).build()));
 
         List<BookingResponse> result = bookingService.getBookingsByOwnerItems(ownerId, BookingState.FUTURE);
 
-        assertThat(result.size()).isEqualTo(0);
-        verify(bookingRepository).getAllFutureByOwnerId(eq(ownerId), any(LocalDateTime.class), eq(SORT_START));
+        assertThat(result.size()).isEqualTo(1);
+        verify(bookingRepository).findViewsByOwnerId(eq(ownerId), eq(BookingState.FUTURE), any(LocalDateTime.class));
     }
 
     @Test
     void getBookingsByOwnerItems_returnedWaitingBookings() {
         long ownerId = 1L;
-        List<Booking> bookings = List.of(Booking.builder().id(1L).build());
+        List<BookingView> bookings = List.of(view(1L, null));
 
-        when(bookingRepository.getAllByOwnerIdAndStatus(ownerId, BookingStatus.WAITING, SORT_START))
+        when(bookingRepository.findViewsByOwnerId(eq(ownerId), eq(BookingState.WAITING), any(LocalDateTime.class)))
                 .thenReturn(bookings);
-        when(bookingMapper.mapToBookingResponseList(bookings)).thenReturn(List.of());
+        when(bookingMapper.mapViewsToBookingResponseList(bookings))
+                .thenReturn(List.of(BookingResponse.builder().id(1L).build()));
 
         List<BookingResponse> result = bookingService.getBookingsByOwnerItems(ownerId, BookingState.WAITING);
 
-        assertThat(result.size()).isEqualTo(0);
-        verify(bookingRepository).getAllByOwnerIdAndStatus(ownerId, BookingStatus.WAITING, SORT_START);
+        assertThat(result.size()).isEqualTo(1);
+        verify(bookingRepository).findViewsByOwnerId(eq(ownerId), eq(BookingState.WAITING), any(LocalDateTime.class));
     }
 
     @Test
     void getBookingsByOwnerItems_returnedRejectedBookings() {
         long ownerId = 1L;
-        List<Booking> bookings = List.of(Booking.builder().id(1L).build());
+        List<BookingView> bookings = List.of(view(1L, null));
 
-        when(bookingRepository.getAllByOwnerIdAndStatus(ownerId, BookingStatus.REJECTED, SORT_START))
+        when(bookingRepository.findViewsByOwnerId(eq(ownerId), eq(BookingState.REJECTED), any(LocalDateTime.class)))
                 .thenReturn(bookings);
-        when(bookingMapper.mapToBookingResponseList(bookings)).thenReturn(List.of());
+        when(bookingMapper.mapViewsToBookingResponseList(bookings))
+                .thenReturn(List.of(BookingResponse.builder().id(1L).build()));
 
         List<BookingResponse> result = bookingService.getBookingsByOwnerItems(ownerId, BookingState.REJECTED);
 
-        assertThat(result.size()).isEqualTo(0);
-        verify(bookingRepository).getAllByOwnerIdAndStatus(ownerId, BookingStatus.REJECTED, SORT_START);
+        assertThat(result.size()).isEqualTo(1);
+        verify(bookingRepository).findViewsByOwnerId(eq(ownerId), eq(BookingState.REJECTED), any(LocalDateTime.class));
     }
 
     @Test
     void getBookingsByBookerId_returnedEmptyListWhenNoBookings() {
         long bookerId = 1L;
 
-        when(bookingRepository.findByBookerId(bookerId, SORT_START)).thenReturn(List.of());
-        when(bookingMapper.mapToBookingResponseList(List.of())).thenReturn(List.of());
+        when(bookingRepository.findViewsByBookerId(eq(bookerId), eq(BookingState.ALL), any(LocalDateTime.class)))
+                .thenReturn(List.of());
+        when(bookingMapper.mapViewsToBookingResponseList(List.of())).thenReturn(List.of());
 
         List<BookingResponse> result = bookingService.getBookingsByBookerId(bookerId, BookingState.ALL);
 
         assertThat(result.size()).isEqualTo(0);
     }
+
+    @Test
+    void getBookingPageByBookerId_whenHasNextPage() {
+        long bookerId = 1L;
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 12, 0);
+        BookingView booking1 = view(3L, start);
+        BookingView booking2 = view(2L, start);
+        BookingView booking3 = view(1L, start.minusDays(1));
+        List<BookingResponse> expected = List.of(BookingResponse.builder().id(3L).build(),
+                BookingResponse.builder().id(2L).build());
+
+        when(bookingRepository.findPageByBookerId(eq(bookerId), eq(BookingState.ALL), any(LocalDateTime.class),
+                isNull(), eq(3))).thenReturn(List.of(booking1, booking2, booking3));
+        when(bookingMapper.mapViewsToBookingResponseList(List.of(booking1, booking2))).thenReturn(expected);
+
+        BookingPage result = bookingService.getBookingsByBookerId(bookerId, BookingState.ALL, null, 2);
+
+        assertThat(result.getBookings()).isEqualTo(expected);
+        assertThat(BookingCursor.decode(result.getNextCursor())).isEqualTo(new BookingCursor(start, 2L));
+    }
+
+    @Test
+    void getBookingPageByOwnerItems_whenLastPage() {
+        long ownerId = 1L;
+        BookingCursor cursor = new BookingCursor(LocalDateTime.of(2030, 1, 1, 12, 0), 5L);
+        List<BookingView> bookings = List.of(view(4L, null));
+
+        when(bookingRepository.findPageByOwnerId(eq(ownerId), eq(BookingState.WAITING), any(LocalDateTime.class),
+                eq(cursor), eq(11))).thenReturn(bookings);
+        when(bookingMapper.mapViewsToBookingResponseList(bookings)).thenReturn(List.of(BookingResponse.builder().build()));
+
+        BookingPage result = bookingService.getBookingsByOwnerItems(ownerId, BookingState.WAITING, cursor.encode(), 10);
+
+        assertThat(result.getBookings().size()).isEqualTo(1);
+        assertThat(result.getNextCursor()).isNull();
+    }
+
+    @Test
+    void getBookingPageByBookerId_whenSizeTooBigThenLimited() {
+        long bookerId = 1L;
+
+        when(bookingRepository.findPageByBookerId(eq(bookerId), eq(BookingState.ALL), any(LocalDateTime.class),
+                isNull(), eq(101))).thenReturn(List.of());
+        when(bookingMapper.mapViewsToBookingResponseList(List.of())).thenReturn(List.of());
+
+        BookingPage result = bookingService.getBookingsByBookerId(bookerId, BookingState.ALL, null, 1000);
+
+        assertThat(result.getBookings().size()).isEqualTo(0);
+    }
+
+    @Test
+    void getBookingPageByBookerId_whenBadCursor() {
+        assertThrows(ValidationException.class,
+                () -> bookingService.getBookingsByBookerId(1L, BookingState.ALL, "not-a-cursor", 10));
+        assertThrows(ValidationException.class,
+                () -> bookingService.getBookingsByBookerId(1L, BookingState.ALL, null, 0));
+    }
+
+    private BookingView view(long id, LocalDateTime start) {
+        return new BookingView(id, start, null, BookingStatus.WAITING, 1L, "item", "description", true, null,
+                2L, "booker", "booker@mail.com");
+    }
+
+    private BookingStatusView statusView(long id, long itemId, long ownerId, LocalDateTime start,
+                                         BookingStatus status) {
+        return new BookingStatusView(id, itemId, ownerId, 30L, start, start.plusDays(1), status);
+    }
 }
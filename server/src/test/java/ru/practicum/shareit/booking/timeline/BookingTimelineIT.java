@@ -0,0 +1,115 @@
+package ru.practicum.shareit.booking.timeline;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.shareit.booking.dto.BookingRequest;
+import ru.practicum.shareit.booking.dto.BookingResponse;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Хронология бронирований включена и обновляется после фиксации транзакций,
+ * поэтому тест не транзакционный: данные сохраняются с коммитом и удаляются после теста.
+ */
+@SpringBootTest(properties = "shareit.booking-timeline.enabled=true")
+@AutoConfigureTestDatabase
+@ActiveProfiles("test")
+class BookingTimelineIT {
+
+    @Autowired
+    private BookingTimeline timeline;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User owner;
+    private User booker;
+    private Item drill;
+    private Item saw;
+    private LocalDateTime start;
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+        start = LocalDateTime.now().plusDays(7).truncatedTo(ChronoUnit.SECONDS);
+        owner = userRepository.save(User.builder().name("owner").email("owner@mail.com").build());
+        booker = userRepository.save(User.builder().name("booker").email("booker@mail.com").build());
+        drill = itemRepository.save(Item.builder().name("drill").description("description").available(true)
+                .owner(owner).build());
+        saw = itemRepository.save(Item.builder().name("saw").description("description").available(true)
+                .owner(owner).build());
+    }
+
+    @AfterEach
+    void cleanUp() {
+        bookingRepository.deleteAll();
+        itemRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void bookingChanges_whenCommitted_thenTimelineUpdated() {
+        assertThat(timeline.isReady()).isTrue();
+
+        BookingResponse booking = bookingService.addBooking(BookingRequest.builder().itemId(drill.getId())
+                .start(start).end(start.plusDays(2)).build(), booker.getId());
+
+        assertThat(availableIds(start.plusDays(1), start.plusDays(3))).isEqualTo(List.of(saw.getId()));
+        assertThat(availableIds(start.plusDays(2), start.plusDays(3))).isEqualTo(List.of(drill.getId(), saw.getId()));
+        assertThat(itemService.getItemById(owner.getId(), drill.getId()).getNextBooking()).isEqualTo(start);
+
+        bookingService.updateBookingStatus(owner.getId(), booking.getId(), false);
+
+        assertThat(availableIds(start.plusDays(1), start.plusDays(3))).isEqualTo(List.of(drill.getId(), saw.getId()));
+        assertThat(itemService.getItemById(owner.getId(), drill.getId()).getNextBooking()).isEqualTo(start);
+
+        BookingResponse approved = bookingService.addBooking(BookingRequest.builder().itemId(saw.getId())
+                .start(start).end(start.plusDays(1)).build(), booker.getId());
+        bookingService.updateBookingStatuses(owner.getId(), List.of(approved.getId()), true);
+        assertThat(availableIds(start, start.plusHours(1))).isEqualTo(List.of(drill.getId()));
+
+        userService.deleteUserById(booker.getId());
+
+        assertThat(availableIds(start, start.plusHours(1))).isEqualTo(List.of(drill.getId(), saw.getId()));
+        assertThat(itemService.getItemById(owner.getId(), drill.getId()).getNextBooking()).isNull();
+    }
+
+    private List<Long> availableIds(LocalDateTime from, LocalDateTime to) {
+        return itemService.getAvailableItems(owner.getId(), from, to, 0, 20).stream()
+                .map(ItemDto::getId)
+                .toList();
+    }
+}
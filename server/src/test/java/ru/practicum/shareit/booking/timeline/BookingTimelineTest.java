@@ -0,0 +1,80 @@
+package ru.practicum.shareit.booking.timeline;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.booking.model.BookingStatus;
+
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BookingTimelineTest {
+
+    private final LocalDateTime now = LocalDateTime.of(2026, 10, 18, 12, 0);
+    private BookingTimeline timeline;
+
+    @BeforeEach
+    void setUp() {
+        timeline = new BookingTimeline(true);
+    }
+
+    @Test
+    void rebuild_whenBookingsLoaded_thenReady() {
+        assertThat(timeline.isReady()).isFalse();
+
+        timeline.rebuild(Stream.of(
+                period(1L, 10L, 20L, now.minusDays(1), now.plusDays(1), BookingStatus.APPROVED),
+                period(2L, 10L, 21L, now.plusDays(2), now.plusDays(3), BookingStatus.WAITING),
+                period(3L, 11L, 20L, now.plusDays(2), now.plusDays(3), BookingStatus.REJECTED)
+        ));
+
+        assertThat(timeline.isReady()).isTrue();
+        assertThat(timeline.lastBookingStart(10L, now)).isEqualTo(now.minusDays(1));
+        assertThat(timeline.nextBookingStart(10L, now)).isEqualTo(now.plusDays(2));
+        assertThat(timeline.isFree(10L, now.plusDays(2), now.plusDays(4))).isFalse();
+        assertThat(timeline.isFree(11L, now.plusDays(2), now.plusDays(4))).isTrue();
+        assertThat(timeline.isFree(12L, now, now.plusDays(1))).isTrue();
+        assertThat(timeline.nextBookingStart(12L, now)).isNull();
+    }
+
+    @Test
+    void rebuild_whenBookingChangedDuringRebuild_thenNewerVersionKept() {
+        Stream<BookingPeriod> periods = Stream.of(
+                period(1L, 10L, 20L, now, now.plusDays(1), BookingStatus.WAITING),
+                period(2L, 10L, 20L, now.plusDays(2), now.plusDays(3), BookingStatus.WAITING)
+        ).peek(period -> {
+            if (period.id() == 2L) {
+                timeline.put(period(1L, 10L, 20L, now, now.plusDays(1), BookingStatus.REJECTED));
+                timeline.put(period(4L, 11L, 20L, now, now.plusDays(1), BookingStatus.APPROVED));
+            }
+        });
+
+        timeline.rebuild(periods);
+
+        assertThat(timeline.isFree(10L, now, now.plusDays(1))).isTrue();
+        assertThat(timeline.isFree(10L, now.plusDays(2), now.plusDays(3))).isFalse();
+        assertThat(timeline.isFree(11L, now, now.plusDays(1))).isFalse();
+    }
+
+    @Test
+    void removeByBooker_whenUserDeleted_thenBookingsRemoved() {
+        timeline.rebuild(Stream.of(
+                period(1L, 10L, 20L, now, now.plusDays(1), BookingStatus.APPROVED),
+                period(2L, 10L, 21L, now.plusDays(2), now.plusDays(3), BookingStatus.APPROVED),
+                period(3L, 11L, 20L, now, now.plusDays(1), BookingStatus.APPROVED)
+        ));
+
+        timeline.removeByBooker(20L);
+
+        assertThat(timeline.isFree(10L, now, now.plusDays(1))).isTrue();
+        assertThat(timeline.isFree(10L, now.plusDays(2), now.plusDays(3))).isFalse();
+        assertThat(timeline.isFree(11L, now, now.plusDays(1))).isTrue();
+        assertThat(timeline.nextBookingStart(11L, now.minusDays(1))).isNull();
+    }
+
+    private BookingPeriod period(long id, long itemId, long bookerId, LocalDateTime start, LocalDateTime end,
+                                 BookingStatus status) {
+        return new BookingPeriod(id, itemId, bookerId, start, end, status);
+    }
+}
@@ -0,0 +1,97 @@
+package ru.practicum.shareit.booking.timeline;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.booking.model.BookingStatus;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ItemTimelineTest {
+
+    private final LocalDateTime now = LocalDateTime.of(2026, 10, 18, 12, 0);
+
+    @Test
+    void lastStart_whenSeveralCurrent_thenLatestStarted() {
+        ItemTimeline timeline = ItemTimeline.of(List.of(
+                period(1L, now.minusDays(5), now.plusDays(5), BookingStatus.APPROVED),
+                period(2L, now.minusDays(1), now.plusHours(1), BookingStatus.REJECTED),
+                period(3L, now.minusHours(2), now.minusHours(1), BookingStatus.APPROVED),
+                period(4L, now.plusDays(1), now.plusDays(2), BookingStatus.WAITING)
+        ));
+
+        assertThat(timeline.lastStart(now)).isEqualTo(now.minusDays(1));
+        assertThat(timeline.nextStart(now)).isEqualTo(now.plusDays(1));
+        assertThat(timeline.lastStart(now.plusHours(2))).isEqualTo(now.minusDays(5));
+        assertThat(timeline.lastStart(now.plusDays(6))).isNull();
+        assertThat(timeline.nextStart(now.plusDays(1))).isNull();
+    }
+
+    @Test
+    void isFree_whenOnlyRejectedOrAdjacent_thenFree() {
+        ItemTimeline timeline = ItemTimeline.of(List.of(
+                period(1L, now, now.plusDays(1), BookingStatus.APPROVED),
+                period(2L, now.plusDays(1), now.plusDays(3), BookingStatus.REJECTED),
+                period(3L, now.plusDays(3), now.plusDays(4), BookingStatus.WAITING)
+        ));
+
+        assertThat(timeline.isFree(now.plusDays(1), now.plusDays(3))).isTrue();
+        assertThat(timeline.isFree(now.minusDays(1), now)).isTrue();
+        assertThat(timeline.isFree(now.plusHours(23), now.plusDays(2))).isFalse();
+        assertThat(timeline.isFree(now.plusDays(2), now.plusDays(3).plusMinutes(1))).isFalse();
+        assertThat(ItemTimeline.EMPTY.isFree(now, now.plusDays(1))).isTrue();
+    }
+
+    @Test
+    void with_whenStatusChanged_thenPeriodReplaced() {
+        ItemTimeline timeline = ItemTimeline.of(List.of(period(1L, now, now.plusDays(1), BookingStatus.WAITING)));
+
+        ItemTimeline rejected = timeline.with(period(1L, now, now.plusDays(1), BookingStatus.REJECTED));
+
+        assertThat(timeline.isFree(now, now.plusDays(1))).isFalse();
+        assertThat(rejected.isFree(now, now.plusDays(1))).isTrue();
+        assertThat(rejected.periods()).hasSize(1);
+        assertThat(rejected.without(period -> period.bookerId() == 20L).isEmpty()).isTrue();
+    }
+
+    @Test
+    void queries_whenRandomPeriods_thenSameAsFullScan() {
+        Random random = new Random(42);
+        for (int round = 0; round < 200; round++) {
+            List<BookingPeriod> periods = new ArrayList<>();
+            int size = random.nextInt(40);
+            for (int i = 0; i < size; i++) {
+                LocalDateTime start = now.plusHours(random.nextInt(200) - 100);
+                BookingStatus status = BookingStatus.values()[random.nextInt(BookingStatus.values().length)];
+                periods.add(period(i, start, start.plusHours(1 + random.nextInt(48)), status));
+            }
+            ItemTimeline timeline = ItemTimeline.of(periods);
+
+            for (int probe = 0; probe < 20; probe++) {
+                LocalDateTime time = now.plusHours(random.nextInt(240) - 120);
+                LocalDateTime end = time.plusHours(1 + random.nextInt(24));
+                assertThat(timeline.lastStart(time)).isEqualTo(periods.stream()
+                        .filter(period -> !period.start().isAfter(time) && !period.end().isBefore(time))
+                        .map(BookingPeriod::start)
+                        .max(Comparator.naturalOrder())
+                        .orElse(null));
+                assertThat(timeline.nextStart(time)).isEqualTo(periods.stream()
+                        .map(BookingPeriod::start)
+                        .filter(start -> start.isAfter(time))
+                        .min(Comparator.naturalOrder())
+                        .orElse(null));
+                assertThat(timeline.isFree(time, end)).isEqualTo(periods.stream()
+                        .filter(BookingPeriod::occupying)
+                        .noneMatch(period -> period.start().isBefore(end) && period.end().isAfter(time)));
+            }
+        }
+    }
+
+    private BookingPeriod period(long id, LocalDateTime start, LocalDateTime end, BookingStatus status) {
+        return new BookingPeriod(id, 10L, 20L, start, end, status);
+    }
+}
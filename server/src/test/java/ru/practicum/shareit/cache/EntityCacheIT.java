@@ -0,0 +1,127 @@
+package ru.practicum.shareit.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.shareit.SqlStatementRecorder;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserService;
+import ru.practicum.shareit.validation.ValidationUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Кэш пользователей и вещей: повторное чтение не идет в базу,
+ * изменение и удаление убирают запись из кэша после коммита.
+ */
+@SpringBootTest(properties = {
+        "shareit.cache.enabled=true",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "ru.practicum.shareit.SqlStatementRecorder"})
+@AutoConfigureTestDatabase
+@ActiveProfiles("test")
+class EntityCacheIT {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private ValidationUtils validation;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private User owner;
+    private Item item;
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+        owner = userRepository.save(User.builder().name("owner").email("owner@mail.com").build());
+        item = itemRepository.save(Item.builder().name("item").description("description").available(true)
+                .owner(owner).build());
+    }
+
+    @AfterEach
+    void cleanUp() {
+        itemRepository.deleteAll();
+        userRepository.deleteAll();
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+    }
+
+    @Test
+    void getUserById_secondCallServedFromCache() {
+        userService.getUserById(owner.getId());
+
+        SqlStatementRecorder.clear();
+        UserDto user = userService.getUserById(owner.getId());
+
+        assertThat(user.getName()).isEqualTo("owner");
+        assertThat(SqlStatementRecorder.statements()).isEmpty();
+        assertThat(meterRegistry.get("cache.gets").tag("cache", CacheConfig.USERS).tag("result", "hit")
+                .functionCounter().count()).isGreaterThanOrEqualTo(1);
+    }
+
+    @Test
+    void updateUser_evictedUser() {
+        userService.getUserById(owner.getId());
+
+        userService.updateUser(owner.getId(), UserDto.builder().name("new name").build());
+
+        assertThat(userService.getUserById(owner.getId()).getName()).isEqualTo("new name");
+    }
+
+    @Test
+    void deleteUserById_evictedUserExistence() {
+        validation.checkUserId(owner.getId());
+
+        SqlStatementRecorder.clear();
+        validation.checkUserId(owner.getId());
+        assertThat(SqlStatementRecorder.statements()).isEmpty();
+
+        userService.deleteUserById(owner.getId());
+
+        assertThrows(NotFoundException.class, () -> validation.checkUserId(owner.getId()));
+        assertThrows(NotFoundException.class, () -> userService.getUserById(owner.getId()));
+    }
+
+    @Test
+    void getItemById_itemServedFromCacheAndEvictedOnUpdate() {
+        itemService.getItemById(owner.getId(), item.getId());
+
+        SqlStatementRecorder.clear();
+        itemService.getItemById(owner.getId(), item.getId());
+        assertThat(SqlStatementRecorder.statements()).noneMatch(sql -> sql.contains("public.items"));
+
+        itemService.updateItem(owner.getId(), item.getId(), ItemDto.builder().name("new name").build());
+
+        ItemDto updated = itemService.getItemById(owner.getId(), item.getId());
+        assertThat(updated.getName()).isEqualTo("new name");
+    }
+}
@@ -0,0 +1,135 @@
+package ru.practicum.shareit.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.shareit.SqlStatementRecorder;
+import ru.practicum.shareit.booking.dto.BookingRequest;
+import ru.practicum.shareit.booking.dto.BookingState;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Второй уровень кэша Hibernate для пользователей, вещей и запросов:
+ * число SQL-запросов на холодном и прогретом кэше.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "ru.practicum.shareit.SqlStatementRecorder"})
+@AutoConfigureTestDatabase
+@ActiveProfiles("test")
+class SecondLevelCacheIT {
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private User owner;
+    private User booker;
+    private Item item;
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+        owner = userRepository.save(User.builder().name("owner").email("owner@mail.com").build());
+        booker = userRepository.save(User.builder().name("booker").email("booker@mail.com").build());
+        item = itemRepository.save(Item.builder().name("item").description("description").available(true)
+                .owner(owner).build());
+        entityManagerFactory.getCache().evictAll();
+        statistics().clear();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        bookingRepository.deleteAll();
+        itemRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void addBooking_warmCacheSkipsUserAndItemSelects() {
+        int cold = countStatements(() -> bookingService.addBooking(bookingRequest(1), booker.getId()));
+        int warm = countStatements(() -> bookingService.addBooking(bookingRequest(3), booker.getId()));
+
+        assertThat(cold).isEqualTo(4);
+        assertThat(warm).isEqualTo(2);
+        assertThat(statistics().getSecondLevelCacheHitCount()).isGreaterThanOrEqualTo(2);
+        double hits = meterRegistry.find("hibernate.second.level.cache.requests").tag("result", "hit")
+                .functionCounters().stream()
+                .mapToDouble(FunctionCounter::count)
+                .sum();
+        assertThat(hits).isGreaterThanOrEqualTo(2);
+    }
+
+    @Test
+    void getBookingsByOwnerItems_singleProjectionQuery() {
+        bookingService.addBooking(bookingRequest(1), booker.getId());
+
+        int cold = countStatements(() -> bookingService.getBookingsByOwnerItems(owner.getId(), BookingState.ALL));
+        int warm = countStatements(() -> bookingService.getBookingsByOwnerItems(owner.getId(), BookingState.ALL));
+
+        assertThat(cold).isEqualTo(1);
+        assertThat(warm).isEqualTo(1);
+    }
+
+    @Test
+    void deleteUser_evictedCascadeDeletedItems() {
+        itemRepository.findById(item.getId());
+        assertThat(entityManagerFactory.getCache().contains(Item.class, item.getId())).isTrue();
+
+        userService.deleteUserById(owner.getId());
+
+        assertThat(itemRepository.findById(item.getId())).isEmpty();
+    }
+
+    private int countStatements(Runnable action) {
+        SqlStatementRecorder.clear();
+        action.run();
+        return SqlStatementRecorder.statements().size();
+    }
+
+    private BookingRequest bookingRequest(int startInDays) {
+        LocalDateTime start = LocalDateTime.now().plusDays(startInDays);
+        return BookingRequest.builder().itemId(item.getId()).start(start).end(start.plusDays(1)).build();
+    }
+
+    private Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+}
@@ -9,6 +9,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
@@ -18,15 +19,21 @@ import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.item.dto.CommentRequest;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.model.User;
 
 import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.hamcrest.Matchers.not;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -103,6 +110,52 @@ class ItemControllerIT {
         assertThat(itemRepository.count()).isEqualTo(0);
     }
 
+    @Test
+    void addItems_whenValidAndInvalidRows_thenValidSavedAndInvalidRejected() throws Exception {
+        ItemRequest request = ItemRequest.builder().description("request").requestor(author)
+                .created(LocalDateTime.now()).build();
+        em.persist(request);
+        List<ItemDto> items = Arrays.asList(
+                dto1,
+                null,
+                createItemDto("item-3", "description-3", request.getId(), false),
+                createItemDto("item-4", "description-4", 999L, true));
+
+        MvcResult result = mvc.perform(post("/items/batch")
+                        .header(USER_ID, owner.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(items)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(4))
+                .andExpect(jsonPath("$[0].status").value("CREATED"))
+                .andExpect(jsonPath("$[1].status").value("REJECTED"))
+                .andExpect(jsonPath("$[1].error").value("Не заполнены данные вещи."))
+                .andExpect(jsonPath("$[2].status").value("CREATED"))
+                .andExpect(jsonPath("$[3].status").value("REJECTED"))
+                .andExpect(jsonPath("$[3].id").doesNotExist())
+                .andReturn();
+
+        JsonNode response = mapper.readTree(result.getResponse().getContentAsString());
+        Item saved = itemRepository.findById(response.get(2).get("id").asLong()).orElseThrow();
+        assertThat(saved.getName()).isEqualTo("item-3");
+        assertThat(saved.getOwner().getId()).isEqualTo(owner.getId());
+        assertThat(saved.getRequest().getId()).isEqualTo(request.getId());
+        assertThat(saved.getVersion()).isEqualTo(0L);
+        assertThat(itemRepository.findById(response.get(0).get("id").asLong())).isPresent();
+        assertThat(itemRepository.count()).isEqualTo(2);
+    }
+
+    @Test
+    void addItems_whenOwnerNotFound() throws Exception {
+        mvc.perform(post("/items/batch")
+                        .header(USER_ID, 9L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(List.of(dto1, dto2))))
+                .andExpect(status().isNotFound());
+
+        assertThat(itemRepository.count()).isEqualTo(0);
+    }
+
     @Test
     void updateItemTest() throws Exception {
         Item savedItem = itemRepository.save(item1);
@@ -145,7 +198,59 @@ class ItemControllerIT {
                 .andExpect(jsonPath("$.available").value(savedItem.getAvailable()))
                 .andExpect(jsonPath("$.lastBooking").doesNotExist())
                 .andExpect(jsonPath("$.nextBooking").doesNotExist())
-                .andExpect(jsonPath("$.comments").isArray());
+                .andExpect(jsonPath("$.comments").isArray())
+                .andExpect(jsonPath("$.commentsCount").value(0));
+    }
+
+    @Test
+    void getItemById_whenNotChanged_thenNotModifiedUntilUpdate() throws Exception {
+        long itemId = itemRepository.save(item1).getId();
+        em.flush();
+        String etag = mvc.perform(get("/items/{itemId}", itemId).header(USER_ID, owner.getId()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mvc.perform(get("/items/{itemId}", itemId)
+                        .header(USER_ID, author.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        mvc.perform(patch("/items/{itemId}", itemId)
+                        .header(USER_ID, owner.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(dto2)))
+                .andExpect(status().isOk());
+        em.flush();
+
+        mvc.perform(get("/items/{itemId}", itemId)
+                        .header(USER_ID, owner.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not(etag)))
+                .andExpect(jsonPath("$.name").value(dto2.getName()));
+    }
+
+    @Test
+    void getItemById_whenCommentAuthorRenamed_thenETagChanged() throws Exception {
+        Item item = itemRepository.save(item1);
+        em.persist(Comment.builder().text("comment").item(item).author(author).created(LocalDateTime.now()).build());
+        em.flush();
+        String etag = mvc.perform(get("/items/{itemId}", item.getId()).header(USER_ID, owner.getId()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mvc.perform(patch("/users/{userId}", author.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"renamed\"}"))
+                .andExpect(status().isOk());
+        em.flush();
+
+        mvc.perform(get("/items/{itemId}", item.getId())
+                        .header(USER_ID, owner.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not(etag)))
+                .andExpect(jsonPath("$.comments[0].authorName").value("renamed"));
     }
 
     @Test
@@ -217,6 +322,31 @@ class ItemControllerIT {
                 .andExpect(jsonPath("$.length()").value(0));
     }
 
+    @Test
+    void getItemsByText_whenPeriodRequested_thenBookedItemsSkipped() throws Exception {
+        Item savedItem1 = itemRepository.save(item1);
+        Item freeItem = itemRepository.save(createItem("item-3", "description-3", owner, true));
+        LocalDateTime start = LocalDateTime.of(2030, 1, 10, 10, 0);
+        em.persist(Booking.builder().item(savedItem1).booker(author).start(start.minusDays(1)).end(start.plusDays(1))
+                .status(BookingStatus.WAITING).build());
+
+        mvc.perform(get("/items/search")
+                        .header(USER_ID, owner.getId())
+                        .param("text", "item")
+                        .param("start", start.toString())
+                        .param("end", start.plusDays(2).toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(freeItem.getId()));
+
+        mvc.perform(get("/items/search")
+                        .header(USER_ID, owner.getId())
+                        .param("text", "item")
+                        .param("start", start.toString())
+                        .param("end", start.toString()))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void getItemsByText_whenEmptyText_thenReturnedEmptyList() throws Exception {
         mvc.perform(get("/items/search")
@@ -228,6 +358,15 @@ class ItemControllerIT {
                 .andExpect(jsonPath("$.length()").value(0));
     }
 
+    @Test
+    void getItemsByText_whenNegativeFrom_thenBadRequest() throws Exception {
+        mvc.perform(get("/items/search")
+                        .header(USER_ID, owner.getId())
+                        .param("text", "drill")
+                        .param("from", "-1"))
+                .andExpect(status().isBadRequest());
+    }
+
 
     @Test
     void addCommentTest() throws Exception {
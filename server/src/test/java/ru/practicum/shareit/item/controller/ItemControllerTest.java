@@ -9,23 +9,31 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import ru.practicum.shareit.exception.ErrorHandler;
 import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.dto.CommentPage;
 import ru.practicum.shareit.item.dto.CommentRequest;
 import ru.practicum.shareit.item.dto.CommentResponse;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemImportResult;
+import ru.practicum.shareit.item.dto.ItemImportStatus;
+import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.service.ItemService;
-import ru.practicum.shareit.validation.ValidationUtils;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -41,9 +49,6 @@ class ItemControllerTest {
     @Mock
     private ItemService itemService;
 
-    @Mock
-    private ValidationUtils validation;
-
     private ObjectMapper mapper = new ObjectMapper().registerModule(new JavaTimeModule());
     private static final String USER_ID_HEADER = "X-Sharer-User-Id";
     private static final long VALID_USER_ID = 1L;
@@ -61,7 +66,6 @@ class ItemControllerTest {
         ItemDto itemDto = ItemDto.builder().build();
         ItemDto responseDto = ItemDto.builder().id(VALID_ITEM_ID).build();
 
-        doNothing().when(validation).checkUserId(VALID_USER_ID);
         when(itemService.addItem(any(ItemDto.class), eq(VALID_USER_ID))).thenReturn(responseDto);
 
         mockMvc.perform(post("/items")
@@ -72,6 +76,26 @@ class ItemControllerTest {
                 .andExpect(jsonPath("$.id").value(VALID_ITEM_ID));
     }
 
+    @Test
+    void addItems_whenValidData_thenResultPerRow() throws Exception {
+        List<ItemDto> items = List.of(ItemDto.builder().name("drill").build(), ItemDto.builder().build());
+        List<ItemImportResult> results = List.of(
+                ItemImportResult.builder().index(0).status(ItemImportStatus.CREATED).id(VALID_ITEM_ID).build(),
+                ItemImportResult.builder().index(1).status(ItemImportStatus.REJECTED).error("error").build());
+
+        when(itemService.addItems(eq(VALID_USER_ID), anyList())).thenReturn(results);
+
+        mockMvc.perform(post("/items/batch")
+                        .header(USER_ID_HEADER, VALID_USER_ID)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(items)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status").value("CREATED"))
+                .andExpect(jsonPath("$[0].id").value(VALID_ITEM_ID))
+                .andExpect(jsonPath("$[1].status").value("REJECTED"))
+                .andExpect(jsonPath("$[1].error").value("error"));
+    }
+
     @Test
     void addItem_whenMissingUserIdHeader() throws Exception {
         ItemDto itemDto = ItemDto.builder().build();
@@ -87,8 +111,7 @@ class ItemControllerTest {
         ItemDto itemDto = ItemDto.builder().build();
         ItemDto responseDto = ItemDto.builder().id(VALID_ITEM_ID).build();
 
-        doNothing().when(validation).validationForUpdateItem(VALID_USER_ID, VALID_ITEM_ID);
-        when(itemService.updateItem(eq(VALID_ITEM_ID), any(ItemDto.class))).thenReturn(responseDto);
+        when(itemService.updateItem(eq(VALID_USER_ID), eq(VALID_ITEM_ID), any(ItemDto.class))).thenReturn(responseDto);
 
         mockMvc.perform(patch("/items/{itemId}", VALID_ITEM_ID)
                         .header(USER_ID_HEADER, VALID_USER_ID)
@@ -102,8 +125,8 @@ class ItemControllerTest {
     void updateItem_whenValidationFails() throws Exception {
         ItemDto itemDto = ItemDto.builder().build();
 
-        doThrow(new ValidationException("Validation failed"))
-                .when(validation).validationForUpdateItem(VALID_USER_ID, 9L);
+        when(itemService.updateItem(eq(VALID_USER_ID), eq(9L), any(ItemDto.class)))
+                .thenThrow(new ValidationException("Validation failed"));
 
         mockMvc.perform(patch("/items/{itemId}", 9L)
                         .header(USER_ID_HEADER, VALID_USER_ID)
@@ -112,13 +135,26 @@ class ItemControllerTest {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    void updateItem_whenChangedConcurrently_thenConflict() throws Exception {
+        ItemDto itemDto = ItemDto.builder().name("drill").build();
+
+        when(itemService.updateItem(eq(VALID_USER_ID), eq(VALID_ITEM_ID), any(ItemDto.class)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Item.class, VALID_ITEM_ID));
+
+        mockMvc.perform(patch("/items/{itemId}", VALID_ITEM_ID)
+                        .header(USER_ID_HEADER, VALID_USER_ID)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(itemDto)))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.error").value("Конфликт изменений."));
+    }
+
     @Test
     void getItemById_whenValidData() throws Exception {
         ItemDto responseDto = ItemDto.builder().id(VALID_ITEM_ID).build();
 
-        doNothing().when(validation).checkUserId(VALID_USER_ID);
-        doNothing().when(validation).checkItemId(VALID_ITEM_ID);
-        when(itemService.getItemById(VALID_ITEM_ID)).thenReturn(responseDto);
+        when(itemService.getItemById(VALID_USER_ID, VALID_ITEM_ID)).thenReturn(responseDto);
 
         mockMvc.perform(get("/items/{itemId}", VALID_ITEM_ID)
                         .header(USER_ID_HEADER, VALID_USER_ID))
@@ -126,11 +162,36 @@ class ItemControllerTest {
                 .andExpect(jsonPath("$.id").value(VALID_ITEM_ID));
     }
 
+    @Test
+    void getItemById_whenETagMatches_thenNotModifiedWithoutBody() throws Exception {
+        when(itemService.getItemETag(VALID_USER_ID, VALID_ITEM_ID)).thenReturn("W/\"v1\"");
+
+        mockMvc.perform(get("/items/{itemId}", VALID_ITEM_ID)
+                        .header(USER_ID_HEADER, VALID_USER_ID)
+                        .header(HttpHeaders.IF_NONE_MATCH, "W/\"v1\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "W/\"v1\""))
+                .andExpect(content().string(""));
+        verify(itemService, never()).getItemById(anyLong(), anyLong());
+    }
+
+    @Test
+    void getItemsByUserId_whenETagDiffers_thenItemsWithETag() throws Exception {
+        when(itemService.getItemsETag(VALID_USER_ID)).thenReturn("W/\"v2\"");
+        when(itemService.getItemsByUserId(VALID_USER_ID)).thenReturn(List.of(ItemDto.builder().id(1L).build()));
+
+        mockMvc.perform(get("/items")
+                        .header(USER_ID_HEADER, VALID_USER_ID)
+                        .header(HttpHeaders.IF_NONE_MATCH, "W/\"v1\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "W/\"v2\""))
+                .andExpect(jsonPath("$[0].id").value(1L));
+    }
+
     @Test
     void getItemById_whenItemNotFound() throws Exception {
-        doNothing().when(validation).checkUserId(VALID_USER_ID);
-        doThrow(new ValidationException("Item not found"))
-                .when(validation).checkItemId(9L);
+        when(itemService.getItemById(VALID_USER_ID, 9L))
+                .thenThrow(new ValidationException("Item not found"));
 
         mockMvc.perform(get("/items/{itemId}", 9L)
                         .header(USER_ID_HEADER, VALID_USER_ID))
@@ -144,7 +205,6 @@ class ItemControllerTest {
                 ItemDto.builder().id(2L).build()
         );
 
-        doNothing().when(validation).checkUserId(VALID_USER_ID);
         when(itemService.getItemsByUserId(VALID_USER_ID)).thenReturn(items);
 
         mockMvc.perform(get("/items")
@@ -158,8 +218,7 @@ class ItemControllerTest {
     void getItemsByText_whenValidText() throws Exception {
         List<ItemDto> items = List.of(ItemDto.builder().id(1L).name("Drill").build());
 
-        doNothing().when(validation).checkUserId(VALID_USER_ID);
-        when(itemService.getItemsByText("drill")).thenReturn(items);
+        when(itemService.getItemsByText(VALID_USER_ID, "drill", 0, 20)).thenReturn(items);
 
         mockMvc.perform(get("/items/search")
                         .header(USER_ID_HEADER, VALID_USER_ID)
@@ -168,6 +227,56 @@ class ItemControllerTest {
                 .andExpect(jsonPath("$[0].name").value("Drill"));
     }
 
+    @Test
+    void getItemsByText_whenPageRequested() throws Exception {
+        List<ItemDto> items = List.of(ItemDto.builder().id(2L).name("Drill").build());
+
+        when(itemService.getItemsByText(VALID_USER_ID, "drill", 10, 5)).thenReturn(items);
+
+        mockMvc.perform(get("/items/search")
+                        .header(USER_ID_HEADER, VALID_USER_ID)
+                        .param("text", "drill")
+                        .param("from", "10")
+                        .param("size", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(2L));
+    }
+
+    @Test
+    void getItemsByText_whenPeriodRequested_thenSearchedAmongFreeItems() throws Exception {
+        LocalDateTime start = LocalDateTime.of(2026, 10, 24, 10, 0);
+        LocalDateTime end = LocalDateTime.of(2026, 10, 26, 10, 0);
+        List<ItemDto> items = List.of(ItemDto.builder().id(4L).name("Drill").build());
+
+        when(itemService.getItemsByTextFreeBetween(VALID_USER_ID, "drill", start, end, 0, 10)).thenReturn(items);
+
+        mockMvc.perform(get("/items/search")
+                        .header(USER_ID_HEADER, VALID_USER_ID)
+                        .param("text", "drill")
+                        .param("start", "2026-10-24T10:00:00")
+                        .param("end", "2026-10-26T10:00:00")
+                        .param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(4L));
+        verify(itemService, never()).getItemsByText(anyLong(), anyString(), anyInt(), anyInt());
+    }
+
+    @Test
+    void getAvailableItems_whenPeriodRequested() throws Exception {
+        LocalDateTime start = LocalDateTime.of(2026, 10, 24, 10, 0);
+        LocalDateTime end = LocalDateTime.of(2026, 10, 26, 10, 0);
+        List<ItemDto> items = List.of(ItemDto.builder().id(3L).name("Drill").build());
+
+        when(itemService.getAvailableItems(VALID_USER_ID, start, end, 0, 20)).thenReturn(items);
+
+        mockMvc.perform(get("/items/available")
+                        .header(USER_ID_HEADER, VALID_USER_ID)
+                        .param("start", "2026-10-24T10:00:00")
+                        .param("end", "2026-10-26T10:00:00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(3L));
+    }
+
     @Test
     void getItemsByText_whenBlankText() throws Exception {
         mockMvc.perform(get("/items/search")
@@ -177,6 +286,25 @@ class ItemControllerTest {
                 .andExpect(jsonPath("$").isEmpty());
     }
 
+    @Test
+    void getCommentsByItemId_returnedPageWithTotalCount() throws Exception {
+        CommentPage page = CommentPage.builder()
+                .comments(List.of(CommentResponse.builder().id(2L).text("new").build(),
+                        CommentResponse.builder().id(1L).text("old").build()))
+                .total(12)
+                .build();
+        when(itemService.getCommentsByItemId(VALID_USER_ID, VALID_ITEM_ID, 10, 2)).thenReturn(page);
+
+        mockMvc.perform(get("/items/{itemId}/comments", VALID_ITEM_ID)
+                        .header(USER_ID_HEADER, VALID_USER_ID)
+                        .param("from", "10")
+                        .param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Total-Count", "12"))
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].text").value("new"));
+    }
+
     @Test
     void addComment_whenValidData() throws Exception {
         CommentRequest commentRequest = CommentRequest.builder().text("comment").build();
@@ -197,8 +325,8 @@ class ItemControllerTest {
     void addComment_whenInvalidItemId() throws Exception {
         CommentRequest commentRequest = CommentRequest.builder().text("comment").build();
 
-        doThrow(new ValidationException("bad id"))
-                .when(validation).validationForCreateComment(VALID_USER_ID, 9L);
+        when(itemService.addComment(eq(VALID_USER_ID), eq(9L), any(CommentRequest.class)))
+                .thenThrow(new ValidationException("bad id"));
 
         mockMvc.perform(post("/items/{itemId}/comment", 9L)
                         .header(USER_ID_HEADER, VALID_USER_ID)
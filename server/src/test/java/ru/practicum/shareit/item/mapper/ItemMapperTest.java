@@ -5,6 +5,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.junit.jupiter.MockitoExtension;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemView;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.model.User;
@@ -161,4 +162,18 @@ class ItemMapperTest {
 
         assertThat(itemDtos.size()).isEqualTo(0);
     }
-}
\ No newline at end of file
+
+    @Test
+    void mapViewToItemDtoTest() {
+        ItemView view = new ItemView(1L, "item", "description", true, 3L);
+
+        ItemDto itemDto = itemMapper.mapViewToItemDto(view);
+
+        assertThat(itemDto.getId()).isEqualTo(1L);
+        assertThat(itemDto.getName()).isEqualTo("item");
+        assertThat(itemDto.getDescription()).isEqualTo("description");
+        assertThat(itemDto.getAvailable()).isEqualTo(true);
+        assertThat(itemDto.getRequestId()).isEqualTo(3L);
+        assertThat(itemDto.getComments()).isNull();
+    }
+}
@@ -6,6 +6,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import ru.practicum.shareit.item.dto.CommentView;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.model.User;
@@ -50,6 +51,28 @@ class CommentRepositoryTest {
         comment3 = createComment("comment-3", item2, author, LocalDateTime.now());
     }
 
+    @Test
+    void findPageByItemId_returnedNewestFirstPage() {
+        commentRepository.save(comment1);
+        commentRepository.save(comment2);
+        commentRepository.save(comment3);
+        em.flush();
+        em.clear();
+
+        List<CommentView> firstPage = commentRepository.findPageByItemId(item1.getId(), 0, 1);
+        List<CommentView> secondPage = commentRepository.findPageByItemId(item1.getId(), 1, 1);
+        List<CommentView> emptyPage = commentRepository.findPageByItemId(item1.getId(), 2, 1);
+
+        assertThat(firstPage.size()).isEqualTo(1);
+        assertThat(firstPage.getFirst().text()).isEqualTo("comment-2");
+        assertThat(firstPage.getFirst().authorName()).isEqualTo("author");
+        assertThat(firstPage.getFirst().itemId()).isEqualTo(item1.getId());
+        assertThat(secondPage.getFirst().text()).isEqualTo("comment-1");
+        assertThat(emptyPage.isEmpty()).isTrue();
+        assertThat(commentRepository.countByItemId(item1.getId())).isEqualTo(2L);
+        assertThat(commentRepository.countByItemId(999L)).isEqualTo(0L);
+    }
+
     @Test
     void findByItemId_whenCommentsExists() {
         commentRepository.save(comment1);
@@ -77,7 +100,7 @@ class CommentRepositoryTest {
     }
 
     @Test
-    void findByItemIdInOrderByCreatedDescTest() {
+    void findViewsByItemIdsTest() {
         Item item3 = createItem("item-3", "description-3", owner, true);
         Comment comment = createComment("comment-3", item3, author, LocalDateTime.now());
         commentRepository.save(comment);
@@ -85,13 +108,15 @@ class CommentRepositoryTest {
         commentRepository.save(comment2);
         commentRepository.save(comment3);
 
-        List<Comment> comments = commentRepository.findByItemIdInOrderByCreatedDesc(
+        List<CommentView> comments = commentRepository.findViewsByItemIds(
                 List.of(item1.getId(), item2.getId()));
 
         assertThat(comments.size()).isEqualTo(3);
-        assertThat(comments.get(0).getText()).isEqualTo("comment-3");
-        assertThat(comments.get(1).getText()).isEqualTo("comment-2");
-        assertThat(comments.get(2).getText()).isEqualTo("comment-1");
+        assertThat(comments.get(0).text()).isEqualTo("comment-3");
+        assertThat(comments.get(0).itemId()).isEqualTo(item2.getId());
+        assertThat(comments.get(0).authorName()).isEqualTo("author");
+        assertThat(comments.get(1).text()).isEqualTo("comment-2");
+        assertThat(comments.get(2).text()).isEqualTo("comment-1");
     }
 
 
@@ -101,23 +126,23 @@ class CommentRepositoryTest {
         commentRepository.save(comment2);
         commentRepository.save(comment3);
 
-        Map<Long, List<Comment>> comments = commentRepository.getAllCommentsByItemId(
+        Map<Long, List<CommentView>> comments = commentRepository.getAllCommentsByItemId(
                 List.of(item1.getId(), item2.getId()));
 
         assertThat(comments.size()).isEqualTo(2);
 
         assertThat(comments.get(item1.getId()).size()).isEqualTo(2);
-        assertThat(comments.get(item1.getId()).get(0).getText()).isEqualTo("comment-2");
-        assertThat(comments.get(item1.getId()).get(1).getText()).isEqualTo("comment-1");
+        assertThat(comments.get(item1.getId()).get(0).text()).isEqualTo("comment-2");
+        assertThat(comments.get(item1.getId()).get(1).text()).isEqualTo("comment-1");
 
         assertThat(comments.get(item2.getId()).size()).isEqualTo(1);
-        assertThat(comments.get(item2.getId()).get(0).getText()).isEqualTo("comment-3");
+        assertThat(comments.get(item2.getId()).get(0).text()).isEqualTo("comment-3");
     }
 
 
     @Test
     void getAllCommentsByItemId_whenEmptyItemIdsList() {
-        Map<Long, List<Comment>> comments = commentRepository.getAllCommentsByItemId(List.of());
+        Map<Long, List<CommentView>> comments = commentRepository.getAllCommentsByItemId(List.of());
 
         assertThat(comments.size()).isEqualTo(0);
     }
@@ -6,10 +6,21 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.dto.CommentResponse;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemValidator;
+import ru.practicum.shareit.item.dto.ItemView;
+import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.model.User;
 
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.stream.IntStream;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
@@ -47,27 +58,199 @@ class ItemRepositoryTest {
     }
 
     @Test
-    void findByOwnerIdTest() {
-        Item savedItem = itemRepository.save(item1);
+    void insertAll_whenMoreThanOneBatch_thenIdsAssignedInOrder() {
+        List<Item> items = IntStream.range(0, 1203)
+                .mapToObj(i -> Item.builder().name("item-" + i).description("description").available(i % 2 == 0)
+                        .owner(owner).build())
+                .toList();
 
-        List<Item> items = itemRepository.findByOwnerId(owner.getId());
-        assertEquals(1, items.size());
-        assertThat(items.getFirst()).isEqualTo(savedItem);
+        itemRepository.insertAll(items);
 
-        List<Item> items2 = itemRepository.findByOwnerId(9L);
-        assertEquals(0, items2.size());
+        assertThat(items.stream().map(Item::getId).distinct().count()).isEqualTo(1203L);
+        for (int i = 1; i < items.size(); i++) {
+            assertTrue(items.get(i).getId() > items.get(i - 1).getId());
+        }
+        Item last = items.getLast();
+        assertEquals(0L, last.getVersion());
+        ItemView view = itemRepository.findViewById(last.getId()).orElseThrow();
+        assertEquals("item-1202", view.name());
+        assertEquals(1203L, itemRepository.count());
     }
 
     @Test
-    void findByTextTest() {
+    void findItemsWithBookingsAndCommentsByOwnerId_returnedItemsWithBookingsAndComments() {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        User booker = em.persist(User.builder().name("booker").email("booker@mail.com").build());
+        Item booked = itemRepository.save(item1);
+        Item free = itemRepository.save(createItem("item-2", "description-2", false));
+        em.persist(createBooking(booked, booker, now.minusDays(2), now.plusDays(1)));
+        em.persist(createBooking(booked, booker, now.minusHours(1), now.plusHours(1)));
+        em.persist(createBooking(booked, booker, now.plusDays(3), now.plusDays(4)));
+        em.persist(createBooking(booked, booker, now.plusDays(2), now.plusDays(3)));
+        em.persist(Comment.builder().text("old").item(booked).author(booker).created(now.minusDays(2)).build());
+        em.persist(Comment.builder().text("new").item(booked).author(booker).created(now.minusDays(1)).build());
+        em.flush();
+        em.clear();
+
+        List<ItemDto> items = itemRepository.findItemsWithBookingsAndCommentsByOwnerId(owner.getId(), now);
+
+        assertEquals(2, items.size());
+        ItemDto bookedDto = items.get(0);
+        assertThat(bookedDto.getId()).isEqualTo(booked.getId());
+        assertThat(bookedDto.getName()).isEqualTo("item-1");
+        assertThat(bookedDto.getLastBooking()).isEqualTo(now.minusHours(1));
+        assertThat(bookedDto.getNextBooking()).isEqualTo(now.plusDays(2));
+        assertThat(bookedDto.getComments().stream().map(CommentResponse::getText).toList())
+                .isEqualTo(List.of("new", "old"));
+        assertThat(bookedDto.getComments().getFirst().getAuthorName()).isEqualTo("booker");
+
+        ItemDto freeDto = items.get(1);
+        assertThat(freeDto.getId()).isEqualTo(free.getId());
+        assertThat(freeDto.getAvailable()).isFalse();
+        assertThat(freeDto.getLastBooking()).isNull();
+        assertThat(freeDto.getNextBooking()).isNull();
+        assertThat(freeDto.getComments()).isEqualTo(List.of());
+
+        assertEquals(0, itemRepository.findItemsWithBookingsAndCommentsByOwnerId(9L, now).size());
+    }
+
+    @Test
+    void findValidatorById_changedByUpdateCommentAndBooking() {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        User booker = em.persist(User.builder().name("booker").email("booker@mail.com").build());
+        Item saved = itemRepository.save(item1);
+        em.flush();
+        ItemValidator initial = itemRepository.findValidatorById(saved.getId(), now).orElseThrow();
+        assertThat(initial).isEqualTo(new ItemValidator(saved.getId(), 0, null, null, 0, null, null));
+
+        saved.setName("item-1 updated");
+        em.flush();
+        Comment comment = em.persist(Comment.builder().text("text").item(saved).author(booker).created(now).build());
+        em.persist(createBooking(saved, booker, now.plusDays(1), now.plusDays(2)));
+        em.flush();
+
+        ItemValidator changed = itemRepository.findValidatorById(saved.getId(), now).orElseThrow();
+        assertThat(changed).isEqualTo(new ItemValidator(saved.getId(), 1, null, now.plusDays(1), 1,
+                comment.getId(), 0L));
+        assertThat(itemRepository.findValidatorById(saved.getId() + 1, now)).isEmpty();
+
+        booker.setName("booker renamed");
+        em.flush();
+
+        assertThat(itemRepository.findValidatorById(saved.getId(), now).orElseThrow().authorVersions()).isEqualTo(1L);
+    }
+
+    @Test
+    void findValidatorsByOwnerId_returnedOneRowPerItemOrderedById() {
+        LocalDateTime now = LocalDateTime.now();
+        Item first = itemRepository.save(item1);
+        Item second = itemRepository.save(createItem("item-2", "description-2", false));
+        em.flush();
+
+        List<ItemValidator> validators = itemRepository.findValidatorsByOwnerId(owner.getId(), now);
+
+        assertEquals(2, validators.size());
+        assertThat(validators.get(0).id()).isEqualTo(first.getId());
+        assertThat(validators.get(1).id()).isEqualTo(second.getId());
+        assertEquals(0, itemRepository.findValidatorsByOwnerId(9L, now).size());
+    }
+
+    @Test
+    void searchAvailableByTextTest() {
         Item savedItem = itemRepository.save(item1);
 
-        List<Item> items = itemRepository.findByText("RIpT");
+        List<Item> items = itemRepository.searchAvailableByText("RIpT", 0, 10);
 
         assertEquals(1, items.size());
         assertThat(items.getFirst()).isEqualTo(savedItem);
     }
 
+    @Test
+    void searchAvailableByText_returnedRankedPage() {
+        Item byDescription = itemRepository.save(createItem("hammer", "drill bits included", true));
+        Item containsName = itemRepository.save(createItem("cordless drill", "description", true));
+        Item startsName = itemRepository.save(createItem("drill press", "description", true));
+        Item exactName = itemRepository.save(createItem("Drill", "description", true));
+        itemRepository.save(createItem("drill", "not available", false));
+
+        List<Item> firstPage = itemRepository.searchAvailableByText("drill", 0, 3);
+        List<Item> secondPage = itemRepository.searchAvailableByText("drill", 3, 3);
+
+        assertEquals(3, firstPage.size());
+        assertThat(firstPage.get(0).getId()).isEqualTo(exactName.getId());
+        assertThat(firstPage.get(1).getId()).isEqualTo(startsName.getId());
+        assertThat(firstPage.get(2).getId()).isEqualTo(containsName.getId());
+        assertEquals(1, secondPage.size());
+        assertThat(secondPage.getFirst().getId()).isEqualTo(byDescription.getId());
+    }
+
+    @Test
+    void searchAvailableByTextFreeBetween_whenBookedInPeriod_thenSkippedAndRankKept() {
+        LocalDateTime start = LocalDateTime.now().plusDays(10).truncatedTo(ChronoUnit.SECONDS);
+        LocalDateTime end = start.plusDays(2);
+        User booker = em.persist(User.builder().name("booker").email("booker@mail.com").build());
+        Item byDescription = itemRepository.save(createItem("hammer", "drill bits included", true));
+        Item containsName = itemRepository.save(createItem("cordless drill", "description", true));
+        Item exactName = itemRepository.save(createItem("Drill", "description", true));
+        Item booked = itemRepository.save(createItem("drill press", "description", true));
+        itemRepository.save(createItem("saw", "description", true));
+        em.persist(createBooking(booked, booker, start.plusDays(1), end.plusDays(1)));
+        em.persist(createBooking(exactName, booker, end, end.plusDays(1)));
+        em.flush();
+
+        List<Item> items = itemRepository.searchAvailableByTextFreeBetween("drill", start, end, 0, 10);
+        List<Item> page = itemRepository.searchAvailableByTextFreeBetween("drill", start, end, 1, 1);
+
+        assertThat(items.stream().map(Item::getId).toList())
+                .isEqualTo(List.of(exactName.getId(), containsName.getId(), byDescription.getId()));
+        assertThat(page.stream().map(Item::getId).toList()).isEqualTo(List.of(containsName.getId()));
+        assertEquals(4, itemRepository.searchAvailableByTextFreeBetween("drill", end.plusDays(1), end.plusDays(2),
+                0, 10).size());
+    }
+
+    @Test
+    void searchAvailableByText_whenTextHasWildcards() {
+        itemRepository.save(item1);
+
+        List<Item> items = itemRepository.searchAvailableByText("%", 0, 10);
+
+        assertEquals(0, items.size());
+    }
+
+    @Test
+    void findAvailableFreeBetween_whenOccupyingBookingsOverlap_thenItemSkipped() {
+        LocalDateTime start = LocalDateTime.now().plusDays(10).truncatedTo(ChronoUnit.SECONDS);
+        LocalDateTime end = start.plusDays(2);
+        User booker = em.persist(User.builder().name("booker").email("booker@mail.com").build());
+        Item approved = itemRepository.save(createItem("approved", "description", true));
+        Item waiting = itemRepository.save(createItem("waiting", "description", true));
+        Item rejected = itemRepository.save(createItem("rejected", "description", true));
+        Item adjacent = itemRepository.save(createItem("adjacent", "description", true));
+        Item free = itemRepository.save(createItem("free", "description", true));
+        itemRepository.save(createItem("unavailable", "description", false));
+        em.persist(createBooking(approved, booker, start.minusDays(1), start.plusHours(1)));
+        Booking waitingBooking = createBooking(waiting, booker, start.plusHours(1), start.plusHours(2));
+        waitingBooking.setStatus(BookingStatus.WAITING);
+        em.persist(waitingBooking);
+        Booking rejectedBooking = createBooking(rejected, booker, start, end);
+        rejectedBooking.setStatus(BookingStatus.REJECTED);
+        em.persist(rejectedBooking);
+        em.persist(createBooking(adjacent, booker, start.minusDays(1), start));
+        em.persist(createBooking(adjacent, booker, end, end.plusDays(1)));
+        em.flush();
+
+        List<Item> items = itemRepository.findAvailableFreeBetween(start, end, 0, 10);
+        List<Item> secondPage = itemRepository.findAvailableFreeBetween(start, end, 2, 10);
+
+        assertThat(items.stream().map(Item::getId).toList())
+                .isEqualTo(List.of(rejected.getId(), adjacent.getId(), free.getId()));
+        assertThat(secondPage.stream().map(Item::getId).toList()).isEqualTo(List.of(free.getId()));
+        assertThat(itemRepository.findAvailableIdsAfter(0, Limit.of(3)))
+                .isEqualTo(List.of(approved.getId(), waiting.getId(), rejected.getId()));
+        assertThat(itemRepository.findAvailableIdsAfter(rejected.getId(), Limit.of(3)))
+                .isEqualTo(List.of(adjacent.getId(), free.getId()));
+    }
+
     @Test
     void existsByOwnerIdTest() {
         Item savedItem = itemRepository.save(item1);
@@ -78,4 +261,23 @@ class ItemRepositoryTest {
         boolean isExists2 = itemRepository.existsByOwnerId(9L);
         assertThat(isExists2).isFalse();
     }
+
+    private Item createItem(String name, String description, boolean available) {
+        return Item.builder()
+                .name(name)
+                .description(description)
+                .available(available)
+                .owner(owner)
+                .build();
+    }
+
+    private Booking createBooking(Item item, User booker, LocalDateTime start, LocalDateTime end) {
+        return Booking.builder()
+                .item(item)
+                .booker(booker)
+                .start(start)
+                .end(end)
+                .status(BookingStatus.APPROVED)
+                .build();
+    }
 }
@@ -0,0 +1,91 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ItemSearchIndexTest {
+
+    private ItemSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ItemSearchIndex(true);
+        index.rebuild(Stream.of(
+                document(1L, 10L, "hammer", "drill bits included"),
+                document(2L, 10L, "cordless drill", "description"),
+                document(3L, 11L, "Drill press", "description"),
+                document(4L, 11L, "drill", "description"),
+                document(5L, 12L, "saw", "description")
+        ));
+    }
+
+    @Test
+    void canSearch_whenQueryShorterThanGram() {
+        assertThat(index.canSearch("dr")).isFalse();
+        assertThat(index.canSearch("dri")).isTrue();
+        assertThat(new ItemSearchIndex(true).canSearch("drill")).isFalse();
+    }
+
+    @Test
+    void search_returnedRankedPage() {
+        assertThat(ids(index.search("DRILL", 0, 10))).containsExactly(4L, 3L, 2L, 1L);
+        assertThat(ids(index.search("drill", 1, 2))).containsExactly(3L, 2L);
+        assertThat(ids(index.search("rill", 0, 10))).containsExactly(2L, 3L, 4L, 1L);
+    }
+
+    @Test
+    void search_whenAllGramsPresentButNoSubstring() {
+        index.put(document(6L, 12L, "abcxbcd", "description"));
+
+        assertThat(index.search("abcd", 0, 10)).isEmpty();
+    }
+
+    @Test
+    void put_whenItemUpdatedThenOldTextNotFound() {
+        index.put(document(5L, 12L, "circular saw", "description"));
+        index.put(document(5L, 12L, "jigsaw", "description"));
+
+        assertThat(ids(index.search("circular", 0, 10))).isEmpty();
+        assertThat(ids(index.search("jigsaw", 0, 10))).containsExactly(5L);
+        assertThat(index.size()).isEqualTo(5);
+    }
+
+    @Test
+    void remove_whenItemBecameUnavailable() {
+        index.remove(4L);
+
+        assertThat(ids(index.search("drill", 0, 10))).containsExactly(3L, 2L, 1L);
+    }
+
+    @Test
+    void removeByOwner_removedAllOwnerItems() {
+        index.removeByOwner(11L);
+
+        assertThat(ids(index.search("drill", 0, 10))).containsExactly(2L, 1L);
+        assertThat(index.size()).isEqualTo(3);
+    }
+
+    @Test
+    void rebuild_whenItemChangedDuringRebuildThenStreamVersionSkipped() {
+        ItemSearchIndex rebuilt = new ItemSearchIndex(true);
+
+        rebuilt.rebuild(Stream.of(document(1L, 10L, "old name", "description"))
+                .peek(document -> rebuilt.put(document(1L, 10L, "new name", "description"))));
+
+        assertThat(ids(rebuilt.search("new", 0, 10))).containsExactly(1L);
+        assertThat(ids(rebuilt.search("old", 0, 10))).isEmpty();
+    }
+
+    private static ItemSearchDocument document(long id, long ownerId, String name, String description) {
+        return new ItemSearchDocument(id, ownerId, name, description, null);
+    }
+
+    private static List<Long> ids(List<ItemSearchDocument> documents) {
+        return documents.stream().map(ItemSearchDocument::id).toList();
+    }
+}
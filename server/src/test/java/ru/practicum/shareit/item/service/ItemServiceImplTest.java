@@ -6,30 +6,49 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.timeline.BookingTimeline;
+import ru.practicum.shareit.cache.ETags;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.dto.CommentPage;
 import ru.practicum.shareit.item.dto.CommentRequest;
+import ru.practicum.shareit.item.dto.CommentView;
 import ru.practicum.shareit.item.dto.CommentResponse;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemImportResult;
+import ru.practicum.shareit.item.dto.ItemImportStatus;
+import ru.practicum.shareit.item.dto.ItemValidator;
+import ru.practicum.shareit.item.dto.ItemView;
+import ru.practicum.shareit.item.event.ItemChangedEvent;
 import ru.practicum.shareit.item.mapper.CommentMapper;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchDocument;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.validation.ValidationUtils;
 
 import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -59,19 +78,32 @@ class ItemServiceImplTest {
     @Mock
     private CommentMapper commentMapper;
 
+    @Mock
+    private ItemSearchIndex searchIndex;
+
+    @Mock
+    private BookingTimeline bookingTimeline;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private ValidationUtils validation;
+
     @Test
     void addItem_whenValidDataWithoutRequestId() {
         long userId = 1L;
         ItemDto dto = ItemDto.builder().build();
-        User user = User.builder().build();
+        User user = User.builder().id(userId).build();
         Item item = Item.builder().build();
-        Item savedItem = Item.builder().build();
+        Item savedItem = Item.builder().id(3L).name("name").description("description").available(true)
+                .owner(user).build();
         ItemDto responseDto = ItemDto.builder().build();
 
         ArgumentCaptor<Item> itemCaptor = ArgumentCaptor.forClass(Item.class);
 
 
-        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+        when(userRepository.getReferenceById(userId)).thenReturn(user);
         when(itemMapper.mapToItem(dto, user)).thenReturn(item);
         when(itemRepository.save(item)).thenReturn(savedItem);
         when(itemMapper.mapToItemDto(itemCaptor.capture())).thenReturn(responseDto);
@@ -82,11 +114,66 @@ class ItemServiceImplTest {
         assertEquals(responseDto, actualDto);
         assertEquals(savedItem, itemToMap);
 
-        verify(userRepository).findById(userId);
+        verify(validation).checkUserId(userId);
         verify(itemMapper).mapToItem(dto, user);
         verify(itemRepository).save(item);
         verify(itemMapper).mapToItemDto(any());
         verify(requestRepository, never()).findById(anyLong());
+        verify(eventPublisher).publishEvent(new ItemChangedEvent(3L, userId, "name", "description", true, null));
+    }
+
+    @Test
+    void addItems_whenSomeRowsInvalid_thenValidInsertedInOneBatch() {
+        long userId = 1L;
+        User user = User.builder().id(userId).build();
+        ItemRequest request = ItemRequest.builder().id(5L).build();
+        ItemDto valid = ItemDto.builder().name("drill").description("description").available(true).build();
+        ItemDto withRequest = ItemDto.builder().name("saw").description("description").available(false)
+                .requestId(5L).build();
+        ItemDto unknownRequest = ItemDto.builder().name("saw").description("description").available(true)
+                .requestId(6L).build();
+
+        when(userRepository.getReferenceById(userId)).thenReturn(user);
+        when(requestRepository.findExistingIds(List.of(5L, 6L))).thenReturn(Set.of(5L));
+        when(requestRepository.getReferenceById(5L)).thenReturn(request);
+        when(itemMapper.mapToItem(any(ItemDto.class), eq(user))).thenAnswer(invocation -> {
+            ItemDto dto = invocation.getArgument(0);
+            return Item.builder().name(dto.getName()).description(dto.getDescription())
+                    .available(dto.getAvailable()).owner(user).build();
+        });
+        when(itemRepository.insertAll(anyList())).thenAnswer(invocation -> {
+            List<Item> items = invocation.getArgument(0);
+            for (int i = 0; i < items.size(); i++) {
+                items.get(i).setId(10L + i);
+            }
+            return items;
+        });
+
+        List<ItemImportResult> results = service.addItems(userId,
+                Arrays.asList(valid, null, withRequest, unknownRequest));
+
+        assertEquals(List.of(
+                ItemImportResult.builder().index(0).status(ItemImportStatus.CREATED).id(10L).build(),
+                ItemImportResult.builder().index(1).status(ItemImportStatus.REJECTED)
+                        .error("Не заполнены данные вещи.").build(),
+                ItemImportResult.builder().index(2).status(ItemImportStatus.CREATED).id(11L).build(),
+                ItemImportResult.builder().index(3).status(ItemImportStatus.REJECTED)
+                        .error("Запрос с таким id - 6 не найден.").build()), results);
+        verify(validation).checkUserId(userId);
+        verify(itemRepository).insertAll(anyList());
+        verify(itemRepository, never()).save(any());
+        verify(eventPublisher).publishEvent(new ItemChangedEvent(10L, userId, "drill", "description", true, null));
+        verify(eventPublisher).publishEvent(new ItemChangedEvent(11L, userId, "saw", "description", false, 5L));
+        verifyNoMoreInteractions(eventPublisher);
+    }
+
+    @Test
+    void addItems_whenTooManyRows_thenValidationException() {
+        List<ItemDto> items = Collections.nCopies(ItemServiceImpl.MAX_IMPORT_SIZE + 1, ItemDto.builder().build());
+
+        assertThrows(ValidationException.class, () -> service.addItems(1L, items));
+
+        verifyNoInteractions(validation, itemRepository);
     }
 
     @Test
@@ -94,13 +181,13 @@ class ItemServiceImplTest {
         long userId = 1L;
         long id = 2L;
         ItemDto dto = ItemDto.builder().requestId(id).build();
-        User user = User.builder().build();
+        User user = User.builder().id(userId).build();
         Item item = Item.builder().build();
-        Item savedItem = Item.builder().build();
+        Item savedItem = Item.builder().id(3L).owner(user).build();
         ItemDto responseDto = ItemDto.builder().build();
         ItemRequest request = ItemRequest.builder().build();
 
-        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+        when(userRepository.getReferenceById(userId)).thenReturn(user);
         when(itemMapper.mapToItem(dto, user)).thenReturn(item);
         when(itemRepository.save(item)).thenReturn(savedItem);
         when(itemMapper.mapToItemDto(savedItem)).thenReturn(responseDto);
@@ -115,10 +202,11 @@ class ItemServiceImplTest {
 
     @Test
     void updateItemTest() {
+        long userId = 3L;
         long itemId = 1L;
         long id = 2L;
         ItemDto dto = ItemDto.builder().requestId(id).build();
-        Item item = Item.builder().build();
+        Item item = Item.builder().id(itemId).owner(User.builder().id(3L).build()).build();
         ItemDto responseDto = ItemDto.builder().build();
         ItemRequest request = ItemRequest.builder().build();
 
@@ -128,11 +216,12 @@ class ItemServiceImplTest {
         when(itemMapper.mapToItemDto(any())).thenReturn(responseDto);
         when(requestRepository.findById(id)).thenReturn(Optional.of(request));
 
-        ItemDto actualDto = service.updateItem(itemId, dto);
+        ItemDto actualDto = service.updateItem(userId, itemId, dto);
 
         assertEquals(responseDto, actualDto);
 
         verify(itemRepository).findById(itemId);
+        verify(validation).validationForUpdateItem(item, userId);
         verify(itemMapper).updateItemFromDto(dto, item);
         verify(itemMapper).mapToItemDto(any());
         verify(requestRepository).findById(id);
@@ -140,101 +229,233 @@ class ItemServiceImplTest {
 
     @Test
     void getItemById_returnedItemWithBookingsAndComments() {
+        long userId = 2L;
         long itemId = 1L;
-        Item item = Item.builder().id(itemId).build();
+        ItemView item = new ItemView(itemId, "item", "description", true, null);
         ItemDto itemDto = ItemDto.builder().id(itemId).build();
         LocalDateTime lastBooking = LocalDateTime.now().minusDays(1);
         LocalDateTime nextBooking = LocalDateTime.now().plusDays(1);
-        List<Comment> comments = List.of(Comment.builder().build());
+        List<CommentView> comments = List.of(new CommentView(1L, itemId, "text", "author", LocalDateTime.now()));
         List<CommentResponse> commentResponses = List.of(CommentResponse.builder().build());
 
-        when(itemRepository.findById(itemId)).thenReturn(Optional.of(item));
-        when(itemMapper.mapToItemDto(item)).thenReturn(itemDto);
+        when(itemRepository.findViewById(itemId)).thenReturn(Optional.of(item));
+        when(itemMapper.mapViewToItemDto(item)).thenReturn(itemDto);
         when(bookingRepository.getLastBookingByItemId(eq(itemId), any(LocalDateTime.class))).thenReturn(lastBooking);
         when(bookingRepository.getNextBookingByItemId(eq(itemId), any(LocalDateTime.class))).thenReturn(nextBooking);
-        when(commentRepository.findByItemId(itemId)).thenReturn(comments);
-        when(commentMapper.mapToCommentResponseList(comments)).thenReturn(commentResponses);
+        when(commentRepository.findPageByItemId(itemId, 0, ItemServiceImpl.ITEM_COMMENTS_LIMIT)).thenReturn(comments);
+        when(commentMapper.mapViewsToCommentResponseList(comments)).thenReturn(commentResponses);
 
-        ItemDto result = service.getItemById(itemId);
+        ItemDto result = service.getItemById(userId, itemId);
 
         assertThat(result).isEqualTo(itemDto);
         assertThat(result.getLastBooking()).isEqualTo(lastBooking);
         assertThat(result.getNextBooking()).isEqualTo(nextBooking);
         assertThat(result.getComments()).isEqualTo(commentResponses);
+        assertThat(result.getCommentsCount()).isEqualTo(1L);
 
-        verify(itemRepository).findById(itemId);
-        verify(itemMapper).mapToItemDto(item);
+        verify(itemRepository).findViewById(itemId);
+        verify(itemMapper).mapViewToItemDto(item);
         verify(bookingRepository).getLastBookingByItemId(eq(itemId), any(LocalDateTime.class));
         verify(bookingRepository).getNextBookingByItemId(eq(itemId), any(LocalDateTime.class));
-        verify(commentRepository).findByItemId(itemId);
-        verify(commentMapper).mapToCommentResponseList(comments);
+        verify(commentRepository).findPageByItemId(itemId, 0, ItemServiceImpl.ITEM_COMMENTS_LIMIT);
+        verify(commentMapper).mapViewsToCommentResponseList(comments);
+        verify(commentRepository, never()).countByItemId(anyLong());
+    }
+
+    @Test
+    void getItemById_whenCommentsTruncated_thenTotalCounted() {
+        long itemId = 1L;
+        ItemView item = new ItemView(itemId, "item", "description", true, null);
+        List<CommentView> comments = Collections.nCopies(ItemServiceImpl.ITEM_COMMENTS_LIMIT,
+                new CommentView(1L, itemId, "text", "author", LocalDateTime.now()));
+
+        when(itemRepository.findViewById(itemId)).thenReturn(Optional.of(item));
+        when(itemMapper.mapViewToItemDto(item)).thenReturn(ItemDto.builder().id(itemId).build());
+        when(commentRepository.findPageByItemId(itemId, 0, ItemServiceImpl.ITEM_COMMENTS_LIMIT)).thenReturn(comments);
+        when(commentRepository.countByItemId(itemId)).thenReturn(35L);
+
+        ItemDto result = service.getItemById(2L, itemId);
+
+        assertThat(result.getCommentsCount()).isEqualTo(35L);
+    }
+
+    @Test
+    void getItemById_whenTimelineReady_thenBookingsFromTimeline() {
+        long itemId = 1L;
+        ItemView item = new ItemView(itemId, "item", "description", true, null);
+        ItemDto itemDto = ItemDto.builder().id(itemId).build();
+        LocalDateTime lastBooking = LocalDateTime.now().minusDays(1);
+        LocalDateTime nextBooking = LocalDateTime.now().plusDays(1);
+
+        when(itemRepository.findViewById(itemId)).thenReturn(Optional.of(item));
+        when(itemMapper.mapViewToItemDto(item)).thenReturn(itemDto);
+        when(bookingTimeline.isReady()).thenReturn(true);
+        when(bookingTimeline.lastBookingStart(eq(itemId), any(LocalDateTime.class))).thenReturn(lastBooking);
+        when(bookingTimeline.nextBookingStart(eq(itemId), any(LocalDateTime.class))).thenReturn(nextBooking);
+
+        ItemDto result = service.getItemById(2L, itemId);
+
+        assertThat(result.getLastBooking()).isEqualTo(lastBooking);
+        assertThat(result.getNextBooking()).isEqualTo(nextBooking);
+        verifyNoInteractions(bookingRepository);
     }
 
     @Test
     void getItemById_whenItemNotFound_thenThrownNotFoundException() {
+        long userId = 2L;
         long itemId = 1L;
-        when(itemRepository.findById(itemId)).thenReturn(Optional.empty());
+        when(itemRepository.findViewById(itemId)).thenReturn(Optional.empty());
 
-        assertThrows(NotFoundException.class, () -> service.getItemById(itemId));
+        assertThrows(NotFoundException.class, () -> service.getItemById(userId, itemId));
 
-        verify(itemRepository).findById(itemId);
+        verify(itemRepository).findViewById(itemId);
         verifyNoInteractions(itemMapper, bookingRepository, commentRepository, commentMapper);
     }
 
     @Test
-    void getItemsByUserId_returnedItemsWithBookingsAndComments() {
-        long userId = 1L;
-        Item item1 = Item.builder().id(1L).build();
-        Item item2 = Item.builder().id(2L).build();
-        List<Item> userItems = List.of(item1, item2);
-        List<Long> itemIds = List.of(1L, 2L);
+    void getItemETag_whenValidatorChanged_thenETagChanged() {
+        long itemId = 1L;
+        when(itemRepository.findValidatorById(eq(itemId), any(LocalDateTime.class)))
+                .thenReturn(Optional.of(new ItemValidator(itemId, 0, null, null, 0, null, null)))
+                .thenReturn(Optional.of(new ItemValidator(itemId, 0, null, null, 1, 5L, 0L)));
 
-        ItemDto dto1 = ItemDto.builder().id(1L).build();
-        ItemDto dto2 = ItemDto.builder().id(2L).build();
+        String before = service.getItemETag(2L, itemId);
+        String after = service.getItemETag(2L, itemId);
 
-        LocalDateTime lastBooking1 = LocalDateTime.now().minusDays(1);
-        LocalDateTime nextBooking2 = LocalDateTime.now().plusDays(1);
-        Map<Long, LocalDateTime> lastBookings = Map.of(1L, lastBooking1);
-        Map<Long, LocalDateTime> nextBookings = Map.of(2L, nextBooking2);
+        assertThat(before).startsWith("W/\"").isNotEqualTo(after);
+        verify(validation, times(2)).checkUserId(2L);
+        verifyNoInteractions(itemMapper, bookingRepository, commentRepository, commentMapper);
+    }
 
-        List<Comment> comments1 = List.of(Comment.builder().build());
-        List<CommentResponse> commentResponses1 = List.of(CommentResponse.builder().build());
-        Map<Long, List<Comment>> comments = Map.of(1L, comments1);
+    @Test
+    void getItemETag_whenTimelineReady_thenBookingsFromTimeline() {
+        long itemId = 1L;
+        LocalDateTime nextBooking = LocalDateTime.now().plusDays(1);
+        when(itemRepository.findValidatorById(eq(itemId), any(LocalDateTime.class)))
+                .thenReturn(Optional.of(new ItemValidator(itemId, 0, null, null, 0, null, null)));
+        String databaseETag = service.getItemETag(2L, itemId);
+        when(bookingTimeline.isReady()).thenReturn(true);
+        when(bookingTimeline.nextBookingStart(eq(itemId), any(LocalDateTime.class))).thenReturn(nextBooking);
 
-        when(itemRepository.findByOwnerId(userId)).thenReturn(userItems);
-        when(bookingRepository.getAllLastBookingsByItemIds(eq(itemIds), any(LocalDateTime.class))).thenReturn(lastBookings);
-        when(bookingRepository.getAllNextBookingsByItemIds(eq(itemIds), any(LocalDateTime.class))).thenReturn(nextBookings);
-        when(commentRepository.getAllCommentsByItemId(itemIds)).thenReturn(comments);
-        when(itemMapper.mapToItemDto(item1)).thenReturn(dto1);
-        when(itemMapper.mapToItemDto(item2)).thenReturn(dto2);
-        when(commentMapper.mapToCommentResponseList(comments1)).thenReturn(commentResponses1);
+        String timelineETag = service.getItemETag(2L, itemId);
 
-        List<ItemDto> result = service.getItemsByUserId(userId);
+        assertThat(timelineETag).isNotEqualTo(databaseETag)
+                .isEqualTo(ETags.of(List.of(new ItemValidator(itemId, 0, null, nextBooking, 0, null, null))));
+    }
+
+    @Test
+    void getItemETag_whenItemNotFound_thenThrownNotFoundException() {
+        when(itemRepository.findValidatorById(eq(1L), any(LocalDateTime.class))).thenReturn(Optional.empty());
+
+        assertThrows(NotFoundException.class, () -> service.getItemETag(2L, 1L));
+    }
+
+    @Test
+    void getItemsETag_whenNoItems_thenUserChecked() {
+        when(itemRepository.findValidatorsByOwnerId(eq(1L), any(LocalDateTime.class))).thenReturn(List.of());
+
+        assertThat(service.getItemsETag(1L)).isEqualTo(ETags.of(List.of()));
+        verify(validation).checkUserId(1L);
+    }
 
-        assertThat(result.size()).isEqualTo(2);
-        assertThat(result.get(0).getLastBooking()).isEqualTo(lastBooking1);
-        assertThat(result.get(0).getNextBooking()).isNull();
-        assertThat(result.get(0).getComments()).isEqualTo(commentResponses1);
-        assertThat(result.get(1).getLastBooking()).isNull();
-        assertThat(result.get(1).getNextBooking()).isEqualTo(nextBooking2);
-        assertThat(result.get(1).getComments().size()).isEqualTo(0);
+    @Test
+    void getItemsByUserId_returnedItemsWithBookingsAndComments() {
+        long userId = 1L;
+        List<ItemDto> userItems = List.of(
+                ItemDto.builder().id(1L).lastBooking(LocalDateTime.now().minusDays(1)).comments(List.of()).build(),
+                ItemDto.builder().id(2L).nextBooking(LocalDateTime.now().plusDays(1)).comments(List.of()).build());
+        when(itemRepository.findItemsWithBookingsAndCommentsByOwnerId(eq(userId), any(LocalDateTime.class)))
+                .thenReturn(userItems);
+
+        List<ItemDto> result = service.getItemsByUserId(userId);
 
-        verify(itemRepository).findByOwnerId(userId);
-        verify(bookingRepository).getAllLastBookingsByItemIds(eq(itemIds), any(LocalDateTime.class));
-        verify(bookingRepository).getAllNextBookingsByItemIds(eq(itemIds), any(LocalDateTime.class));
-        verify(commentRepository).getAllCommentsByItemId(itemIds);
-        verify(itemMapper, times(2)).mapToItemDto(any(Item.class));
-        verify(commentMapper).mapToCommentResponseList(comments1);
+        assertThat(result).isEqualTo(userItems);
+        assertThat(result.stream().map(ItemDto::getCommentsCount).toList()).isEqualTo(List.of(0L, 0L));
+        verify(itemRepository).findItemsWithBookingsAndCommentsByOwnerId(eq(userId), any(LocalDateTime.class));
+        verifyNoInteractions(validation, bookingRepository, commentRepository, itemMapper, commentMapper);
     }
 
     @Test
     void getItemsByUserId_whenNoItems_thenReturnedEmptyList() {
         long userId = 1L;
-        when(itemRepository.findByOwnerId(userId)).thenReturn(List.of());
+        when(itemRepository.findItemsWithBookingsAndCommentsByOwnerId(eq(userId), any(LocalDateTime.class)))
+                .thenReturn(List.of());
 
         List<ItemDto> result = service.getItemsByUserId(userId);
 
         assertThat(result.size()).isEqualTo(0);
+        verify(validation).checkUserId(userId);
+        verifyNoInteractions(bookingRepository, commentRepository);
+    }
+
+    @Test
+    void getItemsByUserId_whenUserNotFound_thenThrownNotFoundException() {
+        long userId = 9L;
+        when(itemRepository.findItemsWithBookingsAndCommentsByOwnerId(eq(userId), any(LocalDateTime.class)))
+                .thenReturn(List.of());
+        doThrow(NotFoundException.class).when(validation).checkUserId(userId);
+
+        assertThrows(NotFoundException.class, () -> service.getItemsByUserId(userId));
+    }
+
+    @Test
+    void getCommentsByItemId_whenLastPage_thenTotalWithoutCount() {
+        long userId = 2L;
+        long itemId = 1L;
+        List<CommentView> comments = List.of(new CommentView(3L, itemId, "text", "author", LocalDateTime.now()));
+        List<CommentResponse> commentResponses = List.of(CommentResponse.builder().id(3L).build());
+        when(commentRepository.findPageByItemId(itemId, 10, 5)).thenReturn(comments);
+        when(commentMapper.mapViewsToCommentResponseList(comments)).thenReturn(commentResponses);
+
+        CommentPage result = service.getCommentsByItemId(userId, itemId, 10, 5);
+
+        assertThat(result.getComments()).isEqualTo(commentResponses);
+        assertThat(result.getTotal()).isEqualTo(11L);
+        verify(validation).checkUserId(userId);
+        verify(commentRepository, never()).countByItemId(anyLong());
+        verifyNoInteractions(itemRepository);
+    }
+
+    @Test
+    void getCommentsByItemId_whenFullPage_thenTotalFromCount() {
+        long itemId = 1L;
+        List<CommentView> comments = List.of(
+                new CommentView(3L, itemId, "text", "author", LocalDateTime.now()),
+                new CommentView(2L, itemId, "text", "author", LocalDateTime.now()));
+        when(commentRepository.findPageByItemId(itemId, 0, 2)).thenReturn(comments);
+        when(commentRepository.countByItemId(itemId)).thenReturn(40L);
+
+        CommentPage result = service.getCommentsByItemId(2L, itemId, 0, 2);
+
+        assertThat(result.getTotal()).isEqualTo(40L);
+    }
+
+    @Test
+    void getCommentsByItemId_whenSizeTooLarge_thenLimited() {
+        long itemId = 1L;
+        when(commentRepository.findPageByItemId(itemId, 0, 100)).thenReturn(List.of());
+        when(itemRepository.existsById(itemId)).thenReturn(true);
+
+        CommentPage result = service.getCommentsByItemId(2L, itemId, 0, 1000);
+
+        assertThat(result.getTotal()).isEqualTo(0L);
+        verify(commentRepository).findPageByItemId(itemId, 0, 100);
+    }
+
+    @Test
+    void getCommentsByItemId_whenItemNotFound_thenThrownNotFoundException() {
+        long itemId = 9L;
+        when(commentRepository.findPageByItemId(itemId, 0, 20)).thenReturn(List.of());
+        when(itemRepository.existsById(itemId)).thenReturn(false);
+
+        assertThrows(NotFoundException.class, () -> service.getCommentsByItemId(2L, itemId, 0, 20));
+    }
+
+    @Test
+    void getCommentsByItemId_whenInvalidPage_thenThrownValidationException() {
+        assertThrows(ValidationException.class, () -> service.getCommentsByItemId(2L, 1L, -1, 20));
+        assertThrows(ValidationException.class, () -> service.getCommentsByItemId(2L, 1L, 0, 0));
+        verifyNoInteractions(commentRepository);
     }
 
     @Test
@@ -248,17 +469,154 @@ class ItemServiceImplTest {
         ItemDto dto2 = ItemDto.builder().id(2L).build();
         List<ItemDto> dtos = List.of(dto1, dto2);
 
-        when(itemRepository.findByText(text)).thenReturn(searchItems);
+        when(itemRepository.searchAvailableByText(text, 0, 20)).thenReturn(searchItems);
         when(itemMapper.mapToItemDtoList(searchItems)).thenReturn(dtos);
 
-        List<ItemDto> result = service.getItemsByText(text);
+        List<ItemDto> result = service.getItemsByText(1L, text, 0, 20);
 
         assertEquals(dtos, result);
 
-        verify(itemRepository).findByText(text);
+        verify(itemRepository).searchAvailableByText(text, 0, 20);
         verify(itemMapper).mapToItemDtoList(searchItems);
     }
 
+    @Test
+    void getItemsByText_whenIndexReady() {
+        String text = "drill";
+        List<ItemSearchDocument> documents = List.of(new ItemSearchDocument(1L, 2L, "Drill", "description", null));
+        List<ItemDto> dtos = List.of(ItemDto.builder().id(1L).build());
+
+        when(searchIndex.canSearch(text)).thenReturn(true);
+        when(searchIndex.search(text, 0, 20)).thenReturn(documents);
+        when(itemMapper.mapSearchDocumentsToItemDtoList(documents)).thenReturn(dtos);
+
+        List<ItemDto> result = service.getItemsByText(1L, text, 0, 20);
+
+        assertEquals(dtos, result);
+        verify(itemRepository, never()).searchAvailableByText(anyString(), anyLong(), anyInt());
+    }
+
+    @Test
+    void getItemsByText_whenPageInvalid_thenValidationException() {
+        assertThrows(ValidationException.class, () -> service.getItemsByText(1L, "drill", -1, 20));
+        assertThrows(ValidationException.class, () -> service.getItemsByText(1L, "drill", 0, 0));
+        verifyNoInteractions(searchIndex, itemRepository);
+    }
+
+    @Test
+    void getItemsByText_whenPageTooLarge_thenLimited() {
+        when(searchIndex.canSearch("drill")).thenReturn(true);
+        when(searchIndex.search("drill", 0, 100)).thenReturn(List.of());
+
+        service.getItemsByText(1L, "drill", 0, 500);
+
+        verify(searchIndex).search("drill", 0, 100);
+    }
+
+    @Test
+    void getItemsByTextFreeBetween_whenTextExists_thenSearchedWithPeriod() {
+        LocalDateTime start = LocalDateTime.of(2026, 10, 24, 10, 0);
+        LocalDateTime end = start.plusDays(2);
+        List<Item> items = List.of(Item.builder().id(1L).name("Drill").build());
+        List<ItemDto> dtos = List.of(ItemDto.builder().id(1L).build());
+
+        when(itemRepository.searchAvailableByTextFreeBetween("drill", start, end, 10, 100)).thenReturn(items);
+        when(itemMapper.mapToItemDtoList(items)).thenReturn(dtos);
+
+        List<ItemDto> result = service.getItemsByTextFreeBetween(1L, "drill", start, end, 10, 500);
+
+        assertEquals(dtos, result);
+        verify(validation).checkUserId(1L);
+        verifyNoInteractions(searchIndex, bookingTimeline);
+    }
+
+    @Test
+    void getItemsByTextFreeBetween_whenTextBlankOrPeriodInvalid() {
+        LocalDateTime start = LocalDateTime.of(2026, 10, 24, 10, 0);
+
+        assertEquals(List.of(), service.getItemsByTextFreeBetween(1L, " ", start, start.plusDays(1), 0, 20));
+        assertThrows(ValidationException.class,
+                () -> service.getItemsByTextFreeBetween(1L, "drill", start.plusDays(1), start, 0, 20));
+        verifyNoInteractions(itemRepository);
+    }
+
+    @Test
+    void getAvailableItems_whenTimelineNotReady_thenSearchedInDatabase() {
+        LocalDateTime start = LocalDateTime.of(2026, 10, 24, 10, 0);
+        LocalDateTime end = start.plusDays(2);
+        List<Item> items = List.of(Item.builder().id(1L).build());
+        List<ItemDto> dtos = List.of(ItemDto.builder().id(1L).build());
+
+        when(itemRepository.findAvailableFreeBetween(start, end, 0, 100)).thenReturn(items);
+        when(itemMapper.mapToItemDtoList(items)).thenReturn(dtos);
+
+        List<ItemDto> result = service.getAvailableItems(1L, start, end, 0, 500);
+
+        assertEquals(dtos, result);
+        verify(validation).checkUserId(1L);
+        verify(itemRepository, never()).findAvailableIdsAfter(anyLong(), any(Limit.class));
+    }
+
+    @Test
+    void getAvailableItems_whenTimelineReady_thenBusyItemsSkipped() {
+        LocalDateTime start = LocalDateTime.of(2026, 10, 24, 10, 0);
+        LocalDateTime end = start.plusDays(2);
+        List<Item> items = List.of(Item.builder().id(3L).build(), Item.builder().id(4L).build());
+        List<ItemDto> dtos = List.of(ItemDto.builder().id(3L).build(), ItemDto.builder().id(4L).build());
+
+        when(bookingTimeline.isReady()).thenReturn(true);
+        when(itemRepository.findAvailableIdsAfter(0L, Limit.of(3))).thenReturn(List.of(1L, 2L, 3L));
+        when(itemRepository.findAvailableIdsAfter(3L, Limit.of(3))).thenReturn(List.of(4L, 5L, 6L));
+        when(bookingTimeline.isFree(anyLong(), eq(start), eq(end))).thenAnswer(invocation ->
+                invocation.getArgument(0, Long.class) != 2L);
+        when(itemRepository.findByIdInOrderById(List.of(3L, 4L))).thenReturn(items);
+        when(itemMapper.mapToItemDtoList(items)).thenReturn(dtos);
+
+        List<ItemDto> result = service.getAvailableItems(1L, start, end, 1, 2);
+
+        assertEquals(dtos, result);
+        verify(bookingTimeline, never()).isFree(eq(5L), any(), any());
+        verify(itemRepository, never()).findAvailableIdsAfter(eq(6L), any(Limit.class));
+        verify(itemRepository, never()).findAvailableFreeBetween(any(), any(), anyLong(), anyInt());
+    }
+
+    @Test
+    void getAvailableItems_whenIdsRunOut_thenPartialPage() {
+        LocalDateTime start = LocalDateTime.of(2026, 10, 24, 10, 0);
+        LocalDateTime end = start.plusDays(2);
+        List<Item> items = List.of(Item.builder().id(1L).build());
+        List<ItemDto> dtos = List.of(ItemDto.builder().id(1L).build());
+
+        when(bookingTimeline.isReady()).thenReturn(true);
+        when(itemRepository.findAvailableIdsAfter(0L, Limit.of(5))).thenReturn(List.of(1L, 2L));
+        when(bookingTimeline.isFree(anyLong(), eq(start), eq(end))).thenAnswer(invocation ->
+                invocation.getArgument(0, Long.class) == 1L);
+        when(itemRepository.findByIdInOrderById(List.of(1L))).thenReturn(items);
+        when(itemMapper.mapToItemDtoList(items)).thenReturn(dtos);
+
+        assertEquals(dtos, service.getAvailableItems(1L, start, end, 0, 5));
+        verify(itemRepository).findAvailableIdsAfter(anyLong(), any(Limit.class));
+    }
+
+    @Test
+    void getAvailableItems_whenPeriodInvalid_thenThrownValidationException() {
+        LocalDateTime start = LocalDateTime.of(2026, 10, 24, 10, 0);
+
+        assertThrows(ValidationException.class, () -> service.getAvailableItems(1L, start, start, 0, 20));
+        assertThrows(ValidationException.class, () -> service.getAvailableItems(1L, start, start.minusDays(1), 0, 20));
+        assertThrows(ValidationException.class, () -> service.getAvailableItems(1L, start, start.plusDays(1), -1, 20));
+        verifyNoInteractions(itemRepository);
+    }
+
+    @Test
+    void getItemsByText_whenTextBlank_thenReturnedEmptyList() {
+        List<ItemDto> result = service.getItemsByText(1L, " ", 0, 20);
+
+        assertEquals(0, result.size());
+        verify(validation).checkUserId(1L);
+        verifyNoInteractions(itemRepository, searchIndex);
+    }
+
     @Test
     void addComment_withValidData() {
         long authorId = 1L;
@@ -267,12 +625,13 @@ class ItemServiceImplTest {
 
         User author = User.builder().id(authorId).build();
         Item item = Item.builder().id(itemId).build();
+        Booking booking = Booking.builder().booker(author).item(item).build();
         Comment comment = Comment.builder().build();
         Comment savedComment = Comment.builder().build();
         CommentResponse commentResponse = CommentResponse.builder().build();
 
-        when(userRepository.findById(authorId)).thenReturn(Optional.of(author));
         when(itemRepository.findById(itemId)).thenReturn(Optional.of(item));
+        when(bookingRepository.findByBookerIdAndItemId(authorId, itemId)).thenReturn(Optional.of(booking));
         when(commentMapper.mapToCommentForCreate(commentRequest, item, author)).thenReturn(comment);
         when(commentRepository.save(comment)).thenReturn(savedComment);
         when(commentMapper.mapToCommentResponse(savedComment)).thenReturn(commentResponse);
@@ -281,11 +640,12 @@ class ItemServiceImplTest {
 
         assertThat(result).isEqualTo(commentResponse);
 
-        verify(userRepository).findById(authorId);
         verify(itemRepository).findById(itemId);
+        verify(validation).validationForCreateComment(authorId, item, booking);
         verify(commentMapper).mapToCommentForCreate(commentRequest, item, author);
         verify(commentRepository).save(comment);
         verify(commentMapper).mapToCommentResponse(savedComment);
+        verifyNoInteractions(userRepository);
     }
 
     @Test
@@ -293,13 +653,15 @@ class ItemServiceImplTest {
         long authorId = 9L;
         long itemId = 2L;
         CommentRequest commentRequest = CommentRequest.builder().build();
+        Item item = Item.builder().id(itemId).build();
 
-        when(userRepository.findById(authorId)).thenReturn(Optional.empty());
+        when(itemRepository.findById(itemId)).thenReturn(Optional.of(item));
+        when(bookingRepository.findByBookerIdAndItemId(authorId, itemId)).thenReturn(Optional.empty());
+        doThrow(NotFoundException.class).when(validation).validationForCreateComment(authorId, item, null);
 
         assertThrows(NotFoundException.class, () -> service.addComment(authorId, itemId, commentRequest));
 
-        verify(userRepository).findById(authorId);
-        verifyNoInteractions(itemRepository, commentMapper, commentRepository);
+        verifyNoInteractions(commentMapper, commentRepository);
     }
 
     @Test
@@ -307,15 +669,12 @@ class ItemServiceImplTest {
         long authorId = 1L;
         long itemId = 9L;
         CommentRequest commentRequest = CommentRequest.builder().build();
-        User author = User.builder().id(authorId).build();
 
-        when(userRepository.findById(authorId)).thenReturn(Optional.of(author));
         when(itemRepository.findById(itemId)).thenReturn(Optional.empty());
 
         assertThrows(NotFoundException.class, () -> service.addComment(authorId, itemId, commentRequest));
 
-        verify(userRepository).findById(authorId);
         verify(itemRepository).findById(itemId);
-        verifyNoInteractions(commentMapper, commentRepository);
+        verifyNoInteractions(bookingRepository, commentMapper, commentRepository);
     }
-}
\ No newline at end of file
+}
@@ -84,7 +84,7 @@ class ItemRequestControllerIT {
 
     @Test
     void addRequest_whenFailUserId() throws Exception {
-        long userId = 9L;
+        long userId = owner.getId() + 1;
         ItemRequestRequest request = ItemRequestRequest.builder().description("request for some item").build();
 
         mvc.perform(post("/requests")
@@ -117,7 +117,7 @@ class ItemRequestControllerIT {
 
     @Test
     void getRequestsByRequestor_whenUserNotFound() throws Exception {
-        long requestorId = 9L;
+        long requestorId = owner.getId() + 1;
 
         mvc.perform(get("/requests")
                         .header(USER_ID, requestorId)
@@ -151,7 +151,7 @@ class ItemRequestControllerIT {
 
     @Test
     void getRequestsByOtherRequestor_whenUserNotFound() throws Exception {
-        long requestorId = 9L;
+        long requestorId = owner.getId() + 1;
 
         mvc.perform(get("/requests/all")
                         .header(USER_ID, requestorId)
@@ -184,7 +184,7 @@ class ItemRequestControllerIT {
     void getRequestById_whenUserNotFound() throws Exception {
         ItemRequest savedRequest = repository.save(request1);
         long id = savedRequest.getId();
-        long requestorId = 9L;
+        long requestorId = owner.getId() + 1;
 
         mvc.perform(get("/requests/{requestId}", id)
                         .header(USER_ID, requestorId)
@@ -15,7 +15,6 @@ import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.request.dto.ItemRequestRequest;
 import ru.practicum.shareit.request.dto.ItemRequestResponse;
 import ru.practicum.shareit.request.service.ItemRequestService;
-import ru.practicum.shareit.validation.ValidationUtils;
 
 import java.util.List;
 
@@ -38,9 +37,6 @@ class ItemRequestControllerTest {
     @Mock
     private ItemRequestService requestService;
 
-    @Mock
-    private ValidationUtils validation;
-
     private ObjectMapper mapper = new ObjectMapper();
     private static final String USER_ID_HEADER = "X-Sharer-User-Id";
     private static final long VALID_USER_ID = 1L;
@@ -64,7 +60,6 @@ class ItemRequestControllerTest {
                 .description("нужна дрель")
                 .build();
 
-        doNothing().when(validation).checkUserId(VALID_USER_ID);
         when(requestService.addRequest(any(ItemRequestRequest.class), eq(VALID_USER_ID))).thenReturn(response);
 
         mockMvc.perform(post("/requests")
@@ -93,7 +88,6 @@ class ItemRequestControllerTest {
                 ItemRequestResponse.builder().id(2L).description("request-2").build()
         );
 
-        doNothing().when(validation).checkUserId(VALID_USER_ID);
         when(requestService.getRequestsByRequestor(VALID_USER_ID)).thenReturn(responses);
 
         mockMvc.perform(get("/requests")
@@ -107,8 +101,8 @@ class ItemRequestControllerTest {
 
     @Test
     void getRequestsByRequestor_whenUserNotFound() throws Exception {
-        doThrow(new ValidationException("пользователь не найден"))
-                .when(validation).checkUserId(9L);
+        when(requestService.getRequestsByRequestor(9L))
+                .thenThrow(new ValidationException("пользователь не найден"));
 
         mockMvc.perform(get("/requests")
                         .header(USER_ID_HEADER, 9L))
@@ -122,7 +116,6 @@ class ItemRequestControllerTest {
                 ItemRequestResponse.builder().id(2L).build()
         );
 
-        doNothing().when(validation).checkUserId(VALID_USER_ID);
         when(requestService.getRequestsByOtherRequestor(VALID_USER_ID)).thenReturn(responses);
 
         mockMvc.perform(get("/requests/all")
@@ -134,7 +127,7 @@ class ItemRequestControllerTest {
 
     @Test
     void getRequestsByOtherRequestor_whenInvalidUserId() throws Exception {
-        doThrow(new ValidationException("Invalid user ID")).when(validation).checkUserId(-1L);
+        when(requestService.getRequestsByOtherRequestor(-1L)).thenThrow(new ValidationException("Invalid user ID"));
 
         mockMvc.perform(get("/requests/all")
                         .header(USER_ID_HEADER, -1L))
@@ -148,9 +141,7 @@ class ItemRequestControllerTest {
                 .description("request")
                 .build();
 
-        doNothing().when(validation).checkUserId(VALID_USER_ID);
-        doNothing().when(validation).checkRequestId(VALID_REQUEST_ID);
-        when(requestService.getRequestById(VALID_REQUEST_ID)).thenReturn(response);
+        when(requestService.getRequestById(VALID_USER_ID, VALID_REQUEST_ID)).thenReturn(response);
 
         mockMvc.perform(get("/requests/{requestId}", VALID_REQUEST_ID)
                         .header(USER_ID_HEADER, VALID_USER_ID))
@@ -161,9 +152,8 @@ class ItemRequestControllerTest {
 
     @Test
     void getRequestById_whenRequestNotFound() throws Exception {
-        doNothing().when(validation).checkUserId(VALID_USER_ID);
-        doThrow(new ValidationException("запрос не найден"))
-                .when(validation).checkRequestId(9L);
+        when(requestService.getRequestById(VALID_USER_ID, 9L))
+                .thenThrow(new ValidationException("запрос не найден"));
 
         mockMvc.perform(get("/requests/{requestId}", 9L)
                         .header(USER_ID_HEADER, VALID_USER_ID))
@@ -8,6 +8,7 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.context.annotation.Import;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.request.dto.ItemRequestResponse;
+import ru.practicum.shareit.request.dto.ItemRequestValidator;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.model.User;
 
@@ -97,13 +98,18 @@ class ItemRequestRepositoryTest {
         ItemRequest savedRequest = requestRepository.save(request);
         item = createItem("item", owner, savedRequest);
 
-        ItemRequestResponse response = requestRepository.findByRequestId(savedRequest.getId());
+        ItemRequestResponse response = requestRepository.findByRequestId(savedRequest.getId()).orElseThrow();
 
         assertThat(response).isNotNull();
         assertThat(response.getId()).isEqualTo(savedRequest.getId());
         assertThat(response.getItems().size()).isEqualTo(1);
     }
 
+    @Test
+    void findByRequestId_whenNotFound() {
+        assertThat(requestRepository.findByRequestId(999L)).isEmpty();
+    }
+
     @Test
     void findRequestsByRequestorId_whenFound_andNotFound() {
         ItemRequest savedRequest = requestRepository.save(request);
@@ -137,6 +143,24 @@ class ItemRequestRepositoryTest {
         assertThat(result.get(0).getItems().size()).isEqualTo(1);
     }
 
+    @Test
+    void findValidatorsByRequestId_returnedRequestAndItemVersions() {
+        ItemRequest savedRequest = requestRepository.save(request);
+        em.flush();
+        assertThat(requestRepository.findValidatorsByRequestId(savedRequest.getId()))
+                .isEqualTo(List.of(new ItemRequestValidator(savedRequest.getId(), 0, null, null)));
+
+        Item requestItem = createItem("item", owner, savedRequest);
+        em.flush();
+        requestItem.setName("renamed");
+        em.flush();
+
+        List<ItemRequestValidator> validators = requestRepository.findValidatorsByRequestId(savedRequest.getId());
+        assertThat(validators).isEqualTo(List.of(
+                new ItemRequestValidator(savedRequest.getId(), 0, requestItem.getId(), 1L)));
+        assertTrue(requestRepository.findValidatorsByRequestId(savedRequest.getId() + 1).isEmpty());
+    }
+
     private User createUser(String name, String email) {
         User user = User.builder().name(name).email(email).build();
         em.persist(user);
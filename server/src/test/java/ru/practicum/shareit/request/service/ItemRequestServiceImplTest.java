@@ -8,11 +8,13 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.request.dto.ItemRequestRequest;
 import ru.practicum.shareit.request.dto.ItemRequestResponse;
+import ru.practicum.shareit.request.dto.ItemRequestValidator;
 import ru.practicum.shareit.request.mapper.ItemRequestMapper;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.validation.ValidationUtils;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -36,6 +38,9 @@ class ItemRequestServiceImplTest {
     @Mock
     private ItemRequestMapper requestMapper;
 
+    @Mock
+    private ValidationUtils validation;
+
     @Test
     void addRequest_whenValidData() {
         long requestorId = 1L;
@@ -45,7 +50,7 @@ class ItemRequestServiceImplTest {
         ItemRequest savedRequest = ItemRequest.builder().build();
         ItemRequestResponse responseDto = ItemRequestResponse.builder().build();
 
-        when(userRepository.findById(requestorId)).thenReturn(Optional.of(requestor));
+        when(userRepository.getReferenceById(requestorId)).thenReturn(requestor);
         when(requestMapper.mapToItemRequestForCreate(requestDto, requestor)).thenReturn(request);
         when(requestRepository.save(request)).thenReturn(savedRequest);
         when(requestMapper.mapToItemRequestResponse(savedRequest, new ArrayList<>())).thenReturn(responseDto);
@@ -54,7 +59,7 @@ class ItemRequestServiceImplTest {
 
         assertEquals(responseDto, actualResponse);
 
-        verify(userRepository).findById(requestorId);
+        verify(validation).checkUserId(requestorId);
         verify(requestMapper).mapToItemRequestForCreate(requestDto, requestor);
         verify(requestRepository).save(request);
         verify(requestMapper).mapToItemRequestResponse(savedRequest, new ArrayList<>());
@@ -65,11 +70,11 @@ class ItemRequestServiceImplTest {
         long requestorId = 1L;
         ItemRequestRequest requestDto = ItemRequestRequest.builder().build();
 
-        when(userRepository.findById(requestorId)).thenReturn(Optional.empty());
+        doThrow(NotFoundException.class).when(validation).checkUserId(requestorId);
 
         assertThrows(NotFoundException.class, () -> requestService.addRequest(requestDto, requestorId));
 
-        verify(userRepository).findById(requestorId);
+        verify(userRepository, never()).getReferenceById(any());
         verify(requestMapper, never()).mapToItemRequestForCreate(any(), any());
         verify(requestRepository, never()).save(any());
         verify(requestMapper, never()).mapToItemRequestResponse(any(), any());
@@ -85,6 +90,7 @@ class ItemRequestServiceImplTest {
 
         assertEquals(requests, actualRequests);
         verify(requestRepository).findRequestsByRequestorId(requestorId);
+        verify(validation).checkUserId(requestorId);
     }
 
     @Test
@@ -104,11 +110,36 @@ class ItemRequestServiceImplTest {
         long requestId = 1L;
         ItemRequestResponse response = ItemRequestResponse.builder().build();
 
-        when(requestRepository.findByRequestId(requestId)).thenReturn(response);
+        when(requestRepository.findByRequestId(requestId)).thenReturn(Optional.of(response));
 
-        ItemRequestResponse actualResponse = requestService.getRequestById(requestId);
+        ItemRequestResponse actualResponse = requestService.getRequestById(1L, requestId);
 
         assertEquals(response, actualResponse);
+        verify(validation).checkUserId(1L);
         verify(requestRepository).findByRequestId(requestId);
     }
-}
\ No newline at end of file
+
+    @Test
+    void getRequestById_whenRequestNotFound() {
+        when(requestRepository.findByRequestId(9L)).thenReturn(Optional.empty());
+
+        assertThrows(NotFoundException.class, () -> requestService.getRequestById(1L, 9L));
+    }
+
+    @Test
+    void getRequestETag_whenItemAdded_thenETagChanged() {
+        when(requestRepository.findValidatorsByRequestId(1L))
+                .thenReturn(List.of(new ItemRequestValidator(1L, 0, null, null)))
+                .thenReturn(List.of(new ItemRequestValidator(1L, 0, 3L, 0L)));
+
+        assertNotEquals(requestService.getRequestETag(2L, 1L), requestService.getRequestETag(2L, 1L));
+        verify(validation, times(2)).checkUserId(2L);
+    }
+
+    @Test
+    void getRequestETag_whenRequestNotFound() {
+        when(requestRepository.findValidatorsByRequestId(9L)).thenReturn(List.of());
+
+        assertThrows(NotFoundException.class, () -> requestService.getRequestETag(1L, 9L));
+    }
+}
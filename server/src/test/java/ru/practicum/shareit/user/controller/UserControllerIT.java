@@ -114,7 +114,7 @@ class UserControllerIT {
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isNotFound());
 
-        User newUser = userRepository.save(new User(null, "newName", "newPochta@mail.com"));
+        User newUser = userRepository.save(User.builder().name("newName").email("newPochta@mail.com").build());
         mvc.perform(patch("/users/{userId}", newUser.getId())
                         .content(mapper.writeValueAsString(userDto))
                         .contentType(MediaType.APPLICATION_JSON))
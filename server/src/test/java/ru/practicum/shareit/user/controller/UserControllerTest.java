@@ -4,7 +4,6 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
@@ -18,7 +17,6 @@ import ru.practicum.shareit.exception.ErrorHandler;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.service.UserService;
-import ru.practicum.shareit.validation.ValidationUtils;
 
 import java.nio.charset.StandardCharsets;
 
@@ -41,9 +39,6 @@ class UserControllerTest {
     @Mock
     private UserService userService;
 
-    @Mock
-    private ValidationUtils validation;
-
     private final ObjectMapper mapper = new ObjectMapper();
 
     private UserDto userDto;
@@ -64,7 +59,6 @@ class UserControllerTest {
     @Test
     void createUser_whenInvokedIsValid() throws Exception {
         Mockito.when(userService.createUser(any())).thenReturn(userDto);
-        Mockito.doNothing().when(validation).validationForCreateUser(any());
 
         mvc.perform(post("/users")
                 .content(mapper.writeValueAsString(userDto))
@@ -76,15 +70,13 @@ class UserControllerTest {
                 .andExpect(jsonPath("$.name", is(userDto.getName())))
                 .andExpect(jsonPath("$.email", is(userDto.getEmail())));
 
-        InOrder inOrder = inOrder(validation, userService);
-        inOrder.verify(validation).validationForCreateUser(any());
-        inOrder.verify(userService).createUser(any());
+        verify(userService).createUser(any());
     }
 
     @Test
     void createUserWithException() throws Exception {
-        Mockito.doThrow(new DuplicateDataException("Такой email - %s уже существует."))
-                .when(validation).validationForCreateUser(any());
+        Mockito.when(userService.createUser(any()))
+                .thenThrow(new DuplicateDataException("Такой email - %s уже существует."));
 
         mvc.perform(post("/users")
                         .content(mapper.writeValueAsString(userDto))
@@ -94,9 +86,7 @@ class UserControllerTest {
                 .andExpect(status().isConflict())
                         .andExpect(jsonPath("$.message").exists());
 
-        InOrder inOrder = inOrder(validation, userService);
-        inOrder.verify(validation).validationForCreateUser(any());
-        inOrder.verify(userService, never()).createUser(any());
+        verify(userService).createUser(any());
     }
 
     @Test
@@ -107,7 +97,6 @@ class UserControllerTest {
                 .email("newMail@mail.com")
                 .build();
         Mockito.when(userService.updateUser(userId, updateUser)).thenReturn(updateUser);
-        Mockito.doNothing().when(validation).validationForUpdateUser(userId, updateUser);
 
         mvc.perform(patch("/users/{userId}", userId)
                         .content(mapper.writeValueAsString(updateUser))
@@ -119,16 +108,14 @@ class UserControllerTest {
                 .andExpect(jsonPath("$.name", is(updateUser.getName())))
                 .andExpect(jsonPath("$.email", is(updateUser.getEmail())));
 
-        InOrder inOrder = inOrder(validation, userService);
-        inOrder.verify(validation).validationForUpdateUser(userId, updateUser);
-        inOrder.verify(userService).updateUser(userId, updateUser);
+        verify(userService).updateUser(userId, updateUser);
     }
 
     @Test
     void updateUser_whenDuplicateEmail_thenThrowDuplicateDataException() throws Exception {
         long userId = 1L;
-        Mockito.doThrow(new DuplicateDataException("Такой email - %s уже существует."))
-                        .when(validation).validationForUpdateUser(eq(userId), any());
+        Mockito.when(userService.updateUser(eq(userId), any()))
+                .thenThrow(new DuplicateDataException("Такой email - %s уже существует."));
 
         mvc.perform(patch("/users/{userId}", userId)
                         .content(mapper.writeValueAsString(userDto))
@@ -138,16 +125,14 @@ class UserControllerTest {
                 .andExpect(status().isConflict())
                 .andExpect(jsonPath("$.message").exists());
 
-        InOrder inOrder = inOrder(validation, userService);
-        inOrder.verify(validation).validationForUpdateUser(eq(userId), any());
-        inOrder.verify(userService, never()).updateUser(anyLong(), any());
+        verify(userService).updateUser(eq(userId), any());
     }
 
     @Test
     void updateUser_whenUserNotFound_thenThrowNotFoundException() throws Exception {
         long userId = 1L;
-        Mockito.doThrow(new NotFoundException("Пользователя с таким id не существует."))
-                .when(validation).validationForUpdateUser(eq(userId), any());
+        Mockito.when(userService.updateUser(eq(userId), any()))
+                .thenThrow(new NotFoundException("Пользователя с таким id не существует."));
 
         mvc.perform(patch("/users/{userId}", userId)
                         .content(mapper.writeValueAsString(userDto))
@@ -157,16 +142,13 @@ class UserControllerTest {
                 .andExpect(status().isNotFound())
                 .andExpect(jsonPath("$.message").exists());
 
-        InOrder inOrder = inOrder(validation, userService);
-        inOrder.verify(validation).validationForUpdateUser(eq(userId), any());
-        inOrder.verify(userService, never()).updateUser(anyLong(), any());
+        verify(userService).updateUser(eq(userId), any());
     }
 
     @Test
     void getUserById_whenValidData() throws Exception {
         long userId = 1L;
         Mockito.when(userService.getUserById(userId)).thenReturn(userDto);
-        Mockito.doNothing().when(validation).checkUserId(userId);
 
         mvc.perform(get("/users/{userId}", userId)
                         .characterEncoding(StandardCharsets.UTF_8)
@@ -177,16 +159,14 @@ class UserControllerTest {
                 .andExpect(jsonPath("$.name", is(userDto.getName())))
                 .andExpect(jsonPath("$.email", is(userDto.getEmail())));
 
-        InOrder inOrder = inOrder(validation, userService);
-        inOrder.verify(validation).checkUserId(userId);
-        inOrder.verify(userService).getUserById(userId);
+        verify(userService).getUserById(userId);
     }
 
     @Test
     void getUserById_whenUserNotFound_thenThrowNotFoundException() throws Exception {
         long userId = 1L;
-        Mockito.doThrow(new NotFoundException("Пользователя с таким id не существует."))
-                .when(validation).checkUserId(userId);
+        Mockito.when(userService.getUserById(userId))
+                .thenThrow(new NotFoundException("Пользователя с таким id не существует."));
 
         mvc.perform(get("/users/{userId}", userId)
                         .characterEncoding(StandardCharsets.UTF_8)
@@ -195,16 +175,13 @@ class UserControllerTest {
                 .andExpect(status().isNotFound())
                 .andExpect(jsonPath("$.message").exists());
 
-        InOrder inOrder = inOrder(validation, userService);
-        inOrder.verify(validation).checkUserId(userId);
-        inOrder.verify(userService, never()).getUserById(userId);
+        verify(userService).getUserById(userId);
     }
 
     @Test
     void deleteUserById_whenValidData() throws Exception {
         long userId = 1L;
         Mockito.doNothing().when(userService).deleteUserById(userId);
-        Mockito.doNothing().when(validation).checkUserId(userId);
 
         mvc.perform(delete("/users/{userId}", userId)
                         .characterEncoding(StandardCharsets.UTF_8)
@@ -212,16 +189,14 @@ class UserControllerTest {
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk());
 
-        InOrder inOrder = inOrder(validation, userService);
-        inOrder.verify(validation).checkUserId(userId);
-        inOrder.verify(userService).deleteUserById(userId);
+        verify(userService).deleteUserById(userId);
     }
 
     @Test
     void deleteUserById_whenUserNotFound_thenThrowNotFoundException() throws Exception {
         long userId = 1L;
         Mockito.doThrow(new NotFoundException("Пользователя с таким id не существует."))
-                .when(validation).checkUserId(userId);
+                .when(userService).deleteUserById(userId);
 
         mvc.perform(delete("/users/{userId}", userId)
                         .characterEncoding(StandardCharsets.UTF_8)
@@ -230,8 +205,6 @@ class UserControllerTest {
                 .andExpect(status().isNotFound())
                 .andExpect(jsonPath("$.message").exists());
 
-        InOrder inOrder = inOrder(validation, userService);
-        inOrder.verify(validation).checkUserId(userId);
-        inOrder.verify(userService, never()).deleteUserById(userId);
+        verify(userService).deleteUserById(userId);
     }
 }
\ No newline at end of file
@@ -7,11 +7,14 @@ import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.event.UserDeletedEvent;
 import ru.practicum.shareit.user.mapper.UserMapper;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.validation.ValidationUtils;
 
 import java.util.Optional;
 
@@ -30,6 +33,12 @@ class UserServiceImplTest {
     @Mock
     private UserMapper userMapper;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private ValidationUtils validation;
+
     @Test
     void createUserTest() {
         User userToSave = User.builder().build();
@@ -43,6 +52,7 @@ class UserServiceImplTest {
         UserDto actualDto = userService.createUser(dtoToSave);
 
         assertEquals(newDto, actualDto);
+        verify(validation).validationForCreateUser(dtoToSave);
         verify(userMapper).mapToUser(dtoToSave);
         verify(userRepository).save(userToSave);
         verify(userMapper).mapToUserDto(newUser);
@@ -66,8 +76,9 @@ class UserServiceImplTest {
 
         assertEquals(newDto, actualDto);
         assertEquals(existUser, userToUpdate);
-        InOrder inOrder = inOrder(userRepository, userMapper);
+        InOrder inOrder = inOrder(userRepository, validation, userMapper);
         inOrder.verify(userRepository).findById(userId);
+        inOrder.verify(validation).validationForUpdateUser(updateDto);
         inOrder.verify(userMapper).updateUserFromDto(any(), any());
         inOrder.verify(userMapper).mapToUserDto(any());
     }
@@ -81,6 +92,7 @@ class UserServiceImplTest {
         assertThrows(NotFoundException.class, () -> userService.updateUser(userId, updateDto));
 
         verify(userRepository).findById(userId);
+        verifyNoInteractions(validation);
         verify(userMapper, never()).updateUserFromDto(any(), any());
         verify(userMapper, never()).mapToUserDto(any());
     }
@@ -113,10 +125,23 @@ class UserServiceImplTest {
     @Test
     void deleteUserById() {
         long userId = 1L;
-        doNothing().when(userRepository).deleteById(userId);
+        User user = User.builder().id(userId).build();
+        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
 
         userService.deleteUserById(userId);
 
-        verify(userRepository).deleteById(userId);
+        verify(userRepository).delete(user);
+        verify(eventPublisher).publishEvent(new UserDeletedEvent(userId));
+    }
+
+    @Test
+    void deleteUserById_whenUserNotFound_thenThrownNotFoundException() {
+        long userId = 9L;
+        when(userRepository.findById(userId)).thenReturn(Optional.empty());
+
+        assertThrows(NotFoundException.class, () -> userService.deleteUserById(userId));
+
+        verify(userRepository, never()).delete(any());
+        verifyNoInteractions(eventPublisher);
     }
 }
\ No newline at end of file
@@ -0,0 +1,98 @@
+package ru.practicum.shareit.validation;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ValidationUtilsTest {
+
+    @InjectMocks
+    private ValidationUtils validation;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    private final User owner = User.builder().id(1L).build();
+    private final User booker = User.builder().id(2L).build();
+    private final Item item = Item.builder().id(3L).owner(owner).available(true).build();
+
+    @Test
+    void validationForGetBookingById_whenParticipant_thenNoQueries() {
+        Booking booking = Booking.builder().item(item).booker(booker).build();
+
+        assertDoesNotThrow(() -> validation.validationForGetBookingById(booking, owner.getId()));
+        assertDoesNotThrow(() -> validation.validationForGetBookingById(booking, booker.getId()));
+
+        verifyNoInteractions(userRepository, itemRepository);
+    }
+
+    @Test
+    void validationForGetBookingById_whenStrangerExists_thenThrownValidationException() {
+        Booking booking = Booking.builder().item(item).booker(booker).build();
+        when(userRepository.existsById(9L)).thenReturn(true);
+
+        assertThrows(ValidationException.class, () -> validation.validationForGetBookingById(booking, 9L));
+    }
+
+    @Test
+    void validationForGetBookingById_whenStrangerNotFound_thenThrownNotFoundException() {
+        Booking booking = Booking.builder().item(item).booker(booker).build();
+        when(userRepository.existsById(9L)).thenReturn(false);
+
+        assertThrows(NotFoundException.class, () -> validation.validationForGetBookingById(booking, 9L));
+    }
+
+    @Test
+    void validationForCreateBooking_whenOwnerOrUnavailable_thenThrownValidationException() {
+        Item unavailable = Item.builder().id(4L).owner(owner).available(false).build();
+
+        assertThrows(ValidationException.class, () -> validation.validationForCreateBooking(item, owner.getId()));
+        assertThrows(ValidationException.class,
+                () -> validation.validationForCreateBooking(unavailable, booker.getId()));
+        verifyNoInteractions(userRepository, itemRepository);
+    }
+
+    @Test
+    void validationForCreateComment_whenFinishedApprovedBooking_thenNoQueries() {
+        Booking booking = Booking.builder().item(item).booker(booker).status(BookingStatus.APPROVED)
+                .end(LocalDateTime.now().minusDays(1)).build();
+
+        assertDoesNotThrow(() -> validation.validationForCreateComment(booker.getId(), item, booking));
+
+        verifyNoInteractions(userRepository, itemRepository);
+    }
+
+    @Test
+    void validationForCreateComment_whenNoBooking_thenCheckedUser() {
+        when(userRepository.existsById(9L)).thenReturn(false);
+
+        assertThrows(NotFoundException.class, () -> validation.validationForCreateComment(9L, item, null));
+    }
+
+    @Test
+    void validationOwnerHasItems_whenNoItems_thenThrownNotFoundException() {
+        when(userRepository.existsById(owner.getId())).thenReturn(true);
+        when(itemRepository.existsByOwnerId(owner.getId())).thenReturn(false);
+
+        assertThrows(NotFoundException.class, () -> validation.validationOwnerHasItems(owner.getId()));
+    }
+}